@@ -0,0 +1,98 @@
+package com.tekcode.parser.util;
+
+import com.tekcode.parser.config.ParserConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Chunking throughput on generated multi-megabyte documents, per strategy.
+ *
+ * {@link #splitAndIndexOfWords} repeats the earlier word chunking, which located every chunk
+ * by scanning the document from the start, as a baseline for the single-pass tokenizer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class DocumentChunkerBenchmark {
+
+    private static final Pattern WORD_PATTERN = Pattern.compile("\\s+");
+
+    @Param({"1", "4"})
+    public int megabytes;
+
+    @Param({"word", "sentence", "paragraph", "character"})
+    public String strategy;
+
+    private String content;
+    private ParserConfig config;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder(megabytes * 1024 * 1024);
+        int sentence = 0;
+        while (text.length() < megabytes * 1024 * 1024) {
+            text.append("Step ").append(sentence).append(" reads the order and updates its state. ");
+            if (++sentence % 6 == 0) {
+                text.append("\n\n");
+            }
+        }
+        content = text.toString();
+
+        config = new ParserConfig();
+        config.setDocumentChunkStrategy(strategy);
+        config.setDocumentChunkSize("character".equals(strategy) ? 1000 : 200);
+        config.setDocumentChunkOverlap("character".equals(strategy) ? 200 : 20);
+    }
+
+    @Benchmark
+    public void chunk(Blackhole blackhole) throws IOException {
+        DocumentChunker.chunkDocument("doc", new StringReader(content), config, blackhole::consume);
+    }
+
+    @Benchmark
+    public void splitAndIndexOfWords(Blackhole blackhole) {
+        String[] words = WORD_PATTERN.split(content);
+        int chunkSize = 200;
+        int start = 0;
+        while (start < words.length) {
+            int end = Math.min(start + chunkSize, words.length);
+            blackhole.consume(String.join(" ", Arrays.copyOfRange(words, start, end)));
+            blackhole.consume(wordPosition(words, start));
+            blackhole.consume(wordPosition(words, end));
+            start = Math.max(start + chunkSize - 20, start + 1);
+        }
+    }
+
+    private int wordPosition(String[] words, int wordIndex) {
+        if (wordIndex >= words.length) {
+            return content.length();
+        }
+        int position = 0;
+        for (int i = 0; i < wordIndex; i++) {
+            int wordStart = content.indexOf(words[i], position);
+            if (wordStart >= 0) {
+                position = wordStart + words[i].length();
+            }
+        }
+        return Math.min(position, content.length());
+    }
+}
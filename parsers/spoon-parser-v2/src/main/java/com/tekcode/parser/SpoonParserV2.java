@@ -5,18 +5,36 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.tekcode.parser.config.ParserConfig;
 import com.tekcode.parser.core.ParsingEngine;
+import com.tekcode.parser.delta.ResultDiff;
+import com.tekcode.parser.format.Neo4jCsvWriter;
+import com.tekcode.parser.format.ResultFormat;
+import com.tekcode.parser.format.ResultSerializers;
+import com.tekcode.parser.index.BinaryIndexWriter;
+import com.tekcode.parser.index.SymbolIndex;
 import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.source.ProjectSource;
 import com.tekcode.parser.util.ValidationUtils;
+import com.tekcode.parser.watch.ProjectWatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 
 /**
  * Spoon Parser v2 - Advanced Java code parser with comprehensive analysis capabilities
@@ -30,6 +48,9 @@ import java.time.Instant;
  * - Full test coverage
  * 
  * Usage: java -jar spoon-parser-v2.jar <codebase-name> <input-directory> <output-file> [config-file]
+ *
+ * The input may also be a .zip, .jar, .tar, .tar.gz or .tgz archive, parsed without extraction,
+ * or a git revision given as <repository>@<revision>, read without a checkout.
  */
 public class SpoonParserV2 {
     private static final Logger logger = LoggerFactory.getLogger(SpoonParserV2.class);
@@ -37,9 +58,16 @@ public class SpoonParserV2 {
     private static final ObjectMapper objectMapper = new ObjectMapper()
             .enable(SerializationFeature.INDENT_OUTPUT)
             .registerModule(new JavaTimeModule())
+            .registerModule(new ResultSerializers())
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
+    private static final ObjectMapper compactMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+
     public static void main(String[] args) {
+        boolean watch = args.length > 0 && args[0].equals("--watch");
+        if (watch) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
         if (args.length < 3 || args.length > 4) {
             printUsage();
             System.exit(1);
@@ -60,16 +88,37 @@ public class SpoonParserV2 {
             // Load configuration
             ParserConfig config = loadConfiguration(configFile);
             
-            // Parse the project
-            Instant startTime = Instant.now();
-            ParseResult result = parseJavaProject(codebaseName, inputDirectory, config);
-            Duration duration = Duration.between(startTime, Instant.now());
-            
-            // Write result to output file
-            writeResult(result, outputFile);
+            if (watch) {
+                watchProject(codebaseName, inputDirectory, outputFile, config);
+                return;
+            }
             
-            // Log summary
-            logSummary(result, duration);
+            try (ProjectSource source = ProjectSource.forPath(inputDirectory)) {
+                ParsingEngine engine = new ParsingEngine(codebaseName, source, config);
+                engine.setOutputFile(Paths.get(outputFile).toAbsolutePath().normalize().toString());
+                
+                // Keep the previous output when no parser input changed since the last snapshot
+                if (Files.exists(Paths.get(outputFile)) && engine.isUnchangedSinceSnapshot()) {
+                    logger.info("No changes since the last snapshot, keeping existing output: {}", outputFile);
+                    if (config.getDeltaBaselineFile() != null) {
+                        // A delta left by the previous run would otherwise be applied twice
+                        ResultDiff.writeEmpty(codebaseName, ResultDiff.deltaPathFor(Paths.get(outputFile)));
+                    }
+                    return;
+                }
+                
+                // Parse the project
+                Instant startTime = Instant.now();
+                ParseResult result = engine.parse();
+                Duration duration = Duration.between(startTime, Instant.now());
+                
+                // Write result to output file; the snapshot only vouches for complete outputs
+                writeResult(result, outputFile, config);
+                engine.saveSnapshot();
+                
+                // Log summary
+                logSummary(result, duration);
+            }
             
         } catch (IllegalArgumentException e) {
             logger.error("Invalid arguments: {}", e.getMessage());
@@ -95,7 +144,9 @@ public class SpoonParserV2 {
         logger.info("Initializing parsing engine with configuration: {}", config.toString());
         
         ParsingEngine engine = new ParsingEngine(codebaseName, projectPath, config);
-        return engine.parse();
+        ParseResult result = engine.parse();
+        engine.saveSnapshot();
+        return result;
     }
 
     /**
@@ -105,19 +156,46 @@ public class SpoonParserV2 {
         return parseJavaProject(codebaseName, projectPath, ParserConfig.defaultConfig());
     }
 
+    /**
+     * Streams deltas as newline-delimited JSON until the process is stopped; "-" writes to stdout
+     */
+    private static void watchProject(String codebaseName, String inputDirectory, String outputFile, ParserConfig config)
+            throws IOException {
+        if (!Files.isDirectory(Paths.get(inputDirectory))) {
+            throw new IllegalArgumentException("Watch mode needs a directory: " + inputDirectory);
+        }
+        try (OutputStream out = outputFile.equals("-") ? new FileOutputStream(FileDescriptor.out)
+                     : Files.newOutputStream(Paths.get(outputFile));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+             ProjectWatcher watcher = new ProjectWatcher(codebaseName, Paths.get(inputDirectory), config, delta -> {
+                 try {
+                     writer.write(compactMapper.writeValueAsString(delta));
+                     writer.write('\n');
+                     writer.flush();
+                 } catch (IOException e) {
+                     throw new UncheckedIOException(e);
+                 }
+             })) {
+            logger.info("Watching {} for changes", inputDirectory);
+            watcher.run();
+        }
+    }
+
     private static void validateInputs(String codebaseName, String inputDirectory, String outputFile) {
         // Validate codebase name
         if (!ValidationUtils.isValidCodebaseName(codebaseName)) {
             throw new IllegalArgumentException("Invalid codebase name: " + codebaseName);
         }
 
-        // Validate input directory
+        // Validate input directory (a <repository>@<revision> spec is resolved when parsing starts)
         Path inputPath = Paths.get(inputDirectory);
-        if (!Files.exists(inputPath)) {
-            throw new IllegalArgumentException("Input directory does not exist: " + inputDirectory);
-        }
-        if (!Files.isDirectory(inputPath)) {
-            throw new IllegalArgumentException("Input path is not a directory: " + inputDirectory);
+        if (!ProjectSource.isGitRevision(inputDirectory)) {
+            if (!Files.exists(inputPath)) {
+                throw new IllegalArgumentException("Input directory does not exist: " + inputDirectory);
+            }
+            if (!Files.isDirectory(inputPath) && !ProjectSource.isArchive(inputDirectory)) {
+                throw new IllegalArgumentException("Input path is not a directory or supported archive: " + inputDirectory);
+            }
         }
 
         // Validate output file path
@@ -147,13 +225,58 @@ public class SpoonParserV2 {
         return objectMapper.readValue(configPath.toFile(), ParserConfig.class);
     }
 
-    private static void writeResult(ParseResult result, String outputFile) throws IOException {
+    private static void writeResult(ParseResult result, String outputFile, ParserConfig config) throws IOException {
         File output = new File(outputFile);
-        objectMapper.writeValue(output, result);
+        ResultFormat format = ResultFormat.of(config.getOutputFormat(), output.toPath());
+        boolean compress = config.isCompressOutput() || ResultFormat.isCompressed(output.toPath());
+        Path baseline = config.getDeltaBaselineFile() != null ? Paths.get(config.getDeltaBaselineFile()) : null;
+        if (baseline != null && !Files.exists(baseline)) {
+            logger.warn("Delta baseline not found, no delta written: {}", baseline);
+            baseline = null;
+        }
+        if (baseline != null && (format != ResultFormat.JSON || compress)) {
+            // Deltas locate entities by their byte ranges in uncompressed JSON output
+            logger.warn("Deltas need uncompressed JSON output, no delta written");
+            baseline = null;
+        }
+        // The previous output is often the file about to be overwritten
+        Path previous = baseline;
+        if (baseline != null && output.exists() && Files.isSameFile(baseline, output.toPath())) {
+            previous = Files.createTempFile(output.getAbsoluteFile().getParentFile().toPath(), output.getName(), ".previous");
+            Files.copy(baseline, previous, StandardCopyOption.REPLACE_EXISTING);
+        }
+        int threads = config.isEnableParallelProcessing() ? Math.max(1, config.getMaxThreads()) : 1;
+        ObjectMapper mapper = config.isPrettyPrintJson() ? objectMapper : compactMapper;
+        if (config.isCanonicalOutput()) {
+            mapper = mapper.copy().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        }
+        format.write(mapper, result, output.toPath(), compress, threads);
         
         long fileSizeBytes = output.length();
         String fileSize = formatFileSize(fileSizeBytes);
         logger.info("Parse result written to: {} ({})", outputFile, fileSize);
+
+        if (config.isEmitBinaryIndex()) {
+            BinaryIndexWriter.write(result, BinaryIndexWriter.indexPathFor(output.toPath()));
+        }
+
+        if (config.isEmitSymbolIndex()) {
+            SymbolIndex.build(result).write(SymbolIndex.indexPathFor(output.toPath()));
+        }
+
+        if (config.isEmitNeo4jCsv()) {
+            Neo4jCsvWriter.write(result, Neo4jCsvWriter.directoryFor(output.toPath()));
+        }
+
+        if (previous != null) {
+            try {
+                ResultDiff.write(previous, output.toPath(), ResultDiff.deltaPathFor(output.toPath()));
+            } finally {
+                if (previous != baseline) {
+                    Files.deleteIfExists(previous);
+                }
+            }
+        }
     }
 
     private static void logSummary(ParseResult result, Duration duration) {
@@ -191,10 +314,14 @@ public class SpoonParserV2 {
         System.err.println();
         System.err.println("Arguments:");
         System.err.println("  codebase-name    : Unique identifier for this codebase (e.g., 'user-service', 'payment-api')");
-        System.err.println("  input-directory  : Path to the Java project to parse");
-        System.err.println("  output-file      : Path where the JSON output will be written");
+        System.err.println("  input-directory  : Path to the Java project to parse, a .zip/.tar/.tar.gz archive of it,");
+        System.err.println("                     or <repository>@<revision> for a commit of a local git repository");
+        System.err.println("  output-file      : Path where the JSON output will be written (Smile for .smile, gzip for .gz files)");
         System.err.println("  config-file      : Optional path to configuration file (JSON format)");
         System.err.println();
+        System.err.println("Watch mode: java -jar spoon-parser-v2.jar --watch <codebase-name> <input-directory> <output-file|-> [config-file]");
+        System.err.println("  Keeps parsing a checkout as it changes and writes one JSON delta per line");
+        System.err.println();
         System.err.println("Examples:");
         System.err.println("  java -jar spoon-parser-v2.jar my-service ./src/main/java output.json");
         System.err.println("  java -jar spoon-parser-v2.jar my-service ./project result.json config.json");
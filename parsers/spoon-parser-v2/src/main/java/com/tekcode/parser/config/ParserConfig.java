@@ -60,6 +60,12 @@ public class ParserConfig {
     @JsonProperty("extractFieldRelationships")
     private boolean extractFieldRelationships = true;
     
+    @JsonProperty("detectClones")
+    private boolean detectClones = false;
+    
+    @JsonProperty("cloneMinTokens")
+    private int cloneMinTokens = 50;
+    
     // === Dependency Analysis ===
     
     @JsonProperty("extractDependencies")
@@ -87,12 +93,36 @@ public class ParserConfig {
     
     @JsonProperty("enableProgressReporting")
     private boolean enableProgressReporting = true;
+
+    @JsonProperty("extractionCacheDirectory")
+    private String extractionCacheDirectory = null;
+
+    @JsonProperty("snapshotFile")
+    private String snapshotFile = null;
+
+    @JsonProperty("dependencyIndexFile")
+    private String dependencyIndexFile = null;
+
+    @JsonProperty("changeListFile")
+    private String changeListFile = null;
+
+    @JsonProperty("watchDebounceMs")
+    private int watchDebounceMs = 300;
     
     // === Output Options ===
     
     @JsonProperty("prettyPrintJson")
     private boolean prettyPrintJson = true;
     
+    @JsonProperty("outputFormat")
+    private String outputFormat = null;
+    
+    @JsonProperty("compressOutput")
+    private boolean compressOutput = false;
+
+    @JsonProperty("canonicalOutput")
+    private boolean canonicalOutput = false; // sorted by ID and without timings, byte-identical across runs
+    
     @JsonProperty("includeSourceCode")
     private boolean includeSourceCode = false;
     
@@ -102,19 +132,49 @@ public class ParserConfig {
     @JsonProperty("includeFileChecksums")
     private boolean includeFileChecksums = true;
 
+    @JsonProperty("emitBinaryIndex")
+    private boolean emitBinaryIndex = false;
+
+    @JsonProperty("emitSymbolIndex")
+    private boolean emitSymbolIndex = false;
+
+    @JsonProperty("emitNeo4jCsv")
+    private boolean emitNeo4jCsv = false;
+
+    @JsonProperty("deltaBaselineFile")
+    private String deltaBaselineFile = null;
+
+    @JsonProperty("blobFile")
+    private String blobFile = null; // method bodies and sources by content hash, shared across runs
+
     // === Document Chunking Options ===
 
     @JsonProperty("enableDocumentChunking")
     private boolean enableDocumentChunking = true;
 
     @JsonProperty("documentChunkSize")
-    private int documentChunkSize = 1000; // characters
+    private int documentChunkSize = 1000; // characters, or tokens with the "token" strategy
 
     @JsonProperty("documentChunkOverlap")
     private int documentChunkOverlap = 200; // characters
 
     @JsonProperty("documentChunkStrategy")
-    private String documentChunkStrategy = "character"; // "character", "word", "sentence", "paragraph"
+    private String documentChunkStrategy = "character"; // "character", "word", "sentence", "paragraph", "token", "content-defined"
+
+    @JsonProperty("tokenizerVocabularyFile")
+    private String tokenizerVocabularyFile = null; // vocab.txt, vocab.json or tokenizer.json for "token"
+
+    @JsonProperty("chunkCacheFile")
+    private String chunkCacheFile = null; // chunk hashes of the previous run
+
+    @JsonProperty("omitUnchangedChunks")
+    private boolean omitUnchangedChunks = false;
+
+    @JsonProperty("emitCodeChunks")
+    private boolean emitCodeChunks = false;
+
+    @JsonProperty("codeChunkMaxTokens")
+    private int codeChunkMaxTokens = 512;
 
     @JsonProperty("maxDocumentSize")
     private long maxDocumentSize = 10 * 1024 * 1024; // 10MB
@@ -189,6 +249,7 @@ public class ParserConfig {
         config.extractCallGraph = true;
         config.extractTypeUsage = true;
         config.extractFieldRelationships = true;
+        config.detectClones = true;
         config.extractInheritance = true;
         config.extractAnnotations = true;
         config.enableFrameworkDetection = true;
@@ -234,6 +295,12 @@ public class ParserConfig {
     public boolean isExtractFieldRelationships() { return extractFieldRelationships; }
     public void setExtractFieldRelationships(boolean extractFieldRelationships) { this.extractFieldRelationships = extractFieldRelationships; }
     
+    public boolean isDetectClones() { return detectClones; }
+    public void setDetectClones(boolean detectClones) { this.detectClones = detectClones; }
+    
+    public int getCloneMinTokens() { return cloneMinTokens; }
+    public void setCloneMinTokens(int cloneMinTokens) { this.cloneMinTokens = cloneMinTokens; }
+    
     public boolean isExtractDependencies() { return extractDependencies; }
     public void setExtractDependencies(boolean extractDependencies) { this.extractDependencies = extractDependencies; }
     
@@ -257,10 +324,34 @@ public class ParserConfig {
     
     public boolean isEnableProgressReporting() { return enableProgressReporting; }
     public void setEnableProgressReporting(boolean enableProgressReporting) { this.enableProgressReporting = enableProgressReporting; }
+
+    public String getExtractionCacheDirectory() { return extractionCacheDirectory; }
+    public void setExtractionCacheDirectory(String extractionCacheDirectory) { this.extractionCacheDirectory = extractionCacheDirectory; }
+
+    public String getSnapshotFile() { return snapshotFile; }
+    public void setSnapshotFile(String snapshotFile) { this.snapshotFile = snapshotFile; }
+
+    public String getDependencyIndexFile() { return dependencyIndexFile; }
+    public void setDependencyIndexFile(String dependencyIndexFile) { this.dependencyIndexFile = dependencyIndexFile; }
+
+    public String getChangeListFile() { return changeListFile; }
+    public void setChangeListFile(String changeListFile) { this.changeListFile = changeListFile; }
+
+    public int getWatchDebounceMs() { return watchDebounceMs; }
+    public void setWatchDebounceMs(int watchDebounceMs) { this.watchDebounceMs = watchDebounceMs; }
     
     public boolean isPrettyPrintJson() { return prettyPrintJson; }
     public void setPrettyPrintJson(boolean prettyPrintJson) { this.prettyPrintJson = prettyPrintJson; }
     
+    public String getOutputFormat() { return outputFormat; }
+    public void setOutputFormat(String outputFormat) { this.outputFormat = outputFormat; }
+    
+    public boolean isCompressOutput() { return compressOutput; }
+    public void setCompressOutput(boolean compressOutput) { this.compressOutput = compressOutput; }
+
+    public boolean isCanonicalOutput() { return canonicalOutput; }
+    public void setCanonicalOutput(boolean canonicalOutput) { this.canonicalOutput = canonicalOutput; }
+    
     public boolean isIncludeSourceCode() { return includeSourceCode; }
     public void setIncludeSourceCode(boolean includeSourceCode) { this.includeSourceCode = includeSourceCode; }
     
@@ -270,6 +361,21 @@ public class ParserConfig {
     public boolean isIncludeFileChecksums() { return includeFileChecksums; }
     public void setIncludeFileChecksums(boolean includeFileChecksums) { this.includeFileChecksums = includeFileChecksums; }
 
+    public boolean isEmitBinaryIndex() { return emitBinaryIndex; }
+    public void setEmitBinaryIndex(boolean emitBinaryIndex) { this.emitBinaryIndex = emitBinaryIndex; }
+
+    public boolean isEmitSymbolIndex() { return emitSymbolIndex; }
+    public void setEmitSymbolIndex(boolean emitSymbolIndex) { this.emitSymbolIndex = emitSymbolIndex; }
+
+    public boolean isEmitNeo4jCsv() { return emitNeo4jCsv; }
+    public void setEmitNeo4jCsv(boolean emitNeo4jCsv) { this.emitNeo4jCsv = emitNeo4jCsv; }
+
+    public String getDeltaBaselineFile() { return deltaBaselineFile; }
+    public void setDeltaBaselineFile(String deltaBaselineFile) { this.deltaBaselineFile = deltaBaselineFile; }
+
+    public String getBlobFile() { return blobFile; }
+    public void setBlobFile(String blobFile) { this.blobFile = blobFile; }
+
     public boolean isEnableDocumentChunking() { return enableDocumentChunking; }
     public void setEnableDocumentChunking(boolean enableDocumentChunking) { this.enableDocumentChunking = enableDocumentChunking; }
 
@@ -282,6 +388,21 @@ public class ParserConfig {
     public String getDocumentChunkStrategy() { return documentChunkStrategy; }
     public void setDocumentChunkStrategy(String documentChunkStrategy) { this.documentChunkStrategy = documentChunkStrategy; }
 
+    public String getTokenizerVocabularyFile() { return tokenizerVocabularyFile; }
+    public void setTokenizerVocabularyFile(String tokenizerVocabularyFile) { this.tokenizerVocabularyFile = tokenizerVocabularyFile; }
+
+    public String getChunkCacheFile() { return chunkCacheFile; }
+    public void setChunkCacheFile(String chunkCacheFile) { this.chunkCacheFile = chunkCacheFile; }
+
+    public boolean isOmitUnchangedChunks() { return omitUnchangedChunks; }
+    public void setOmitUnchangedChunks(boolean omitUnchangedChunks) { this.omitUnchangedChunks = omitUnchangedChunks; }
+
+    public boolean isEmitCodeChunks() { return emitCodeChunks; }
+    public void setEmitCodeChunks(boolean emitCodeChunks) { this.emitCodeChunks = emitCodeChunks; }
+
+    public int getCodeChunkMaxTokens() { return codeChunkMaxTokens; }
+    public void setCodeChunkMaxTokens(int codeChunkMaxTokens) { this.codeChunkMaxTokens = codeChunkMaxTokens; }
+
     public long getMaxDocumentSize() { return maxDocumentSize; }
     public void setMaxDocumentSize(long maxDocumentSize) { this.maxDocumentSize = maxDocumentSize; }
 
@@ -0,0 +1,104 @@
+package com.tekcode.parser.core;
+
+import com.tekcode.parser.model.BlobRef;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Resolves {@link BlobRef}s against a memory-mapped blob file.
+ *
+ * The file is mapped in overlapping windows so that any blob lies within one window and
+ * is read without a system call. Content appended after the reader was opened is not seen.
+ */
+public class BlobReader implements Closeable {
+
+    private static final long WINDOW_STEP = 1L << 30;
+    private static final long WINDOW_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private final long size;
+
+    private BlobReader(FileChannel channel, MappedByteBuffer[] windows, long size) {
+        this.channel = channel;
+        this.windows = windows;
+        this.size = size;
+    }
+
+    public static BlobReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            int count = (int) Math.max(1, (size + WINDOW_STEP - 1) / WINDOW_STEP);
+            MappedByteBuffer[] windows = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = i * WINDOW_STEP;
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+            }
+            ByteBuffer header = windows[0].duplicate();
+            if (size < BlobStore.HEADER_SIZE || header.getInt() != BlobStore.MAGIC
+                    || header.getInt() != BlobStore.VERSION) {
+                throw new IOException("Not a blob file of this version: " + path);
+            }
+            return new BlobReader(channel, windows, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the UTF-8 bytes of a blob
+     */
+    public byte[] readBytes(BlobRef ref) throws IOException {
+        long offset = ref.getOffset();
+        int length = ref.getLength();
+        if (offset < BlobStore.HEADER_SIZE + BlobStore.RECORD_HEADER_SIZE || length < 0 || offset + length > size) {
+            throw new IOException("Blob out of range: " + ref);
+        }
+        // Windows start every WINDOW_STEP bytes and span more than that plus any blob length
+        ByteBuffer window = windows[(int) (offset / WINDOW_STEP)].duplicate();
+        byte[] content = new byte[length];
+        window.position((int) (offset % WINDOW_STEP));
+        window.get(content);
+        return content;
+    }
+
+    /**
+     * Returns the text of a blob
+     */
+    public String read(BlobRef ref) throws IOException {
+        return new String(readBytes(ref), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks that the stored content still has the referenced hash
+     */
+    public boolean verify(BlobRef ref) throws IOException {
+        return Arrays.equals(BlobStore.sha256(readBytes(ref)), hexToBytes(ref.getHash()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static byte[] hexToBytes(String hex) {
+        if (hex == null || hex.length() != 2 * BlobStore.HASH_SIZE) {
+            return new byte[0];
+        }
+        byte[] bytes = new byte[BlobStore.HASH_SIZE];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,224 @@
+package com.tekcode.parser.core;
+
+import com.tekcode.parser.model.BlobRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only, content-addressed file of method bodies and source files.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header   magic, version, 16-byte random file ID
+ * records  32-byte SHA-256 of the content, int length, then the UTF-8 content
+ * </pre>
+ * Each distinct text is stored once, across runs too: opening an existing file reads the
+ * record headers back, and content already present is not appended again. A record cut
+ * short by an interrupted run is dropped on open. References point at the content bytes
+ * and are resolved with {@link BlobReader}; they are only valid for the file with the ID
+ * they were made for, as a deleted and recreated file gets a new ID. The store holds an
+ * exclusive lock on the file while it is open, so parsers sharing a file append in turn.
+ */
+public class BlobStore implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(BlobStore.class);
+
+    static final int MAGIC = 0x544B424C; // "TKBL"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 24;
+    static final int HASH_SIZE = 32;
+    static final int RECORD_HEADER_SIZE = HASH_SIZE + 4;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, BlobRef> refs = new HashMap<>();
+    private String fileId;
+    private long end;
+    private int written;
+    private int deduplicated;
+
+    private BlobStore(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the blob file for appending, creating it if needed; waits while another
+     * process has it open
+     */
+    public static BlobStore open(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        BlobStore store = new BlobStore(path, channel);
+        try {
+            lock(path, channel);
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    private static void lock(Path path, FileChannel channel) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            throw new IOException("Blob file is already open in this process: " + path, e);
+        }
+        if (lock == null) {
+            logger.info("Waiting for another parser to close blob file {}", path);
+            // Released when the channel is closed
+            channel.lock();
+        }
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            UUID id = UUID.randomUUID();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION)
+                .putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+            header.flip();
+            writeFully(header, 0);
+            fileId = toHex(header.array()).substring(16);
+            end = HEADER_SIZE;
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a blob file of this version: " + path);
+        }
+        fileId = toHex(header.array()).substring(16);
+
+        long position = HEADER_SIZE;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        byte[] hash = new byte[HASH_SIZE];
+        while (position + RECORD_HEADER_SIZE <= size) {
+            record.clear();
+            readFully(record, position);
+            record.flip();
+            record.get(hash);
+            int length = record.getInt();
+            long content = position + RECORD_HEADER_SIZE;
+            if (length < 0 || content + length > size) {
+                break;
+            }
+            String hex = toHex(hash);
+            refs.putIfAbsent(hex, new BlobRef(hex, content, length));
+            position = content + length;
+        }
+        if (position < size) {
+            logger.warn("Dropping {} bytes of an incomplete record at the end of {}", size - position, path);
+            channel.truncate(position);
+        }
+        end = position;
+    }
+
+    /**
+     * Stores a text unless the same content is stored already, and returns its reference
+     */
+    public synchronized BlobRef put(String text) throws IOException {
+        byte[] content = text.getBytes(StandardCharsets.UTF_8);
+        byte[] hash = sha256(content);
+        String hex = toHex(hash);
+        BlobRef existing = refs.get(hex);
+        if (existing != null) {
+            deduplicated++;
+            return existing;
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + content.length);
+        record.put(hash).putInt(content.length).put(content);
+        record.flip();
+        writeFully(record, end);
+        BlobRef ref = new BlobRef(hex, end + RECORD_HEADER_SIZE, content.length);
+        end += RECORD_HEADER_SIZE + content.length;
+        refs.put(hex, ref);
+        written++;
+        return ref;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Random ID written when the file was created; references into another file with the
+     * same path do not resolve here
+     */
+    public String getFileId() {
+        return fileId;
+    }
+
+    public synchronized int getBlobCount() {
+        return refs.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            channel.force(false);
+            logger.info("Blob file {}: {} blobs added, {} repeated texts stored once", path, written, deduplicated);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of blob file: " + path);
+            }
+            position += read;
+        }
+    }
+
+    static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] digits = "0123456789abcdef".toCharArray();
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = digits[(bytes[i] >> 4) & 0xF];
+            hex[2 * i + 1] = digits[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,109 @@
+package com.tekcode.parser.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tekcode.parser.model.APIEndpointNode;
+import com.tekcode.parser.model.AnnotationNode;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.CodeChunk;
+import com.tekcode.parser.model.DependencyNode;
+import com.tekcode.parser.model.DocumentChunk;
+import com.tekcode.parser.model.DocumentNode;
+import com.tekcode.parser.model.EnumNode;
+import com.tekcode.parser.model.FieldNode;
+import com.tekcode.parser.model.FileNode;
+import com.tekcode.parser.model.InterfaceNode;
+import com.tekcode.parser.model.LambdaExpressionNode;
+import com.tekcode.parser.model.MetadataNode;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.MethodReferenceNode;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.Relationship;
+import com.tekcode.parser.model.TestCaseNode;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Puts a parse result into canonical order, so identical sources give identical output.
+ *
+ * Every entity list is sorted by ID (files by path) and relationships by ID, type and
+ * endpoints; entries that tie are ordered by their serialized form. The parse time and
+ * duration are cleared, since they differ on every run. Map entries are not reordered
+ * here: the output mapper sorts them by key when canonical output is on.
+ */
+public final class CanonicalOrder {
+
+    private static final ObjectMapper canonicalMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private static final Comparator<String> KEY_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private CanonicalOrder() {
+        // Utility class - prevent instantiation
+    }
+
+    public static void apply(ParseResult result) {
+        sort(result.getFiles(), FileNode::getPath);
+        sort(result.getClasses(), ClassNode::getId);
+        sort(result.getInterfaces(), InterfaceNode::getId);
+        sort(result.getEnums(), EnumNode::getId);
+        sort(result.getMethods(), MethodNode::getId);
+        sort(result.getFields(), FieldNode::getId);
+        sort(result.getLambdaExpressions(), LambdaExpressionNode::getId);
+        sort(result.getMethodReferences(), MethodReferenceNode::getId);
+        sort(result.getDependencies(), DependencyNode::getId);
+        sort(result.getApiEndpoints(), APIEndpointNode::getId);
+        sort(result.getTestCases(), TestCaseNode::getId);
+        sort(result.getDocuments(), DocumentNode::getId);
+        sort(result.getDocumentChunks(), DocumentChunk::getId);
+        sort(result.getCodeChunks(), CodeChunk::getId);
+        sort(result.getAnnotations(), AnnotationNode::getId);
+        result.getRelationships().sort(Comparator.comparing(Relationship::getId, KEY_ORDER)
+            .thenComparing(Relationship::getType, KEY_ORDER)
+            .thenComparing(Relationship::getSourceId, KEY_ORDER)
+            .thenComparing(Relationship::getTargetId, KEY_ORDER)
+            .thenComparing(CanonicalOrder::canonicalJson));
+
+        MetadataNode metadata = result.getMetadata();
+        if (metadata != null) {
+            metadata.setParseTime(null);
+            metadata.setParsingDurationMs(0);
+            metadata.setDetectedFrameworks(sorted(metadata.getDetectedFrameworks()));
+            metadata.setImpactedFiles(sorted(metadata.getImpactedFiles()));
+            metadata.setErrors(sorted(metadata.getErrors()));
+            metadata.setWarnings(sorted(metadata.getWarnings()));
+        }
+    }
+
+    private static <T> void sort(List<T> entities, Function<T, String> key) {
+        entities.sort(Comparator.comparing(key, KEY_ORDER).thenComparing(CanonicalOrder::canonicalJson));
+    }
+
+    private static List<String> sorted(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        List<String> copy = new ArrayList<>(values);
+        copy.sort(KEY_ORDER);
+        return copy;
+    }
+
+    /**
+     * Tie-breaker for entries with the same key; only computed when keys are equal
+     */
+    private static String canonicalJson(Object entity) {
+        try {
+            return canonicalMapper.writeValueAsString(entity);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tekcode.parser.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tekcode.parser.model.DocumentChunk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Content hashes of the document chunks of the previous run, per document.
+ *
+ * A chunk whose hash the previous run already produced for the same document is unchanged,
+ * so consumers that embed chunks can keep the earlier embedding. The hashes of this run
+ * replace the stored ones when the cache is written.
+ */
+public class ChunkCache {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkCache.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, Set<String>> previous;
+    private final Map<String, List<String>> current = new TreeMap<>();
+    private int unchanged;
+    private int changed;
+
+    private ChunkCache(Map<String, Set<String>> previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * A cache without previous hashes; every chunk counts as changed
+     */
+    public static ChunkCache empty() {
+        return new ChunkCache(new TreeMap<>());
+    }
+
+    /**
+     * Reads the cache, or starts an empty one if the file does not exist or has another format version
+     */
+    public static ChunkCache read(Path path) throws IOException {
+        Map<String, Set<String>> previous = new TreeMap<>();
+        if (Files.isRegularFile(path)) {
+            Stored stored = objectMapper.readValue(path.toFile(), Stored.class);
+            if (stored.version == FORMAT_VERSION && stored.documents != null) {
+                stored.documents.forEach((documentId, hashes) -> previous.put(documentId, new HashSet<>(hashes)));
+            } else {
+                logger.info("Ignoring chunk cache with unsupported format: {}", path);
+            }
+        }
+        return new ChunkCache(previous);
+    }
+
+    /**
+     * Flags each chunk of a document as unchanged or not and records its hashes for the next run
+     */
+    public synchronized void update(String documentId, List<DocumentChunk> chunks) {
+        Set<String> previousHashes = previous.getOrDefault(documentId, Collections.emptySet());
+        List<String> hashes = new ArrayList<>(chunks.size());
+        for (DocumentChunk chunk : chunks) {
+            boolean same = previousHashes.contains(chunk.getContentHash());
+            chunk.setUnchanged(same);
+            if (same) {
+                unchanged++;
+            } else {
+                changed++;
+            }
+            hashes.add(chunk.getContentHash());
+        }
+        current.put(documentId, hashes);
+    }
+
+    public synchronized void write(Path path) throws IOException {
+        Stored stored = new Stored();
+        stored.version = FORMAT_VERSION;
+        stored.documents = current;
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        objectMapper.writeValue(temp.toFile(), stored);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public synchronized int getUnchanged() {
+        return unchanged;
+    }
+
+    public synchronized int getChanged() {
+        return changed;
+    }
+
+    private static final class Stored {
+        @JsonProperty("version")
+        public int version;
+
+        @JsonProperty("documents")
+        public Map<String, List<String>> documents;
+    }
+}
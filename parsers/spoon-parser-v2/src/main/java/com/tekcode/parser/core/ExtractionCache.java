@@ -0,0 +1,104 @@
+package com.tekcode.parser.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tekcode.parser.config.ParserConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * On-disk cache of {@link FileExtraction}s keyed by file path and content ID.
+ *
+ * Keys also cover the codebase name and the parser configuration, since both shape the
+ * extracted entities; a configuration change simply misses the cache. With a blob file they
+ * cover its file ID too, as cached references hold offsets into that exact file.
+ */
+public class ExtractionCache {
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionCache.class);
+
+    private static final String FORMAT_VERSION = "2";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final Path directory;
+    private final String fingerprint;
+    private int hits;
+    private int misses;
+
+    public ExtractionCache(Path directory, String codebaseName, ParserConfig config, String blobFileId) throws IOException {
+        this.directory = directory;
+        this.fingerprint = sha1(FORMAT_VERSION + "\0" + codebaseName + "\0" + objectMapper.writeValueAsString(config)
+            + (blobFileId != null ? "\0" + blobFileId : ""));
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Cache key of a file version
+     */
+    public String keyFor(String path, String contentId) {
+        return sha1(fingerprint + "\0" + path + "\0" + contentId);
+    }
+
+    /**
+     * Returns the cached extraction, or null on a miss
+     */
+    public FileExtraction get(String key) {
+        Path file = fileFor(key);
+        if (Files.isRegularFile(file)) {
+            try {
+                FileExtraction extraction = objectMapper.readValue(file.toFile(), FileExtraction.class);
+                hits++;
+                return extraction;
+            } catch (IOException e) {
+                logger.debug("Ignoring unreadable cache entry: {}", file, e);
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    public void put(String key, FileExtraction extraction) {
+        Path file = fileFor(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            objectMapper.writeValue(temp.toFile(), extraction);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write extraction cache entry: {}", file, e);
+        }
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+    private static String sha1(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tekcode.parser.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.CodeChunk;
+import com.tekcode.parser.model.EnumNode;
+import com.tekcode.parser.model.FieldNode;
+import com.tekcode.parser.model.FileNode;
+import com.tekcode.parser.model.InterfaceNode;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.TestCaseNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entities extracted from a single compilation unit.
+ *
+ * These depend only on the file's own content, so they can be cached by content ID and
+ * reused when the same blob is parsed again; relationships are always recomputed from
+ * the full model.
+ */
+public class FileExtraction {
+
+    @JsonProperty("file")
+    private FileNode file;
+
+    @JsonProperty("classes")
+    private List<ClassNode> classes = new ArrayList<>();
+
+    @JsonProperty("interfaces")
+    private List<InterfaceNode> interfaces = new ArrayList<>();
+
+    @JsonProperty("enums")
+    private List<EnumNode> enums = new ArrayList<>();
+
+    @JsonProperty("methods")
+    private List<MethodNode> methods = new ArrayList<>();
+
+    @JsonProperty("fields")
+    private List<FieldNode> fields = new ArrayList<>();
+
+    @JsonProperty("testCases")
+    private List<TestCaseNode> testCases = new ArrayList<>();
+
+    @JsonProperty("codeChunks")
+    private List<CodeChunk> codeChunks = new ArrayList<>();
+
+    /**
+     * Adds every entity to the result
+     */
+    public void addTo(ParseResult result) {
+        if (file != null) {
+            result.addFile(file);
+        }
+        classes.forEach(result::addClass);
+        interfaces.forEach(result::addInterface);
+        enums.forEach(result::addEnum);
+        methods.forEach(result::addMethod);
+        fields.forEach(result::addField);
+        testCases.forEach(result::addTestCase);
+        codeChunks.forEach(result::addCodeChunk);
+    }
+
+    // === Getters and Setters ===
+
+    public FileNode getFile() { return file; }
+    public void setFile(FileNode file) { this.file = file; }
+
+    public List<ClassNode> getClasses() { return classes; }
+    public List<InterfaceNode> getInterfaces() { return interfaces; }
+    public List<EnumNode> getEnums() { return enums; }
+    public List<MethodNode> getMethods() { return methods; }
+    public List<FieldNode> getFields() { return fields; }
+    public List<TestCaseNode> getTestCases() { return testCases; }
+    public List<CodeChunk> getCodeChunks() { return codeChunks; }
+}
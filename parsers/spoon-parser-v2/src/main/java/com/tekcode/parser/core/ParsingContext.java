@@ -1,6 +1,16 @@
 package com.tekcode.parser.core;
 
 import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.source.ProjectInventory;
+import com.tekcode.parser.source.ProjectSource;
+import com.tekcode.parser.source.RepositorySnapshot;
+import com.tekcode.parser.util.PathUtils;
+import com.tekcode.parser.util.TokenVocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * Context object that holds shared state and configuration for the parsing process
@@ -10,19 +20,33 @@ import com.tekcode.parser.config.ParserConfig;
  */
 public class ParsingContext {
     
+    private static final Logger logger = LoggerFactory.getLogger(ParsingContext.class);
+    
     private final String codebaseName;
     private final String projectPath;
     private final ParserConfig config;
+    private final ProjectSource source;
     
     // Shared state
     private FrameworkInfo frameworkInfo;
+    private ProjectInventory inventory;
+    private RepositorySnapshot snapshot;
+    private RepositorySnapshot.Changes changes;
+    private TokenVocabulary tokenVocabulary;
+    private boolean tokenVocabularyLoaded;
+    private BlobStore blobStore;
     private int errorCount = 0;
     private int warningCount = 0;
     
     public ParsingContext(String codebaseName, String projectPath, ParserConfig config) {
+        this(codebaseName, config, ProjectSource.forPath(projectPath));
+    }
+    
+    public ParsingContext(String codebaseName, ParserConfig config, ProjectSource source) {
         this.codebaseName = codebaseName;
-        this.projectPath = projectPath;
+        this.projectPath = source.getRoot();
         this.config = config;
+        this.source = source;
     }
     
     // === Getters ===
@@ -39,6 +63,44 @@ public class ParsingContext {
         return config;
     }
     
+    /**
+     * Files of the project; read build files, documents and sources through this rather than the file system
+     */
+    public ProjectSource getSource() {
+        return source;
+    }
+    
+    /**
+     * Parser inputs of the project, listed on first use and shared by all phases
+     */
+    public synchronized ProjectInventory getInventory() throws IOException {
+        if (inventory == null) {
+            inventory = ProjectInventory.of(source, this::shouldIncludeSourceFile);
+        }
+        return inventory;
+    }
+    
+    /**
+     * Embedding model vocabulary from {@code tokenizerVocabularyFile}, loaded on first use;
+     * null when none is configured or it cannot be read
+     */
+    public synchronized TokenVocabulary getTokenVocabulary() {
+        if (!tokenVocabularyLoaded) {
+            tokenVocabularyLoaded = true;
+            String vocabularyFile = config.getTokenizerVocabularyFile();
+            if (vocabularyFile != null) {
+                try {
+                    tokenVocabulary = TokenVocabulary.load(Paths.get(vocabularyFile));
+                    logger.info("Loaded {} tokens from {}", tokenVocabulary.size(), vocabularyFile);
+                } catch (IOException e) {
+                    logger.error("Error loading tokenizer vocabulary {}", vocabularyFile, e);
+                    errorCount++;
+                }
+            }
+        }
+        return tokenVocabulary;
+    }
+    
     public FrameworkInfo getFrameworkInfo() {
         return frameworkInfo;
     }
@@ -47,25 +109,59 @@ public class ParsingContext {
         this.frameworkInfo = frameworkInfo;
     }
     
-    public int getErrorCount() {
+    /**
+     * Snapshot of the project taken before parsing, or null when snapshots are disabled
+     */
+    public RepositorySnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    public void setSnapshot(RepositorySnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+    
+    /**
+     * Files changed since the previous snapshot, or null when snapshots are disabled
+     */
+    /**
+     * Store for method bodies and source code when {@code blobFile} is set, otherwise null
+     */
+    public BlobStore getBlobStore() {
+        return blobStore;
+    }
+    
+    public void setBlobStore(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+    
+    public RepositorySnapshot.Changes getChanges() {
+        return changes;
+    }
+    
+    public void setChanges(RepositorySnapshot.Changes changes) {
+        this.changes = changes;
+    }
+    
+    public synchronized int getErrorCount() {
         return errorCount;
     }
     
-    public int getWarningCount() {
+    public synchronized int getWarningCount() {
         return warningCount;
     }
     
     // === Error/Warning tracking ===
     
-    public void incrementErrorCount() {
+    // Synchronized since document workers report errors concurrently
+    public synchronized void incrementErrorCount() {
         this.errorCount++;
     }
     
-    public void incrementWarningCount() {
+    public synchronized void incrementWarningCount() {
         this.warningCount++;
     }
     
-    public boolean hasExceededMaxErrors() {
+    public synchronized boolean hasExceededMaxErrors() {
         return errorCount >= config.getMaxErrorsBeforeAbort();
     }
     
@@ -87,6 +183,30 @@ public class ParsingContext {
         return config.isIncludeTestFiles();
     }
     
+    /**
+     * Whether a Java file passes the test, generated-code and include/exclude pattern rules;
+     * patterns are matched against the path under the project root
+     */
+    public boolean shouldIncludeSourceFile(String relativePath) {
+        String path = projectPath + "/" + relativePath;
+        
+        if (PathUtils.isTestFile(path) && !config.isIncludeTestFiles()) {
+            return false;
+        }
+        if (PathUtils.isGeneratedFile(path) && !config.isIncludeGeneratedFiles()) {
+            return false;
+        }
+        for (String pattern : config.getExcludePatterns()) {
+            if (path.matches(pattern)) {
+                return false;
+            }
+        }
+        if (!config.getIncludePatterns().isEmpty()) {
+            return config.getIncludePatterns().stream().anyMatch(path::matches);
+        }
+        return true;
+    }
+    
     public boolean shouldExtractCallGraph() {
         return config.isExtractCallGraph();
     }
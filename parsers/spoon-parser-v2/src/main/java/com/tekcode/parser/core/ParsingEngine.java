@@ -1,8 +1,14 @@
 package com.tekcode.parser.core;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.index.FileDependencyIndex;
 import com.tekcode.parser.model.*;
 import com.tekcode.parser.processor.*;
+import com.tekcode.parser.source.ProjectSource;
+import com.tekcode.parser.source.RepositorySnapshot;
+import com.tekcode.parser.source.SourceFile;
 import com.tekcode.parser.util.IdGenerator;
 import com.tekcode.parser.util.PathUtils;
 import org.slf4j.Logger;
@@ -10,7 +16,12 @@ import org.slf4j.LoggerFactory;
 import spoon.Launcher;
 import spoon.reflect.CtModel;
 import spoon.reflect.declaration.CtCompilationUnit;
+import spoon.reflect.declaration.CtConstructor;
+import spoon.reflect.declaration.CtExecutable;
+import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtType;
+import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.compiler.VirtualFile;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -36,6 +47,8 @@ public class ParsingEngine {
     
     private final String codebaseName;
     private final String projectPath;
+    private final ProjectSource source;
+    private final boolean ownsSource;
     private final ParserConfig config;
     private final ParseResult result;
     private final ParsingContext context;
@@ -44,6 +57,7 @@ public class ParsingEngine {
     private final FileProcessor fileProcessor;
     private final ClassProcessor classProcessor;
     private final MethodProcessor methodProcessor;
+    private final CodeChunkProcessor codeChunkProcessor;
     private final InterfaceProcessor interfaceProcessor;
     private final EnumProcessor enumProcessor;
     private final FunctionalProcessor functionalProcessor;
@@ -53,23 +67,54 @@ public class ParsingEngine {
     private final FrameworkProcessor frameworkProcessor;
     private final DocumentProcessor documentProcessor;
     
+    // Lines inside detected clones
+    private int duplicateLines;
+    
     // Deduplication sets
     private final Set<String> processedFiles = ConcurrentHashMap.newKeySet();
     private final Set<String> processedClasses = ConcurrentHashMap.newKeySet();
     private final Set<String> processedMethods = ConcurrentHashMap.newKeySet();
     private final Set<String> processedInterfaces = ConcurrentHashMap.newKeySet();
     
+    // Per-file results reused across revisions, or null when disabled
+    private ExtractionCache extractionCache;
+    
+    // Snapshot read from the configured snapshot file before this run, if taken for the same configuration
+    private RepositorySnapshot previousSnapshot;
+    
+    // Output the result is written to, part of the snapshot's configuration fingerprint
+    private String outputFile;
+    
+    // Files to re-extract for a change list, or null for a full parse
+    private Set<String> impactedFiles;
+    private boolean impactedFilesGiven;
+    private FileDependencyIndex dependencyIndex;
+    
     public ParsingEngine(String codebaseName, String projectPath, ParserConfig config) {
+        this(codebaseName, ProjectSource.forPath(projectPath), config, true);
+    }
+    
+    /**
+     * Parses the files of the given source; the caller keeps ownership of it
+     */
+    public ParsingEngine(String codebaseName, ProjectSource source, ParserConfig config) {
+        this(codebaseName, source, config, false);
+    }
+    
+    private ParsingEngine(String codebaseName, ProjectSource source, ParserConfig config, boolean ownsSource) {
         this.codebaseName = codebaseName;
-        this.projectPath = projectPath;
+        this.projectPath = source.getRoot();
+        this.source = source;
+        this.ownsSource = ownsSource;
         this.config = config;
         this.result = new ParseResult();
-        this.context = new ParsingContext(codebaseName, projectPath, config);
+        this.context = new ParsingContext(codebaseName, config, source);
         
         // Initialize processors
         this.fileProcessor = new FileProcessor(context);
         this.classProcessor = new ClassProcessor(context);
         this.methodProcessor = new MethodProcessor(context);
+        this.codeChunkProcessor = config.isEmitCodeChunks() ? new CodeChunkProcessor(context) : null;
         this.interfaceProcessor = new InterfaceProcessor(context);
         this.enumProcessor = new EnumProcessor(context);
         this.functionalProcessor = new FunctionalProcessor(context);
@@ -94,12 +139,34 @@ public class ParsingEngine {
             // Step 1: Validate project structure
             validateProject();
             
+            if (config.getSnapshotFile() != null) {
+                captureSnapshot();
+            }
+            
             // Step 2: Initialize metadata
             initializeMetadata();
             
+            if (config.getBlobFile() != null) {
+                context.setBlobStore(BlobStore.open(Paths.get(config.getBlobFile())));
+            }
+            if (config.getExtractionCacheDirectory() != null) {
+                // Cached blob references are only valid for the blob file they were made for
+                String blobFileId = context.getBlobStore() != null ? context.getBlobStore().getFileId() : null;
+                extractionCache = new ExtractionCache(Paths.get(config.getExtractionCacheDirectory()), codebaseName,
+                    config, blobFileId);
+            }
+            
             // Step 3: Build Spoon model
             CtModel model = buildSpoonModel();
             
+            // Narrow extraction to the files impacted by the change list, if any
+            if (config.getDependencyIndexFile() != null && !impactedFilesGiven) {
+                impactedFiles = computeImpactedFiles();
+            }
+            if (config.getDependencyIndexFile() != null || impactedFilesGiven) {
+                dependencyIndex = FileDependencyIndex.build(model, projectPath);
+            }
+            
             // Step 4: Extract dependencies first (needed for framework detection)
             if (config.isExtractDependencies()) {
                 extractDependencies();
@@ -117,12 +184,17 @@ public class ParsingEngine {
             extractFunctionalConstructs(model);
 
             // Step 8: Extract API endpoints
-            extractAPIEndpoints(new ArrayList<>(model.getAllTypes()));
+            extractAPIEndpoints(model.getAllTypes().stream()
+                    .filter(type -> isImpacted(type.getPosition().getFile()))
+                    .collect(Collectors.toList()));
 
             // Step 9: Extract relationships
             if (shouldExtractRelationships()) {
                 extractRelationships(model);
             }
+            if (config.isDetectClones()) {
+                detectClones(model);
+            }
 
             // Step 10: Process documentation files
             extractDocuments();
@@ -135,6 +207,14 @@ public class ParsingEngine {
                 validateOutput();
             }
             
+            if (config.isCanonicalOutput()) {
+                CanonicalOrder.apply(result);
+            }
+            
+            if (config.getDependencyIndexFile() != null) {
+                dependencyIndex.write(Paths.get(config.getDependencyIndexFile()));
+            }
+            
             logger.info("Parsing completed successfully in {} ms", 
                        java.time.Duration.between(startTime, Instant.now()).toMillis());
             
@@ -143,29 +223,164 @@ public class ParsingEngine {
         } catch (Exception e) {
             logger.error("Parsing failed: {}", e.getMessage(), e);
             throw new IOException("Parsing failed: " + e.getMessage(), e);
+        } finally {
+            try {
+                BlobStore blobStore = context.getBlobStore();
+                context.setBlobStore(null);
+                if (blobStore != null) {
+                    // Releases the file lock for the next parser
+                    blobStore.close();
+                }
+            } finally {
+                if (ownsSource) {
+                    source.close();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Re-extracts only the given files (paths relative to the root) instead of reading a change
+     * list; null extracts everything. The dependency index of the full model is built either way.
+     */
+    public void setImpactedFiles(Set<String> impactedFiles) {
+        this.impactedFiles = impactedFiles;
+        this.impactedFilesGiven = true;
+    }
+    
+    /**
+     * File dependency index of the last parse, or null if neither a dependency index file nor
+     * impacted files were configured
+     */
+    public FileDependencyIndex getDependencyIndex() {
+        return dependencyIndex;
+    }
+    
+    /**
+     * Sets the output file the caller writes the result to. It is part of the configuration
+     * fingerprint, since its extension can select the output format.
+     */
+    public void setOutputFile(String outputFile) {
+        this.outputFile = outputFile;
+    }
+    
+    /**
+     * Saves the snapshot taken by the last parse. Call it only once every output of the parse
+     * is written, so a failed write is not mistaken for a current output by the next run.
+     */
+    public void saveSnapshot() throws IOException {
+        if (config.getSnapshotFile() != null && context.getSnapshot() != null) {
+            context.getSnapshot().write(Paths.get(config.getSnapshotFile()));
+        }
+    }
+    
+    /**
+     * Whether a previous snapshot for the same configuration and output exists and no parser
+     * input changed since it was taken. The refreshed snapshot is saved, so files that were
+     * only touched are not re-hashed again.
+     */
+    public boolean isUnchangedSinceSnapshot() throws IOException {
+        if (config.getSnapshotFile() == null) {
+            return false;
+        }
+        captureSnapshot();
+        if (previousSnapshot == null || !context.getChanges().isEmpty()) {
+            return false;
+        }
+        context.getSnapshot().write(Paths.get(config.getSnapshotFile()));
+        return true;
+    }
+    
+    private void captureSnapshot() throws IOException {
+        if (context.getSnapshot() != null) {
+            return;
+        }
+        RepositorySnapshot stored = RepositorySnapshot.read(Paths.get(config.getSnapshotFile()));
+        RepositorySnapshot snapshot = RepositorySnapshot.capture(source, stored);
+        snapshot.setConfigFingerprint(configFingerprint());
+        // Content hashes carry over, but changes only count against a snapshot of the same configuration
+        previousSnapshot = stored != null && snapshot.getConfigFingerprint().equals(stored.getConfigFingerprint())
+                ? stored : null;
+        RepositorySnapshot.Changes changes = snapshot.changesSince(previousSnapshot);
+        context.setSnapshot(snapshot);
+        context.setChanges(changes);
+        
+        if (stored != null && previousSnapshot == null) {
+            logger.info("Configuration or output changed since the last snapshot, all {} files count as new",
+                       snapshot.getFiles().size());
+        } else if (previousSnapshot == null) {
+            logger.info("No previous snapshot, all {} files are new", snapshot.getFiles().size());
+        } else {
+            logger.info("Changes since last snapshot: {}", changes);
+            changes.getChangedPaths().forEach(path -> logger.debug("Changed: {}", path));
+        }
+    }
+    
+    private String configFingerprint() throws IOException {
+        return RepositorySnapshot.fingerprint(codebaseName, projectPath, String.valueOf(outputFile),
+                new ObjectMapper().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsString(config));
+    }
+    
+    /**
+     * Reads the change list (or takes the snapshot changes) and closes it over the reverse
+     * dependencies recorded by the previous run. Returns null, meaning a full parse, when
+     * there is no change list or no previous index.
+     */
+    private Set<String> computeImpactedFiles() throws IOException {
+        List<String> changedPaths;
+        if (config.getChangeListFile() != null) {
+            changedPaths = Files.readAllLines(Paths.get(config.getChangeListFile())).stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(PathUtils::normalizePath)
+                    .collect(Collectors.toList());
+        } else if (previousSnapshot != null) {
+            changedPaths = context.getChanges().getChangedPaths();
+        } else {
+            return null;
         }
+        
+        Path indexFile = Paths.get(config.getDependencyIndexFile());
+        if (!Files.isRegularFile(indexFile)) {
+            logger.info("No file dependency index from a previous run, parsing everything");
+            return null;
+        }
+        
+        long start = System.nanoTime();
+        Set<String> impacted = FileDependencyIndex.read(indexFile).impactedBy(changedPaths);
+        logger.info("{} changed files impact {} files ({} ms)", changedPaths.size(), impacted.size(),
+                   (System.nanoTime() - start) / 1_000_000);
+        return impacted;
+    }
+    
+    private boolean isImpacted(java.io.File file) {
+        return impactedFiles == null
+                || (file != null && impactedFiles.contains(PathUtils.toRelativePath(file.getPath(), projectPath)));
     }
     
     private void validateProject() throws IOException {
         Path projectDir = Paths.get(projectPath);
-        if (!Files.exists(projectDir)) {
-            throw new IOException("Project directory does not exist: " + projectPath);
-        }
-        if (!Files.isDirectory(projectDir)) {
-            throw new IOException("Project path is not a directory: " + projectPath);
+        if (!source.isVirtual()) {
+            if (!Files.exists(projectDir)) {
+                throw new IOException("Project directory does not exist: " + projectPath);
+            }
+            if (!Files.isDirectory(projectDir)) {
+                throw new IOException("Project path is not a directory: " + projectPath);
+            }
         }
         
         // Count Java files
-        long javaFileCount = Files.walk(projectDir)
-                .filter(Files::isRegularFile)
-                .filter(path -> path.toString().endsWith(".java"))
-                .count();
+        long javaFileCount = context.getInventory().getJavaFiles().size();
         
         if (javaFileCount == 0) {
             logger.warn("No Java files found in project directory: {}", projectPath);
         } else {
             logger.info("Found {} Java files to process", javaFileCount);
         }
+        int skipped = context.getInventory().getSkippedJavaFiles().size();
+        if (skipped > 0) {
+            logger.info("Skipping {} Java files excluded by configuration", skipped);
+        }
     }
     
     private void initializeMetadata() {
@@ -178,11 +393,19 @@ public class ParsingEngine {
         result.setMetadata(metadata);
     }
     
-    private CtModel buildSpoonModel() {
+    private CtModel buildSpoonModel() throws IOException {
         logger.info("Building Spoon model for project: {}", projectPath);
         
         Launcher launcher = new Launcher();
-        launcher.addInputResource(projectPath);
+        for (SourceFile file : context.getInventory().getJavaFiles()) {
+            if (source.isVirtual()) {
+                // Hand sources to Spoon in memory, named as if they lived under the source root
+                launcher.addInputResource(new VirtualFile(file.readString(), projectPath + "/" + file.getPath()));
+            } else {
+                // Listed files rather than the root, so Spoon does not walk the tree again
+                launcher.addInputResource(projectPath + "/" + file.getPath());
+            }
+        }
         
         // Configure Spoon environment
         launcher.getEnvironment().setNoClasspath(true);
@@ -233,11 +456,15 @@ public class ParsingEngine {
     private void processCompilationUnits(CtModel model) {
         logger.info("Processing compilation units");
         
-        // Get all compilation units (deduplicated)
-        Set<CtCompilationUnit> compilationUnits = model.getAllTypes().stream()
+        // Get all compilation units (deduplicated), in path order so that runs are repeatable
+        List<CtCompilationUnit> compilationUnits = model.getAllTypes().stream()
                 .filter(type -> type.getPosition() != null && type.getPosition().getCompilationUnit() != null)
-                .map(type -> type.getPosition().getCompilationUnit())
-                .collect(Collectors.toSet());
+                .<CtCompilationUnit>map(type -> type.getPosition().getCompilationUnit())
+                .filter(compilationUnit -> isImpacted(compilationUnit.getFile()))
+                .distinct()
+                .sorted(Comparator.comparing(compilationUnit -> compilationUnit.getFile() != null
+                        ? compilationUnit.getFile().getPath() : ""))
+                .collect(Collectors.toList());
         
         logger.info("Found {} unique compilation units to process", compilationUnits.size());
         
@@ -262,6 +489,9 @@ public class ParsingEngine {
         }
         
         logger.info("Completed processing {} compilation units", processed);
+        if (extractionCache != null) {
+            logger.info("Extraction cache: {} hits, {} misses", extractionCache.getHits(), extractionCache.getMisses());
+        }
     }
 
     /**
@@ -279,12 +509,29 @@ public class ParsingEngine {
         return allTypes;
     }
     
-    private void processCompilationUnit(CtCompilationUnit compilationUnit) {
+    private void processCompilationUnit(CtCompilationUnit compilationUnit) throws IOException {
+        SourceFile sourceFile = findSourceFile(compilationUnit);
+        String cacheKey = extractionCache != null && sourceFile != null && sourceFile.getContentId() != null
+                ? extractionCache.keyFor(sourceFile.getPath(), sourceFile.getContentId()) : null;
+
+        if (cacheKey != null) {
+            FileExtraction cached = extractionCache.get(cacheKey);
+            if (cached != null) {
+                // Only the modification time differs between revisions sharing a blob
+                if (cached.getFile() != null) {
+                    cached.getFile().setLastModified(sourceFile.getLastModified());
+                }
+                mergeCachedExtraction(cached);
+                return;
+            }
+        }
+
+        FileExtraction extraction = new FileExtraction();
+
         // Process file information
         FileNode fileNode = fileProcessor.processFile(compilationUnit);
-        if (fileNode != null && !processedFiles.contains(fileNode.getPath())) {
-            result.addFile(fileNode);
-            processedFiles.add(fileNode.getPath());
+        if (fileNode != null && processedFiles.add(fileNode.getPath())) {
+            extraction.setFile(fileNode);
         }
         
         // Process all types in this compilation unit (including nested types)
@@ -293,65 +540,104 @@ public class ParsingEngine {
             try {
                 // Check enum first since CtEnum extends CtClass
                 if (type instanceof spoon.reflect.declaration.CtEnum) {
-                    processEnum((spoon.reflect.declaration.CtEnum<?>) type);
+                    processEnum((spoon.reflect.declaration.CtEnum<?>) type, extraction);
                 } else if (type instanceof spoon.reflect.declaration.CtInterface) {
-                    processInterface((spoon.reflect.declaration.CtInterface<?>) type);
+                    processInterface((spoon.reflect.declaration.CtInterface<?>) type, extraction);
                 } else if (type instanceof spoon.reflect.declaration.CtClass) {
-                    processClass((spoon.reflect.declaration.CtClass<?>) type);
+                    processClass((spoon.reflect.declaration.CtClass<?>) type, extraction);
                 }
             } catch (Exception e) {
                 logger.error("Error processing type: {}", type.getQualifiedName(), e);
             }
         });
+
+        extraction.addTo(result);
+        if (cacheKey != null) {
+            extractionCache.put(cacheKey, extraction);
+        }
+    }
+
+    private SourceFile findSourceFile(CtCompilationUnit compilationUnit) throws IOException {
+        if (compilationUnit.getFile() == null) {
+            return null;
+        }
+        String relativePath = PathUtils.toRelativePath(compilationUnit.getFile().getPath(), projectPath);
+        return context.getInventory().find(relativePath);
+    }
+
+    /**
+     * Adds a cached extraction, skipping entities already contributed by another file
+     */
+    private void mergeCachedExtraction(FileExtraction cached) {
+        FileNode fileNode = cached.getFile();
+        if (fileNode != null && processedFiles.add(fileNode.getPath())) {
+            result.addFile(fileNode);
+        }
+        cached.getClasses().stream().filter(node -> processedClasses.add(node.getId())).forEach(result::addClass);
+        cached.getEnums().stream().filter(node -> processedClasses.add(node.getId())).forEach(result::addEnum);
+        cached.getInterfaces().stream().filter(node -> processedInterfaces.add(node.getId())).forEach(result::addInterface);
+        cached.getMethods().stream().filter(node -> processedMethods.add(node.getId())).forEach(result::addMethod);
+        cached.getFields().forEach(result::addField);
+        cached.getTestCases().forEach(result::addTestCase);
+        cached.getCodeChunks().forEach(result::addCodeChunk);
     }
     
-    private void processClass(spoon.reflect.declaration.CtClass<?> ctClass) {
+    private void processClass(spoon.reflect.declaration.CtClass<?> ctClass, FileExtraction extraction) {
         String classId = IdGenerator.generateClassId(codebaseName, ctClass.getQualifiedName());
         
         if (!processedClasses.contains(classId)) {
             ClassNode classNode = classProcessor.processClass(ctClass);
             if (classNode != null) {
-                result.addClass(classNode);
+                extraction.getClasses().add(classNode);
                 processedClasses.add(classId);
+                if (codeChunkProcessor != null) {
+                    extraction.getCodeChunks().addAll(codeChunkProcessor.processType(classId, ctClass));
+                }
 
                 // Note: DEFINES_CLASS and HAS_INNER_CLASS relationships are now handled by RelationshipProcessor
 
                 // Process methods in this class
-                ctClass.getMethods().forEach(method -> processMethod(method));
+                ctClass.getMethods().forEach(method -> processMethod(method, extraction));
 
                 // Process fields in this class
                 List<FieldNode> fields = classProcessor.processFields(ctClass);
-                fields.forEach(result::addField);
-                ctClass.getConstructors().forEach(constructor -> processMethod(constructor));
+                extraction.getFields().addAll(fields);
+                ctClass.getConstructors().forEach(constructor -> processMethod(constructor, extraction));
             }
         }
     }
     
-    private void processInterface(spoon.reflect.declaration.CtInterface<?> ctInterface) {
+    private void processInterface(spoon.reflect.declaration.CtInterface<?> ctInterface, FileExtraction extraction) {
         String interfaceId = IdGenerator.generateInterfaceId(codebaseName, ctInterface.getQualifiedName());
         
         if (!processedInterfaces.contains(interfaceId)) {
             InterfaceNode interfaceNode = interfaceProcessor.processInterface(ctInterface);
             if (interfaceNode != null) {
-                result.addInterface(interfaceNode);
+                extraction.getInterfaces().add(interfaceNode);
                 processedInterfaces.add(interfaceId);
+                if (codeChunkProcessor != null) {
+                    extraction.getCodeChunks().addAll(codeChunkProcessor.processType(interfaceId, ctInterface));
+                }
 
                 // Note: DEFINES_INTERFACE relationship is now handled by RelationshipProcessor
                 
                 // Process methods in this interface
-                ctInterface.getMethods().forEach(method -> processMethod(method));
+                ctInterface.getMethods().forEach(method -> processMethod(method, extraction));
             }
         }
     }
     
-    private void processMethod(spoon.reflect.declaration.CtExecutable<?> executable) {
+    private void processMethod(spoon.reflect.declaration.CtExecutable<?> executable, FileExtraction extraction) {
         String methodId = IdGenerator.generateMethodId(codebaseName, executable);
         
         if (!processedMethods.contains(methodId)) {
             MethodNode methodNode = methodProcessor.processMethod(executable);
             if (methodNode != null) {
-                result.addMethod(methodNode);
+                extraction.getMethods().add(methodNode);
                 processedMethods.add(methodId);
+                if (codeChunkProcessor != null) {
+                    extraction.getCodeChunks().addAll(codeChunkProcessor.processExecutable(methodId, executable));
+                }
 
                 // Note: HAS_METHOD and OVERRIDES relationships are now handled by RelationshipProcessor
 
@@ -359,24 +645,27 @@ public class ParsingEngine {
                 if (methodProcessor.isTestMethod(executable)) {
                     TestCaseNode testCase = methodProcessor.createTestCase(executable);
                     if (testCase != null) {
-                        result.addTestCase(testCase);
+                        extraction.getTestCases().add(testCase);
                     }
                 }
             }
         }
     }
 
-    private void processEnum(spoon.reflect.declaration.CtEnum<?> ctEnum) {
+    private void processEnum(spoon.reflect.declaration.CtEnum<?> ctEnum, FileExtraction extraction) {
         String enumId = IdGenerator.generateEnumId(context.getCodebaseName(), ctEnum.getQualifiedName());
 
         if (!processedClasses.contains(enumId)) {
             EnumNode enumNode = enumProcessor.processEnum(ctEnum);
             if (enumNode != null) {
-                result.addEnum(enumNode);
+                extraction.getEnums().add(enumNode);
                 processedClasses.add(enumId);
+                if (codeChunkProcessor != null) {
+                    extraction.getCodeChunks().addAll(codeChunkProcessor.processType(enumId, ctEnum));
+                }
 
                 // Process methods in this enum
-                ctEnum.getMethods().forEach(method -> processMethod(method));
+                ctEnum.getMethods().forEach(method -> processMethod(method, extraction));
             }
         }
     }
@@ -385,11 +674,15 @@ public class ParsingEngine {
         logger.info("Extracting functional programming constructs");
 
         // Extract lambda expressions
-        List<LambdaExpressionNode> lambdas = functionalProcessor.extractLambdaExpressions(model);
+        List<LambdaExpressionNode> lambdas = functionalProcessor.extractLambdaExpressions(model).stream()
+                .filter(lambda -> impactedFiles == null || impactedFiles.contains(lambda.getFilePath()))
+                .collect(Collectors.toList());
         lambdas.forEach(result::addLambdaExpression);
 
         // Extract method references
-        List<MethodReferenceNode> methodRefs = functionalProcessor.extractMethodReferences(model);
+        List<MethodReferenceNode> methodRefs = functionalProcessor.extractMethodReferences(model).stream()
+                .filter(methodRef -> impactedFiles == null || impactedFiles.contains(methodRef.getFilePath()))
+                .collect(Collectors.toList());
         methodRefs.forEach(result::addMethodReference);
 
         logger.info("Extracted {} lambdas and {} method references", lambdas.size(), methodRefs.size());
@@ -427,19 +720,68 @@ public class ParsingEngine {
         logger.info("Extracting relationships");
         
         List<Relationship> relationships = relationshipProcessor.extractRelationships(model);
+        if (impactedFiles != null) {
+            // Keep what the re-extracted entities declare; the rest is unchanged from the previous run
+            Set<String> extractedIds = extractedEntityIds();
+            relationships = relationships.stream()
+                    .filter(relationship -> extractedIds.contains(relationship.getSourceId()))
+                    .collect(Collectors.toList());
+        }
         result.setRelationships(relationships);
         
         logger.info("Extracted {} relationships", relationships.size());
     }
     
+    private void detectClones(CtModel model) {
+        logger.info("Detecting clones");
+        
+        // Everything is fingerprinted, as unchanged files may hold copies of impacted methods
+        List<CtExecutable<?>> executables = new ArrayList<>();
+        for (CtExecutable<?> executable : model.getElements(new TypeFilter<CtExecutable<?>>(CtExecutable.class))) {
+            if ((executable instanceof CtMethod || executable instanceof CtConstructor)
+                    && (impactedFiles != null || processedMethods.contains(IdGenerator.generateMethodId(codebaseName, executable)))) {
+                executables.add(executable);
+            }
+        }
+        
+        CloneProcessor.CloneDetectionResult clones = new CloneProcessor(context).detectClones(executables);
+        Set<String> extractedIds = impactedFiles != null ? extractedEntityIds() : null;
+        for (Relationship relationship : clones.relationships) {
+            if (extractedIds == null || extractedIds.contains(relationship.getSourceId())) {
+                result.addRelationship(relationship);
+            }
+        }
+        duplicateLines = clones.duplicateLines;
+    }
+    
+    private Set<String> extractedEntityIds() {
+        Set<String> ids = new HashSet<>();
+        result.getFiles().forEach(file -> ids.add(IdGenerator.generateFileId(codebaseName, file.getPath())));
+        result.getClasses().forEach(node -> ids.add(node.getId()));
+        result.getInterfaces().forEach(node -> ids.add(node.getId()));
+        result.getEnums().forEach(node -> ids.add(node.getId()));
+        result.getMethods().forEach(node -> ids.add(node.getId()));
+        result.getFields().forEach(node -> ids.add(node.getId()));
+        result.getLambdaExpressions().forEach(node -> ids.add(node.getId()));
+        result.getMethodReferences().forEach(node -> ids.add(node.getId()));
+        result.getApiEndpoints().forEach(node -> ids.add(node.getId()));
+        return ids;
+    }
+    
     private void finalizeMetadata(Instant startTime) {
         MetadataNode metadata = result.getMetadata();
+        if (impactedFiles != null) {
+            metadata.setImpactedFiles(new ArrayList<>(impactedFiles));
+        }
         
         // Calculate statistics
         StatisticsNode statistics = new StatisticsNode();
         statistics.setTotalFiles(result.getFiles().size());
-        // Total lines calculation removed since lineCount field was removed
-        statistics.setTotalLines(0);
+        statistics.setTotalLines(result.getFiles().stream().mapToInt(FileNode::getTotalLines).sum());
+        statistics.setLinesOfCode(result.getFiles().stream().mapToInt(FileNode::getLinesOfCode).sum());
+        statistics.setCommentLines(result.getFiles().stream().mapToInt(FileNode::getCommentLines).sum());
+        statistics.setBlankLines(result.getFiles().stream().mapToInt(FileNode::getBlankLines).sum());
+        statistics.setDuplicateLines(duplicateLines);
         statistics.setComplexity(result.getMethods().stream()
                 .mapToInt(MethodNode::getCyclomaticComplexity)
                 .sum());
@@ -0,0 +1,38 @@
+package com.tekcode.parser.delta;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One added, modified or removed node or relationship of a {@link ParseDelta}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"kind", "id", "contentHash", "entity"})
+public class EntityChange {
+
+    /**
+     * Result list the entity belongs to, e.g. "classes" or "relationships"
+     */
+    @JsonProperty("kind")
+    private String kind;
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("contentHash")
+    private String contentHash;
+
+    /**
+     * New content of added and modified entities; absent for removals
+     */
+    @JsonProperty("entity")
+    private JsonNode entity;
+}
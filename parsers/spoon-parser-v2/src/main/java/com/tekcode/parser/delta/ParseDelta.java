@@ -0,0 +1,51 @@
+package com.tekcode.parser.delta;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes between two parse results of a codebase, keyed by entity ID
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"codebaseName", "sequence", "changedFiles", "impactedFiles", "added", "modified", "removed"})
+public class ParseDelta {
+
+    @JsonProperty("codebaseName")
+    private String codebaseName;
+
+    /**
+     * Position in a stream of deltas, starting at 0 for the initial full result
+     */
+    @JsonProperty("sequence")
+    private Long sequence;
+
+    @JsonProperty("changedFiles")
+    private List<String> changedFiles;
+
+    /**
+     * Files that were re-extracted; null when the whole project was
+     */
+    @JsonProperty("impactedFiles")
+    private List<String> impactedFiles;
+
+    @JsonProperty("added")
+    private List<EntityChange> added = new ArrayList<>();
+
+    @JsonProperty("modified")
+    private List<EntityChange> modified = new ArrayList<>();
+
+    @JsonProperty("removed")
+    private List<EntityChange> removed = new ArrayList<>();
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return added.isEmpty() && modified.isEmpty() && removed.isEmpty();
+    }
+}
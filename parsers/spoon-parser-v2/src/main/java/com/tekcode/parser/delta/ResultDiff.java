@@ -0,0 +1,352 @@
+package com.tekcode.parser.delta;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tekcode.parser.util.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Computes the delta document between two parse output files.
+ *
+ * Each file is streamed once to collect a compact reference per entity (kind, ID, content
+ * hash and byte range); entity bodies are not kept. The references are sorted by ID and the
+ * two lists are merged in order, so memory holds IDs and hashes only. Bodies of added and
+ * modified entities are read back from the current file by byte range while writing.
+ *
+ * A current output that lists {@code metadata.impactedFiles} only holds the entities of
+ * those files, so only entities they own (and project-level ones) can be removed; owners
+ * follow the same rules as {@link ResultEntities}.
+ */
+public class ResultDiff {
+    private static final Logger logger = LoggerFactory.getLogger(ResultDiff.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Kinds whose entities carry the path of their file */
+    private static final Set<String> FILE_KINDS = Set.of("files", "classes", "interfaces", "enums",
+        "lambdaExpressions", "methodReferences", "codeChunks");
+
+    private ResultDiff() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Returns the conventional delta path for an output file
+     */
+    public static Path deltaPathFor(Path outputFile) {
+        return outputFile.resolveSibling(outputFile.getFileName() + ".delta.json");
+    }
+
+    /**
+     * Entity of an output file, located by its byte range
+     */
+    private static final class Ref {
+        final String kind;
+        final String id;
+        final String contentHash;
+        final long offset;
+        final int length;
+        // File path, type name or relationship source the owner is derived from
+        final String ownerHint;
+        String owner;
+
+        Ref(String kind, String id, String contentHash, long offset, int length, String ownerHint) {
+            this.kind = kind;
+            this.id = id;
+            this.contentHash = contentHash;
+            this.offset = offset;
+            this.length = length;
+            this.ownerHint = ownerHint;
+        }
+    }
+
+    /**
+     * Writes the delta from the previous to the current output file
+     */
+    public static void write(Path previousOutput, Path currentOutput, Path deltaFile) throws IOException {
+        long start = System.nanoTime();
+        Scan current = scan(currentOutput, false);
+        Set<String> impactedFiles = current.impactedFiles != null ? new HashSet<>(current.impactedFiles) : null;
+        Scan previous = scan(previousOutput, impactedFiles != null);
+        if (impactedFiles != null) {
+            logger.info("Current output holds {} re-extracted files, other entities are kept", impactedFiles.size());
+        }
+
+        JsonFactory factory = objectMapper.getFactory();
+        int[] counts = new int[3];
+        try (FileChannel body = FileChannel.open(currentOutput, StandardOpenOption.READ);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(deltaFile), 1 << 16);
+             JsonGenerator generator = factory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeStringField("codebaseName", current.codebaseName);
+
+            // One ordered merge per section keeps every section sorted by ID without buffering
+            generator.writeArrayFieldStart("added");
+            counts[0] = merge(previous.refs, current.refs, (before, after) -> {
+                if (before == null) {
+                    writeChange(generator, after, readEntity(body, after));
+                    return true;
+                }
+                return false;
+            });
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("modified");
+            counts[1] = merge(previous.refs, current.refs, (before, after) -> {
+                if (before != null && after != null && !before.contentHash.equals(after.contentHash)) {
+                    writeChange(generator, after, readEntity(body, after));
+                    return true;
+                }
+                return false;
+            });
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("removed");
+            counts[2] = merge(previous.refs, current.refs, (before, after) -> {
+                if (after == null && (impactedFiles == null || ResultEntities.PROJECT_OWNER.equals(before.owner)
+                        || impactedFiles.contains(before.owner))) {
+                    writeChange(generator, before, null);
+                    return true;
+                }
+                return false;
+            });
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        logger.info("Delta written to {}: {} added, {} modified, {} removed ({} ms)", deltaFile,
+                   counts[0], counts[1], counts[2], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes a delta without changes, for runs that keep the previous output
+     */
+    public static void writeEmpty(String codebaseName, Path deltaFile) throws IOException {
+        ParseDelta delta = new ParseDelta();
+        delta.setCodebaseName(codebaseName);
+        objectMapper.writeValue(deltaFile.toFile(), delta);
+        logger.info("Empty delta written to {}", deltaFile);
+    }
+
+    /**
+     * Reads a delta document written by {@link #write}
+     */
+    public static ParseDelta read(Path deltaFile) throws IOException {
+        return objectMapper.readValue(deltaFile.toFile(), ParseDelta.class);
+    }
+
+    @FunctionalInterface
+    private interface MergeStep {
+        /**
+         * Visits an ID present in either list; returns whether something was written
+         */
+        boolean visit(Ref before, Ref after) throws IOException;
+    }
+
+    private static int merge(List<Ref> previous, List<Ref> current, MergeStep step) throws IOException {
+        int written = 0;
+        int i = 0;
+        int j = 0;
+        while (i < previous.size() || j < current.size()) {
+            Ref before = i < previous.size() ? previous.get(i) : null;
+            Ref after = j < current.size() ? current.get(j) : null;
+            int order = before == null ? 1 : after == null ? -1 : before.id.compareTo(after.id);
+            boolean changed;
+            if (order < 0) {
+                changed = step.visit(before, null);
+                i++;
+            } else if (order > 0) {
+                changed = step.visit(null, after);
+                j++;
+            } else {
+                changed = step.visit(before, after);
+                i++;
+                j++;
+            }
+            if (changed) {
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static void writeChange(JsonGenerator generator, Ref ref, JsonNode entity) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("kind", ref.kind);
+        generator.writeStringField("id", ref.id);
+        generator.writeStringField("contentHash", ref.contentHash);
+        if (entity != null) {
+            generator.writeFieldName("entity");
+            generator.writeTree(entity);
+        }
+        generator.writeEndObject();
+    }
+
+    private static JsonNode readEntity(FileChannel channel, Ref ref) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ref.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, ref.offset + buffer.position()) < 0) {
+                throw new IOException("Output file changed while writing the delta");
+            }
+        }
+        return objectMapper.readTree(buffer.array());
+    }
+
+    private static final class Scan {
+        String codebaseName;
+        List<String> impactedFiles;
+        final List<Ref> refs = new ArrayList<>();
+    }
+
+    /**
+     * Streams an output file, hashing one entity at a time, and resolves the owning file of
+     * every entity if asked to
+     */
+    private static Scan scan(Path outputFile, boolean withOwners) throws IOException {
+        Scan scan = new Scan();
+        List<Ref> filePaths = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(outputFile), 1 << 16);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Not a parse result: " + outputFile);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals("codebaseName") && value == JsonToken.VALUE_STRING) {
+                    scan.codebaseName = parser.getText();
+                } else if (field.equals("metadata") && value == JsonToken.START_OBJECT) {
+                    JsonNode metadata = parser.readValueAsTree();
+                    JsonNode impacted = metadata.get("impactedFiles");
+                    if (impacted != null && impacted.isArray()) {
+                        scan.impactedFiles = new ArrayList<>();
+                        impacted.forEach(path -> scan.impactedFiles.add(path.asText()));
+                    }
+                } else if (value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        long offset = parser.getTokenLocation().getByteOffset();
+                        JsonNode entity = parser.readValueAsTree();
+                        int length = (int) (parser.getCurrentLocation().getByteOffset() - offset);
+                        String hash = ResultEntities.contentHash(entity);
+                        String hint = withOwners ? ownerHint(field, entity) : null;
+                        if (field.equals("files")) {
+                            // File IDs need the codebase name, which may come later
+                            filePaths.add(new Ref(field, entity.path("path").asText(null), hash, offset, length, hint));
+                        } else if (entity.hasNonNull("id")) {
+                            scan.refs.add(new Ref(field, entity.get("id").asText(), hash, offset, length, hint));
+                        } else if (field.equals("relationships")) {
+                            scan.refs.add(new Ref(field, ResultEntities.relationshipKey(entity.path("type").asText(),
+                                entity.path("sourceId").asText(), entity.path("targetId").asText()), hash, offset, length, hint));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        for (Ref file : filePaths) {
+            if (file.id != null) {
+                scan.refs.add(new Ref(file.kind, IdGenerator.generateFileId(scan.codebaseName, file.id),
+                    file.contentHash, file.offset, file.length, file.ownerHint));
+            }
+        }
+        if (withOwners) {
+            resolveOwners(scan);
+        }
+
+        scan.refs.sort(Comparator.comparing((Ref ref) -> ref.id));
+        // Keep the first of duplicate IDs, as the JSON consumers do
+        List<Ref> unique = new ArrayList<>(scan.refs.size());
+        for (Ref ref : scan.refs) {
+            if (unique.isEmpty() || !unique.get(unique.size() - 1).id.equals(ref.id)) {
+                unique.add(ref);
+            }
+        }
+        scan.refs.clear();
+        scan.refs.addAll(unique);
+        return scan;
+    }
+
+    private static String ownerHint(String kind, JsonNode entity) {
+        if (kind.equals("files")) {
+            return entity.path("path").asText(null);
+        }
+        if (FILE_KINDS.contains(kind) || kind.equals("methods")) {
+            return entity.path("filePath").asText(null);
+        }
+        if (kind.equals("testCases") || kind.equals("apiEndpoints")) {
+            return entity.path("className").asText(null);
+        }
+        if (kind.equals("relationships")) {
+            return entity.path("sourceId").asText(null);
+        }
+        return null;
+    }
+
+    /**
+     * Assigns owners in the order {@link ResultEntities#collect} does: file nodes, then
+     * members through their declaring type, then relationships through their source
+     */
+    private static void resolveOwners(Scan scan) {
+        Map<String, String> owners = new HashMap<>();
+        for (Ref ref : scan.refs) {
+            if (FILE_KINDS.contains(ref.kind)) {
+                ref.owner = ref.ownerHint != null ? ref.ownerHint : ResultEntities.PROJECT_OWNER;
+                owners.putIfAbsent(ref.id, ref.owner);
+            }
+        }
+        Function<String, String> typeOwner = ResultEntities.typeOwner(owners, scan.codebaseName);
+        for (Ref ref : scan.refs) {
+            if (FILE_KINDS.contains(ref.kind) || ref.kind.equals("relationships")) {
+                continue;
+            }
+            String owner = null;
+            switch (ref.kind) {
+                case "methods":
+                    owner = ref.ownerHint != null ? ref.ownerHint : ResultEntities.memberOwner(ref.id, ":method:", typeOwner);
+                    break;
+                case "fields":
+                    owner = ResultEntities.memberOwner(ref.id, ":field:", typeOwner);
+                    break;
+                case "testCases":
+                case "apiEndpoints":
+                    owner = typeOwner.apply(ref.ownerHint);
+                    break;
+                default:
+                    break;
+            }
+            ref.owner = owner != null ? owner : ResultEntities.PROJECT_OWNER;
+            owners.putIfAbsent(ref.id, ref.owner);
+        }
+        for (Ref ref : scan.refs) {
+            if (ref.kind.equals("relationships")) {
+                String owner = ref.ownerHint != null ? owners.get(ref.ownerHint) : null;
+                ref.owner = owner != null ? owner : ResultEntities.PROJECT_OWNER;
+            }
+        }
+    }
+}
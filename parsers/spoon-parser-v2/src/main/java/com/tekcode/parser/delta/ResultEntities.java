@@ -0,0 +1,217 @@
+package com.tekcode.parser.delta;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.util.IdGenerator;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Flattens a parse result into ID-keyed entities with content hashes and the source file
+ * that owns each of them.
+ *
+ * Owners let a re-extraction of some files replace exactly their entities: nodes with a
+ * file path belong to that file, fields, test cases and endpoints to their declaring type,
+ * relationships to their source entity. Dependencies, documents and anything without an
+ * owning file belong to the project ("").
+ */
+public final class ResultEntities {
+
+    public static final String PROJECT_OWNER = "";
+
+    private static final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .addModule(new JavaTimeModule())
+            .build();
+
+    private ResultEntities() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * An entity of a result
+     */
+    public static final class Entry {
+        public final String kind;
+        public final String id;
+        public final String owner;
+        public final JsonNode entity;
+        public final String contentHash;
+
+        Entry(String kind, String id, String owner, JsonNode entity) {
+            this.kind = kind;
+            this.id = id;
+            this.owner = owner;
+            this.entity = entity;
+            this.contentHash = contentHash(entity);
+        }
+
+        public EntityChange toChange(boolean withContent) {
+            return new EntityChange(kind, id, contentHash, withContent ? entity : null);
+        }
+    }
+
+    /**
+     * All entities of the result that have an ID, in result order; relationships without one
+     * are keyed by type and endpoints
+     */
+    public static List<Entry> collect(ParseResult result) {
+        String codebase = result.getCodebaseName();
+        Map<String, String> owners = new HashMap<>();
+        List<Entry> entries = new ArrayList<>();
+
+        // Nodes that carry their file
+        result.getFiles().forEach(file -> {
+            String id = IdGenerator.generateFileId(codebase, file.getPath());
+            add(entries, owners, "files", id, file.getPath(), file);
+        });
+        result.getClasses().forEach(node -> add(entries, owners, "classes", node.getId(), node.getFilePath(), node));
+        result.getInterfaces().forEach(node -> add(entries, owners, "interfaces", node.getId(), node.getFilePath(), node));
+        result.getEnums().forEach(node -> add(entries, owners, "enums", node.getId(), node.getFilePath(), node));
+        result.getLambdaExpressions().forEach(node ->
+            add(entries, owners, "lambdaExpressions", node.getId(), node.getFilePath(), node));
+        result.getMethodReferences().forEach(node ->
+            add(entries, owners, "methodReferences", node.getId(), node.getFilePath(), node));
+        result.getCodeChunks().forEach(node -> add(entries, owners, "codeChunks", node.getId(), node.getFilePath(), node));
+
+        // Members owned through their declaring type
+        Function<String, String> typeOwner = typeOwner(owners, codebase);
+        // Implicit constructors have no position, so methods fall back to their declaring type too
+        result.getMethods().forEach(node -> add(entries, owners, "methods", node.getId(),
+            node.getFilePath() != null ? node.getFilePath() : memberOwner(node.getId(), ":method:", typeOwner), node));
+        result.getFields().forEach(node -> add(entries, owners, "fields", node.getId(),
+            memberOwner(node.getId(), ":field:", typeOwner), node));
+        result.getTestCases().forEach(node -> add(entries, owners, "testCases", node.getId(),
+            typeOwner.apply(node.getClassName()), node));
+        result.getApiEndpoints().forEach(node -> add(entries, owners, "apiEndpoints", node.getId(),
+            typeOwner.apply(node.getClassName()), node));
+
+        // Project-level entities
+        result.getDependencies().forEach(node -> add(entries, owners, "dependencies", node.getId(), null, node));
+        result.getDocuments().forEach(node -> add(entries, owners, "documents", node.getId(), null, node));
+        result.getDocumentChunks().forEach(node -> add(entries, owners, "documentChunks", node.getId(), null, node));
+        result.getAnnotations().forEach(node -> add(entries, owners, "annotations", node.getId(), null, node));
+
+        result.getRelationships().forEach(relationship -> add(entries, owners, "relationships",
+            relationship.getId() != null ? relationship.getId() : relationshipKey(relationship.getType(),
+                relationship.getSourceId(), relationship.getTargetId()),
+            owners.get(relationship.getSourceId()), relationship));
+        return entries;
+    }
+
+    /**
+     * Key of a relationship without an ID; equal to the ID the parser assigns to such an edge
+     */
+    public static String relationshipKey(String type, String sourceId, String targetId) {
+        return IdGenerator.generateRelationshipId(type, sourceId, targetId);
+    }
+
+    /**
+     * Hex SHA-1 of the canonical JSON of an entity (properties and map keys sorted), so
+     * trees read back from an output file hash like trees built from the model
+     */
+    public static String contentHash(JsonNode entity) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                .digest(canonicalMapper.writeValueAsBytes(sorted(entity)));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException | com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash entity", e);
+        }
+    }
+
+    /**
+     * Canonical tree form of an entity
+     */
+    public static JsonNode toTree(Object entity) {
+        return canonicalMapper.valueToTree(entity);
+    }
+
+    private static JsonNode sorted(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            for (String name : names) {
+                copy.set(name, sorted(node.get(name)));
+            }
+            return copy;
+        }
+        if (node.isArray()) {
+            ArrayNode copy = JsonNodeFactory.instance.arrayNode(node.size());
+            node.forEach(element -> copy.add(sorted(element)));
+            return copy;
+        }
+        return node;
+    }
+
+    private static void add(List<Entry> entries, Map<String, String> owners, String kind, String id,
+                            String owner, Object entity) {
+        if (id == null) {
+            return;
+        }
+        String resolved = owner != null ? owner : PROJECT_OWNER;
+        owners.putIfAbsent(id, resolved);
+        entries.add(new Entry(kind, id, resolved, toTree(entity)));
+    }
+
+    /**
+     * Looks up the owner of a type by name among the owners of classes, interfaces and enums
+     */
+    static Function<String, String> typeOwner(Map<String, String> owners, String codebase) {
+        return typeName -> {
+            if (typeName == null) {
+                return null;
+            }
+            String owner = owners.get(IdGenerator.generateClassId(codebase, typeName));
+            if (owner == null) {
+                owner = owners.get(IdGenerator.generateInterfaceId(codebase, typeName));
+            }
+            if (owner == null) {
+                owner = owners.get(IdGenerator.generateEnumId(codebase, typeName));
+            }
+            return owner;
+        };
+    }
+
+    /**
+     * Owner of the longest known type that prefixes a member ID such as
+     * {@code codebase:field:com.acme.Order.id}; signatures may contain dots themselves
+     */
+    static String memberOwner(String memberId, String marker, Function<String, String> typeOwner) {
+        int start = memberId.indexOf(marker);
+        if (start < 0) {
+            return null;
+        }
+        String member = memberId.substring(start + marker.length());
+        for (int dot = member.lastIndexOf('.'); dot > 0; dot = member.lastIndexOf('.', dot - 1)) {
+            String owner = typeOwner.apply(member.substring(0, dot));
+            if (owner != null) {
+                return owner;
+            }
+        }
+        return null;
+    }
+}
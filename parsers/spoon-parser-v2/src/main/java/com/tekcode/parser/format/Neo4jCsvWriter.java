@@ -0,0 +1,404 @@
+package com.tekcode.parser.format;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tekcode.parser.model.APIEndpointNode;
+import com.tekcode.parser.model.AnnotationNode;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.CodeChunk;
+import com.tekcode.parser.model.DependencyNode;
+import com.tekcode.parser.model.DocumentChunk;
+import com.tekcode.parser.model.DocumentNode;
+import com.tekcode.parser.model.EnumNode;
+import com.tekcode.parser.model.FieldNode;
+import com.tekcode.parser.model.InterfaceNode;
+import com.tekcode.parser.model.LambdaExpressionNode;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.MethodReferenceNode;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.Relationship;
+import com.tekcode.parser.model.TestCaseNode;
+import com.tekcode.parser.util.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Writes a parse result as input for {@code neo4j-admin database import}.
+ *
+ * Every entity list becomes one node file per label and every relationship type one
+ * relationship file, each with its own header file so the data files stay plain rows:
+ * <pre>
+ * Class_header.csv   :ID,id,name,packageName,...    Class.csv
+ * CALLS_header.csv   :START_ID,:END_ID,id,...        CALLS.csv
+ * import.args        neo4j-admin arguments naming every file pair
+ * </pre>
+ * Nodes are numbered in one integer ID space, which lets the importer run with
+ * {@code --id-type=INTEGER} instead of hashing string IDs. The entity ID stays available
+ * as the {@code id} property. Relationships to entities outside the result, such as JDK
+ * types, are left out like the Cypher loader leaves them out.
+ */
+public class Neo4jCsvWriter {
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jCsvWriter.class);
+
+    static final char ARRAY_DELIMITER = ';';
+    static final String ARGS_FILE = "import.args";
+
+    private static final ObjectMapper valueMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private Neo4jCsvWriter() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Returns the conventional import directory for an output file
+     */
+    public static Path directoryFor(Path outputFile) {
+        return outputFile.resolveSibling(outputFile.getFileName() + ".neo4j");
+    }
+
+    /**
+     * Writes the node and relationship files of the result into the given directory
+     */
+    public static void write(ParseResult result, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Integer> nodeIds = new HashMap<>();
+        List<String> args = new ArrayList<>();
+        args.add("--id-type=INTEGER");
+        args.add("--multiline-fields=true");
+        args.add("--array-delimiter=" + ARRAY_DELIMITER);
+
+        for (NodeList<?> nodes : nodeLists(result)) {
+            nodes.write(directory, nodeIds, args);
+        }
+        int written = writeRelationships(result.getRelationships(), directory, nodeIds, args);
+
+        Files.write(directory.resolve(ARGS_FILE), args, StandardCharsets.UTF_8);
+        logger.info("Neo4j import files written to: {} ({} nodes, {} relationships)",
+            directory, nodeIds.size(), written);
+        logger.info("Import with: cd {} && neo4j-admin database import full @{} <database>", directory, ARGS_FILE);
+    }
+
+    /**
+     * Entity lists that become nodes, with their Neo4j label
+     */
+    private static List<NodeList<?>> nodeLists(ParseResult result) {
+        String codebase = result.getCodebaseName();
+        List<NodeList<?>> lists = new ArrayList<>();
+        lists.add(new NodeList<>("File", result.getFiles(),
+            file -> file.getPath() != null ? IdGenerator.generateFileId(codebase, file.getPath()) : null));
+        lists.add(new NodeList<>("Class", result.getClasses(), ClassNode::getId));
+        lists.add(new NodeList<>("Interface", result.getInterfaces(), InterfaceNode::getId));
+        lists.add(new NodeList<>("Enum", result.getEnums(), EnumNode::getId));
+        lists.add(new NodeList<>("Method", result.getMethods(), MethodNode::getId));
+        lists.add(new NodeList<>("Field", result.getFields(), FieldNode::getId));
+        lists.add(new NodeList<>("LambdaExpression", result.getLambdaExpressions(), LambdaExpressionNode::getId));
+        lists.add(new NodeList<>("MethodReference", result.getMethodReferences(), MethodReferenceNode::getId));
+        lists.add(new NodeList<>("Dependency", result.getDependencies(), DependencyNode::getId));
+        lists.add(new NodeList<>("APIEndpoint", result.getApiEndpoints(), APIEndpointNode::getId));
+        lists.add(new NodeList<>("TestCase", result.getTestCases(), TestCaseNode::getId));
+        lists.add(new NodeList<>("Document", result.getDocuments(), DocumentNode::getId));
+        lists.add(new NodeList<>("Chunk", result.getDocumentChunks(), DocumentChunk::getId));
+        lists.add(new NodeList<>("CodeChunk", result.getCodeChunks(), CodeChunk::getId));
+        lists.add(new NodeList<>("Annotation", result.getAnnotations(), AnnotationNode::getId));
+        return lists;
+    }
+
+    private static int writeRelationships(List<Relationship> relationships, Path directory,
+                                          Map<String, Integer> nodeIds, List<String> args) throws IOException {
+        Map<String, List<Relationship>> byType = new TreeMap<>();
+        int skipped = 0;
+        for (Relationship relationship : relationships) {
+            if (relationship.getType() == null
+                    || !nodeIds.containsKey(relationship.getSourceId())
+                    || !nodeIds.containsKey(relationship.getTargetId())) {
+                skipped++;
+                continue;
+            }
+            byType.computeIfAbsent(relationship.getType(), type -> new ArrayList<>()).add(relationship);
+        }
+
+        int written = 0;
+        for (Map.Entry<String, List<Relationship>> entry : byType.entrySet()) {
+            String type = entry.getKey();
+            List<Relationship> ofType = entry.getValue();
+
+            // Property columns are the union of the keys seen for this type
+            Map<String, ColumnType> columns = new LinkedHashMap<>();
+            for (Relationship relationship : ofType) {
+                if (relationship.getProperties() == null) {
+                    continue;
+                }
+                for (Map.Entry<String, Object> property : relationship.getProperties().entrySet()) {
+                    if (property.getValue() != null && !"id".equals(property.getKey())) {
+                        columns.merge(property.getKey(), ColumnType.ofValue(property.getValue()), ColumnType::widen);
+                    }
+                }
+            }
+
+            String fileName = fileNameFor(type);
+            try (Writer out = Files.newBufferedWriter(directory.resolve(fileName + "_header.csv"), StandardCharsets.UTF_8)) {
+                out.write(":START_ID,:END_ID,id");
+                for (Map.Entry<String, ColumnType> column : columns.entrySet()) {
+                    out.write(',');
+                    out.write(column.getValue().header(column.getKey()));
+                }
+                out.write('\n');
+            }
+            try (Writer out = Files.newBufferedWriter(directory.resolve(fileName + ".csv"), StandardCharsets.UTF_8)) {
+                for (Relationship relationship : ofType) {
+                    out.write(Integer.toString(nodeIds.get(relationship.getSourceId())));
+                    out.write(',');
+                    out.write(Integer.toString(nodeIds.get(relationship.getTargetId())));
+                    out.write(',');
+                    writeString(out, relationship.getId());
+                    for (Map.Entry<String, ColumnType> column : columns.entrySet()) {
+                        out.write(',');
+                        Object value = relationship.getProperties() != null
+                            ? relationship.getProperties().get(column.getKey()) : null;
+                        column.getValue().write(out, value);
+                    }
+                    out.write('\n');
+                }
+            }
+            args.add("--relationships=" + type + "=" + fileName + "_header.csv," + fileName + ".csv");
+            written += ofType.size();
+        }
+
+        if (skipped > 0) {
+            logger.debug("Left out {} relationships to entities outside the result", skipped);
+        }
+        return written;
+    }
+
+    /**
+     * Relationship types come from the result, so keep file names to safe characters
+     */
+    private static String fileNameFor(String type) {
+        return type.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    private static void writeString(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    /**
+     * One entity list of the result together with its label and how to read the ID of its entries
+     */
+    private static final class NodeList<T> {
+        private final String label;
+        private final List<T> entities;
+        private final Function<T, String> idFunction;
+
+        NodeList(String label, List<T> entities, Function<T, String> idFunction) {
+            this.label = label;
+            this.entities = entities;
+            this.idFunction = idFunction;
+        }
+
+        void write(Path directory, Map<String, Integer> nodeIds, List<String> args) throws IOException {
+            if (entities == null || entities.isEmpty()) {
+                return;
+            }
+            List<Column> columns = columnsOf(entities.get(0).getClass());
+
+            try (Writer out = Files.newBufferedWriter(directory.resolve(label + "_header.csv"), StandardCharsets.UTF_8)) {
+                out.write(":ID,id");
+                for (Column column : columns) {
+                    out.write(',');
+                    out.write(column.type.header(column.name));
+                }
+                out.write('\n');
+            }
+
+            try (Writer out = Files.newBufferedWriter(directory.resolve(label + ".csv"), StandardCharsets.UTF_8)) {
+                for (T entity : entities) {
+                    String id = idFunction.apply(entity);
+                    // The first declaration wins like in the JSON consumers
+                    if (id == null || nodeIds.containsKey(id)) {
+                        continue;
+                    }
+                    int nodeId = nodeIds.size();
+                    nodeIds.put(id, nodeId);
+
+                    out.write(Integer.toString(nodeId));
+                    out.write(',');
+                    writeString(out, id);
+                    for (Column column : columns) {
+                        out.write(',');
+                        column.type.write(out, column.accessor.getValue(entity));
+                    }
+                    out.write('\n');
+                }
+            }
+            args.add("--nodes=" + label + "=" + label + "_header.csv," + label + ".csv");
+        }
+    }
+
+    /**
+     * Serialized properties of an entity class, in JSON order, without the ID written up front
+     */
+    private static List<Column> columnsOf(Class<?> type) {
+        BeanDescription description = valueMapper.getSerializationConfig()
+            .introspect(valueMapper.constructType(type));
+        List<Column> columns = new ArrayList<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            AnnotatedMember accessor = property.getAccessor();
+            if (accessor == null || "id".equals(property.getName())) {
+                continue;
+            }
+            accessor.fixAccess(true);
+            columns.add(new Column(property.getName(), ColumnType.ofType(property.getPrimaryType()), accessor));
+        }
+        return columns;
+    }
+
+    private static final class Column {
+        final String name;
+        final ColumnType type;
+        final AnnotatedMember accessor;
+
+        Column(String name, ColumnType type, AnnotatedMember accessor) {
+            this.name = name;
+            this.type = type;
+            this.accessor = accessor;
+        }
+    }
+
+    /**
+     * How a property is typed in the header and written in the rows. Anything Neo4j cannot
+     * store as a property, such as nested objects, is written as a JSON string.
+     */
+    enum ColumnType {
+        STRING(""), LONG(":long"), DOUBLE(":double"), BOOLEAN(":boolean"), STRING_ARRAY(":string[]"), JSON("");
+
+        private final String suffix;
+
+        ColumnType(String suffix) {
+            this.suffix = suffix;
+        }
+
+        String header(String name) {
+            return name + suffix;
+        }
+
+        static ColumnType ofType(JavaType type) {
+            Class<?> raw = type.getRawClass();
+            if (raw == String.class || raw == Character.class || raw == char.class || raw.isEnum()) {
+                return STRING;
+            }
+            if (raw == int.class || raw == long.class || raw == short.class || raw == byte.class
+                    || raw == Integer.class || raw == Long.class || raw == Short.class || raw == Byte.class) {
+                return LONG;
+            }
+            if (raw == double.class || raw == float.class || raw == Double.class || raw == Float.class) {
+                return DOUBLE;
+            }
+            if (raw == boolean.class || raw == Boolean.class) {
+                return BOOLEAN;
+            }
+            if ((type.isCollectionLikeType() || type.isArrayType()) && type.getContentType() != null) {
+                Class<?> content = type.getContentType().getRawClass();
+                if (content == String.class || content.isEnum()) {
+                    return STRING_ARRAY;
+                }
+            }
+            return JSON;
+        }
+
+        static ColumnType ofValue(Object value) {
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                return LONG;
+            }
+            if (value instanceof Double || value instanceof Float) {
+                return DOUBLE;
+            }
+            if (value instanceof Boolean) {
+                return BOOLEAN;
+            }
+            if (value instanceof CharSequence || value instanceof Enum) {
+                return STRING;
+            }
+            return JSON;
+        }
+
+        /**
+         * Values of one relationship property that disagree on their type fall back to strings
+         */
+        static ColumnType widen(ColumnType a, ColumnType b) {
+            if (a == b) {
+                return a;
+            }
+            if ((a == LONG && b == DOUBLE) || (a == DOUBLE && b == LONG)) {
+                return DOUBLE;
+            }
+            return a == JSON || b == JSON ? JSON : STRING;
+        }
+
+        void write(Writer out, Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            switch (this) {
+                case LONG:
+                case DOUBLE:
+                case BOOLEAN:
+                    out.write(value.toString());
+                    break;
+                case STRING_ARRAY:
+                    StringBuilder joined = new StringBuilder();
+                    Iterable<?> elements = value instanceof Collection ? (Collection<?>) value
+                        : Arrays.asList((Object[]) value);
+                    for (Object element : elements) {
+                        if (joined.length() > 0) {
+                            joined.append(ARRAY_DELIMITER);
+                        }
+                        joined.append(element);
+                    }
+                    writeString(out, joined.toString());
+                    break;
+                case JSON:
+                    JsonNode node = valueMapper.valueToTree(value);
+                    writeString(out, node.isValueNode() ? node.asText() : node.toString());
+                    break;
+                default:
+                    writeString(out, value.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.tekcode.parser.format;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip stream compressed on a worker pool, in the manner of pigz.
+ *
+ * Written bytes are cut into blocks that workers compress into independent gzip members,
+ * which are written out in order. Concatenated members form one valid gzip file that
+ * {@code gzip -d} and {@link java.util.zip.GZIPInputStream} read whole. At most two blocks
+ * per worker are in flight, so memory stays bounded when the target is slower than the
+ * workers.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private static final int PENDING_BLOCKS_PER_THREAD = 2;
+
+    private final OutputStream out;
+    private final ExecutorService executor;
+    private final int blockSize;
+    private final int level;
+    private final int maxPending;
+    private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+
+    private byte[] block;
+    private int count;
+    private boolean written;
+    private boolean closed;
+
+    public ParallelGzipOutputStream(OutputStream out, int threads) {
+        this(out, threads, DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public ParallelGzipOutputStream(OutputStream out, int threads, int blockSize, int level) {
+        this.out = out;
+        this.blockSize = blockSize;
+        this.level = level;
+        this.maxPending = Math.max(1, threads) * PENDING_BLOCKS_PER_THREAD;
+        this.block = new byte[blockSize];
+        AtomicInteger workerCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "gzip-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == blockSize) {
+            submitBlock();
+        }
+        block[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (count == blockSize) {
+                submitBlock();
+            }
+            int copied = Math.min(length, blockSize - count);
+            System.arraycopy(bytes, offset, block, count, copied);
+            count += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+    /**
+     * Compresses and writes everything written so far; the next bytes start a new member
+     */
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            submitBlock();
+        }
+        while (!pending.isEmpty()) {
+            writeNext();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            // An empty stream is still a gzip file
+            if (count > 0 || !written) {
+                submitBlock();
+            }
+            flush();
+        } finally {
+            executor.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] data = block;
+        int length = count;
+        pending.add(executor.submit(() -> compress(data, length)));
+        written = true;
+        block = new byte[blockSize];
+        count = 0;
+        while (pending.size() > maxPending) {
+            writeNext();
+        }
+    }
+
+    private void writeNext() throws IOException {
+        try {
+            out.write(pending.remove().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing output");
+        } catch (ExecutionException e) {
+            throw new IOException("Could not compress output block", e.getCause());
+        }
+    }
+
+    private byte[] compress(byte[] data, int length) throws IOException {
+        ByteArrayOutputStream member = new ByteArrayOutputStream(length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(member, 1 << 16) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(data, 0, length);
+        }
+        return member.toByteArray();
+    }
+}
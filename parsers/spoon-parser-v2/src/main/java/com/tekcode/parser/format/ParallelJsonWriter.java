@@ -0,0 +1,235 @@
+package com.tekcode.parser.format;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes a bean as JSON with the elements of its list properties serialized on a worker pool.
+ *
+ * Each list is cut into slices that workers serialize into byte buffers, which are written
+ * out in order between the list's brackets. The output is byte for byte what the mapper
+ * writes on its own, indented or compact. At most four slices per worker are in flight, so
+ * memory stays bounded by the slices rather than the whole document.
+ */
+public final class ParallelJsonWriter {
+
+    static final int DEFAULT_SLICE_SIZE = 1024;
+
+    private static final int PENDING_SLICES_PER_THREAD = 4;
+
+    private ParallelJsonWriter() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Writes the value to a generator over an output stream, as {@code mapper.writeValue} would
+     */
+    public static void write(ObjectMapper mapper, Object value, JsonGenerator generator, int threads)
+            throws IOException {
+        write(mapper, value, generator, threads, DEFAULT_SLICE_SIZE);
+    }
+
+    static void write(ObjectMapper mapper, Object value, JsonGenerator generator, int threads, int sliceSize)
+            throws IOException {
+        SerializerProvider provider = mapper.getSerializerProviderInstance();
+        JsonSerializer<Object> serializer = value != null
+            ? provider.findTypedValueSerializer(value.getClass(), true, null) : null;
+        if (threads < 2 || !(serializer instanceof BeanSerializerBase)
+                || !(generator.getOutputTarget() instanceof OutputStream)) {
+            mapper.writeValue(generator, value);
+            return;
+        }
+
+        mapper.getSerializationConfig().initialize(generator);
+        // Slices go straight to the stream, which must not be flushed for every one of them
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        OutputStream out = (OutputStream) generator.getOutputTarget();
+        boolean indent = mapper.isEnabled(SerializationFeature.INDENT_OUTPUT);
+
+        AtomicInteger workerCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "json-writer-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Object[]> lists = new ArrayList<>();
+            List<PropertyWriter> properties = new ArrayList<>();
+            for (Iterator<PropertyWriter> it = ((BeanSerializerBase) serializer).properties(); it.hasNext(); ) {
+                PropertyWriter property = it.next();
+                properties.add(property);
+                Object propertyValue = property instanceof BeanPropertyWriter
+                    ? valueOf((BeanPropertyWriter) property, value) : null;
+                // Empty lists are left to the bean serializer
+                boolean sliced = propertyValue instanceof List && !((List<?>) propertyValue).isEmpty();
+                lists.add(sliced ? ((List<?>) propertyValue).toArray() : null);
+            }
+
+            SliceQueue slices = new SliceQueue(mapper, indent, executor, threads * PENDING_SLICES_PER_THREAD,
+                lists, sliceSize);
+            generator.writeStartObject(value);
+            for (int p = 0; p < properties.size(); p++) {
+                Object[] elements = lists.get(p);
+                if (elements == null) {
+                    writeField(properties.get(p), value, generator, provider);
+                    continue;
+                }
+                generator.writeFieldName(properties.get(p).getName());
+                generator.writeStartArray();
+                for (int from = 0; from < elements.length; from += sliceSize) {
+                    // An empty raw value writes the separator before the slice and counts as
+                    // an element, so the closing bracket is spaced as after written elements
+                    generator.writeRawValue("");
+                    generator.flush();
+                    out.write(slices.next());
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+            generator.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Object valueOf(BeanPropertyWriter property, Object bean) throws IOException {
+        try {
+            return property.get(bean);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not read property " + property.getName(), e);
+        }
+    }
+
+    private static void writeField(PropertyWriter property, Object bean, JsonGenerator generator,
+                                   SerializerProvider provider) throws IOException {
+        try {
+            property.serializeAsField(bean, generator, provider);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not write property " + property.getName(), e);
+        }
+    }
+
+    /**
+     * Serializes the slices of all lists ahead of the writer, in document order
+     */
+    private static final class SliceQueue {
+        private final ObjectMapper mapper;
+        private final boolean indent;
+        private final ExecutorService executor;
+        private final int maxPending;
+        private final List<Object[]> lists;
+        private final int sliceSize;
+        private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+
+        private int list;
+        private int from;
+
+        SliceQueue(ObjectMapper mapper, boolean indent, ExecutorService executor, int maxPending,
+                   List<Object[]> lists, int sliceSize) {
+            this.mapper = mapper;
+            this.indent = indent;
+            this.executor = executor;
+            this.maxPending = maxPending;
+            this.lists = lists;
+            this.sliceSize = sliceSize;
+            fill();
+        }
+
+        byte[] next() throws IOException {
+            try {
+                return pending.remove().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while serializing output");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException) cause
+                    : new IOException("Could not serialize output slice", cause);
+            } finally {
+                fill();
+            }
+        }
+
+        private void fill() {
+            while (pending.size() < maxPending && list < lists.size()) {
+                Object[] elements = lists.get(list);
+                if (elements == null || from >= elements.length) {
+                    list++;
+                    from = 0;
+                    continue;
+                }
+                int start = from;
+                int end = Math.min(elements.length, start + sliceSize);
+                pending.add(executor.submit(() -> serialize(elements, start, end)));
+                from = end;
+            }
+        }
+
+        private byte[] serialize(Object[] elements, int start, int end) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * (end - start));
+            SerializerProvider provider = mapper.getSerializerProviderInstance();
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(bytes, JsonEncoding.UTF8)) {
+                // Elements are written as root values, separated and indented as array elements
+                generator.setPrettyPrinter(elementPrinter());
+                mapper.getSerializationConfig().initialize(generator);
+                for (int i = start; i < end; i++) {
+                    provider.defaultSerializeValue(elements[i], generator);
+                }
+            }
+            return bytes.toByteArray();
+        }
+
+        private PrettyPrinter elementPrinter() {
+            if (!indent) {
+                return new MinimalPrettyPrinter(",");
+            }
+            return new DefaultPrettyPrinter()
+                .withRootSeparator(", ")
+                .withObjectIndenter(new NestedIndenter());
+        }
+    }
+
+    /**
+     * Indents as one level deeper, for elements of a list inside the root object
+     */
+    private static final class NestedIndenter implements DefaultPrettyPrinter.Indenter {
+        @Override
+        public void writeIndentation(JsonGenerator generator, int level) throws IOException {
+            DefaultIndenter.SYSTEM_LINEFEED_INSTANCE.writeIndentation(generator, level + 1);
+        }
+
+        @Override
+        public boolean isInline() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.tekcode.parser.format;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Encoding of a parse result file: JSON, or Smile for a smaller file that is faster to write
+ * and read. Both encode the same document, so every reader works with either. Either may be
+ * gzip-compressed while it is written.
+ */
+public enum ResultFormat {
+    JSON,
+    SMILE;
+
+    /**
+     * The configured format, or the one the file extension implies when none is configured
+     */
+    public static ResultFormat of(String configured, Path file) {
+        if (configured == null || configured.isEmpty() || configured.equalsIgnoreCase("auto")) {
+            return forPath(file);
+        }
+        try {
+            return valueOf(configured.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown output format: " + configured);
+        }
+    }
+
+    /**
+     * Smile for {@code .smile} and {@code .sml} files, JSON otherwise; a {@code .gz} suffix is ignored
+     */
+    public static ResultFormat forPath(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(".smile") || name.endsWith(".sml") ? SMILE : JSON;
+    }
+
+    /**
+     * Whether the file name asks for gzip compression
+     */
+    public static boolean isCompressed(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    /**
+     * Opens a result file for reading, decompressing it if it is gzip-compressed
+     */
+    public static InputStream openInput(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+        in.mark(2);
+        boolean gzip = in.read() == 0x1f && in.read() == 0x8b;
+        in.reset();
+        return gzip ? new GZIPInputStream(in, 1 << 16) : in;
+    }
+
+    public JsonGenerator createGenerator(JsonFactory factory, OutputStream out) throws IOException {
+        return this == SMILE ? smileFactory(factory.getCodec()).createGenerator(out) : factory.createGenerator(out, JsonEncoding.UTF8);
+    }
+
+    public JsonParser createParser(JsonFactory factory, InputStream in) throws IOException {
+        return this == SMILE ? smileFactory(factory.getCodec()).createParser(in) : factory.createParser(in);
+    }
+
+    /**
+     * Shares key names and short string values, since results repeat the same IDs and type
+     * names thousands of times
+     */
+    private static JsonFactory smileFactory(ObjectCodec codec) {
+        SmileFactory factory = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+        factory.setCodec(codec);
+        return factory;
+    }
+
+    /**
+     * Writes a value with the mapper's configuration, compressed if the file name ends in {@code .gz}
+     */
+    public void write(ObjectMapper mapper, Object value, Path file) throws IOException {
+        write(mapper, value, file, isCompressed(file), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Writes a value with the mapper's configuration; Smile ignores indentation. JSON lists
+     * are serialized and compressed output is deflated on {@code threads} workers while it is
+     * generated. Smile refers back to names written earlier in the document, so it is
+     * serialized in one pass.
+     */
+    public void write(ObjectMapper mapper, Object value, Path file, boolean compress, int threads) throws IOException {
+        OutputStream target = Files.newOutputStream(file);
+        try (OutputStream out = compress
+                    ? new ParallelGzipOutputStream(target, threads)
+                    : new BufferedOutputStream(target, 1 << 16);
+             JsonGenerator generator = createGenerator(mapper.getFactory(), out)) {
+            if (this == JSON) {
+                ParallelJsonWriter.write(mapper, value, generator, threads);
+            } else {
+                mapper.writeValue(generator, value);
+            }
+        }
+    }
+
+    public <T> T read(ObjectMapper mapper, Path file, Class<T> type) throws IOException {
+        try (InputStream in = openInput(file);
+             JsonParser parser = createParser(mapper.getFactory(), in)) {
+            return mapper.readValue(parser, type);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.tekcode.parser.format;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.tekcode.parser.model.DocumentChunk;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.ParameterInfo;
+import com.tekcode.parser.model.Relationship;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Hand-written serializers for the entities a result holds most of.
+ *
+ * They write the same fields in the same order as the annotated bean serializers, but call
+ * the getters directly instead of through reflection. Maps and less frequent nested values
+ * are still written by the provider's serializers. A field added to one of these classes
+ * must be added here as well.
+ */
+public class ResultSerializers extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public ResultSerializers() {
+        super("ResultSerializers");
+        addSerializer(Relationship.class, new RelationshipSerializer());
+        addSerializer(MethodNode.class, new MethodSerializer());
+        addSerializer(ParameterInfo.class, new ParameterSerializer());
+        addSerializer(DocumentChunk.class, new DocumentChunkSerializer());
+    }
+
+    static final class RelationshipSerializer extends StdSerializer<Relationship> {
+        private static final long serialVersionUID = 1L;
+
+        RelationshipSerializer() {
+            super(Relationship.class);
+        }
+
+        @Override
+        public void serialize(Relationship relationship, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(relationship);
+            gen.writeStringField("id", relationship.getId());
+            gen.writeStringField("type", relationship.getType());
+            gen.writeStringField("sourceType", relationship.getSourceType());
+            gen.writeStringField("sourceId", relationship.getSourceId());
+            gen.writeStringField("targetType", relationship.getTargetType());
+            gen.writeStringField("targetId", relationship.getTargetId());
+            provider.defaultSerializeField("properties", relationship.getProperties(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    static final class MethodSerializer extends StdSerializer<MethodNode> {
+        private static final long serialVersionUID = 1L;
+
+        MethodSerializer() {
+            super(MethodNode.class);
+        }
+
+        @Override
+        public void serialize(MethodNode method, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(method);
+            gen.writeStringField("id", method.getId());
+            gen.writeStringField("name", method.getName());
+            gen.writeStringField("signature", method.getSignature());
+            gen.writeStringField("returnType", method.getReturnType());
+            gen.writeStringField("comment", method.getComment());
+            gen.writeStringField("body", method.getBody());
+            if (method.getBodyRef() != null) {
+                provider.defaultSerializeField("bodyRef", method.getBodyRef(), gen);
+            }
+            gen.writeStringField("visibility", method.getVisibility());
+            gen.writeBooleanField("isAbstract", method.isAbstract());
+            gen.writeBooleanField("isFinal", method.isFinal());
+            gen.writeBooleanField("isStatic", method.isStatic());
+            gen.writeBooleanField("isConstructor", method.isConstructor());
+            gen.writeBooleanField("isTestMethod", method.isTestMethod());
+            gen.writeStringField("filePath", method.getFilePath());
+            gen.writeNumberField("startLine", method.getStartLine());
+            gen.writeNumberField("endLine", method.getEndLine());
+            gen.writeNumberField("cyclomaticComplexity", method.getCyclomaticComplexity());
+            gen.writeFieldName("parameters");
+            writeParameters(method.getParameters(), gen, provider);
+            provider.defaultSerializeField("decorators", method.getDecorators(), gen);
+            provider.defaultSerializeField("properties", method.getProperties(), gen);
+            gen.writeEndObject();
+        }
+
+        private static void writeParameters(List<ParameterInfo> parameters, JsonGenerator gen,
+                                            SerializerProvider provider) throws IOException {
+            if (parameters == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartArray(parameters, parameters.size());
+            for (ParameterInfo parameter : parameters) {
+                if (parameter == null) {
+                    gen.writeNull();
+                } else {
+                    ParameterSerializer.write(parameter, gen, provider);
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    static final class ParameterSerializer extends StdSerializer<ParameterInfo> {
+        private static final long serialVersionUID = 1L;
+
+        ParameterSerializer() {
+            super(ParameterInfo.class);
+        }
+
+        @Override
+        public void serialize(ParameterInfo parameter, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            write(parameter, gen, provider);
+        }
+
+        static void write(ParameterInfo parameter, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(parameter);
+            gen.writeStringField("name", parameter.getName());
+            gen.writeStringField("type", parameter.getType());
+            gen.writeBooleanField("isVarArgs", parameter.isVarArgs());
+            gen.writeBooleanField("isFinal", parameter.isFinal());
+            provider.defaultSerializeField("decorators", parameter.getDecorators(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    static final class DocumentChunkSerializer extends StdSerializer<DocumentChunk> {
+        private static final long serialVersionUID = 1L;
+
+        DocumentChunkSerializer() {
+            super(DocumentChunk.class);
+        }
+
+        @Override
+        public void serialize(DocumentChunk chunk, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(chunk);
+            gen.writeStringField("id", chunk.getId());
+            gen.writeStringField("documentId", chunk.getDocumentId());
+            gen.writeNumberField("chunkIndex", chunk.getChunkIndex());
+            gen.writeStringField("content", chunk.getContent());
+            gen.writeNumberField("startPosition", chunk.getStartPosition());
+            gen.writeNumberField("endPosition", chunk.getEndPosition());
+            gen.writeNumberField("characterCount", chunk.getCharacterCount());
+            gen.writeNumberField("wordCount", chunk.getWordCount());
+            gen.writeNumberField("lineCount", chunk.getLineCount());
+            if (chunk.getTokenCount() != null) {
+                gen.writeNumberField("tokenCount", chunk.getTokenCount());
+            }
+            gen.writeNumberField("overlap", chunk.getOverlap());
+            gen.writeStringField("chunkType", chunk.getChunkType());
+            gen.writeStringField("contentHash", chunk.getContentHash());
+            if (chunk.getUnchanged() != null) {
+                gen.writeBooleanField("unchanged", chunk.getUnchanged());
+            }
+            provider.defaultSerializeField("properties", chunk.getProperties(), gen);
+            // Derived, but part of the output since the getter was added
+            gen.writeStringField("effectiveContent", chunk.getEffectiveContent());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.tekcode.parser.index;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Random-access reader for the binary index written by {@link BinaryIndexWriter}.
+ *
+ * Every section is memory-mapped read-only, so opening the index costs only the
+ * header and type directory; a lookup touches the ID pages of its binary search and
+ * the pages holding the requested record or adjacency row.
+ */
+public class BinaryIndexReader implements Closeable {
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final ObjectMapper recordMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final FileChannel channel;
+    private final int nodeCount;
+    private final ByteBuffer idData;
+    private final LongBuffer idOffsets;
+    private final String[] kindNames;
+    private final ByteBuffer nodeKinds;
+    private final long recordDataPosition;
+    private final ByteBuffer recordData;
+    private final LongBuffer recordOffsets;
+    private final Map<String, IntBuffer[]> adjacency = new HashMap<>();
+    private final Map<String, Integer> edgeCounts = new HashMap<>();
+
+    private BinaryIndexReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        ByteBuffer header = map(0, BinaryIndexWriter.HEADER_SIZE);
+        if (header.getInt() != BinaryIndexWriter.MAGIC) {
+            throw new IOException("Not a parser binary index");
+        }
+        int version = header.getInt();
+        if (version != BinaryIndexWriter.VERSION) {
+            throw new IOException("Unsupported binary index version: " + version);
+        }
+        nodeCount = header.getInt();
+        int kindCount = header.getInt();
+        long[] sections = new long[7];
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = header.getLong();
+        }
+
+        idData = map(sections[0], sections[1] - sections[0]);
+        idOffsets = map(sections[1], 8L * (nodeCount + 1)).asLongBuffer();
+
+        DataInputStream kinds = new DataInputStream(new ByteBufferInputStream(map(sections[2], sections[3] - sections[2])));
+        kindNames = new String[kindCount];
+        for (int i = 0; i < kindCount; i++) {
+            kindNames[i] = kinds.readUTF();
+        }
+        nodeKinds = map(sections[3], nodeCount);
+
+        recordDataPosition = sections[4];
+        long recordDataSize = sections[5] - sections[4];
+        recordData = recordDataSize <= Integer.MAX_VALUE ? map(sections[4], recordDataSize) : null;
+        recordOffsets = map(sections[5], 8L * (nodeCount + 1)).asLongBuffer();
+
+        DataInputStream directory = new DataInputStream(
+            new ByteBufferInputStream(map(sections[6], channel.size() - sections[6])));
+        int typeCount = directory.readInt();
+        for (int t = 0; t < typeCount; t++) {
+            String type = directory.readUTF();
+            int edges = directory.readInt();
+            long[] positions = new long[4];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = directory.readLong();
+            }
+            adjacency.put(type, new IntBuffer[]{
+                map(positions[0], 4L * (nodeCount + 1)).asIntBuffer(),
+                map(positions[1], 4L * edges).asIntBuffer(),
+                map(positions[2], 4L * (nodeCount + 1)).asIntBuffer(),
+                map(positions[3], 4L * edges).asIntBuffer()
+            });
+            edgeCounts.put(type, edges);
+        }
+    }
+
+    /**
+     * Opens an index file
+     */
+    public static BinaryIndexReader open(Path indexFile) throws IOException {
+        FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ);
+        try {
+            return new BinaryIndexReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public Set<String> getRelationshipTypes() {
+        return Collections.unmodifiableSet(adjacency.keySet());
+    }
+
+    public int getEdgeCount(String type) {
+        return edgeCounts.getOrDefault(type, 0);
+    }
+
+    /**
+     * Returns the node number of an ID, or -1 if it is not in the index
+     */
+    public int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        int low = 0;
+        int high = nodeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = idOf(mid).compareTo(id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public String idOf(int node) {
+        int from = (int) idOffsets.get(node);
+        int to = (int) idOffsets.get(node + 1);
+        byte[] bytes = new byte[to - from];
+        idData.duplicate().position(from).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Entity list the node was declared in (e.g. "methods"), or null for IDs only referenced by relationships
+     */
+    public String kindOf(int node) {
+        byte kind = nodeKinds.get(node);
+        return kind >= 0 ? kindNames[kind] : null;
+    }
+
+    /**
+     * Raw compact JSON of the entity, or null if the node has no record
+     */
+    public byte[] record(int node) throws IOException {
+        long from = recordOffsets.get(node);
+        long to = recordOffsets.get(node + 1);
+        if (from == to) {
+            return null;
+        }
+
+        byte[] bytes = new byte[(int) (to - from)];
+        if (recordData != null) {
+            recordData.duplicate().position((int) from).get(bytes);
+        } else {
+            ByteBuffer target = ByteBuffer.wrap(bytes);
+            long position = recordDataPosition + from;
+            while (target.hasRemaining()) {
+                int read = channel.read(target, position + target.position());
+                if (read < 0) {
+                    throw new IOException("Truncated binary index record for node " + node);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Entity record as a JSON tree, or null if the ID has no record
+     */
+    public JsonNode readRecord(String id) throws IOException {
+        int node = indexOf(id);
+        byte[] record = node >= 0 ? record(node) : null;
+        return record != null ? recordMapper.readTree(record) : null;
+    }
+
+    /**
+     * Entity record bound to a model class, e.g. {@code readEntity(id, MethodNode.class)}
+     */
+    public <T> T readEntity(String id, Class<T> type) throws IOException {
+        int node = indexOf(id);
+        byte[] record = node >= 0 ? record(node) : null;
+        return record != null ? recordMapper.readValue(record, type) : null;
+    }
+
+    /**
+     * Targets of relationships of the given type leaving the node
+     */
+    public int[] outgoing(String type, int node) {
+        return row(type, node, 0);
+    }
+
+    /**
+     * Sources of relationships of the given type entering the node
+     */
+    public int[] incoming(String type, int node) {
+        return row(type, node, 2);
+    }
+
+    /**
+     * Convenience ID-based variant of {@link #outgoing(String, int)}
+     */
+    public List<String> outgoing(String type, String id) {
+        return ids(outgoing(type, indexOf(id)));
+    }
+
+    /**
+     * Convenience ID-based variant of {@link #incoming(String, int)}
+     */
+    public List<String> incoming(String type, String id) {
+        return ids(incoming(type, indexOf(id)));
+    }
+
+    private int[] row(String type, int node, int direction) {
+        IntBuffer[] buffers = adjacency.get(type);
+        if (buffers == null || node < 0) {
+            return EMPTY;
+        }
+        int from = buffers[direction].get(node);
+        int to = buffers[direction].get(node + 1);
+        int[] row = new int[to - from];
+        buffers[direction + 1].duplicate().position(from).get(row);
+        return row;
+    }
+
+    private List<String> ids(int[] nodes) {
+        List<String> ids = new ArrayList<>(nodes.length);
+        for (int node : nodes) {
+            ids.add(idOf(node));
+        }
+        return ids;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Minimal stream view over a buffer, for reading the small variable-length sections
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.tekcode.parser.index;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tekcode.parser.model.APIEndpointNode;
+import com.tekcode.parser.model.AnnotationNode;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.CodeChunk;
+import com.tekcode.parser.model.DependencyNode;
+import com.tekcode.parser.model.DocumentChunk;
+import com.tekcode.parser.model.DocumentNode;
+import com.tekcode.parser.model.EnumNode;
+import com.tekcode.parser.model.FieldNode;
+import com.tekcode.parser.model.InterfaceNode;
+import com.tekcode.parser.model.LambdaExpressionNode;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.MethodReferenceNode;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.TestCaseNode;
+import com.tekcode.parser.query.GraphIndex;
+import com.tekcode.parser.util.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Writes the binary companion index of a parse result.
+ *
+ * Layout (big-endian, all section positions absolute):
+ * <pre>
+ * header        magic, version, nodeCount, kindCount, then the position of each section below
+ * idData        UTF-8 bytes of all entity IDs, in sorted order
+ * idOffsets     long[nodeCount + 1] into idData
+ * kindNames     kindCount x (short length, UTF-8 name), e.g. "classes", "methods"
+ * nodeKinds     byte[nodeCount], index into kindNames or -1 for referenced-only IDs
+ * recordData    compact JSON of each entity, in ID order
+ * recordOffsets long[nodeCount + 1] into recordData (empty range = no record)
+ * adjacency     per relationship type: forward and reverse CSR as int[nodeCount + 1] offsets and int[] targets
+ * typeDirectory int typeCount, then per type: name, edgeCount and the four array positions
+ * </pre>
+ */
+public class BinaryIndexWriter {
+    private static final Logger logger = LoggerFactory.getLogger(BinaryIndexWriter.class);
+
+    static final int MAGIC = 0x544B4958; // "TKIX"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16 + 7 * 8;
+
+    private static final ObjectMapper recordMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private BinaryIndexWriter() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Returns the conventional index path for an output file
+     */
+    public static Path indexPathFor(Path outputFile) {
+        return outputFile.resolveSibling(outputFile.getFileName() + ".idx");
+    }
+
+    /**
+     * Writes the index of the result to the given file
+     */
+    public static void write(ParseResult result, Path indexFile) throws IOException {
+        GraphIndex graph = GraphIndex.fromParseResult(result);
+        List<EntityList<?>> kinds = entityLists(result);
+
+        // Entity lookup by ID; the first declaration wins like in the JSON consumers
+        Map<String, Object> entities = new HashMap<>();
+        Map<String, Integer> entityKinds = new HashMap<>();
+        for (int kind = 0; kind < kinds.size(); kind++) {
+            kinds.get(kind).collect(kind, entities, entityKinds);
+        }
+
+        int nodeCount = graph.getNodeCount();
+        long[] sections = new long[7];
+
+        try (CountingOutputStream counter = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(indexFile), 1 << 16));
+             DataOutputStream out = new DataOutputStream(counter)) {
+
+            out.write(new byte[HEADER_SIZE]);
+
+            // ID table
+            sections[0] = counter.position();
+            long[] idOffsets = new long[nodeCount + 1];
+            for (int node = 0; node < nodeCount; node++) {
+                byte[] bytes = graph.idOf(node).getBytes(StandardCharsets.UTF_8);
+                out.write(bytes);
+                idOffsets[node + 1] = idOffsets[node] + bytes.length;
+            }
+            sections[1] = counter.position();
+            writeLongs(out, idOffsets);
+
+            // Entity kinds
+            sections[2] = counter.position();
+            for (EntityList<?> kind : kinds) {
+                out.writeUTF(kind.name);
+            }
+            sections[3] = counter.position();
+            for (int node = 0; node < nodeCount; node++) {
+                Integer kind = entityKinds.get(graph.idOf(node));
+                out.writeByte(kind != null ? kind : -1);
+            }
+
+            // Entity records
+            sections[4] = counter.position();
+            long[] recordOffsets = new long[nodeCount + 1];
+            for (int node = 0; node < nodeCount; node++) {
+                Object entity = entities.get(graph.idOf(node));
+                long length = 0;
+                if (entity != null) {
+                    byte[] record = recordMapper.writeValueAsBytes(entity);
+                    out.write(record);
+                    length = record.length;
+                }
+                recordOffsets[node + 1] = recordOffsets[node] + length;
+            }
+            sections[5] = counter.position();
+            writeLongs(out, recordOffsets);
+
+            // Adjacency per relationship type
+            List<String> types = new ArrayList<>(graph.getRelationshipTypes());
+            types.sort(null);
+            long[][] typePositions = new long[types.size()][];
+            int[] typeEdges = new int[types.size()];
+            for (int t = 0; t < types.size(); t++) {
+                String type = types.get(t);
+                long[] positions = new long[4];
+                positions[0] = counter.position();
+                typeEdges[t] = writeOffsets(out, graph, type, true);
+                positions[1] = counter.position();
+                writeTargets(out, graph, type, true);
+                positions[2] = counter.position();
+                writeOffsets(out, graph, type, false);
+                positions[3] = counter.position();
+                writeTargets(out, graph, type, false);
+                typePositions[t] = positions;
+            }
+
+            sections[6] = counter.position();
+            out.writeInt(types.size());
+            for (int t = 0; t < types.size(); t++) {
+                out.writeUTF(types.get(t));
+                out.writeInt(typeEdges[t]);
+                writeLongs(out, typePositions[t]);
+            }
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(indexFile.toFile(), "rw")) {
+            file.writeInt(MAGIC);
+            file.writeInt(VERSION);
+            file.writeInt(nodeCount);
+            file.writeInt(kinds.size());
+            for (long section : sections) {
+                file.writeLong(section);
+            }
+        }
+
+        logger.info("Binary index written to: {} ({} entities, {} relationships)",
+            indexFile, entities.size(), graph.getEdgeCount());
+    }
+
+    private static int writeOffsets(DataOutputStream out, GraphIndex graph, String type, boolean forward)
+            throws IOException {
+        int offset = 0;
+        out.writeInt(offset);
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            offset += (forward ? graph.outgoing(type, node) : graph.incoming(type, node)).length;
+            out.writeInt(offset);
+        }
+        return offset;
+    }
+
+    private static void writeTargets(DataOutputStream out, GraphIndex graph, String type, boolean forward)
+            throws IOException {
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            for (int target : forward ? graph.outgoing(type, node) : graph.incoming(type, node)) {
+                out.writeInt(target);
+            }
+        }
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    /**
+     * Entity lists that get records, keyed by their name in the JSON output
+     */
+    private static List<EntityList<?>> entityLists(ParseResult result) {
+        String codebase = result.getCodebaseName();
+        List<EntityList<?>> lists = new ArrayList<>();
+        lists.add(new EntityList<>("files", result.getFiles(),
+            file -> file.getPath() != null ? IdGenerator.generateFileId(codebase, file.getPath()) : null));
+        lists.add(new EntityList<>("classes", result.getClasses(), ClassNode::getId));
+        lists.add(new EntityList<>("interfaces", result.getInterfaces(), InterfaceNode::getId));
+        lists.add(new EntityList<>("enums", result.getEnums(), EnumNode::getId));
+        lists.add(new EntityList<>("methods", result.getMethods(), MethodNode::getId));
+        lists.add(new EntityList<>("fields", result.getFields(), FieldNode::getId));
+        lists.add(new EntityList<>("lambdaExpressions", result.getLambdaExpressions(), LambdaExpressionNode::getId));
+        lists.add(new EntityList<>("methodReferences", result.getMethodReferences(), MethodReferenceNode::getId));
+        lists.add(new EntityList<>("dependencies", result.getDependencies(), DependencyNode::getId));
+        lists.add(new EntityList<>("apiEndpoints", result.getApiEndpoints(), APIEndpointNode::getId));
+        lists.add(new EntityList<>("testCases", result.getTestCases(), TestCaseNode::getId));
+        lists.add(new EntityList<>("documents", result.getDocuments(), DocumentNode::getId));
+        lists.add(new EntityList<>("documentChunks", result.getDocumentChunks(), DocumentChunk::getId));
+        lists.add(new EntityList<>("codeChunks", result.getCodeChunks(), CodeChunk::getId));
+        lists.add(new EntityList<>("annotations", result.getAnnotations(), AnnotationNode::getId));
+        return lists;
+    }
+
+    /**
+     * One entity list of the result together with how to read the ID of its entries
+     */
+    private static final class EntityList<T> {
+        private final String name;
+        private final List<T> entities;
+        private final Function<T, String> idFunction;
+
+        EntityList(String name, List<T> entities, Function<T, String> idFunction) {
+            this.name = name;
+            this.entities = entities;
+            this.idFunction = idFunction;
+        }
+
+        void collect(int kind, Map<String, Object> byId, Map<String, Integer> kindById) {
+            for (T entity : entities) {
+                String id = idFunction.apply(entity);
+                if (id != null && byId.putIfAbsent(id, entity) == null) {
+                    kindById.put(id, kind);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tracks the number of bytes written so section positions can be recorded
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long position;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        long position() {
+            return position;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            position += len;
+        }
+    }
+}
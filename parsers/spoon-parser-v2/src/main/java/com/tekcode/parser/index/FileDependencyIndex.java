@@ -0,0 +1,230 @@
+package com.tekcode.parser.index;
+
+import com.tekcode.parser.util.PathUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spoon.reflect.CtModel;
+import spoon.reflect.declaration.CtCompilationUnit;
+import spoon.reflect.declaration.CtImport;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.reference.CtExecutableReference;
+import spoon.reflect.reference.CtFieldReference;
+import spoon.reflect.reference.CtReference;
+import spoon.reflect.reference.CtTypeReference;
+import spoon.reflect.visitor.filter.TypeFilter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * File-level reverse-dependency graph: for every source file, the files that import it,
+ * reference one of its types or call into it.
+ *
+ * Files are numbered in path order and the graph is held as int CSR arrays, so the
+ * impact closure of a change list is a plain BFS over primitive arrays.
+ *
+ * File layout (big-endian): magic, version, fileCount, fileCount x UTF path,
+ * int[fileCount + 1] offsets, edgeCount, int[edgeCount] dependents.
+ */
+public class FileDependencyIndex {
+    private static final Logger logger = LoggerFactory.getLogger(FileDependencyIndex.class);
+
+    private static final int MAGIC = 0x544B4644; // "TKFD"
+    private static final int VERSION = 1;
+
+    private final String[] paths;
+    private final int[] offsets;
+    private final int[] dependents;
+
+    private FileDependencyIndex(String[] paths, int[] offsets, int[] dependents) {
+        this.paths = paths;
+        this.offsets = offsets;
+        this.dependents = dependents;
+    }
+
+    /**
+     * Builds the index from the compilation units of a model; paths are relative to the project root
+     */
+    public static FileDependencyIndex build(CtModel model, String projectPath) {
+        // Top-level type -> declaring file
+        Map<String, String> typeFiles = new HashMap<>();
+        Map<String, CtCompilationUnit> units = new TreeMap<>();
+        for (CtType<?> type : model.getAllTypes()) {
+            if (type.getPosition() == null || type.getPosition().getCompilationUnit() == null
+                    || type.getPosition().getFile() == null) {
+                continue;
+            }
+            String path = PathUtils.toRelativePath(type.getPosition().getFile().getPath(), projectPath);
+            typeFiles.put(type.getQualifiedName(), path);
+            units.put(path, type.getPosition().getCompilationUnit());
+        }
+
+        String[] paths = units.keySet().toArray(new String[0]);
+        Map<String, Integer> numbers = new HashMap<>();
+        for (int i = 0; i < paths.length; i++) {
+            numbers.put(paths[i], i);
+        }
+
+        // dependency -> dependents, deduplicated and sorted per file
+        List<Set<Integer>> reverse = new ArrayList<>(paths.length);
+        for (int i = 0; i < paths.length; i++) {
+            reverse.add(new TreeSet<>());
+        }
+        for (int dependent = 0; dependent < paths.length; dependent++) {
+            for (String typeName : referencedTypes(units.get(paths[dependent]))) {
+                Integer dependency = numbers.get(typeFiles.get(typeName));
+                if (dependency != null && dependency != dependent) {
+                    reverse.get(dependency).add(dependent);
+                }
+            }
+        }
+
+        int[] offsets = new int[paths.length + 1];
+        for (int i = 0; i < paths.length; i++) {
+            offsets[i + 1] = offsets[i] + reverse.get(i).size();
+        }
+        int[] dependents = new int[offsets[paths.length]];
+        for (int i = 0; i < paths.length; i++) {
+            int position = offsets[i];
+            for (int dependent : reverse.get(i)) {
+                dependents[position++] = dependent;
+            }
+        }
+        logger.info("Built file dependency index: {} files, {} edges", paths.length, dependents.length);
+        return new FileDependencyIndex(paths, offsets, dependents);
+    }
+
+    /**
+     * Qualified names of the top-level types a compilation unit imports, references or calls into
+     */
+    private static Set<String> referencedTypes(CtCompilationUnit unit) {
+        Set<String> names = new TreeSet<>();
+        for (CtImport ctImport : unit.getImports()) {
+            addTopLevel(ctImport.getReference(), names);
+        }
+        for (CtType<?> type : unit.getDeclaredTypes()) {
+            for (CtTypeReference<?> reference : type.getElements(new TypeFilter<>(CtTypeReference.class))) {
+                addTopLevel(reference, names);
+            }
+            for (CtExecutableReference<?> reference : type.getElements(new TypeFilter<>(CtExecutableReference.class))) {
+                addTopLevel(reference.getDeclaringType(), names);
+            }
+        }
+        return names;
+    }
+
+    private static void addTopLevel(CtReference reference, Set<String> names) {
+        CtTypeReference<?> type = null;
+        if (reference instanceof CtTypeReference) {
+            type = (CtTypeReference<?>) reference;
+        } else if (reference instanceof CtExecutableReference) {
+            type = ((CtExecutableReference<?>) reference).getDeclaringType();
+        } else if (reference instanceof CtFieldReference) {
+            type = ((CtFieldReference<?>) reference).getDeclaringType();
+        }
+        if (type != null && !type.isPrimitive()) {
+            names.add(type.getTopLevelType().getQualifiedName());
+        }
+    }
+
+    /**
+     * Changed files plus everything that transitively depends on them. Changed paths the
+     * index does not know (new files) are part of the result but have no dependents.
+     */
+    public Set<String> impactedBy(Collection<String> changedPaths) {
+        Set<String> impacted = new TreeSet<>();
+        BitSet visited = new BitSet(paths.length);
+        int[] queue = new int[paths.length];
+        int head = 0;
+        int tail = 0;
+        for (String changed : changedPaths) {
+            String path = PathUtils.normalizePath(changed);
+            impacted.add(path);
+            int file = Arrays.binarySearch(paths, path);
+            if (file >= 0 && !visited.get(file)) {
+                visited.set(file);
+                queue[tail++] = file;
+            }
+        }
+        while (head < tail) {
+            int file = queue[head++];
+            for (int i = offsets[file]; i < offsets[file + 1]; i++) {
+                int dependent = dependents[i];
+                if (!visited.get(dependent)) {
+                    visited.set(dependent);
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+        for (int file = visited.nextSetBit(0); file >= 0; file = visited.nextSetBit(file + 1)) {
+            impacted.add(paths[file]);
+        }
+        return impacted;
+    }
+
+    public int getFileCount() {
+        return paths.length;
+    }
+
+    public int getEdgeCount() {
+        return dependents.length;
+    }
+
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(paths.length);
+            for (String path : paths) {
+                out.writeUTF(path);
+            }
+            for (int offset : offsets) {
+                out.writeInt(offset);
+            }
+            out.writeInt(dependents.length);
+            for (int dependent : dependents) {
+                out.writeInt(dependent);
+            }
+        }
+    }
+
+    public static FileDependencyIndex read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a file dependency index: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported file dependency index version " + version + ": " + file);
+            }
+            String[] paths = new String[in.readInt()];
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = in.readUTF();
+            }
+            int[] offsets = new int[paths.length + 1];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.readInt();
+            }
+            int[] dependents = new int[in.readInt()];
+            for (int i = 0; i < dependents.length; i++) {
+                dependents[i] = in.readInt();
+            }
+            return new FileDependencyIndex(paths, offsets, dependents);
+        }
+    }
+}
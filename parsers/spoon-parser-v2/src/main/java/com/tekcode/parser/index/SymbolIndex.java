@@ -0,0 +1,769 @@
+package com.tekcode.parser.index;
+
+import com.tekcode.parser.model.APIEndpointNode;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.EnumNode;
+import com.tekcode.parser.model.FieldNode;
+import com.tekcode.parser.model.InterfaceNode;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.ParseResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Fuzzy symbol search over classes, methods, fields and API endpoints.
+ *
+ * Each symbol is indexed under its short name (simple class name, method or field
+ * name, endpoint path) with its owner as qualifier. Candidates come from a sorted
+ * array of camel-case suffixes ("userserviceimpl", "serviceimpl", "impl") for prefix
+ * and abbreviation lookups, and from trigram postings for typo-tolerant matching.
+ * A query such as {@code UsrSvc.find} matches the last segment against the name and
+ * the earlier segments against the qualifier.
+ */
+public class SymbolIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SymbolIndex.class);
+
+    private static final int MAGIC = 0x544B5359; // "TKSY"
+    private static final int VERSION = 1;
+
+    private static final String[] KINDS = {"class", "interface", "enum", "method", "field", "endpoint"};
+
+    // Match tiers; higher is better
+    private static final int EXACT = 1000;
+    private static final int PREFIX = 800;
+    private static final int CAMEL_PREFIX = 600;
+    private static final int ABBREVIATION = 400;
+    private static final int SUBSEQUENCE = 350;
+    private static final int SUBSTRING = 300;
+    private static final int TRIGRAM = 200;
+
+    private final String[] ids;
+    private final byte[] kinds;
+    private final String[] names;
+    private final String[] qualifiers;
+    private final String[] displayNames;
+
+    // Camel-case suffixes of every name, sorted, with the symbol each came from
+    private final String[] prefixKeys;
+    private final int[] prefixSymbols;
+    private final int[] nameKeyLengths; // length of each symbol's full (first) suffix
+
+    // Trigram postings in compressed sparse row form
+    private final long[] trigramKeys;
+    private final int[] trigramOffsets;
+    private final int[] trigramPostings;
+
+    private SymbolIndex(String[] ids, byte[] kinds, String[] names, String[] qualifiers, String[] displayNames,
+                        String[] prefixKeys, int[] prefixSymbols,
+                        long[] trigramKeys, int[] trigramOffsets, int[] trigramPostings) {
+        this.ids = ids;
+        this.kinds = kinds;
+        this.names = names;
+        this.qualifiers = qualifiers;
+        this.displayNames = displayNames;
+        this.prefixKeys = prefixKeys;
+        this.prefixSymbols = prefixSymbols;
+        this.nameKeyLengths = new int[ids.length];
+        for (int i = 0; i < prefixKeys.length; i++) {
+            nameKeyLengths[prefixSymbols[i]] = Math.max(nameKeyLengths[prefixSymbols[i]], prefixKeys[i].length());
+        }
+        this.trigramKeys = trigramKeys;
+        this.trigramOffsets = trigramOffsets;
+        this.trigramPostings = trigramPostings;
+    }
+
+    /**
+     * A ranked search result
+     */
+    public static final class Match {
+        private final String id;
+        private final String kind;
+        private final String displayName;
+        private final int score;
+
+        Match(String id, String kind, String displayName, int score) {
+            this.id = id;
+            this.kind = kind;
+            this.displayName = displayName;
+            this.score = score;
+        }
+
+        public String getId() { return id; }
+        public String getKind() { return kind; }
+        public String getDisplayName() { return displayName; }
+        public int getScore() { return score; }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s (%d)", kind, displayName, score);
+        }
+    }
+
+    // === Building ===
+
+    /**
+     * Builds the index from a parse result
+     */
+    public static SymbolIndex build(ParseResult result) {
+        Builder builder = new Builder();
+
+        for (ClassNode node : result.getClasses()) {
+            builder.addType(node.getId(), 0, node.getName(), node.getFullyQualifiedName());
+        }
+        for (InterfaceNode node : result.getInterfaces()) {
+            builder.addType(node.getId(), 1, node.getName(), node.getFullyQualifiedName());
+        }
+        for (EnumNode node : result.getEnums()) {
+            builder.addType(node.getId(), 2, node.getName(), node.getFullyQualifiedName());
+        }
+        for (MethodNode node : result.getMethods()) {
+            String owner = ownerOf(node.getId(), node.getSignature());
+            builder.add(node.getId(), 3, node.getName(), owner,
+                owner != null ? owner + "." + node.getSignature() : node.getSignature());
+        }
+        for (FieldNode node : result.getFields()) {
+            String owner = ownerOf(node.getId(), node.getName());
+            builder.add(node.getId(), 4, node.getName(), owner,
+                owner != null ? owner + "." + node.getName() : node.getName());
+        }
+        for (APIEndpointNode node : result.getApiEndpoints()) {
+            builder.add(node.getId(), 5, node.getPath(), node.getHttpMethod(),
+                node.getHttpMethod() + " " + node.getPath());
+        }
+
+        SymbolIndex index = builder.build();
+        logger.debug("Built symbol index with {} symbols, {} prefix keys, {} trigrams",
+            index.size(), index.prefixKeys.length, index.trigramKeys.length);
+        return index;
+    }
+
+    /**
+     * Recovers the owner type name from a member ID of the form {@code codebase:kind:Owner.member}.
+     * Sanitizing maps characters one to one, so the member part has the length of the raw name.
+     */
+    private static String ownerOf(String id, String member) {
+        if (id == null || member == null) {
+            return null;
+        }
+        String[] parts = id.split(":", 3);
+        if (parts.length < 3 || parts[2].length() <= member.length()) {
+            return null;
+        }
+        return parts[2].substring(0, parts[2].length() - member.length() - 1);
+    }
+
+    private static final class PrefixKey {
+        final String key;
+        final int symbol;
+
+        PrefixKey(String key, int symbol) {
+            this.key = key;
+            this.symbol = symbol;
+        }
+    }
+
+    private static final class Builder {
+        private final List<String> ids = new ArrayList<>();
+        private final List<Byte> kinds = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<String> qualifiers = new ArrayList<>();
+        private final List<String> displayNames = new ArrayList<>();
+
+        void addType(String id, int kind, String name, String fullyQualifiedName) {
+            String packageName = "";
+            if (fullyQualifiedName != null && name != null && fullyQualifiedName.length() > name.length()) {
+                packageName = fullyQualifiedName.substring(0, fullyQualifiedName.length() - name.length() - 1);
+            }
+            add(id, kind, name, packageName, fullyQualifiedName != null ? fullyQualifiedName : name);
+        }
+
+        void add(String id, int kind, String name, String qualifier, String displayName) {
+            if (id == null || name == null || name.isEmpty()) {
+                return;
+            }
+            ids.add(id);
+            kinds.add((byte) kind);
+            names.add(name);
+            qualifiers.add(qualifier != null ? qualifier : "");
+            displayNames.add(displayName != null ? displayName : name);
+        }
+
+        SymbolIndex build() {
+            int count = ids.size();
+            byte[] kindArray = new byte[count];
+            for (int i = 0; i < count; i++) {
+                kindArray[i] = kinds.get(i);
+            }
+            String[] nameArray = names.toArray(new String[0]);
+
+            // Prefix array over camel-case suffixes
+            String[] nameKeys = new String[count];
+            List<PrefixKey> keys = new ArrayList<>();
+            for (int symbol = 0; symbol < count; symbol++) {
+                List<String> tokens = camelTokens(nameArray[symbol]);
+                nameKeys[symbol] = String.join("", tokens);
+                for (String suffix : camelSuffixes(tokens)) {
+                    keys.add(new PrefixKey(suffix, symbol));
+                }
+            }
+            keys.sort(Comparator.comparing((PrefixKey key) -> key.key).thenComparingInt(key -> key.symbol));
+            String[] prefixKeys = new String[keys.size()];
+            int[] prefixSymbols = new int[keys.size()];
+            for (int i = 0; i < prefixKeys.length; i++) {
+                prefixKeys[i] = keys.get(i).key;
+                prefixSymbols[i] = keys.get(i).symbol;
+            }
+
+            // Trigram postings: number the distinct trigrams, then counting-sort (trigram, symbol) pairs
+            long[][] symbolTrigrams = new long[count][];
+            Map<Long, Integer> trigramNumbers = new HashMap<>();
+            for (int symbol = 0; symbol < count; symbol++) {
+                symbolTrigrams[symbol] = trigrams(nameKeys[symbol]);
+                for (long trigram : symbolTrigrams[symbol]) {
+                    trigramNumbers.putIfAbsent(trigram, 0);
+                }
+            }
+            long[] trigramKeys = new long[trigramNumbers.size()];
+            int t = 0;
+            for (Long key : trigramNumbers.keySet()) {
+                trigramKeys[t++] = key;
+            }
+            Arrays.sort(trigramKeys);
+            for (int i = 0; i < trigramKeys.length; i++) {
+                trigramNumbers.put(trigramKeys[i], i);
+            }
+
+            int[][] symbolTrigramNumbers = new int[count][];
+            int[] trigramOffsets = new int[trigramKeys.length + 1];
+            for (int symbol = 0; symbol < count; symbol++) {
+                long[] trigrams = symbolTrigrams[symbol];
+                int[] numbers = new int[trigrams.length];
+                for (int i = 0; i < trigrams.length; i++) {
+                    numbers[i] = trigramNumbers.get(trigrams[i]);
+                    trigramOffsets[numbers[i] + 1]++;
+                }
+                symbolTrigramNumbers[symbol] = numbers;
+            }
+            for (int i = 0; i < trigramKeys.length; i++) {
+                trigramOffsets[i + 1] += trigramOffsets[i];
+            }
+            // Symbols are visited in order, so every posting list comes out ascending
+            int[] trigramPostings = new int[trigramOffsets[trigramKeys.length]];
+            int[] next = Arrays.copyOf(trigramOffsets, trigramKeys.length);
+            for (int symbol = 0; symbol < count; symbol++) {
+                for (int number : symbolTrigramNumbers[symbol]) {
+                    trigramPostings[next[number]++] = symbol;
+                }
+            }
+
+            return new SymbolIndex(ids.toArray(new String[0]), kindArray, nameArray,
+                qualifiers.toArray(new String[0]), displayNames.toArray(new String[0]),
+                prefixKeys, prefixSymbols, trigramKeys, trigramOffsets, trigramPostings);
+        }
+    }
+
+    // === Searching ===
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the best matches for the query, highest score first.
+     *
+     * Tiers are evaluated from best to worst and the cheaper candidate sources run first;
+     * abbreviation and trigram candidates are only gathered while fewer than {@code limit}
+     * matches have been found, since they can never outrank a prefix match.
+     */
+    public List<Match> search(String query, int limit) {
+        List<Match> matches = new ArrayList<>();
+        if (query == null || query.trim().isEmpty() || limit <= 0) {
+            return matches;
+        }
+
+        String[] segments = splitQuery(query.trim());
+        String nameQuery = segments[segments.length - 1];
+        List<String> humps = camelTokens(nameQuery);
+        String key = String.join("", humps);
+        if (key.isEmpty()) {
+            return matches;
+        }
+
+        Search search = new Search(segments, nameQuery, humps);
+
+        // Prefix and camel-case prefix matches, scored straight from the key
+        for (int i = lowerBound(key); i < prefixKeys.length && prefixKeys[i].startsWith(key); i++) {
+            int symbol = prefixSymbols[i];
+            int score;
+            if (prefixKeys[i].length() == nameKeyLengths[symbol]) {
+                score = names[symbol].equalsIgnoreCase(nameQuery)
+                    ? EXACT : PREFIX - Math.min(100, nameKeyLengths[symbol] - key.length());
+            } else {
+                score = CAMEL_PREFIX;
+            }
+            search.offer(symbol, score);
+        }
+
+        // Abbreviations: keys starting with the same letter that contain the query as a subsequence
+        if (search.accepted < limit) {
+            String first = key.substring(0, 1);
+            for (int i = lowerBound(first); i < prefixKeys.length && prefixKeys[i].startsWith(first); i++) {
+                int symbol = prefixSymbols[i];
+                if (search.isOpen(symbol) && isSubsequence(key, prefixKeys[i])) {
+                    search.offer(symbol, nameScore(nameQuery, humps, names[symbol]));
+                }
+            }
+        }
+
+        // Typos: symbols sharing at least half of the query trigrams
+        if (search.accepted < limit) {
+            long[] queryTrigrams = trigrams(key);
+            int[] counts = new int[ids.length];
+            int threshold = Math.max(1, (queryTrigrams.length + 1) / 2);
+            for (long trigram : queryTrigrams) {
+                int position = Arrays.binarySearch(trigramKeys, trigram);
+                if (position < 0) {
+                    continue;
+                }
+                for (int p = trigramOffsets[position]; p < trigramOffsets[position + 1]; p++) {
+                    int symbol = trigramPostings[p];
+                    if (++counts[symbol] == threshold && search.isOpen(symbol)) {
+                        search.offer(symbol, nameScore(nameQuery, humps, names[symbol]));
+                    }
+                }
+            }
+        }
+
+        return search.top(limit);
+    }
+
+    /**
+     * Per-query scoring state
+     */
+    private final class Search {
+        private final String[] segments;
+        private final String nameQuery;
+        private final List<String> humps;
+        private final int[] nameScores = new int[ids.length]; // -1 = rejected by qualifier
+        private final int[] qualifierScores = new int[ids.length];
+        private final Map<String, Integer> qualifierMemo = new HashMap<>();
+        private int[] touched = new int[64];
+        private int touchedCount;
+        private int accepted;
+
+        Search(String[] segments, String nameQuery, List<String> humps) {
+            this.segments = segments;
+            this.nameQuery = nameQuery;
+            this.humps = humps;
+        }
+
+        boolean isOpen(int symbol) {
+            return nameScores[symbol] == 0;
+        }
+
+        void offer(int symbol, int score) {
+            if (score <= 0 || nameScores[symbol] < 0 || score <= nameScores[symbol]) {
+                return;
+            }
+            if (nameScores[symbol] == 0) {
+                int qualifierScore = qualifierMemo.computeIfAbsent(qualifiers[symbol], this::qualifierScore);
+                if (qualifierScore < 0) {
+                    nameScores[symbol] = -1;
+                    return;
+                }
+                qualifierScores[symbol] = qualifierScore;
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = symbol;
+                accepted++;
+            }
+            nameScores[symbol] = score;
+        }
+
+        /**
+         * Sum of the best part scores of the earlier query segments, or -1 if one does not match
+         */
+        private int qualifierScore(String qualifier) {
+            int total = 0;
+            for (int s = 0; s < segments.length - 1; s++) {
+                String segment = segments[s];
+                if (!isSubsequenceIgnoreCase(segment, qualifier)) {
+                    return -1;
+                }
+                List<String> segmentHumps = camelTokens(segment);
+                int best = 0;
+                for (String part : qualifier.split("[.$]")) {
+                    if (!part.isEmpty()) {
+                        best = Math.max(best, nameScore(segment, segmentHumps, part));
+                    }
+                }
+                if (best < SUBSTRING) {
+                    return -1;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        List<Match> top(int limit) {
+            Comparator<Integer> ranking = (a, b) -> {
+                int cmp = Integer.compare(nameScores[b], nameScores[a]);
+                if (cmp == 0) {
+                    cmp = Integer.compare(qualifierScores[b], qualifierScores[a]);
+                }
+                if (cmp == 0) {
+                    cmp = Integer.compare(displayNames[a].length(), displayNames[b].length());
+                }
+                return cmp != 0 ? cmp : ids[a].compareTo(ids[b]);
+            };
+
+            // Bounded heap holding the best results seen, worst on top
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+            for (int i = 0; i < touchedCount; i++) {
+                int symbol = touched[i];
+                if (nameScores[symbol] > 0) {
+                    best.offer(symbol);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+
+            List<Integer> ordered = new ArrayList<>(best);
+            ordered.sort(ranking);
+            List<Match> matches = new ArrayList<>(ordered.size());
+            for (int symbol : ordered) {
+                matches.add(new Match(ids[symbol], KINDS[kinds[symbol]], displayNames[symbol],
+                    nameScores[symbol] + qualifierScores[symbol] / 2));
+            }
+            return matches;
+        }
+    }
+
+    private static String[] splitQuery(String query) {
+        // Endpoint paths contain dots rarely but slashes always; only split them on whitespace
+        String[] segments = query.indexOf('/') >= 0 ? query.split("\\s+") : query.split("[.#\\s]+");
+        List<String> nonEmpty = new ArrayList<>();
+        for (String segment : segments) {
+            if (!segment.isEmpty()) {
+                nonEmpty.add(segment);
+            }
+        }
+        return nonEmpty.isEmpty() ? new String[]{query} : nonEmpty.toArray(new String[0]);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = prefixKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefixKeys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Scores a name against one query segment; 0 means no match
+     */
+    private static int nameScore(String query, List<String> humps, String name) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        if (lowerName.equals(lowerQuery)) {
+            return EXACT;
+        }
+        if (lowerName.startsWith(lowerQuery)) {
+            return PREFIX - Math.min(100, lowerName.length() - lowerQuery.length());
+        }
+        String key = String.join("", humps);
+        List<String> tokens = camelTokens(name);
+        if (tokens.isEmpty() || key.isEmpty()) {
+            return 0;
+        }
+        for (String suffix : camelSuffixes(tokens)) {
+            if (suffix.startsWith(key)) {
+                return CAMEL_PREFIX;
+            }
+        }
+        if (humps.size() > 1 && matchesHumps(humps, tokens, 0, 0)) {
+            return ABBREVIATION;
+        }
+        String nameKey = String.join("", tokens);
+        if (nameKey.charAt(0) == key.charAt(0) && isSubsequence(key, nameKey)) {
+            return SUBSEQUENCE;
+        }
+        if (nameKey.contains(key)) {
+            return SUBSTRING;
+        }
+        long[] queryTrigrams = trigrams(key);
+        if (queryTrigrams.length > 0) {
+            long[] nameTrigrams = trigrams(nameKey);
+            int shared = 0;
+            for (long trigram : queryTrigrams) {
+                if (Arrays.binarySearch(nameTrigrams, trigram) >= 0) {
+                    shared++;
+                }
+            }
+            // Dice coefficient of at least one half
+            int total = queryTrigrams.length + nameTrigrams.length;
+            if (shared * 4 >= total) {
+                return TRIGRAM * 2 * shared / total;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Whether each query hump is a subsequence of a later name token starting with the same letter
+     */
+    private static boolean matchesHumps(List<String> humps, List<String> tokens, int hump, int token) {
+        if (hump == humps.size()) {
+            return true;
+        }
+        String h = humps.get(hump);
+        for (int t = token; t < tokens.size(); t++) {
+            String candidate = tokens.get(t);
+            if (candidate.charAt(0) == h.charAt(0) && isSubsequence(h, candidate)
+                    && matchesHumps(humps, tokens, hump + 1, t + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSubsequence(String needle, String haystack) {
+        int n = 0;
+        for (int h = 0; h < haystack.length() && n < needle.length(); h++) {
+            if (haystack.charAt(h) == needle.charAt(n)) {
+                n++;
+            }
+        }
+        return n == needle.length();
+    }
+
+    private static boolean isSubsequenceIgnoreCase(String needle, String haystack) {
+        int n = 0;
+        for (int h = 0; h < haystack.length() && n < needle.length(); h++) {
+            if (Character.toLowerCase(haystack.charAt(h)) == Character.toLowerCase(needle.charAt(n))) {
+                n++;
+            }
+        }
+        return n == needle.length();
+    }
+
+    // === Tokenization ===
+
+    /**
+     * Splits a name into lowercased camel-case tokens, e.g. {@code HTTPServerImpl2} into http, server, impl, 2
+     */
+    static List<String> camelTokens(String name) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                if (start >= 0) {
+                    tokens.add(name.substring(start, i));
+                    start = -1;
+                }
+                continue;
+            }
+            if (start >= 0 && isBoundary(name, i)) {
+                tokens.add(name.substring(start, i));
+                start = i;
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(name.substring(start));
+        }
+        for (int i = 0; i < tokens.size(); i++) {
+            tokens.set(i, tokens.get(i).toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    private static boolean isBoundary(String name, int i) {
+        char previous = name.charAt(i - 1);
+        char current = name.charAt(i);
+        if (Character.isDigit(previous) != Character.isDigit(current)) {
+            return true;
+        }
+        if (Character.isLowerCase(previous) && Character.isUpperCase(current)) {
+            return true;
+        }
+        // End of an acronym: the "S" in "HTTPServer"
+        return Character.isUpperCase(previous) && Character.isUpperCase(current)
+            && i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1));
+    }
+
+    /**
+     * Suffixes of a token sequence starting at each token, the full key last
+     */
+    static List<String> camelSuffixes(List<String> tokens) {
+        List<String> suffixes = new ArrayList<>(tokens.size());
+        StringBuilder suffix = new StringBuilder();
+        for (int i = tokens.size() - 1; i >= 0; i--) {
+            suffix.insert(0, tokens.get(i));
+            suffixes.add(suffix.toString());
+        }
+        return suffixes;
+    }
+
+    /**
+     * Sorted, distinct trigrams of a lowercased string, each packed into a long
+     */
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    // === Serialization ===
+
+    /**
+     * Returns the conventional symbol index path for an output file
+     */
+    public static Path indexPathFor(Path outputFile) {
+        return outputFile.resolveSibling(outputFile.getFileName() + ".symbols");
+    }
+
+    /**
+     * Writes the index to a file
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            out.writeInt(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                writeString(out, ids[i]);
+                out.writeByte(kinds[i]);
+                writeString(out, names[i]);
+                writeString(out, qualifiers[i]);
+                writeString(out, displayNames[i]);
+            }
+
+            out.writeInt(prefixKeys.length);
+            for (int i = 0; i < prefixKeys.length; i++) {
+                writeString(out, prefixKeys[i]);
+                out.writeInt(prefixSymbols[i]);
+            }
+
+            out.writeInt(trigramKeys.length);
+            for (long key : trigramKeys) {
+                out.writeLong(key);
+            }
+            for (int offset : trigramOffsets) {
+                out.writeInt(offset);
+            }
+            for (int posting : trigramPostings) {
+                out.writeInt(posting);
+            }
+        }
+        logger.info("Symbol index written to: {} ({} symbols)", file, ids.length);
+    }
+
+    /**
+     * Reads an index written by {@link #write(Path)}
+     */
+    public static SymbolIndex read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a symbol index: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported symbol index version: " + version);
+            }
+
+            int count = in.readInt();
+            String[] ids = new String[count];
+            byte[] kinds = new byte[count];
+            String[] names = new String[count];
+            String[] qualifiers = new String[count];
+            String[] displayNames = new String[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = readString(in);
+                kinds[i] = in.readByte();
+                names[i] = readString(in);
+                qualifiers[i] = readString(in);
+                displayNames[i] = readString(in);
+            }
+
+            int prefixCount = in.readInt();
+            String[] prefixKeys = new String[prefixCount];
+            int[] prefixSymbols = new int[prefixCount];
+            for (int i = 0; i < prefixCount; i++) {
+                prefixKeys[i] = readString(in);
+                prefixSymbols[i] = in.readInt();
+            }
+
+            int trigramCount = in.readInt();
+            long[] trigramKeys = new long[trigramCount];
+            for (int i = 0; i < trigramCount; i++) {
+                trigramKeys[i] = in.readLong();
+            }
+            int[] trigramOffsets = new int[trigramCount + 1];
+            for (int i = 0; i <= trigramCount; i++) {
+                trigramOffsets[i] = in.readInt();
+            }
+            int[] trigramPostings = new int[trigramOffsets[trigramCount]];
+            for (int i = 0; i < trigramPostings.length; i++) {
+                trigramPostings[i] = in.readInt();
+            }
+
+            return new SymbolIndex(ids, kinds, names, qualifiers, displayNames,
+                prefixKeys, prefixSymbols, trigramKeys, trigramOffsets, trigramPostings);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
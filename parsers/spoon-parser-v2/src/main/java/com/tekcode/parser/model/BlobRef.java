@@ -0,0 +1,44 @@
+package com.tekcode.parser.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Location of a text stored in the blob file: SHA-256 of its UTF-8 bytes, and where they are
+ */
+@JsonPropertyOrder({"hash", "offset", "length"})
+public class BlobRef {
+
+    @JsonProperty("hash")
+    private String hash;
+
+    @JsonProperty("offset")
+    private long offset;
+
+    @JsonProperty("length")
+    private int length;
+
+    public BlobRef() {}
+
+    public BlobRef(String hash, long offset, int length) {
+        this.hash = hash;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    // === Getters and Setters ===
+
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
+
+    public long getOffset() { return offset; }
+    public void setOffset(long offset) { this.offset = offset; }
+
+    public int getLength() { return length; }
+    public void setLength(int length) { this.length = length; }
+
+    @Override
+    public String toString() {
+        return String.format("BlobRef{hash='%s', offset=%d, length=%d}", hash, offset, length);
+    }
+}
@@ -0,0 +1,102 @@
+package com.tekcode.parser.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Exact source slice of a method, constructor or type declaration, ready for embedding
+ *
+ * Oversized methods are split at statement boundaries into several chunks of the same owner,
+ * numbered by {@code part}.
+ */
+@JsonPropertyOrder({
+    "id", "ownerId", "ownerType", "filePath", "part", "partCount", "startLine", "endLine",
+    "startPosition", "endPosition", "tokenCount", "contentHash", "content"
+})
+public class CodeChunk {
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("ownerId")
+    private String ownerId;
+
+    @JsonProperty("ownerType")
+    private String ownerType; // "Method", "Constructor", "Class", "Interface", "Enum"
+
+    @JsonProperty("filePath")
+    private String filePath;
+
+    @JsonProperty("part")
+    private int part;
+
+    @JsonProperty("partCount")
+    private int partCount;
+
+    @JsonProperty("startLine")
+    private int startLine;
+
+    @JsonProperty("endLine")
+    private int endLine;
+
+    @JsonProperty("startPosition")
+    private int startPosition;
+
+    @JsonProperty("endPosition")
+    private int endPosition;
+
+    @JsonProperty("tokenCount")
+    private int tokenCount; // from the tokenizer vocabulary, or estimated as characters / 4
+
+    @JsonProperty("contentHash")
+    private String contentHash;
+
+    @JsonProperty("content")
+    private String content;
+
+    // === Getters and Setters ===
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getOwnerId() { return ownerId; }
+    public void setOwnerId(String ownerId) { this.ownerId = ownerId; }
+
+    public String getOwnerType() { return ownerType; }
+    public void setOwnerType(String ownerType) { this.ownerType = ownerType; }
+
+    public String getFilePath() { return filePath; }
+    public void setFilePath(String filePath) { this.filePath = filePath; }
+
+    public int getPart() { return part; }
+    public void setPart(int part) { this.part = part; }
+
+    public int getPartCount() { return partCount; }
+    public void setPartCount(int partCount) { this.partCount = partCount; }
+
+    public int getStartLine() { return startLine; }
+    public void setStartLine(int startLine) { this.startLine = startLine; }
+
+    public int getEndLine() { return endLine; }
+    public void setEndLine(int endLine) { this.endLine = endLine; }
+
+    public int getStartPosition() { return startPosition; }
+    public void setStartPosition(int startPosition) { this.startPosition = startPosition; }
+
+    public int getEndPosition() { return endPosition; }
+    public void setEndPosition(int endPosition) { this.endPosition = endPosition; }
+
+    public int getTokenCount() { return tokenCount; }
+    public void setTokenCount(int tokenCount) { this.tokenCount = tokenCount; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    @Override
+    public String toString() {
+        return String.format("CodeChunk{id='%s', lines=%d-%d, tokens=%d}", id, startLine, endLine, tokenCount);
+    }
+}
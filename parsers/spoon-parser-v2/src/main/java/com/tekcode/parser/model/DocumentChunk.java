@@ -1,5 +1,6 @@
 package com.tekcode.parser.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
@@ -8,7 +9,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
  */
 @JsonPropertyOrder({
     "id", "documentId", "chunkIndex", "content", "startPosition", "endPosition", 
-    "characterCount", "wordCount", "lineCount", "overlap", "chunkType", "properties"
+    "characterCount", "wordCount", "lineCount", "tokenCount", "overlap", "chunkType", "contentHash", "unchanged", "properties"
 })
 public class DocumentChunk {
     
@@ -39,12 +40,23 @@ public class DocumentChunk {
     @JsonProperty("lineCount")
     private int lineCount;
     
+    @JsonProperty("tokenCount")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer tokenCount; // model tokens, set by the "token" strategy
+    
     @JsonProperty("overlap")
     private int overlap;
     
     @JsonProperty("chunkType")
     private String chunkType; // "content", "header", "code_block", etc.
     
+    @JsonProperty("contentHash")
+    private String contentHash; // 64-bit hash of the content, hex
+    
+    @JsonProperty("unchanged")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean unchanged; // set when a chunk cache is used: same content in the previous run
+    
     @JsonProperty("properties")
     private java.util.Map<String, Object> properties = new java.util.HashMap<>();
     
@@ -97,12 +109,21 @@ public class DocumentChunk {
     public int getLineCount() { return lineCount; }
     public void setLineCount(int lineCount) { this.lineCount = lineCount; }
     
+    public Integer getTokenCount() { return tokenCount; }
+    public void setTokenCount(Integer tokenCount) { this.tokenCount = tokenCount; }
+    
     public int getOverlap() { return overlap; }
     public void setOverlap(int overlap) { this.overlap = overlap; }
     
     public String getChunkType() { return chunkType; }
     public void setChunkType(String chunkType) { this.chunkType = chunkType; }
     
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    
+    public Boolean getUnchanged() { return unchanged; }
+    public void setUnchanged(Boolean unchanged) { this.unchanged = unchanged; }
+    
     public java.util.Map<String, Object> getProperties() { return properties; }
     public void setProperties(java.util.Map<String, Object> properties) { this.properties = properties; }
     
@@ -1,5 +1,6 @@
 package com.tekcode.parser.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.Data;
@@ -16,7 +17,8 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 @JsonPropertyOrder({
     "path", "fileName", "packageName", "fileExtension",
-    "fileSize", "checksum", "lastModified", "isTestFile", "sourceCode"
+    "fileSize", "checksum", "lastModified", "isTestFile",
+    "totalLines", "linesOfCode", "commentLines", "blankLines", "sourceCode", "sourceCodeRef"
 })
 public class FileNode {
 
@@ -48,8 +50,24 @@ public class FileNode {
     @JsonProperty("isTestFile")
     private boolean isTestFile;
 
+    @JsonProperty("totalLines")
+    private int totalLines;
+
+    @JsonProperty("linesOfCode")
+    private int linesOfCode;
+
+    @JsonProperty("commentLines")
+    private int commentLines;
+
+    @JsonProperty("blankLines")
+    private int blankLines;
+
 
 
     @JsonProperty("sourceCode")
     private String sourceCode;
+
+    @JsonProperty("sourceCodeRef")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BlobRef sourceCodeRef; // set instead of sourceCode when a blob file is used
 }
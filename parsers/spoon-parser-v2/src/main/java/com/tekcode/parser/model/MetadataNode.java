@@ -49,6 +49,13 @@ public class MetadataNode {
     @JsonProperty("warnings")
     private List<String> warnings;
     
+    /**
+     * Files whose entities this result replaces when only the impact set of a change list was
+     * re-extracted; null for a full parse
+     */
+    @JsonProperty("impactedFiles")
+    private List<String> impactedFiles;
+    
     // === Getters and Setters ===
     
     public String getCodebaseName() {
@@ -138,4 +145,12 @@ public class MetadataNode {
     public void setWarnings(List<String> warnings) {
         this.warnings = warnings;
     }
+    
+    public List<String> getImpactedFiles() {
+        return impactedFiles;
+    }
+    
+    public void setImpactedFiles(List<String> impactedFiles) {
+        this.impactedFiles = impactedFiles;
+    }
 }
@@ -1,5 +1,6 @@
 package com.tekcode.parser.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.Data;
@@ -19,7 +20,7 @@ import java.util.HashMap;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonPropertyOrder({
-    "id", "name", "signature", "returnType", "comment", "body", "visibility",
+    "id", "name", "signature", "returnType", "comment", "body", "bodyRef", "visibility",
     "isAbstract", "isFinal", "isStatic", "isConstructor", "isTestMethod",
     "filePath", "startLine", "endLine", "cyclomaticComplexity", "parameters",
     "decorators", "properties"
@@ -44,6 +45,10 @@ public class MethodNode {
     @JsonProperty("body")
     private String body;
 
+    @JsonProperty("bodyRef")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BlobRef bodyRef; // set instead of body when a blob file is used
+
     @JsonProperty("visibility")
     private String visibility;
 
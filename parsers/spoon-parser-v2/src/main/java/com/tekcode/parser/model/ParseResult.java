@@ -71,6 +71,9 @@ public class ParseResult {
     @JsonProperty("documentChunks")
     private List<DocumentChunk> documentChunks = new CopyOnWriteArrayList<>();
     
+    @JsonProperty("codeChunks")
+    private List<CodeChunk> codeChunks = new CopyOnWriteArrayList<>();
+    
     @JsonProperty("annotations")
     private List<AnnotationNode> annotations = new CopyOnWriteArrayList<>();
     
@@ -214,6 +217,14 @@ public class ParseResult {
         this.documentChunks = documentChunks != null ? new CopyOnWriteArrayList<>(documentChunks) : new CopyOnWriteArrayList<>();
     }
 
+    public List<CodeChunk> getCodeChunks() {
+        return codeChunks;
+    }
+    
+    public void setCodeChunks(List<CodeChunk> codeChunks) {
+        this.codeChunks = codeChunks != null ? new CopyOnWriteArrayList<>(codeChunks) : new CopyOnWriteArrayList<>();
+    }
+    
     public List<AnnotationNode> getAnnotations() {
         return annotations;
     }
@@ -308,6 +319,12 @@ public class ParseResult {
         }
     }
 
+    public void addCodeChunk(CodeChunk codeChunk) {
+        if (codeChunk != null) {
+            this.codeChunks.add(codeChunk);
+        }
+    }
+
     public void addAnnotation(AnnotationNode annotation) {
         if (annotation != null) {
             this.annotations.add(annotation);
@@ -323,7 +340,7 @@ public class ParseResult {
         return files.size() + classes.size() + interfaces.size() + enums.size() +
                methods.size() + fields.size() + lambdaExpressions.size() +
                methodReferences.size() + dependencies.size() + apiEndpoints.size() +
-               testCases.size() + documents.size() + documentChunks.size() + annotations.size();
+               testCases.size() + documents.size() + documentChunks.size() + codeChunks.size() + annotations.size();
     }
     
     /**
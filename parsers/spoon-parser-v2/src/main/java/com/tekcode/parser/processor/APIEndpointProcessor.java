@@ -164,6 +164,9 @@ public class APIEndpointProcessor {
         endpoint.setMethodName(method.getSimpleName());
         endpoint.setClassName(ctClass.getQualifiedName());
 
+        // Handler method, so endpoints can be joined with the call graph
+        endpoint.getProperties().put("methodId", IdGenerator.generateMethodId(context.getCodebaseName(), method));
+
         // Store additional information in properties
         endpoint.getProperties().put("returnType", method.getType().getQualifiedName());
 
@@ -0,0 +1,471 @@
+package com.tekcode.parser.processor;
+
+import com.tekcode.parser.core.ParsingContext;
+import com.tekcode.parser.model.Relationship;
+import com.tekcode.parser.util.IdGenerator;
+import com.tekcode.parser.util.SourceBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spoon.reflect.code.CtBlock;
+import spoon.reflect.declaration.CtCompilationUnit;
+import spoon.reflect.declaration.CtExecutable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Processor for finding copy-pasted method bodies
+ *
+ * Each body is lexed into tokens with identifiers and literals abstracted away, so renamed
+ * copies look alike. Hashes of every window of {@code k} tokens are winnowed: of each run
+ * of {@code w} consecutive hashes only the minimum is kept as a fingerprint, which guarantees
+ * that any common run of {@code cloneMinTokens} tokens shares a fingerprint. Fingerprints are
+ * bucketed in a primitive hash table, and each one two methods share is extended into the run
+ * of equal tokens around it; methods whose common runs cover at least {@code cloneMinTokens}
+ * tokens are clones. Every step is linear in the source size, apart from comparing the
+ * methods that share a bucket.
+ */
+public class CloneProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(CloneProcessor.class);
+
+    /** Fingerprints found in more methods than this are boilerplate, not clones */
+    private static final int MAX_BUCKET_METHODS = 64;
+
+    private static final long IDENTIFIER = 0x49L;
+    private static final long LITERAL = 0x4cL;
+    private static final long BASE = 0x100000001b3L;
+
+    private static final String[] KEYWORDS = {
+        "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "continue",
+        "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "if",
+        "implements", "import", "instanceof", "int", "interface", "long", "new", "package", "private",
+        "protected", "public", "return", "short", "static", "super", "switch", "synchronized", "this",
+        "throw", "throws", "try", "var", "void", "volatile", "while", "yield"
+    };
+    private static final long[] KEYWORD_HASHES = Arrays.stream(KEYWORDS)
+        .mapToLong(keyword -> hash(keyword, 0, keyword.length())).sorted().toArray();
+    private static final long TRUE = hash("true", 0, 4);
+    private static final long FALSE = hash("false", 0, 5);
+    private static final long NULL = hash("null", 0, 4);
+
+    private final ParsingContext context;
+    private final int minTokens;
+    private final int k;
+    private final int window;
+
+    /**
+     * Clone relationships and the number of source lines inside detected clones
+     */
+    public static class CloneDetectionResult {
+        public final List<Relationship> relationships;
+        public final int duplicateLines;
+
+        CloneDetectionResult(List<Relationship> relationships, int duplicateLines) {
+            this.relationships = relationships;
+            this.duplicateLines = duplicateLines;
+        }
+    }
+
+    public CloneProcessor(ParsingContext context) {
+        this.context = context;
+        this.minTokens = Math.max(2, context.getConfig().getCloneMinTokens());
+        this.k = Math.max(1, Math.min(15, minTokens / 3));
+        this.window = minTokens - k + 1;
+    }
+
+    /**
+     * Finds the clones among the bodies of the given methods and constructors
+     */
+    public CloneDetectionResult detectClones(List<CtExecutable<?>> executables) {
+        List<MethodTokens> methods = new ArrayList<>();
+        FingerprintTable table = new FingerprintTable();
+        // Elements compare by structure, so units are told apart by identity
+        Map<CtCompilationUnit, SourceBuffer> buffers = new IdentityHashMap<>();
+
+        for (CtExecutable<?> executable : executables) {
+            CtBlock<?> body = executable.getBody();
+            if (body == null || body.getPosition() == null || !body.getPosition().isValidPosition()) {
+                continue;
+            }
+            try {
+                CtCompilationUnit unit = body.getPosition().getCompilationUnit();
+                SourceBuffer source = buffers.computeIfAbsent(unit, u -> new SourceBuffer(u.getOriginalSourceCode()));
+                MethodTokens tokens = tokenize(IdGenerator.generateMethodId(context.getCodebaseName(), executable),
+                    source, body.getPosition().getSourceStart(), body.getPosition().getSourceEnd() + 1);
+                if (tokens.size >= minTokens) {
+                    winnow(tokens, methods.size(), table);
+                    methods.add(tokens);
+                }
+            } catch (RuntimeException e) {
+                logger.debug("Skipping clone detection for {}", executable.getSignature(), e);
+            }
+        }
+
+        // Tokens of each method covered by fingerprints it shares with each other method
+        Map<Long, BitSet[]> shared = new HashMap<>();
+        table.forEachBucket((postingsMethods, postingsPositions, count) -> {
+            if (count < 2 || distinctMethods(postingsMethods, count) > MAX_BUCKET_METHODS) {
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < count; j++) {
+                    int a = postingsMethods[i];
+                    int b = postingsMethods[j];
+                    if (a < b) {
+                        BitSet[] coverage = shared.computeIfAbsent(((long) a << 32) | b,
+                            key -> new BitSet[]{new BitSet(), new BitSet()});
+                        extend(methods.get(a), postingsPositions[i], methods.get(b), postingsPositions[j], coverage);
+                    }
+                }
+            }
+        });
+
+        // Pairs covering enough tokens on both sides are clones; group them
+        int[] group = new int[methods.size()];
+        Arrays.setAll(group, i -> i);
+        BitSet[] duplicated = new BitSet[methods.size()];
+        shared.forEach((pair, coverage) -> {
+            if (coverage[0].cardinality() >= minTokens && coverage[1].cardinality() >= minTokens) {
+                int a = (int) (pair >>> 32);
+                int b = (int) (long) pair;
+                union(group, a, b);
+                or(duplicated, a, coverage[0]);
+                or(duplicated, b, coverage[1]);
+            }
+        });
+
+        Map<Integer, List<Integer>> groups = new TreeMap<>();
+        int duplicateLines = 0;
+        for (int i = 0; i < methods.size(); i++) {
+            if (duplicated[i] != null) {
+                groups.computeIfAbsent(find(group, i), root -> new ArrayList<>()).add(i);
+                duplicateLines += methods.get(i).countLines(duplicated[i]);
+            }
+        }
+
+        // Each member points at the member with the smallest ID
+        List<Relationship> relationships = new ArrayList<>();
+        for (List<Integer> members : groups.values()) {
+            members.sort((a, b) -> methods.get(a).methodId.compareTo(methods.get(b).methodId));
+            String representative = methods.get(members.get(0)).methodId;
+            for (int i = 1; i < members.size(); i++) {
+                String methodId = methods.get(members.get(i)).methodId;
+                Relationship clone = new Relationship("CLONE_OF", "method", methodId, "method", representative);
+                clone.setId(IdGenerator.generateRelationshipId("CLONE_OF", methodId, representative));
+                clone.addProperty("groupSize", members.size());
+                clone.addProperty("duplicateTokens", duplicated[members.get(i)].cardinality());
+                relationships.add(clone);
+            }
+        }
+        logger.info("Found {} clone groups with {} duplicate lines in {} method bodies",
+            groups.size(), duplicateLines, methods.size());
+        return new CloneDetectionResult(relationships, duplicateLines);
+    }
+
+    /**
+     * Records the winnowed fingerprints of a method: the rightmost minimum hash of each
+     * window of {@code window} consecutive k-gram hashes, found with a monotonic queue
+     */
+    private void winnow(MethodTokens tokens, int methodIndex, FingerprintTable table) {
+        long power = 1;
+        for (int i = 0; i < k; i++) {
+            power *= BASE;
+        }
+        int grams = tokens.size - k + 1;
+        long[] gramHashes = new long[grams];
+        long rolling = 0;
+        for (int i = 0; i < tokens.size; i++) {
+            rolling = rolling * BASE + tokens.hashes[i];
+            if (i >= k) {
+                rolling -= tokens.hashes[i - k] * power;
+            }
+            if (i >= k - 1) {
+                gramHashes[i - k + 1] = mix(rolling);
+            }
+        }
+
+        ArrayDeque<Integer> minima = new ArrayDeque<>();
+        int lastRecorded = -1;
+        for (int i = 0; i < grams; i++) {
+            while (!minima.isEmpty() && gramHashes[minima.peekLast()] >= gramHashes[i]) {
+                minima.pollLast();
+            }
+            minima.addLast(i);
+            if (minima.peekFirst() <= i - window) {
+                minima.pollFirst();
+            }
+            if (i >= Math.min(window, grams) - 1 && minima.peekFirst() != lastRecorded) {
+                lastRecorded = minima.peekFirst();
+                table.add(gramHashes[lastRecorded], methodIndex, lastRecorded);
+            }
+        }
+    }
+
+    /**
+     * Grows a shared k-gram into the longest run of equal tokens around it and marks the run
+     * as covered in both methods; seeds inside an earlier run are skipped
+     */
+    private static void extend(MethodTokens a, int positionA, MethodTokens b, int positionB, BitSet[] coverage) {
+        if (coverage[0].get(positionA) && coverage[1].get(positionB)) {
+            return;
+        }
+        int before = 0;
+        while (positionA - before > 0 && positionB - before > 0
+                && a.hashes[positionA - before - 1] == b.hashes[positionB - before - 1]) {
+            before++;
+        }
+        int after = 0;
+        while (positionA + after < a.size && positionB + after < b.size
+                && a.hashes[positionA + after] == b.hashes[positionB + after]) {
+            after++;
+        }
+        coverage[0].set(positionA - before, positionA + after);
+        coverage[1].set(positionB - before, positionB + after);
+    }
+
+    private static void or(BitSet[] duplicated, int method, BitSet coverage) {
+        if (duplicated[method] == null) {
+            duplicated[method] = new BitSet();
+        }
+        duplicated[method].or(coverage);
+    }
+
+    private static int distinctMethods(int[] postingsMethods, int count) {
+        return (int) Arrays.stream(postingsMethods, 0, count).distinct().count();
+    }
+
+    private static int find(int[] group, int i) {
+        while (group[i] != i) {
+            group[i] = group[group[i]];
+            i = group[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] group, int a, int b) {
+        int rootA = find(group, a);
+        int rootB = find(group, b);
+        if (rootA != rootB) {
+            group[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    /**
+     * Lexes {@code [start, end)} into normalized token hashes, skipping whitespace and comments
+     */
+    private static MethodTokens tokenize(String methodId, SourceBuffer source, int start, int end) {
+        String text = source.slice(start, end);
+        MethodTokens tokens = new MethodTokens(methodId);
+        int line = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                line++;
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '/' && i + 1 < text.length() && text.charAt(i + 1) == '/') {
+                while (i < text.length() && text.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < text.length() && text.charAt(i + 1) == '*') {
+                int close = text.indexOf("*/", i + 2);
+                int stop = close < 0 ? text.length() : close + 2;
+                for (; i < stop; i++) {
+                    if (text.charAt(i) == '\n') {
+                        line++;
+                    }
+                }
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int from = i;
+                while (i < text.length() && Character.isJavaIdentifierPart(text.charAt(i))) {
+                    i++;
+                }
+                long word = hash(text, from, i);
+                if (word == TRUE || word == FALSE || word == NULL) {
+                    tokens.add(LITERAL, line);
+                } else {
+                    tokens.add(Arrays.binarySearch(KEYWORD_HASHES, word) >= 0 ? word : IDENTIFIER, line);
+                }
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1)))) {
+                while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '.'
+                        || text.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(LITERAL, line);
+            } else if (c == '"' || c == '\'') {
+                boolean textBlock = c == '"' && text.startsWith("\"\"\"", i);
+                i += textBlock ? 3 : 1;
+                while (i < text.length()) {
+                    char d = text.charAt(i);
+                    if (d == '\\') {
+                        i += 2;
+                    } else if (textBlock ? text.startsWith("\"\"\"", i) : d == c) {
+                        i += textBlock ? 3 : 1;
+                        break;
+                    } else {
+                        if (d == '\n') {
+                            line++;
+                        }
+                        i++;
+                    }
+                }
+                tokens.add(LITERAL, line);
+            } else {
+                tokens.add(c, line);
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static long hash(CharSequence text, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h = (h ^ text.charAt(i)) * BASE;
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        return h ^ h >>> 33;
+    }
+
+    /**
+     * Normalized token hashes of one method body and the line of each token
+     */
+    private static final class MethodTokens {
+        final String methodId;
+        long[] hashes = new long[64];
+        int[] lines = new int[64];
+        int size;
+
+        MethodTokens(String methodId) {
+            this.methodId = methodId;
+        }
+
+        void add(long hash, int line) {
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+                lines = Arrays.copyOf(lines, size * 2);
+            }
+            hashes[size] = hash;
+            lines[size] = line;
+            size++;
+        }
+
+        /**
+         * Number of distinct source lines holding one of the given tokens
+         */
+        int countLines(BitSet tokens) {
+            int count = 0;
+            int lastLine = -1;
+            for (int t = tokens.nextSetBit(0); t >= 0 && t < size; t = tokens.nextSetBit(t + 1)) {
+                if (lines[t] != lastLine) {
+                    lastLine = lines[t];
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Open-addressing table from fingerprint to its postings (method, token position), kept in
+     * primitive arrays; postings of a fingerprint are chained through {@code next}
+     */
+    private static final class FingerprintTable {
+        private long[] keys = new long[1024];
+        private int[] heads = new int[1024];
+        private boolean[] used = new boolean[1024];
+        private int keyCount;
+
+        private int[] postingMethod = new int[1024];
+        private int[] postingPosition = new int[1024];
+        private int[] next = new int[1024];
+        private int postingCount;
+
+        interface BucketVisitor {
+            void visit(int[] methods, int[] positions, int count);
+        }
+
+        void add(long key, int method, int position) {
+            if ((keyCount + 1) * 2 > keys.length) {
+                rehash();
+            }
+            int slot = slotOf(key);
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                heads[slot] = -1;
+                keyCount++;
+            }
+            if (postingCount == postingMethod.length) {
+                postingMethod = Arrays.copyOf(postingMethod, postingCount * 2);
+                postingPosition = Arrays.copyOf(postingPosition, postingCount * 2);
+                next = Arrays.copyOf(next, postingCount * 2);
+            }
+            postingMethod[postingCount] = method;
+            postingPosition[postingCount] = position;
+            next[postingCount] = heads[slot];
+            heads[slot] = postingCount++;
+        }
+
+        void forEachBucket(BucketVisitor visitor) {
+            int[] methods = new int[16];
+            int[] positions = new int[16];
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (!used[slot]) {
+                    continue;
+                }
+                int count = 0;
+                for (int p = heads[slot]; p >= 0; p = next[p]) {
+                    if (count == methods.length) {
+                        methods = Arrays.copyOf(methods, count * 2);
+                        positions = Arrays.copyOf(positions, count * 2);
+                    }
+                    methods[count] = postingMethod[p];
+                    positions[count] = postingPosition[p];
+                    count++;
+                }
+                visitor.visit(methods, positions, count);
+            }
+        }
+
+        private int slotOf(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldHeads = heads;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            heads = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slotOf(oldKeys[i]);
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    heads[slot] = oldHeads[i];
+                }
+            }
+        }
+    }
+}
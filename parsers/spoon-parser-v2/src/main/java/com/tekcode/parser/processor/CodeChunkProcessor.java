@@ -0,0 +1,194 @@
+package com.tekcode.parser.processor;
+
+import com.tekcode.parser.core.ParsingContext;
+import com.tekcode.parser.model.CodeChunk;
+import com.tekcode.parser.util.FastHash;
+import com.tekcode.parser.util.PathUtils;
+import com.tekcode.parser.util.SourceBuffer;
+import com.tekcode.parser.util.TokenVocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spoon.reflect.code.CtComment;
+import spoon.reflect.code.CtStatement;
+import spoon.reflect.cu.SourcePosition;
+import spoon.reflect.declaration.CtAnonymousExecutable;
+import spoon.reflect.declaration.CtCompilationUnit;
+import spoon.reflect.declaration.CtConstructor;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtEnum;
+import spoon.reflect.declaration.CtExecutable;
+import spoon.reflect.declaration.CtInterface;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.declaration.CtTypeMember;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Processor for slicing methods, constructors and type declarations into code chunks
+ *
+ * Slices are cut from the source text of the compilation unit, so chunks hold the code
+ * exactly as written, including leading comments. A type's chunk runs from its declaration
+ * up to its first method, constructor or nested type: annotations, header and the fields
+ * declared before them. Methods over {@code codeChunkMaxTokens} are split between top-level
+ * statements of their body.
+ */
+public class CodeChunkProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(CodeChunkProcessor.class);
+
+    private final ParsingContext context;
+    private final int maxTokens;
+    private final TokenVocabulary vocabulary;
+
+    // Elements arrive compilation unit by compilation unit
+    private CtCompilationUnit bufferedUnit;
+    private SourceBuffer buffer;
+
+    public CodeChunkProcessor(ParsingContext context) {
+        this.context = context;
+        this.maxTokens = Math.max(1, context.getConfig().getCodeChunkMaxTokens());
+        this.vocabulary = context.getTokenVocabulary();
+    }
+
+    /**
+     * Chunks of the declaration of a type, without its methods, constructors and nested types
+     */
+    public List<CodeChunk> processType(String ownerId, CtType<?> type) {
+        SourceBuffer source = bufferFor(type);
+        if (source == null) {
+            return Collections.emptyList();
+        }
+        int start = startOf(type, source);
+        int end = type.getPosition().getSourceEnd() + 1;
+        for (CtTypeMember member : type.getTypeMembers()) {
+            if ((member instanceof CtExecutable && !(member instanceof CtAnonymousExecutable))
+                    || member instanceof CtType) {
+                if (!member.isImplicit() && hasPosition(member)) {
+                    end = Math.min(end, startOf(member, source));
+                }
+            }
+        }
+        String ownerType = type instanceof CtEnum ? "Enum" : type instanceof CtInterface ? "Interface" : "Class";
+        return toChunks(ownerId, ownerType, type, source, List.of(new int[]{start, end}));
+    }
+
+    /**
+     * Chunks of a method or constructor, split between statements if it is over the token budget
+     */
+    public List<CodeChunk> processExecutable(String ownerId, CtExecutable<?> executable) {
+        if (executable.isImplicit()) {
+            return Collections.emptyList();
+        }
+        SourceBuffer source = bufferFor(executable);
+        if (source == null) {
+            return Collections.emptyList();
+        }
+        int start = startOf(executable, source);
+        int end = executable.getPosition().getSourceEnd() + 1;
+
+        // Cut points before each top-level statement; the segments between them are packed into parts
+        List<Integer> points = new ArrayList<>();
+        points.add(start);
+        if (executable.getBody() != null && countTokens(source.slice(start, end)) > maxTokens) {
+            for (CtStatement statement : executable.getBody().getStatements()) {
+                if (!statement.isImplicit() && hasPosition(statement)) {
+                    int point = startOf(statement, source);
+                    if (point > points.get(points.size() - 1) && point < end) {
+                        points.add(point);
+                    }
+                }
+            }
+        }
+        points.add(end);
+
+        List<int[]> parts = new ArrayList<>();
+        int partStart = start;
+        int partTokens = 0;
+        for (int i = 0; i + 1 < points.size(); i++) {
+            int segmentTokens = countTokens(source.slice(points.get(i), points.get(i + 1)));
+            if (partTokens > 0 && partTokens + segmentTokens > maxTokens) {
+                parts.add(new int[]{partStart, points.get(i)});
+                partStart = points.get(i);
+                partTokens = 0;
+            }
+            partTokens += segmentTokens;
+        }
+        parts.add(new int[]{partStart, end});
+
+        String ownerType = executable instanceof CtConstructor ? "Constructor" : "Method";
+        return toChunks(ownerId, ownerType, executable, source, parts);
+    }
+
+    private List<CodeChunk> toChunks(String ownerId, String ownerType, CtElement element, SourceBuffer source,
+                                     List<int[]> ranges) {
+        String filePath = PathUtils.toRelativePath(element.getPosition().getFile().getAbsolutePath(),
+            context.getProjectPath());
+        List<CodeChunk> chunks = new ArrayList<>(ranges.size());
+        for (int[] range : ranges) {
+            if (range[1] <= range[0]) {
+                continue;
+            }
+            String content = source.slice(range[0], range[1]);
+            CodeChunk chunk = new CodeChunk();
+            chunk.setId(ownerId + ":chunk:" + chunks.size());
+            chunk.setOwnerId(ownerId);
+            chunk.setOwnerType(ownerType);
+            chunk.setFilePath(filePath);
+            chunk.setPart(chunks.size());
+            chunk.setStartPosition(range[0]);
+            chunk.setEndPosition(range[1]);
+            chunk.setStartLine(source.lineOf(range[0]));
+            chunk.setEndLine(source.lineOf(range[1] - 1));
+            chunk.setTokenCount(countTokens(content));
+            chunk.setContentHash(FastHash.hex64(content));
+            chunk.setContent(content);
+            chunks.add(chunk);
+        }
+        chunks.forEach(chunk -> chunk.setPartCount(chunks.size()));
+        return chunks;
+    }
+
+    /**
+     * Start of an element's line, or of its first leading comment's line
+     */
+    private int startOf(CtElement element, SourceBuffer source) {
+        int start = element.getPosition().getSourceStart();
+        for (CtComment comment : element.getComments()) {
+            if (hasPosition(comment)) {
+                start = Math.min(start, comment.getPosition().getSourceStart());
+            }
+        }
+        return source.indentedStartOf(start);
+    }
+
+    private int countTokens(String text) {
+        return vocabulary != null ? vocabulary.countTokens(text) : (text.length() + 3) / 4;
+    }
+
+    private SourceBuffer bufferFor(CtElement element) {
+        if (!hasPosition(element) || element.getPosition().getFile() == null) {
+            return null;
+        }
+        CtCompilationUnit unit = element.getPosition().getCompilationUnit();
+        if (unit != bufferedUnit) {
+            bufferedUnit = unit;
+            buffer = null;
+            try {
+                String text = unit.getOriginalSourceCode();
+                buffer = text != null ? new SourceBuffer(text) : null;
+            } catch (RuntimeException e) {
+                logger.warn("No source text for {}", element.getPosition().getFile(), e);
+            }
+        }
+        if (buffer != null && element.getPosition().getSourceEnd() >= buffer.length()) {
+            return null;
+        }
+        return buffer;
+    }
+
+    private static boolean hasPosition(CtElement element) {
+        SourcePosition position = element.getPosition();
+        return position != null && position.isValidPosition();
+    }
+}
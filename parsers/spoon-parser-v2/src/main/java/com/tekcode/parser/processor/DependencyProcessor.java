@@ -2,6 +2,7 @@ package com.tekcode.parser.processor;
 
 import com.tekcode.parser.core.ParsingContext;
 import com.tekcode.parser.model.DependencyNode;
+import com.tekcode.parser.source.SourceFile;
 import com.tekcode.parser.util.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,10 +13,7 @@ import org.w3c.dom.NodeList;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -75,16 +73,23 @@ public class DependencyProcessor {
     private List<DependencyNode> extractMavenDependencies() {
         List<DependencyNode> dependencies = new ArrayList<>();
 
-        Path pomPath = Paths.get(context.getProjectPath(), "pom.xml");
-        if (!Files.exists(pomPath)) {
-            logger.debug("No pom.xml found at: {}", pomPath);
+        SourceFile pomFile;
+        try {
+            pomFile = context.getInventory().find("pom.xml");
+        } catch (Exception e) {
+            logger.error("Error looking up pom.xml in: {}", context.getProjectPath(), e);
+            context.incrementErrorCount();
+            return dependencies;
+        }
+        if (pomFile == null) {
+            logger.debug("No pom.xml found in: {}", context.getProjectPath());
             return dependencies;
         }
 
-        try {
+        try (InputStream pomStream = pomFile.openStream()) {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(pomPath.toFile());
+            Document document = builder.parse(pomStream);
 
             // Extract dependencies
             NodeList dependencyNodes = document.getElementsByTagName("dependency");
@@ -103,7 +108,7 @@ public class DependencyProcessor {
             logger.debug("Extracted {} Maven dependencies from pom.xml", dependencies.size());
 
         } catch (Exception e) {
-            logger.error("Error parsing pom.xml: {}", pomPath, e);
+            logger.error("Error parsing pom.xml: {}", pomFile.getPath(), e);
             context.incrementErrorCount();
         }
 
@@ -163,14 +168,15 @@ public class DependencyProcessor {
         List<DependencyNode> dependencies = new ArrayList<>();
 
         // Check for build.gradle (Groovy) and build.gradle.kts (Kotlin)
-        Path[] gradleFiles = {
-            Paths.get(context.getProjectPath(), "build.gradle"),
-            Paths.get(context.getProjectPath(), "build.gradle.kts")
-        };
-
-        for (Path gradlePath : gradleFiles) {
-            if (Files.exists(gradlePath)) {
-                dependencies.addAll(parseGradleFile(gradlePath));
+        for (String gradleFileName : new String[]{"build.gradle", "build.gradle.kts"}) {
+            try {
+                SourceFile gradleFile = context.getInventory().find(gradleFileName);
+                if (gradleFile != null) {
+                    dependencies.addAll(parseGradleFile(gradleFile));
+                }
+            } catch (Exception e) {
+                logger.error("Error looking up Gradle file: {}", gradleFileName, e);
+                context.incrementErrorCount();
             }
         }
 
@@ -180,11 +186,11 @@ public class DependencyProcessor {
     /**
      * Parses a Gradle build file for dependencies
      */
-    private List<DependencyNode> parseGradleFile(Path gradlePath) {
+    private List<DependencyNode> parseGradleFile(SourceFile gradleFile) {
         List<DependencyNode> dependencies = new ArrayList<>();
 
         try {
-            String content = Files.readString(gradlePath);
+            String content = gradleFile.readString();
 
             // Parse simple string dependencies (e.g., implementation 'group:artifact:version')
             Matcher matcher = GRADLE_DEPENDENCY_PATTERN.matcher(content);
@@ -212,10 +218,10 @@ public class DependencyProcessor {
                 }
             }
 
-            logger.debug("Extracted {} Gradle dependencies from {}", dependencies.size(), gradlePath.getFileName());
+            logger.debug("Extracted {} Gradle dependencies from {}", dependencies.size(), gradleFile.getFileName());
 
         } catch (Exception e) {
-            logger.error("Error parsing Gradle file: {}", gradlePath, e);
+            logger.error("Error parsing Gradle file: {}", gradleFile.getPath(), e);
             context.incrementErrorCount();
         }
 
@@ -1,23 +1,30 @@
 package com.tekcode.parser.processor;
 
+import com.tekcode.parser.core.ChunkCache;
 import com.tekcode.parser.core.ParsingContext;
 import com.tekcode.parser.model.DocumentChunk;
 import com.tekcode.parser.model.DocumentNode;
 import com.tekcode.parser.model.Relationship;
+import com.tekcode.parser.source.SourceFile;
 import com.tekcode.parser.util.DocumentChunker;
-import com.tekcode.parser.util.PathUtils;
+import com.tekcode.parser.util.IdGenerator;
+import com.tekcode.parser.util.TokenVocabulary;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.*;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Processes documentation files (README, markdown, text files, etc.)
@@ -25,19 +32,17 @@ import java.util.List;
 public class DocumentProcessor {
     
     private static final Logger logger = LoggerFactory.getLogger(DocumentProcessor.class);
+    private static final int QUEUED_DOCUMENTS_PER_THREAD = 4;
     private final ParsingContext context;
-    
-    // Supported document extensions
-    private static final List<String> DOCUMENT_EXTENSIONS = Arrays.asList(
-        ".md", ".markdown", ".txt", ".rst", ".adoc", ".asciidoc", ".readme"
-    );
+    private TokenVocabulary vocabulary;
+    private ChunkCache chunkCache;
     
     public DocumentProcessor(ParsingContext context) {
         this.context = context;
     }
     
     /**
-     * Scans the project directory for documentation files and processes them
+     * Processes the documentation files listed in the project inventory
      *
      * @return DocumentProcessingResult containing documents and chunks
      */
@@ -47,98 +52,167 @@ public class DocumentProcessor {
         List<Relationship> relationships = new ArrayList<>();
         
         try {
-            Path startPath = Paths.get(context.getProjectPath());
-            logger.info("Starting document scan from path: {}", startPath.toAbsolutePath());
+            logger.info("Starting document scan from path: {}", context.getProjectPath());
             
-            Files.walkFileTree(startPath, new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                    if (isDocumentFile(file)) {
-                        logger.info("Found document file: {}", file);
-                        SingleDocumentResult singleResult = processDocumentFile(file, attrs);
-                        if (singleResult != null) {
-                            if (singleResult.document != null) {
-                                documents.add(singleResult.document);
-                            }
-                            documentChunks.addAll(singleResult.chunks);
-                            relationships.addAll(singleResult.relationships);
-                        }
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
-                
-                @Override
-                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                    // Skip hidden directories and common build/cache directories
-                    String dirName = dir.getFileName().toString();
-                    if (dirName.startsWith(".") || 
-                        dirName.equals("target") || 
-                        dirName.equals("build") || 
-                        dirName.equals("node_modules") ||
-                        dirName.equals("dist")) {
-                        return FileVisitResult.SKIP_SUBTREE;
+            List<SourceFile> files = context.getInventory().getDocumentFiles();
+            vocabulary = loadVocabulary();
+            chunkCache = loadChunkCache();
+            SingleDocumentResult[] results = processAll(files);
+
+            // Merge in inventory order, whatever order the workers finished in
+            for (SingleDocumentResult singleResult : results) {
+                if (singleResult != null) {
+                    if (singleResult.document != null) {
+                        documents.add(singleResult.document);
                     }
-                    return FileVisitResult.CONTINUE;
+                    documentChunks.addAll(singleResult.chunks);
+                    relationships.addAll(singleResult.relationships);
                 }
-            });
+            }
             
             logger.info("Document scan completed. Found {} documents with {} chunks",
                        documents.size(), documentChunks.size());
 
+            if (chunkCache != null) {
+                logger.info("{} chunks unchanged since the previous run, {} new or changed",
+                           chunkCache.getUnchanged(), chunkCache.getChanged());
+                writeChunkCache();
+            }
+
         } catch (IOException e) {
-            logger.error("Error walking file tree for documents", e);
+            logger.error("Error listing project files for documents", e);
             context.incrementErrorCount();
+        } catch (InterruptedException e) {
+            logger.error("Interrupted while processing documents", e);
+            context.incrementErrorCount();
+            Thread.currentThread().interrupt();
         }
 
         return new DocumentProcessingResult(documents, documentChunks, relationships);
     }
     
     /**
-     * Checks if a file is a documentation file based on its extension
+     * Vocabulary of the "token" strategy, shared by all documents
      */
-    private boolean isDocumentFile(Path file) {
-        String fileName = file.getFileName().toString().toLowerCase();
-        
-        // Check for README files without extension
-        if (fileName.equals("readme") || fileName.startsWith("readme.")) {
-            return true;
+    private TokenVocabulary loadVocabulary() {
+        if (!"token".equalsIgnoreCase(context.getConfig().getDocumentChunkStrategy())) {
+            return null;
         }
-        
-        // Check for supported extensions
-        return DOCUMENT_EXTENSIONS.stream().anyMatch(fileName::endsWith);
+        TokenVocabulary loaded = context.getTokenVocabulary();
+        if (loaded == null) {
+            logger.warn("No tokenizer vocabulary for token chunking, chunking documents by words");
+        }
+        return loaded;
     }
-    
+
+    private ChunkCache loadChunkCache() {
+        String cacheFile = context.getConfig().getChunkCacheFile();
+        if (cacheFile == null) {
+            return null;
+        }
+        try {
+            return ChunkCache.read(Paths.get(cacheFile));
+        } catch (IOException e) {
+            logger.warn("Could not read chunk cache {}, treating all chunks as changed", cacheFile, e);
+            return ChunkCache.empty();
+        }
+    }
+
+    private void writeChunkCache() {
+        String cacheFile = context.getConfig().getChunkCacheFile();
+        try {
+            chunkCache.write(Paths.get(cacheFile));
+        } catch (IOException e) {
+            logger.error("Error writing chunk cache {}", cacheFile, e);
+            context.incrementErrorCount();
+        }
+    }
+
+    /**
+     * Reads and chunks the files on a worker pool of {@code maxThreads} threads. Files are
+     * handed over through a bounded queue; when it is full the submitting thread processes
+     * the file itself, so at most a few documents are in flight per worker.
+     */
+    private SingleDocumentResult[] processAll(List<SourceFile> files) throws InterruptedException {
+        SingleDocumentResult[] results = new SingleDocumentResult[files.size()];
+        int threads = context.getConfig().isEnableParallelProcessing()
+                ? Math.min(Math.max(1, context.getConfig().getMaxThreads()), files.size()) : 1;
+        if (threads <= 1) {
+            for (int i = 0; i < files.size(); i++) {
+                results[i] = processDocument(files.get(i));
+            }
+            return results;
+        }
+
+        AtomicInteger workerCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads * QUEUED_DOCUMENTS_PER_THREAD),
+            runnable -> {
+                Thread thread = new Thread(runnable, "document-worker-" + workerCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                int index = i;
+                executor.execute(() -> results[index] = processDocument(files.get(index)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+            throw new InterruptedException("Document workers did not finish");
+        }
+        return results;
+    }
+
+    private SingleDocumentResult processDocument(SourceFile file) {
+        logger.info("Found document file: {}", file.getPath());
+        return processDocumentFile(file);
+    }
+
     /**
      * Processes a single document file and creates DocumentNode with chunks
      */
-    private SingleDocumentResult processDocumentFile(Path file, BasicFileAttributes attrs) {
+    private SingleDocumentResult processDocumentFile(SourceFile file) {
         try {
             DocumentNode documentNode = new DocumentNode();
             
             // Generate unique ID
-            String relativePath = PathUtils.toRelativePath(file.toAbsolutePath().toString(), context.getProjectPath());
+            String relativePath = file.getPath();
             documentNode.setId(context.getCodebaseName() + ":document:" + relativePath);
             
             // Basic file information
             documentNode.setPath(relativePath);
-            documentNode.setTitle(file.getFileName().toString());
+            documentNode.setTitle(file.getFileName());
             documentNode.setType(getDocumentType(file));
             
             // File metadata
-            documentNode.setTotalSize(attrs.size());
-            documentNode.setLastModified(Instant.ofEpochMilli(attrs.lastModifiedTime().toMillis()).toString());
+            documentNode.setTotalSize(file.getSize());
+            documentNode.setLastModified(Instant.ofEpochMilli(file.getLastModified()).toString());
             documentNode.setEncoding(detectEncoding(file));
 
-            // Read and chunk content
-            String content = readFileContent(file);
-            List<DocumentChunk> chunks = DocumentChunker.chunkDocument(documentNode.getId(), content, context.getConfig());
+            // Stream the content through the chunker
+            List<DocumentChunk> chunks = new ArrayList<>();
+            DocumentChunker.Stats stats;
+            try (Reader reader = openContent(file)) {
+                stats = DocumentChunker.chunkDocument(documentNode.getId(), reader, context.getConfig(), vocabulary,
+                    chunks::add);
+            }
 
             // Update document metadata
             documentNode.setTotalChunks(chunks.size());
+            if (chunkCache != null) {
+                chunkCache.update(documentNode.getId(), chunks);
+                if (context.getConfig().isOmitUnchangedChunks()) {
+                    chunks.removeIf(DocumentChunk::getUnchanged);
+                }
+            }
             documentNode.setChunkSize(context.getConfig().getDocumentChunkSize());
             documentNode.setChunkOverlap(context.getConfig().getDocumentChunkOverlap());
-            documentNode.getProperties().put("lineCount", countLines(content));
-            documentNode.getProperties().put("originalContentLength", content.length());
+            documentNode.getProperties().put("lineCount", stats.getLineCount());
+            documentNode.getProperties().put("originalContentLength", stats.getCharacterCount());
 
             // Create HAS_CHUNK relationships
             List<Relationship> relationships = new ArrayList<>();
@@ -150,14 +224,15 @@ public class DocumentProcessor {
                     "DocumentChunk",
                     chunk.getId()
                 );
+                hasChunkRel.setId(IdGenerator.generateRelationshipId("HAS_CHUNK", documentNode.getId(), chunk.getId()));
                 relationships.add(hasChunkRel);
             }
 
-            logger.debug("Processed document: {} ({} bytes, {} chunks)", relativePath, attrs.size(), chunks.size());
+            logger.debug("Processed document: {} ({} bytes, {} chunks)", relativePath, file.getSize(), chunks.size());
             return new SingleDocumentResult(documentNode, chunks, relationships);
             
         } catch (Exception e) {
-            logger.error("Error processing document file: " + file, e);
+            logger.error("Error processing document file: " + file.getPath(), e);
             context.incrementErrorCount();
             return null;
         }
@@ -166,8 +241,8 @@ public class DocumentProcessor {
     /**
      * Determines the document type based on file extension
      */
-    private String getDocumentType(Path file) {
-        String fileName = file.getFileName().toString().toLowerCase();
+    private String getDocumentType(SourceFile file) {
+        String fileName = file.getFileName().toLowerCase();
         
         if (fileName.startsWith("readme")) {
             return "readme";
@@ -185,37 +260,20 @@ public class DocumentProcessor {
     }
     
     /**
-     * Reads the content of a file with size limits
-     */
-    private String readFileContent(Path file) throws IOException {
-        // Limit file size to prevent memory issues (10MB limit)
-        long fileSize = Files.size(file);
-        if (fileSize > 10 * 1024 * 1024) {
-            logger.warn("Document file {} is too large ({}), truncating content", file, fileSize);
-            byte[] bytes = new byte[10 * 1024 * 1024];
-            try (var stream = Files.newInputStream(file)) {
-                stream.read(bytes);
-            }
-            return new String(bytes, StandardCharsets.UTF_8);
-        }
-        
-        return Files.readString(file, StandardCharsets.UTF_8);
-    }
-    
-    /**
-     * Counts the number of lines in content
+     * Opens the content as UTF-8 text, cut off after {@code maxDocumentSize} bytes
      */
-    private int countLines(String content) {
-        if (content == null || content.isEmpty()) {
-            return 0;
+    private Reader openContent(SourceFile file) throws IOException {
+        long maxSize = context.getConfig().getMaxDocumentSize();
+        if (file.getSize() > maxSize) {
+            logger.warn("Document file {} is too large ({}), truncating content", file.getPath(), file.getSize());
         }
-        return content.split("\r\n|\r|\n", -1).length;
+        return new InputStreamReader(new BoundedInputStream(file.openStream(), maxSize), StandardCharsets.UTF_8);
     }
     
     /**
      * Detects file encoding (simplified - assumes UTF-8)
      */
-    private String detectEncoding(Path file) {
+    private String detectEncoding(SourceFile file) {
         // For simplicity, assume UTF-8. Could be enhanced with actual encoding detection
         return "UTF-8";
     }
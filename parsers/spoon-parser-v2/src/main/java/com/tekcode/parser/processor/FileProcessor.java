@@ -2,6 +2,8 @@ package com.tekcode.parser.processor;
 
 import com.tekcode.parser.core.ParsingContext;
 import com.tekcode.parser.model.FileNode;
+import com.tekcode.parser.source.SourceFile;
+import com.tekcode.parser.util.LineMetrics;
 import com.tekcode.parser.util.PathUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,7 +11,6 @@ import spoon.reflect.declaration.CtCompilationUnit;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -34,44 +35,47 @@ public class FileProcessor {
     public FileNode processFile(CtCompilationUnit compilationUnit) {
         try {
             File file = compilationUnit.getFile();
-            if (file == null || !file.exists()) {
-                logger.warn("Compilation unit has no associated file or file does not exist");
+            if (file == null) {
+                logger.warn("Compilation unit has no associated file");
                 return null;
             }
             
-            // Check if we should include this file based on configuration
-            if (!shouldIncludeFile(file)) {
-                logger.debug("Skipping file based on configuration: {}", file.getPath());
+            // Resolve through the project source, which may be an archive rather than a directory
+            String relativePath = PathUtils.toRelativePath(file.getAbsolutePath(), context.getProjectPath());
+            SourceFile sourceFile = context.getInventory().find(relativePath);
+            if (sourceFile == null) {
+                logger.warn("Compilation unit file does not exist in project source: {}", relativePath);
                 return null;
             }
             
             FileNode fileNode = new FileNode();
             
             // Basic file information
-            String relativePath = PathUtils.toRelativePath(file.getAbsolutePath(), context.getProjectPath());
             fileNode.setPath(relativePath);
             fileNode.setFileName(file.getName());
             // absolutePath removed - not needed for LLM context
             
             // File metadata
-            fileNode.setLastModified(file.lastModified());
-            fileNode.setFileSize(file.length());
+            fileNode.setLastModified(sourceFile.getLastModified());
+            fileNode.setFileSize(sourceFile.getSize());
             
             // Calculate checksum if requested
             if (context.getConfig().isIncludeFileChecksums()) {
-                String checksum = calculateChecksum(file);
+                String checksum = calculateChecksum(sourceFile);
                 fileNode.setChecksum(checksum);
             }
             
-            // Line counting removed - not needed for LLM context
-            
             // Determine file type and characteristics
-            analyzeFileCharacteristics(fileNode, file);
+            analyzeFileCharacteristics(fileNode, file, sourceFile);
             
             // Extract source code if requested
             if (context.getConfig().isIncludeSourceCode()) {
-                String sourceCode = readSourceCode(file);
-                fileNode.setSourceCode(sourceCode);
+                String sourceCode = readSourceCode(sourceFile);
+                if (sourceCode != null && context.getBlobStore() != null) {
+                    fileNode.setSourceCodeRef(context.getBlobStore().put(sourceCode));
+                } else {
+                    fileNode.setSourceCode(sourceCode);
+                }
             }
             
             logger.debug("Processed file: {}", relativePath);
@@ -85,56 +89,18 @@ public class FileProcessor {
     }
     
     /**
-     * Determines if a file should be included based on configuration
+     * Calculates MD5 checksum of a file
      */
-    private boolean shouldIncludeFile(File file) {
-        String path = file.getAbsolutePath();
-        
-        // Check if it's a Java file
-        if (!PathUtils.isJavaFile(path)) {
-            return false;
-        }
-        
-        // Check if it's a test file and tests are excluded
-        if (PathUtils.isTestFile(path) && !context.getConfig().isIncludeTestFiles()) {
-            return false;
-        }
-        
-        // Check if it's a generated file and generated files are excluded
-        if (PathUtils.isGeneratedFile(path) && !context.getConfig().isIncludeGeneratedFiles()) {
-            return false;
-        }
-        
-        // Check exclude patterns
-        for (String pattern : context.getConfig().getExcludePatterns()) {
-            if (path.matches(pattern)) {
-                return false;
-            }
-        }
-        
-        // Check include patterns
-        if (!context.getConfig().getIncludePatterns().isEmpty()) {
-            boolean matches = false;
-            for (String pattern : context.getConfig().getIncludePatterns()) {
-                if (path.matches(pattern)) {
-                    matches = true;
-                    break;
-                }
-            }
-            if (!matches) {
-                return false;
+    private String calculateChecksum(SourceFile file) {
+        // The snapshot already holds the MD5, re-read only when the file's stat data changed
+        if (context.getSnapshot() != null) {
+            String contentHash = context.getSnapshot().getContentHash(file.getPath());
+            if (contentHash != null) {
+                return contentHash;
             }
         }
-        
-        return true;
-    }
-    
-    /**
-     * Calculates MD5 checksum of a file
-     */
-    private String calculateChecksum(File file) {
         try {
-            byte[] content = Files.readAllBytes(file.toPath());
+            byte[] content = file.readBytes();
             MessageDigest md = MessageDigest.getInstance("MD5");
             byte[] digest = md.digest(content);
             
@@ -145,27 +111,15 @@ public class FileProcessor {
             return sb.toString();
             
         } catch (IOException | NoSuchAlgorithmException e) {
-            logger.warn("Could not calculate checksum for file: {}", file.getAbsolutePath(), e);
+            logger.warn("Could not calculate checksum for file: {}", file.getPath(), e);
             return "";
         }
     }
     
-    /**
-     * Counts the number of lines in a file
-     */
-    private int countLines(File file) {
-        try {
-            return (int) Files.lines(file.toPath()).count();
-        } catch (IOException e) {
-            logger.warn("Could not count lines for file: {}", file.getAbsolutePath(), e);
-            return 0;
-        }
-    }
-    
     /**
      * Analyzes file characteristics and sets appropriate flags
      */
-    private void analyzeFileCharacteristics(FileNode fileNode, File file) {
+    private void analyzeFileCharacteristics(FileNode fileNode, File file, SourceFile sourceFile) {
         String path = file.getAbsolutePath();
         
         // Set file type flags
@@ -181,50 +135,32 @@ public class FileProcessor {
         fileNode.setFileExtension(extension);
         
         // Analyze content characteristics
-        analyzeContentCharacteristics(fileNode, file);
+        analyzeContentCharacteristics(fileNode, sourceFile);
     }
     
     /**
-     * Analyzes content characteristics like line counts by type
+     * Counts code, comment and blank lines in one pass over the file's bytes
      */
-    private void analyzeContentCharacteristics(FileNode fileNode, File file) {
+    private void analyzeContentCharacteristics(FileNode fileNode, SourceFile file) {
         try {
-            int totalLines = 0;
-            int codeLines = 0;
-            int commentLines = 0;
-            int blankLines = 0;
-            
-            for (String line : Files.readAllLines(file.toPath())) {
-                totalLines++;
-                String trimmedLine = line.trim();
-                
-                if (trimmedLine.isEmpty()) {
-                    blankLines++;
-                } else if (trimmedLine.startsWith("//") || 
-                          trimmedLine.startsWith("/*") || 
-                          trimmedLine.startsWith("*") ||
-                          trimmedLine.endsWith("*/")) {
-                    commentLines++;
-                } else {
-                    codeLines++;
-                }
-            }
-            
-            // Detailed line metrics removed - not needed for LLM context
-            
+            LineMetrics metrics = LineMetrics.scan(file.content());
+            fileNode.setTotalLines(metrics.getTotalLines());
+            fileNode.setLinesOfCode(metrics.getCodeLines());
+            fileNode.setCommentLines(metrics.getCommentLines());
+            fileNode.setBlankLines(metrics.getBlankLines());
         } catch (IOException e) {
-            logger.warn("Could not analyze content characteristics for file: {}", file.getAbsolutePath(), e);
+            logger.warn("Could not analyze content characteristics for file: {}", file.getPath(), e);
         }
     }
     
     /**
      * Reads the source code content of a file
      */
-    private String readSourceCode(File file) {
+    private String readSourceCode(SourceFile file) {
         try {
-            return Files.readString(file.toPath());
+            return file.readString();
         } catch (IOException e) {
-            logger.warn("Could not read source code for file: {}", file.getAbsolutePath(), e);
+            logger.warn("Could not read source code for file: {}", file.getPath(), e);
             return "";
         }
     }
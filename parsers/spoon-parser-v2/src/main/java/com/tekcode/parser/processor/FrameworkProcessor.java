@@ -3,6 +3,7 @@ package com.tekcode.parser.processor;
 import com.tekcode.parser.core.ParsingContext;
 import com.tekcode.parser.core.FrameworkInfo;
 import com.tekcode.parser.model.DependencyNode;
+import com.tekcode.parser.source.SourceFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -12,9 +13,8 @@ import org.w3c.dom.NodeList;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -140,9 +140,9 @@ public class FrameworkProcessor {
         }
 
         // Try to detect from Maven pom.xml
-        Path pomPath = Paths.get(context.getProjectPath(), "pom.xml");
-        if (Files.exists(pomPath)) {
-            String version = detectJavaVersionFromPom(pomPath);
+        SourceFile pomFile = findBuildFile("pom.xml");
+        if (pomFile != null) {
+            String version = detectJavaVersionFromPom(pomFile);
             if (version != null) {
                 return version;
             }
@@ -154,11 +154,11 @@ public class FrameworkProcessor {
     /**
      * Detects Java version from Maven pom.xml
      */
-    private String detectJavaVersionFromPom(Path pomPath) {
-        try {
+    private String detectJavaVersionFromPom(SourceFile pomFile) {
+        try (InputStream pomStream = pomFile.openStream()) {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(pomPath.toFile());
+            Document document = builder.parse(pomStream);
 
             // Check maven.compiler.source property
             NodeList properties = document.getElementsByTagName("properties");
@@ -196,32 +196,40 @@ public class FrameworkProcessor {
      */
     private void detectFromBuildFiles(FrameworkInfo frameworkInfo) {
         // Check Maven pom.xml
-        Path pomPath = Paths.get(context.getProjectPath(), "pom.xml");
-        if (Files.exists(pomPath)) {
-            detectFrameworksFromPom(pomPath, frameworkInfo);
+        SourceFile pomFile = findBuildFile("pom.xml");
+        if (pomFile != null) {
+            detectFrameworksFromPom(pomFile, frameworkInfo);
         }
 
         // Check Gradle build files
-        Path[] gradleFiles = {
-            Paths.get(context.getProjectPath(), "build.gradle"),
-            Paths.get(context.getProjectPath(), "build.gradle.kts")
-        };
-
-        for (Path gradlePath : gradleFiles) {
-            if (Files.exists(gradlePath)) {
-                detectFrameworksFromGradle(gradlePath, frameworkInfo);
+        for (String gradleFileName : new String[]{"build.gradle", "build.gradle.kts"}) {
+            SourceFile gradleFile = findBuildFile(gradleFileName);
+            if (gradleFile != null) {
+                detectFrameworksFromGradle(gradleFile, frameworkInfo);
             }
         }
     }
 
     /**
-     * Detects frameworks from Maven pom.xml
+     * Looks up a build file at the project root, or returns null if absent or unreadable
      */
-    private void detectFrameworksFromPom(Path pomPath, FrameworkInfo frameworkInfo) {
+    private SourceFile findBuildFile(String fileName) {
         try {
+            return context.getInventory().find(fileName);
+        } catch (IOException e) {
+            logger.debug("Error looking up build file: {}", fileName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Detects frameworks from Maven pom.xml
+     */
+    private void detectFrameworksFromPom(SourceFile pomFile, FrameworkInfo frameworkInfo) {
+        try (InputStream pomStream = pomFile.openStream()) {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(pomPath.toFile());
+            Document document = builder.parse(pomStream);
 
             // Check dependencies
             NodeList dependencyNodes = document.getElementsByTagName("dependency");
@@ -249,9 +257,9 @@ public class FrameworkProcessor {
     /**
      * Detects frameworks from Gradle build files
      */
-    private void detectFrameworksFromGradle(Path gradlePath, FrameworkInfo frameworkInfo) {
+    private void detectFrameworksFromGradle(SourceFile gradleFile, FrameworkInfo frameworkInfo) {
         try {
-            String content = Files.readString(gradlePath);
+            String content = gradleFile.readString();
 
             // Simple pattern matching for dependencies
             String[] lines = content.split("\n");
@@ -271,7 +279,7 @@ public class FrameworkProcessor {
             }
 
         } catch (Exception e) {
-            logger.debug("Error detecting frameworks from Gradle file: {}", gradlePath, e);
+            logger.debug("Error detecting frameworks from Gradle file: {}", gradleFile.getPath(), e);
         }
     }
 
@@ -6,6 +6,7 @@ import com.tekcode.parser.model.MethodReferenceNode;
 import com.tekcode.parser.model.ParameterInfo;
 import com.tekcode.parser.util.IdGenerator;
 import com.tekcode.parser.util.PathUtils;
+import com.tekcode.parser.util.StableNames;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import spoon.reflect.CtModel;
@@ -21,7 +22,6 @@ import spoon.reflect.visitor.CtScanner;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Processor for extracting functional programming constructs (lambdas and method references)
@@ -30,8 +30,6 @@ public class FunctionalProcessor {
     private static final Logger logger = LoggerFactory.getLogger(FunctionalProcessor.class);
     
     private final ParsingContext context;
-    private final AtomicInteger lambdaCounter = new AtomicInteger(0);
-    private final AtomicInteger methodRefCounter = new AtomicInteger(0);
     
     public FunctionalProcessor(ParsingContext context) {
         this.context = context;
@@ -115,10 +113,8 @@ public class FunctionalProcessor {
         try {
             LambdaExpressionNode lambdaNode = new LambdaExpressionNode();
             
-            // Generate unique ID
-            int lambdaId = lambdaCounter.incrementAndGet();
-            String id = context.getCodebaseName() + ":lambda:" + lambdaId;
-            lambdaNode.setId(id);
+            // Derived from the enclosing member and content, not from scan order
+            lambdaNode.setId(IdGenerator.generateLambdaId(context.getCodebaseName(), lambda));
             
             // Expression content
             lambdaNode.setExpression(lambda.toString());
@@ -162,10 +158,8 @@ public class FunctionalProcessor {
         try {
             MethodReferenceNode methodRefNode = new MethodReferenceNode();
             
-            // Generate unique ID
-            int methodRefId = methodRefCounter.incrementAndGet();
-            String id = context.getCodebaseName() + ":methodref:" + methodRefId;
-            methodRefNode.setId(id);
+            // Derived from the enclosing member and content, not from scan order
+            methodRefNode.setId(IdGenerator.generateMethodReferenceId(context.getCodebaseName(), methodRef));
             
             // Target information
             CtExecutableReference<?> executable = methodRef.getExecutable();
@@ -328,7 +322,7 @@ public class FunctionalProcessor {
         // Find enclosing class
         CtType<?> enclosingClass = lambda.getParent(CtType.class);
         if (enclosingClass != null) {
-            String classId = IdGenerator.generateClassId(context.getCodebaseName(), enclosingClass.getQualifiedName());
+            String classId = IdGenerator.generateClassId(context.getCodebaseName(), StableNames.typeName(enclosingClass));
             lambdaNode.setEnclosingClassId(classId);
         }
     }
@@ -348,7 +342,7 @@ public class FunctionalProcessor {
         // Find enclosing class
         CtType<?> enclosingClass = methodRef.getParent(CtType.class);
         if (enclosingClass != null) {
-            String classId = IdGenerator.generateClassId(context.getCodebaseName(), enclosingClass.getQualifiedName());
+            String classId = IdGenerator.generateClassId(context.getCodebaseName(), StableNames.typeName(enclosingClass));
             methodRefNode.setEnclosingClassId(classId);
         }
     }
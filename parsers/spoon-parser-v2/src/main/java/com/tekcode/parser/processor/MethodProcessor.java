@@ -58,7 +58,12 @@ public class MethodProcessor {
 
             // Method body
             if (context.shouldIncludeMethodBodies() && executable.getBody() != null) {
-                methodNode.setBody(executable.getBody().toString());
+                String body = executable.getBody().toString();
+                if (context.getBlobStore() != null) {
+                    methodNode.setBodyRef(context.getBlobStore().put(body));
+                } else {
+                    methodNode.setBody(body);
+                }
             }
 
             // Modifiers and characteristics
@@ -227,7 +227,7 @@ public class RelationshipProcessor {
                 if (type.getPosition() != null && type.getPosition().getFile() != null) {
                     String filePath = type.getPosition().getFile().getAbsolutePath();
                     String relativePath = PathUtils.toRelativePath(filePath, context.getProjectPath());
-                    String fileId = context.getCodebaseName() + ":file:" + relativePath;
+                    String fileId = IdGenerator.generateFileId(context.getCodebaseName(), relativePath);
 
                     if (type instanceof CtClass) {
                         String classId = IdGenerator.generateClassId(context.getCodebaseName(), type.getQualifiedName());
@@ -372,7 +372,7 @@ public class RelationshipProcessor {
 
             // Fallback: construct ID manually if type declaration not available
             String typeName = typeRef.getQualifiedName();
-            return context.getCodebaseName() + ":method:" + typeName + "." + method.getSignature();
+            return IdGenerator.generateMethodId(context.getCodebaseName(), typeName, method.getSignature());
 
         } catch (Exception e) {
             logger.debug("Error finding method in type {}: {}", typeRef.getQualifiedName(), e.getMessage());
@@ -526,12 +526,15 @@ public class RelationshipProcessor {
 
                     CtExecutableReference<?> executableRef = invocation.getExecutable();
                     if (executableRef != null && executableRef.getDeclaringType() != null) {
-                        // Create a pseudo method ID for the called method
-                        String calledMethodId = context.getCodebaseName() + ":method:" +
-                                              executableRef.getDeclaringType().getQualifiedName() + "." +
-                                              executableRef.getSignature();
-
-                        Relationship relationship = createRelationship("CALLS", "method", callerMethodId, "method", calledMethodId);
+                        // Use the same ID the called method gets when it is declared in the project
+                        String calledMethodId = IdGenerator.generateMethodId(
+                            context.getCodebaseName(),
+                            executableRef.getDeclaringType().getQualifiedName(),
+                            executableRef.getSignature());
+
+                        // Calls inside a lambda come from the lambda node
+                        String callerType = callerMethod instanceof CtLambda ? "lambda" : "method";
+                        Relationship relationship = createRelationship("CALLS", callerType, callerMethodId, "method", calledMethodId);
                         if (relationship != null) {
                             relationships.add(relationship);
                         }
@@ -0,0 +1,461 @@
+package com.tekcode.parser.query;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tekcode.parser.format.ResultFormat;
+import com.tekcode.parser.model.APIEndpointNode;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.Relationship;
+import com.tekcode.parser.util.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Immutable in-memory graph over a parse result.
+ *
+ * Entity IDs are interned into a sorted dictionary so every node is a dense int,
+ * and each relationship type is stored as forward and reverse adjacency arrays
+ * (compressed sparse rows). Lookups are a binary search followed by array slices.
+ */
+public final class GraphIndex {
+    private static final Logger logger = LoggerFactory.getLogger(GraphIndex.class);
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final Set<String> ENTITY_LISTS = Set.of(
+        "classes", "interfaces", "enums", "methods", "fields", "lambdaExpressions", "methodReferences",
+        "dependencies", "testCases", "documents", "documentChunks", "codeChunks", "annotations"
+    );
+
+    private final String[] ids;
+    private final boolean[] declared;
+    private final Map<String, Adjacency> outgoing;
+    private final Map<String, Adjacency> incoming;
+    private final Adjacency endpointsByHandler;
+    private final int edgeCount;
+
+    private GraphIndex(String[] ids, boolean[] declared, Map<String, Adjacency> outgoing,
+                       Map<String, Adjacency> incoming, Adjacency endpointsByHandler, int edgeCount) {
+        this.ids = ids;
+        this.declared = declared;
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+        this.endpointsByHandler = endpointsByHandler;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Builds an index from an in-memory parse result
+     */
+    public static GraphIndex fromParseResult(ParseResult result) {
+        Builder builder = new Builder();
+        result.getFiles().forEach(f -> builder.addNode(IdGenerator.generateFileId(result.getCodebaseName(), f.getPath())));
+        result.getClasses().forEach(c -> builder.addNode(c.getId()));
+        result.getInterfaces().forEach(i -> builder.addNode(i.getId()));
+        result.getEnums().forEach(e -> builder.addNode(e.getId()));
+        result.getMethods().forEach(m -> builder.addNode(m.getId()));
+        result.getFields().forEach(f -> builder.addNode(f.getId()));
+        result.getLambdaExpressions().forEach(l -> builder.addNode(l.getId()));
+        result.getMethodReferences().forEach(r -> builder.addNode(r.getId()));
+        result.getDependencies().forEach(d -> builder.addNode(d.getId()));
+        result.getTestCases().forEach(t -> builder.addNode(t.getId()));
+        result.getDocuments().forEach(d -> builder.addNode(d.getId()));
+        result.getDocumentChunks().forEach(c -> builder.addNode(c.getId()));
+        result.getCodeChunks().forEach(c -> builder.addNode(c.getId()));
+        result.getAnnotations().forEach(a -> builder.addNode(a.getId()));
+        result.getApiEndpoints().forEach(builder::addEndpoint);
+        result.getRelationships().forEach(builder::addRelationship);
+        return builder.build();
+    }
+
+    /**
+     * Builds an index by streaming a parse result file, JSON or Smile, optionally gzip-compressed.
+     *
+     * Only entity IDs, endpoints and relationships are materialized; method bodies,
+     * source code and document content are skipped without being decoded.
+     */
+    public static GraphIndex load(Path jsonFile) throws IOException {
+        Builder builder = new Builder();
+        JsonFactory factory = new JsonFactory();
+
+        try (InputStream in = ResultFormat.openInput(jsonFile);
+             JsonParser parser = ResultFormat.forPath(jsonFile).createParser(factory, in)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at the root of " + jsonFile);
+            }
+
+            String codebaseName = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String section = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+
+                if (token == JsonToken.VALUE_STRING && "codebaseName".equals(section)) {
+                    codebaseName = parser.getText();
+                } else if (token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                } else if ("files".equals(section)) {
+                    String codebase = codebaseName;
+                    readObjects(parser, fields -> builder.addNode(
+                        fields.get("path") != null ? IdGenerator.generateFileId(codebase, fields.get("path")) : null));
+                } else if ("relationships".equals(section)) {
+                    readObjects(parser, fields -> builder.addRelationship(
+                        fields.get("type"), fields.get("sourceId"), fields.get("targetId")));
+                } else if ("apiEndpoints".equals(section)) {
+                    readObjects(parser, fields -> builder.addEndpoint(
+                        fields.get("id"), fields.get("className"), fields.get("methodName"), fields.get("methodId")));
+                } else if (ENTITY_LISTS.contains(section)) {
+                    readObjects(parser, fields -> builder.addNode(fields.get("id")));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Reads an array of objects, handing the scalar top-level fields of each to the consumer
+     */
+    private static void readObjects(JsonParser parser, Consumer<Map<String, String>> consumer)
+            throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            fields.clear();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_STRING) {
+                    fields.put(name, parser.getText());
+                } else if (value == JsonToken.START_OBJECT && "properties".equals(name)) {
+                    // Endpoints carry their handler method ID in properties
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String property = parser.getCurrentName();
+                        if (parser.nextToken() == JsonToken.VALUE_STRING && "methodId".equals(property)) {
+                            fields.put("methodId", parser.getText());
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            consumer.accept(fields);
+        }
+    }
+
+    // === Lookups ===
+
+    /**
+     * Returns the dense node number for an ID, or -1 if unknown
+     */
+    public int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? index : -1;
+    }
+
+    public String idOf(int node) {
+        return ids[node];
+    }
+
+    public int getNodeCount() {
+        return ids.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public Set<String> getRelationshipTypes() {
+        return Collections.unmodifiableSet(outgoing.keySet());
+    }
+
+    /**
+     * Whether the node was declared as an entity (as opposed to only referenced by a relationship)
+     */
+    public boolean isDeclared(int node) {
+        return declared[node];
+    }
+
+    /**
+     * Targets of relationships of the given type leaving the node
+     */
+    public int[] outgoing(String type, int node) {
+        Adjacency adjacency = outgoing.get(type);
+        return adjacency != null ? adjacency.neighbors(node) : EMPTY;
+    }
+
+    /**
+     * Sources of relationships of the given type entering the node
+     */
+    public int[] incoming(String type, int node) {
+        Adjacency adjacency = incoming.get(type);
+        return adjacency != null ? adjacency.neighbors(node) : EMPTY;
+    }
+
+    /**
+     * API endpoints whose handler is the given method node
+     */
+    public int[] endpointsHandledBy(int methodNode) {
+        return endpointsByHandler.neighbors(methodNode);
+    }
+
+    /**
+     * Returns the range [from, to) of IDs starting with the prefix
+     */
+    public int[] prefixRange(String prefix) {
+        int from = lowerBound(prefix);
+        int to = from;
+        while (to < ids.length && ids[to].startsWith(prefix)) {
+            to++;
+        }
+        return new int[]{from, to};
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Adjacency lists of one relationship direction in compressed sparse row form
+     */
+    static final class Adjacency {
+        private final int[] offsets;
+        private final int[] targets;
+
+        Adjacency(int[] offsets, int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        int[] neighbors(int node) {
+            int from = offsets[node];
+            int to = offsets[node + 1];
+            return from == to ? EMPTY : Arrays.copyOfRange(targets, from, to);
+        }
+
+        /**
+         * Builds rows from parallel source/target arrays using a counting sort
+         */
+        static Adjacency of(int nodeCount, int[] sources, int[] destinations, int size) {
+            int[] offsets = new int[nodeCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] cursor = Arrays.copyOf(offsets, nodeCount);
+            int[] targets = new int[size];
+            for (int i = 0; i < size; i++) {
+                targets[cursor[sources[i]]++] = destinations[i];
+            }
+            return new Adjacency(offsets, targets);
+        }
+    }
+
+    /**
+     * Collects string-keyed nodes and edges and interns them into a {@link GraphIndex}.
+     *
+     * IDs are numbered in insertion order as they arrive, so edges are kept as int pairs;
+     * {@link #build()} renumbers them into sorted order.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> numbering = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final BitSet declared = new BitSet();
+        private final Map<String, IntPairs> edges = new HashMap<>();
+        private final List<String[]> endpoints = new ArrayList<>();
+
+        public Builder addNode(String id) {
+            if (id != null) {
+                declared.set(intern(id));
+            }
+            return this;
+        }
+
+        public Builder addRelationship(Relationship relationship) {
+            return addRelationship(relationship.getType(), relationship.getSourceId(), relationship.getTargetId());
+        }
+
+        public Builder addRelationship(String type, String sourceId, String targetId) {
+            if (type != null && sourceId != null && targetId != null) {
+                edges.computeIfAbsent(type, k -> new IntPairs()).add(intern(sourceId), intern(targetId));
+            }
+            return this;
+        }
+
+        public Builder addEndpoint(APIEndpointNode endpoint) {
+            Object methodId = endpoint.getProperties() != null ? endpoint.getProperties().get("methodId") : null;
+            return addEndpoint(endpoint.getId(), endpoint.getClassName(), endpoint.getMethodName(),
+                methodId != null ? methodId.toString() : null);
+        }
+
+        public Builder addEndpoint(String id, String className, String methodName, String methodId) {
+            if (id != null) {
+                addNode(id);
+                endpoints.add(new String[]{id, className, methodName, methodId});
+            }
+            return this;
+        }
+
+        private int intern(String id) {
+            Integer number = numbering.get(id);
+            if (number == null) {
+                number = names.size();
+                numbering.put(id, number);
+                names.add(id);
+            }
+            return number;
+        }
+
+        public GraphIndex build() {
+            int count = names.size();
+
+            // Inheritance edges always name the source as a class; point them at the declared entity
+            int[] canonical = new int[count];
+            for (int i = 0; i < count; i++) {
+                canonical[i] = i;
+                if (!declared.get(i)) {
+                    Integer alias = resolveTypeAlias(names.get(i));
+                    if (alias != null) {
+                        canonical[i] = alias;
+                    }
+                }
+            }
+
+            // Renumber surviving IDs into sorted order
+            Integer[] order = new Integer[count];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                if (canonical[i] == i) {
+                    order[size++] = i;
+                }
+            }
+            Arrays.sort(order, 0, size, (a, b) -> names.get(a).compareTo(names.get(b)));
+
+            String[] ids = new String[size];
+            boolean[] declaredFlags = new boolean[size];
+            int[] rank = new int[count];
+            for (int i = 0; i < size; i++) {
+                ids[i] = names.get(order[i]);
+                declaredFlags[i] = declared.get(order[i]);
+                rank[order[i]] = i;
+            }
+            for (int i = 0; i < count; i++) {
+                rank[i] = rank[canonical[i]];
+            }
+
+            Map<String, Adjacency> outgoing = new HashMap<>();
+            Map<String, Adjacency> incoming = new HashMap<>();
+            int edgeCount = 0;
+
+            for (Map.Entry<String, IntPairs> entry : edges.entrySet()) {
+                IntPairs pairs = entry.getValue();
+                int[] sources = new int[pairs.size];
+                int[] targets = new int[pairs.size];
+                for (int i = 0; i < pairs.size; i++) {
+                    sources[i] = rank[pairs.first[i]];
+                    targets[i] = rank[pairs.second[i]];
+                }
+                outgoing.put(entry.getKey(), Adjacency.of(size, sources, targets, pairs.size));
+                incoming.put(entry.getKey(), Adjacency.of(size, targets, sources, pairs.size));
+                edgeCount += pairs.size;
+            }
+
+            GraphIndex lookup = new GraphIndex(ids, declaredFlags, outgoing, incoming, null, edgeCount);
+            Adjacency endpointsByHandler = buildHandlerIndex(lookup);
+
+            logger.debug("Built graph index with {} nodes, {} edges, {} relationship types",
+                size, edgeCount, outgoing.size());
+
+            return new GraphIndex(ids, declaredFlags, outgoing, incoming, endpointsByHandler, edgeCount);
+        }
+
+        /**
+         * Maps handler methods to endpoints, by recorded method ID or by class and method name
+         */
+        private Adjacency buildHandlerIndex(GraphIndex lookup) {
+            IntPairs handlers = new IntPairs();
+
+            for (String[] endpoint : endpoints) {
+                int endpointNode = lookup.indexOf(endpoint[0]);
+                int method = lookup.indexOf(endpoint[3]);
+
+                if (method >= 0) {
+                    handlers.add(method, endpointNode);
+                } else if (endpoint[1] != null && endpoint[2] != null) {
+                    String codebase = IdGenerator.extractCodebaseName(endpoint[0]);
+                    String prefix = IdGenerator.generateMethodId(codebase, endpoint[1], endpoint[2] + "(");
+                    int[] range = lookup.prefixRange(prefix);
+                    for (int node = range[0]; node < range[1]; node++) {
+                        handlers.add(node, endpointNode);
+                    }
+                }
+            }
+
+            return Adjacency.of(lookup.getNodeCount(), handlers.first, handlers.second, handlers.size);
+        }
+
+        private Integer resolveTypeAlias(String id) {
+            String[] parts = id.split(":", 3);
+            if (parts.length != 3 || !"class".equals(parts[1])) {
+                return null;
+            }
+            for (String kind : new String[]{"interface", "enum"}) {
+                Integer candidate = numbering.get(parts[0] + ":" + kind + ":" + parts[2]);
+                if (candidate != null && declared.get(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Growable parallel arrays of int pairs
+     */
+    private static final class IntPairs {
+        private int[] first = new int[16];
+        private int[] second = new int[16];
+        private int size;
+
+        void add(int a, int b) {
+            if (size == first.length) {
+                first = Arrays.copyOf(first, size * 2);
+                second = Arrays.copyOf(second, size * 2);
+            }
+            first[size] = a;
+            second[size++] = b;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.tekcode.parser.query;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Command-line front end for {@link QueryEngine}
+ *
+ * Usage: java -cp spoon-parser-v2.jar com.tekcode.parser.query.QueryCli <parse-result.json> [query name [--transitive]]
+ *
+ * Without a query on the command line, queries are read from standard input one per line,
+ * so the index is built once for a batch of lookups.
+ */
+public class QueryCli {
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            printUsage();
+            System.exit(1);
+        }
+
+        Path resultFile = Paths.get(args[0]);
+        if (!Files.isRegularFile(resultFile)) {
+            System.err.println("Error: Parse result not found: " + resultFile);
+            System.exit(1);
+        }
+
+        try {
+            long start = System.nanoTime();
+            QueryEngine engine = QueryEngine.load(resultFile);
+            GraphIndex index = engine.getIndex();
+            System.err.printf("Loaded %d nodes and %d relationships in %d ms%n",
+                index.getNodeCount(), index.getEdgeCount(), (System.nanoTime() - start) / 1_000_000);
+
+            if (args.length > 1) {
+                String[] query = new String[args.length - 1];
+                System.arraycopy(args, 1, query, 0, query.length);
+                System.exit(run(engine, query, System.out) ? 0 : 1);
+            }
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    run(engine, line.split("\\s+"), System.out);
+                    System.out.println();
+                }
+            }
+
+        } catch (IOException e) {
+            System.err.println("Error: Unable to read parse result - " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs a single query and prints one matching ID per line
+     *
+     * @return false if the query was malformed
+     */
+    static boolean run(QueryEngine engine, String[] query, PrintStream out) {
+        if (query.length < 2) {
+            System.err.println("Error: Expected '<query> <name> [--transitive]'");
+            return false;
+        }
+
+        String kind = query[0];
+        boolean transitive = query.length > 2 && "--transitive".equals(query[2]);
+
+        long start = System.nanoTime();
+        List<String> targets = engine.resolve(query[1]);
+        if (targets.isEmpty()) {
+            System.err.println("No entity matches: " + query[1]);
+            return true;
+        }
+
+        Set<String> results = new LinkedHashSet<>();
+        for (String target : targets) {
+            switch (kind) {
+                case "callers":
+                    results.addAll(engine.callersOf(target, transitive));
+                    break;
+                case "callees":
+                    results.addAll(engine.calleesOf(target, transitive));
+                    break;
+                case "implementations":
+                    results.addAll(engine.implementationsOf(target));
+                    break;
+                case "subclasses":
+                    results.addAll(engine.subclassesOf(target, transitive));
+                    break;
+                case "endpoints":
+                    results.addAll(engine.endpointsReaching(target));
+                    break;
+                default:
+                    System.err.println("Error: Unknown query: " + kind);
+                    return false;
+            }
+        }
+
+        results.forEach(out::println);
+        System.err.printf("%d results in %.3f ms%n", results.size(), (System.nanoTime() - start) / 1_000_000.0);
+        return true;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: java -cp spoon-parser-v2.jar com.tekcode.parser.query.QueryCli <parse-result.json> [query name [--transitive]]");
+        System.out.println();
+        System.out.println("Queries:");
+        System.out.println("  callers <method>          Methods calling the method");
+        System.out.println("  callees <method>          Methods called by the method");
+        System.out.println("  implementations <type>    Classes implementing the interface");
+        System.out.println("  subclasses <class>        Classes extending the class");
+        System.out.println("  endpoints <method>        API endpoints whose handlers reach the method");
+        System.out.println();
+        System.out.println("Names may be full IDs or qualified names, e.g. com.acme.UserService.findById");
+        System.out.println("Without a query, queries are read from standard input, one per line.");
+    }
+}
@@ -0,0 +1,220 @@
+package com.tekcode.parser.query;
+
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.util.IdGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Answers structural questions about a parsed codebase from a {@link GraphIndex}.
+ *
+ * All queries take and return entity IDs as produced by {@link IdGenerator}.
+ * Unknown IDs yield empty results rather than errors.
+ */
+public class QueryEngine {
+
+    private final GraphIndex index;
+
+    public QueryEngine(GraphIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Creates an engine over an in-memory parse result
+     */
+    public static QueryEngine of(ParseResult result) {
+        return new QueryEngine(GraphIndex.fromParseResult(result));
+    }
+
+    /**
+     * Creates an engine over a parse result JSON file
+     */
+    public static QueryEngine load(Path jsonFile) throws IOException {
+        return new QueryEngine(GraphIndex.load(jsonFile));
+    }
+
+    public GraphIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Resolves a user-supplied name to entity IDs.
+     *
+     * Accepts a full ID, or the identifier part of one (e.g. {@code com.acme.UserService}
+     * or {@code com.acme.UserService.findById} to match every overload).
+     */
+    public List<String> resolve(String name) {
+        List<String> matches = new ArrayList<>();
+        if (index.indexOf(name) >= 0) {
+            matches.add(name);
+            return matches;
+        }
+
+        String suffix = ":" + name;
+        String overloadSuffix = ":" + name + "_";
+        for (int node = 0; node < index.getNodeCount(); node++) {
+            String id = index.idOf(node);
+            if (id.endsWith(suffix) || id.contains(overloadSuffix)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Methods calling the given method, directly or through any chain of calls
+     */
+    public List<String> callersOf(String methodId, boolean transitive) {
+        return traverse(methodId, "CALLS", false, transitive);
+    }
+
+    /**
+     * Methods called by the given method, directly or through any chain of calls
+     */
+    public List<String> calleesOf(String methodId, boolean transitive) {
+        return traverse(methodId, "CALLS", true, transitive);
+    }
+
+    /**
+     * Classes extending the given class, directly or at any depth
+     */
+    public List<String> subclassesOf(String classId, boolean transitive) {
+        return traverse(classId, "EXTENDS", false, transitive);
+    }
+
+    /**
+     * Concrete types implementing the interface, including implementations of
+     * sub-interfaces and subclasses of implementing classes
+     */
+    public List<String> implementationsOf(String interfaceId) {
+        List<String> results = new ArrayList<>();
+        int start = index.indexOf(interfaceId);
+        if (start < 0) {
+            return results;
+        }
+
+        BitSet visited = new BitSet(index.getNodeCount());
+        IntQueue queue = new IntQueue();
+        visited.set(start);
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            boolean isInterface = "interface".equals(IdGenerator.extractEntityType(index.idOf(node)));
+            if (node != start && !isInterface) {
+                results.add(index.idOf(node));
+            }
+
+            enqueueUnvisited(index.incoming("IMPLEMENTS", node), visited, queue);
+            if (!isInterface) {
+                enqueueUnvisited(index.incoming("EXTENDS", node), visited, queue);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * API endpoints whose handler reaches the given method through calls.
+     *
+     * Calls made against an overridden declaration are treated as reaching the
+     * overriding method, so service interfaces do not break the chain.
+     */
+    public List<String> endpointsReaching(String methodId) {
+        List<String> results = new ArrayList<>();
+        int start = index.indexOf(methodId);
+        if (start < 0) {
+            return results;
+        }
+
+        BitSet visited = new BitSet(index.getNodeCount());
+        BitSet reported = new BitSet(index.getNodeCount());
+        IntQueue queue = new IntQueue();
+        visited.set(start);
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int endpoint : index.endpointsHandledBy(node)) {
+                if (!reported.get(endpoint)) {
+                    reported.set(endpoint);
+                    results.add(index.idOf(endpoint));
+                }
+            }
+            enqueueUnvisited(index.incoming("CALLS", node), visited, queue);
+            enqueueUnvisited(index.outgoing("OVERRIDES", node), visited, queue);
+        }
+
+        return results;
+    }
+
+    /**
+     * Breadth-first traversal along one relationship type
+     */
+    private List<String> traverse(String id, String type, boolean forward, boolean transitive) {
+        List<String> results = new ArrayList<>();
+        int start = index.indexOf(id);
+        if (start < 0) {
+            return results;
+        }
+
+        BitSet visited = new BitSet(index.getNodeCount());
+        IntQueue queue = new IntQueue();
+        visited.set(start);
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int[] neighbors = forward ? index.outgoing(type, node) : index.incoming(type, node);
+            for (int neighbor : neighbors) {
+                if (!visited.get(neighbor)) {
+                    visited.set(neighbor);
+                    results.add(index.idOf(neighbor));
+                    if (transitive) {
+                        queue.add(neighbor);
+                    }
+                }
+            }
+        }
+
+        return results;
+    }
+
+    private static void enqueueUnvisited(int[] nodes, BitSet visited, IntQueue queue) {
+        for (int node : nodes) {
+            if (!visited.get(node)) {
+                visited.set(node);
+                queue.add(node);
+            }
+        }
+    }
+
+    /**
+     * Growable FIFO of primitive ints
+     */
+    private static final class IntQueue {
+        private int[] items = new int[64];
+        private int head;
+        private int tail;
+
+        void add(int value) {
+            if (tail == items.length) {
+                items = Arrays.copyOf(items, items.length * 2);
+            }
+            items[tail++] = value;
+        }
+
+        int poll() {
+            return items[head++];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.tekcode.parser.source;
+
+import com.tekcode.parser.util.PathUtils;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarFile;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A project packed in a zip or tar archive, read without extracting it to disk.
+ *
+ * Only entries the parser consumes (Java sources, build files and documents) are listed.
+ * Zip entries are inflated on demand; uncompressed tar entries are slices of a single
+ * memory-mapped view of the archive; gzipped tars are streamed once into memory. A single
+ * top-level directory shared by all entries (as in repository snapshots) is stripped.
+ */
+public class ArchiveSource implements ProjectSource {
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveSource.class);
+
+    enum Format {
+        ZIP, TAR, TAR_GZ;
+
+        static Format of(String fileName) {
+            if (fileName.endsWith(".zip") || fileName.endsWith(".jar")) {
+                return ZIP;
+            }
+            if (fileName.endsWith(".tar")) {
+                return TAR;
+            }
+            if (fileName.endsWith(".tar.gz") || fileName.endsWith(".tgz")) {
+                return TAR_GZ;
+            }
+            return null;
+        }
+    }
+
+    private final Path archive;
+    private final Format format;
+
+    private List<SourceFile> files;
+    private Map<String, SourceFile> filesByPath;
+    private ZipFile zipFile;
+    private FileChannel channel;
+    private TarFile tarFile;
+
+    public ArchiveSource(Path archive) {
+        this.archive = archive.toAbsolutePath().normalize();
+        this.format = Format.of(archive.getFileName().toString().toLowerCase());
+        if (format == null) {
+            throw new IllegalArgumentException("Unsupported archive type: " + archive);
+        }
+    }
+
+    @Override
+    public String getRoot() {
+        return PathUtils.normalizePath(archive.toString());
+    }
+
+    @Override
+    public boolean isVirtual() {
+        return true;
+    }
+
+    @Override
+    public synchronized List<SourceFile> listFiles() throws IOException {
+        if (files == null) {
+            List<Entry> entries;
+            switch (format) {
+                case ZIP:
+                    entries = readZip();
+                    break;
+                case TAR:
+                    entries = readTar();
+                    break;
+                default:
+                    entries = readTarGz();
+                    break;
+            }
+
+            String prefix = commonTopLevelDirectory(entries);
+            List<SourceFile> found = new ArrayList<>(entries.size());
+            Map<String, SourceFile> byPath = new HashMap<>();
+            for (Entry entry : entries) {
+                SourceFile file = new SourceFile(entry.name.substring(prefix.length()), entry.size,
+                    entry.lastModified, entry.loader);
+                found.add(file);
+                byPath.put(file.getPath(), file);
+            }
+            files = Collections.unmodifiableList(found);
+            filesByPath = byPath;
+            logger.info("Opened archive {} with {} parser inputs", archive, files.size());
+        }
+        return files;
+    }
+
+    @Override
+    public SourceFile find(String relativePath) throws IOException {
+        listFiles();
+        return filesByPath.get(PathUtils.normalizePath(relativePath));
+    }
+
+    /**
+     * Whether the parser reads this entry at all
+     */
+    static boolean isParserInput(String name) {
+        return PathUtils.isJavaFile(name) || PathUtils.isBuildFile(name) || PathUtils.isDocumentFile(name);
+    }
+
+    private static String normalizeEntryName(String name) {
+        String normalized = PathUtils.normalizePath(name);
+        while (normalized.startsWith("./") || normalized.startsWith("/")) {
+            normalized = normalized.substring(normalized.startsWith("/") ? 1 : 2);
+        }
+        return normalized;
+    }
+
+    /**
+     * The directory wrapping the whole project, if any. It must hold a build file or document
+     * directly, so an archive of a bare "src/" tree keeps its paths.
+     */
+    private static String commonTopLevelDirectory(List<Entry> entries) {
+        String prefix = null;
+        boolean holdsProjectFile = false;
+        for (Entry entry : entries) {
+            int slash = entry.name.indexOf('/');
+            if (slash < 0) {
+                return "";
+            }
+            String directory = entry.name.substring(0, slash + 1);
+            if (prefix == null) {
+                prefix = directory;
+            } else if (!prefix.equals(directory)) {
+                return "";
+            }
+            holdsProjectFile |= entry.name.indexOf('/', slash + 1) < 0 && !PathUtils.isJavaFile(entry.name);
+        }
+        return prefix != null && holdsProjectFile ? prefix : "";
+    }
+
+    // === Formats ===
+
+    private List<Entry> readZip() throws IOException {
+        zipFile = new ZipFile(archive.toFile());
+        List<Entry> entries = new ArrayList<>();
+        Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+        while (zipEntries.hasMoreElements()) {
+            ZipEntry zipEntry = zipEntries.nextElement();
+            String name = normalizeEntryName(zipEntry.getName());
+            if (zipEntry.isDirectory() || !isParserInput(name)) {
+                continue;
+            }
+            entries.add(new Entry(name, zipEntry.getSize(), Math.max(0, zipEntry.getTime()), () -> {
+                try (InputStream in = zipFile.getInputStream(zipEntry)) {
+                    return ByteBuffer.wrap(IOUtils.toByteArray(in));
+                }
+            }));
+        }
+        return entries;
+    }
+
+    private List<Entry> readTar() throws IOException {
+        channel = FileChannel.open(archive, StandardOpenOption.READ);
+        tarFile = new TarFile(channel);
+        ByteBuffer mapped = channel.size() <= Integer.MAX_VALUE
+            ? channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()) : null;
+
+        List<Entry> entries = new ArrayList<>();
+        for (TarArchiveEntry tarEntry : tarFile.getEntries()) {
+            String name = normalizeEntryName(tarEntry.getName());
+            if (!tarEntry.isFile() || !isParserInput(name)) {
+                continue;
+            }
+            long offset = tarEntry.getDataOffset();
+            long size = tarEntry.getSize();
+            SourceFile.ContentLoader loader;
+            if (tarEntry.isSparse()) {
+                loader = () -> {
+                    try (InputStream in = tarFile.getInputStream(tarEntry)) {
+                        return ByteBuffer.wrap(IOUtils.toByteArray(in));
+                    }
+                };
+            } else if (mapped != null) {
+                loader = () -> mapped.duplicate().position((int) offset).limit((int) (offset + size)).slice();
+            } else {
+                loader = () -> channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+            }
+            entries.add(new Entry(name, size, tarEntry.getModTime().getTime(), loader));
+        }
+        return entries;
+    }
+
+    private List<Entry> readTarGz() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (TarArchiveInputStream in = new TarArchiveInputStream(new GzipCompressorInputStream(
+                new BufferedInputStream(Files.newInputStream(archive), 1 << 16), true))) {
+            TarArchiveEntry tarEntry;
+            while ((tarEntry = in.getNextTarEntry()) != null) {
+                String name = normalizeEntryName(tarEntry.getName());
+                if (!tarEntry.isFile() || !isParserInput(name)) {
+                    continue;
+                }
+                ByteBuffer content = ByteBuffer.wrap(IOUtils.toByteArray(in));
+                entries.add(new Entry(name, content.remaining(), tarEntry.getModTime().getTime(), () -> content));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (zipFile != null) {
+            zipFile.close();
+        }
+        if (tarFile != null) {
+            tarFile.close();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getRoot();
+    }
+
+    private static final class Entry {
+        final String name;
+        final long size;
+        final long lastModified;
+        final SourceFile.ContentLoader loader;
+
+        Entry(String name, long size, long lastModified, SourceFile.ContentLoader loader) {
+            this.name = name;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.loader = loader;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.tekcode.parser.source;
+
+import com.tekcode.parser.util.PathUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A project checked out in a directory
+ */
+public class DirectorySource implements ProjectSource {
+
+    private final Path root;
+    private List<SourceFile> files;
+
+    public DirectorySource(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String getRoot() {
+        return PathUtils.normalizePath(root.toString());
+    }
+
+    @Override
+    public boolean isVirtual() {
+        return false;
+    }
+
+    /**
+     * Parser inputs of the directory, scanned once with one task per directory. Ignored
+     * directories (VCS metadata, node_modules) are not descended into.
+     */
+    @Override
+    public synchronized List<SourceFile> listFiles() throws IOException {
+        if (files == null) {
+            List<SourceFile> found;
+            try {
+                found = ForkJoinPool.commonPool().invoke(new DirectoryScan(root));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            found.sort(Comparator.comparing(SourceFile::getPath));
+            files = Collections.unmodifiableList(found);
+        }
+        return files;
+    }
+
+    private final class DirectoryScan extends RecursiveTask<List<SourceFile>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Path directory;
+
+        DirectoryScan(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected List<SourceFile> compute() {
+            List<SourceFile> found = new ArrayList<>();
+            List<DirectoryScan> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path path : entries) {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class,
+                        LinkOption.NOFOLLOW_LINKS);
+                    if (attrs.isDirectory()) {
+                        if (!PathUtils.isIgnoredDirectory(path.getFileName().toString())) {
+                            DirectoryScan scan = new DirectoryScan(path);
+                            scan.fork();
+                            subdirectories.add(scan);
+                        }
+                        continue;
+                    }
+                    if (!ArchiveSource.isParserInput(path.getFileName().toString())) {
+                        continue;
+                    }
+                    if (attrs.isSymbolicLink()) {
+                        // Linked files count, linked directories are not followed
+                        attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    }
+                    if (attrs.isRegularFile()) {
+                        found.add(toSourceFile(path, attrs));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (DirectoryScan scan : subdirectories) {
+                found.addAll(scan.join());
+            }
+            return found;
+        }
+    }
+
+    @Override
+    public SourceFile find(String relativePath) throws IOException {
+        Path path = root.resolve(relativePath);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        return toSourceFile(path, Files.readAttributes(path, BasicFileAttributes.class));
+    }
+
+    private SourceFile toSourceFile(Path path, BasicFileAttributes attrs) {
+        String relativePath = PathUtils.normalizePath(root.relativize(path).toString());
+        return new SourceFile(relativePath, attrs.size(), attrs.lastModifiedTime().toMillis(),
+            () -> ByteBuffer.wrap(Files.readAllBytes(path)), null, () -> Files.newInputStream(path));
+    }
+
+    @Override
+    public String toString() {
+        return getRoot();
+    }
+}
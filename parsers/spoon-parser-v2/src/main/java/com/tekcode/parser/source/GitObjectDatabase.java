@@ -0,0 +1,631 @@
+package com.tekcode.parser.source;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Minimal read-only access to a git object database: loose objects, version 2 pack
+ * indexes and packs with offset and reference deltas, plus ref resolution.
+ *
+ * Pack files are memory-mapped in windows, so packs and offsets beyond 2 GB are read too.
+ * Recently materialized pack objects are kept in an LRU cache bounded by their inflated
+ * size, since tree walks and delta chains revisit the same bases. Reads are thread-safe.
+ */
+class GitObjectDatabase implements Closeable {
+
+    static final int COMMIT = 1;
+    static final int TREE = 2;
+    static final int BLOB = 3;
+    static final int TAG = 4;
+    private static final int OFS_DELTA = 6;
+    private static final int REF_DELTA = 7;
+
+    private static final long CACHE_BYTES = 32L << 20;
+    private static final int WINDOW_SHIFT = 30;
+
+    private final Path gitDir;
+    private final int windowShift;
+    private final List<Pack> packs = new ArrayList<>();
+    private final LinkedHashMap<Long, GitObject> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    /**
+     * A materialized object
+     */
+    static final class GitObject {
+        final int type;
+        final byte[] data;
+
+        GitObject(int type, byte[] data) {
+            this.type = type;
+            this.data = data;
+        }
+    }
+
+    GitObjectDatabase(Path gitDir) throws IOException {
+        this(gitDir, WINDOW_SHIFT);
+    }
+
+    /**
+     * Maps packs in windows of {@code 1 << windowShift} bytes
+     */
+    GitObjectDatabase(Path gitDir, int windowShift) throws IOException {
+        this.gitDir = gitDir;
+        this.windowShift = windowShift;
+        Path packDir = gitDir.resolve("objects/pack");
+        if (Files.isDirectory(packDir)) {
+            try (DirectoryStream<Path> indexes = Files.newDirectoryStream(packDir, "*.idx")) {
+                for (Path index : indexes) {
+                    String name = index.getFileName().toString();
+                    Path pack = index.resolveSibling(name.substring(0, name.length() - 4) + ".pack");
+                    if (Files.exists(pack)) {
+                        packs.add(new Pack(packs.size(), index, pack));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Locates the git directory of a working tree, a bare repository or a {@code .git} file
+     */
+    static Path findGitDir(Path repository) throws IOException {
+        Path dotGit = repository.resolve(".git");
+        if (Files.isDirectory(dotGit)) {
+            return dotGit;
+        }
+        if (Files.isRegularFile(dotGit)) {
+            String content = Files.readString(dotGit).trim();
+            if (content.startsWith("gitdir:")) {
+                return repository.resolve(content.substring("gitdir:".length()).trim()).normalize();
+            }
+        }
+        if (Files.isRegularFile(repository.resolve("HEAD")) && Files.isDirectory(repository.resolve("objects"))) {
+            return repository;
+        }
+        return null;
+    }
+
+    // === Objects ===
+
+    GitObject read(String id) throws IOException {
+        Path loose = gitDir.resolve("objects").resolve(id.substring(0, 2)).resolve(id.substring(2));
+        if (Files.isRegularFile(loose)) {
+            return readLoose(loose);
+        }
+        byte[] raw = toBytes(id);
+        for (Pack pack : packs) {
+            long offset = pack.find(raw);
+            if (offset >= 0) {
+                return pack.read(offset);
+            }
+        }
+        throw new IOException("Git object not found: " + id);
+    }
+
+    /**
+     * Size of an object's content, read from its header without inflating the content
+     */
+    long size(String id) throws IOException {
+        Path loose = gitDir.resolve("objects").resolve(id.substring(0, 2)).resolve(id.substring(2));
+        if (Files.isRegularFile(loose)) {
+            return looseSize(loose);
+        }
+        byte[] raw = toBytes(id);
+        for (Pack pack : packs) {
+            long offset = pack.find(raw);
+            if (offset >= 0) {
+                return pack.size(offset);
+            }
+        }
+        throw new IOException("Git object not found: " + id);
+    }
+
+    /**
+     * Reads an object and checks its type, peeling annotated tags when a commit is wanted
+     */
+    GitObject read(String id, int expectedType) throws IOException {
+        GitObject object = read(id);
+        while (object.type == TAG && expectedType != TAG) {
+            object = read(header(object, "object"));
+        }
+        if (object.type != expectedType) {
+            throw new IOException("Git object " + id + " has type " + object.type + ", expected " + expectedType);
+        }
+        return object;
+    }
+
+    private static GitObject readLoose(Path file) throws IOException {
+        byte[] data = inflate(ByteBuffer.wrap(Files.readAllBytes(file)), -1);
+        int space = indexOf(data, (byte) ' ', 0);
+        int nul = indexOf(data, (byte) 0, space);
+        String type = new String(data, 0, space, StandardCharsets.US_ASCII);
+        byte[] content = new byte[data.length - nul - 1];
+        System.arraycopy(data, nul + 1, content, 0, content.length);
+        switch (type) {
+            case "commit": return new GitObject(COMMIT, content);
+            case "tree": return new GitObject(TREE, content);
+            case "blob": return new GitObject(BLOB, content);
+            case "tag": return new GitObject(TAG, content);
+            default: throw new IOException("Unknown git object type: " + type);
+        }
+    }
+
+    private static long looseSize(Path file) throws IOException {
+        try (InputStream in = new InflaterInputStream(Files.newInputStream(file))) {
+            StringBuilder header = new StringBuilder();
+            int c;
+            while ((c = in.read()) > 0) {
+                header.append((char) c);
+            }
+            int space = header.indexOf(" ");
+            if (c != 0 || space < 0) {
+                throw new IOException("Corrupt git object: " + file);
+            }
+            return Long.parseLong(header.substring(space + 1));
+        }
+    }
+
+    /**
+     * Value of a header line ("tree", "object", ...) of a commit or tag
+     */
+    static String header(GitObject object, String name) {
+        String text = new String(object.data, StandardCharsets.UTF_8);
+        for (String line : text.split("\n")) {
+            if (line.isEmpty()) {
+                break;
+            }
+            if (line.startsWith(name + " ")) {
+                return line.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    // === Refs ===
+
+    /**
+     * Resolves a full or abbreviated object ID, HEAD, or a branch, tag or remote name to an object ID
+     */
+    String resolve(String revision) throws IOException {
+        if (revision.matches("[0-9a-fA-F]{40}")) {
+            return revision.toLowerCase();
+        }
+        String ref = resolveRef(revision, 0);
+        if (ref != null) {
+            return ref;
+        }
+        if (revision.matches("[0-9a-fA-F]{4,39}")) {
+            return resolveAbbreviation(revision.toLowerCase());
+        }
+        throw new IOException("Unknown git revision: " + revision);
+    }
+
+    private String resolveRef(String name, int depth) throws IOException {
+        if (depth > 5) {
+            throw new IOException("Too many symbolic ref levels: " + name);
+        }
+        String[] candidates = {name, "refs/" + name, "refs/tags/" + name, "refs/heads/" + name,
+            "refs/remotes/" + name, "refs/remotes/" + name + "/HEAD"};
+        for (String candidate : candidates) {
+            Path file = gitDir.resolve(candidate);
+            if (Files.isRegularFile(file)) {
+                String content = Files.readString(file).trim();
+                if (content.startsWith("ref:")) {
+                    return resolveRef(content.substring(4).trim(), depth + 1);
+                }
+                if (content.matches("[0-9a-f]{40}")) {
+                    return content;
+                }
+            }
+            String packed = packedRef(candidate);
+            if (packed != null) {
+                return packed;
+            }
+        }
+        return null;
+    }
+
+    private String packedRef(String ref) throws IOException {
+        Path packedRefs = gitDir.resolve("packed-refs");
+        if (!Files.isRegularFile(packedRefs)) {
+            return null;
+        }
+        for (String line : Files.readAllLines(packedRefs)) {
+            if (line.length() > 41 && line.charAt(40) == ' ' && line.substring(41).equals(ref)) {
+                return line.substring(0, 40);
+            }
+        }
+        return null;
+    }
+
+    private String resolveAbbreviation(String prefix) throws IOException {
+        List<String> matches = new ArrayList<>();
+        Path looseDir = gitDir.resolve("objects").resolve(prefix.substring(0, 2));
+        if (Files.isDirectory(looseDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(looseDir)) {
+                for (Path file : files) {
+                    String id = prefix.substring(0, 2) + file.getFileName();
+                    if (id.startsWith(prefix) && !matches.contains(id)) {
+                        matches.add(id);
+                    }
+                }
+            }
+        }
+        for (Pack pack : packs) {
+            for (String id : pack.findByPrefix(prefix)) {
+                if (!matches.contains(id)) {
+                    matches.add(id);
+                }
+            }
+        }
+        if (matches.size() != 1) {
+            throw new IOException((matches.isEmpty() ? "Unknown" : "Ambiguous") + " git revision: " + prefix);
+        }
+        return matches.get(0);
+    }
+
+    // === Packs ===
+
+    private final class Pack {
+        private final int number;
+        private final ByteBuffer index;
+        private final ByteBuffer[] windows;
+        private final long length;
+        private final int count;
+        private final int fanoutStart;
+        private final int idStart;
+        private final int offsetStart;
+        private final int largeOffsetStart;
+
+        Pack(int number, Path indexFile, Path packFile) throws IOException {
+            this.number = number;
+            try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Pack index too large to map: " + indexFile);
+                }
+                this.index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.READ)) {
+                this.length = channel.size();
+                long windowSize = 1L << windowShift;
+                this.windows = new ByteBuffer[(int) Math.max(1, (length + windowSize - 1) >>> windowShift)];
+                for (int i = 0; i < windows.length; i++) {
+                    long start = (long) i << windowShift;
+                    windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, length - start));
+                }
+            }
+            if (index.getInt(0) != 0xff744f63 || index.getInt(4) != 2) {
+                throw new IOException("Unsupported pack index version: " + indexFile);
+            }
+            fanoutStart = 8;
+            count = index.getInt(fanoutStart + 255 * 4);
+            idStart = fanoutStart + 256 * 4;
+            offsetStart = idStart + count * 20 + count * 4;
+            largeOffsetStart = offsetStart + count * 4;
+        }
+
+        long find(byte[] id) {
+            int first = id[0] & 0xff;
+            int low = first == 0 ? 0 : index.getInt(fanoutStart + (first - 1) * 4);
+            int high = index.getInt(fanoutStart + first * 4) - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareId(mid, id);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return offsetOf(mid);
+                }
+            }
+            return -1;
+        }
+
+        List<String> findByPrefix(String prefix) {
+            List<String> ids = new ArrayList<>();
+            int first = Integer.parseInt(prefix.substring(0, 2), 16);
+            int low = first == 0 ? 0 : index.getInt(fanoutStart + (first - 1) * 4);
+            int high = index.getInt(fanoutStart + first * 4);
+            for (int i = low; i < high; i++) {
+                String id = idAt(i);
+                if (id.startsWith(prefix)) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        }
+
+        private int compareId(int entry, byte[] id) {
+            int base = idStart + entry * 20;
+            for (int i = 0; i < 20; i++) {
+                int cmp = Integer.compare(index.get(base + i) & 0xff, id[i] & 0xff);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return 0;
+        }
+
+        private String idAt(int entry) {
+            byte[] id = new byte[20];
+            index.duplicate().position(idStart + entry * 20).get(id);
+            return toHex(id);
+        }
+
+        private long offsetOf(int entry) {
+            int offset = index.getInt(offsetStart + entry * 4);
+            if (offset >= 0) {
+                return offset;
+            }
+            return index.getLong(largeOffsetStart + (offset & 0x7fffffff) * 8);
+        }
+
+        /**
+         * Type and size of a pack entry, and where its delta base reference or data starts
+         */
+        private long[] entryHeader(long offset) throws IOException {
+            long position = offset;
+            int c = get(position++);
+            int type = (c >> 4) & 7;
+            long size = c & 15;
+            int shift = 4;
+            while ((c & 0x80) != 0) {
+                c = get(position++);
+                size |= (long) (c & 0x7f) << shift;
+                shift += 7;
+            }
+            return new long[]{type, size, position};
+        }
+
+        long size(long offset) throws IOException {
+            long[] header = entryHeader(offset);
+            int type = (int) header[0];
+            if (type != OFS_DELTA && type != REF_DELTA) {
+                return header[1];
+            }
+            long position = header[2];
+            if (type == OFS_DELTA) {
+                // Skip the base distance
+                int c;
+                do {
+                    c = get(position++);
+                } while ((c & 0x80) != 0);
+            } else {
+                position += 20;
+            }
+            // The delta starts with the base size and the result size
+            byte[] delta = inflateAt(position, header[1], 20);
+            int[] cursor = {0};
+            readVarint(delta, cursor);
+            return readVarint(delta, cursor);
+        }
+
+        GitObject read(long offset) throws IOException {
+            long key = ((long) number << 48) | offset;
+            GitObject cached = cached(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            long[] header = entryHeader(offset);
+            int type = (int) header[0];
+            long size = header[1];
+            long position = header[2];
+
+            GitObject object;
+            if (type == OFS_DELTA) {
+                int c = get(position++);
+                long distance = c & 0x7f;
+                while ((c & 0x80) != 0) {
+                    c = get(position++);
+                    distance = ((distance + 1) << 7) | (c & 0x7f);
+                }
+                GitObject base = read(offset - distance);
+                object = new GitObject(base.type, applyDelta(base.data, inflateAt(position, size, Integer.MAX_VALUE)));
+            } else if (type == REF_DELTA) {
+                byte[] baseId = new byte[20];
+                for (int i = 0; i < 20; i++) {
+                    baseId[i] = (byte) get(position + i);
+                }
+                GitObject base = GitObjectDatabase.this.read(toHex(baseId));
+                object = new GitObject(base.type, applyDelta(base.data, inflateAt(position + 20, size, Integer.MAX_VALUE)));
+            } else {
+                object = new GitObject(type, inflateAt(position, size, Integer.MAX_VALUE));
+            }
+            remember(key, object);
+            return object;
+        }
+
+        private int get(long position) throws IOException {
+            if (position >= length) {
+                throw new IOException("Truncated pack entry at " + position);
+            }
+            return windows[(int) (position >>> windowShift)].get((int) (position & ((1L << windowShift) - 1))) & 0xff;
+        }
+
+        /**
+         * Inflates the compressed data at a position, feeding the inflater window by window;
+         * stops once {@code limit} bytes are out
+         */
+        private byte[] inflateAt(long position, long size, int limit) throws IOException {
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IOException("Git object too large: " + size + " bytes");
+            }
+            Inflater inflater = new Inflater();
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.max(32, Math.min(size, limit)));
+                byte[] buffer = new byte[(int) Math.min(8192, Math.max(limit, 32))];
+                while (!inflater.finished() && out.size() < limit) {
+                    if (inflater.needsInput()) {
+                        if (position >= length) {
+                            throw new IOException("Truncated git object");
+                        }
+                        ByteBuffer input = windows[(int) (position >>> windowShift)].duplicate();
+                        input.position((int) (position & ((1L << windowShift) - 1)));
+                        position += input.remaining();
+                        inflater.setInput(input);
+                    }
+                    int n = inflater.inflate(buffer);
+                    if (n == 0 && inflater.needsDictionary()) {
+                        throw new IOException("Corrupt git object");
+                    }
+                    out.write(buffer, 0, n);
+                }
+                return out.toByteArray();
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt git object", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    // === Cache ===
+
+    private synchronized GitObject cached(long key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Caches an object, evicting the least recently used ones beyond the byte budget
+     */
+    private synchronized void remember(long key, GitObject object) {
+        if (object.data.length > CACHE_BYTES / 8) {
+            // A single large blob would flush the bases that tree walks and delta chains reuse
+            return;
+        }
+        GitObject previous = cache.put(key, object);
+        cachedBytes += object.data.length - (previous != null ? previous.data.length : 0);
+        Iterator<GitObject> eldest = cache.values().iterator();
+        while (cachedBytes > CACHE_BYTES && eldest.hasNext()) {
+            cachedBytes -= eldest.next().data.length;
+            eldest.remove();
+        }
+    }
+
+    private static byte[] applyDelta(byte[] base, byte[] delta) throws IOException {
+        int[] position = {0};
+        readVarint(delta, position); // base size
+        int resultSize = (int) readVarint(delta, position);
+        byte[] result = new byte[resultSize];
+        int written = 0;
+        int p = position[0];
+        while (p < delta.length) {
+            int op = delta[p++] & 0xff;
+            if ((op & 0x80) != 0) {
+                int copyOffset = 0;
+                int copySize = 0;
+                for (int bit = 0; bit < 4; bit++) {
+                    if ((op & (1 << bit)) != 0) {
+                        copyOffset |= (delta[p++] & 0xff) << (8 * bit);
+                    }
+                }
+                for (int bit = 0; bit < 3; bit++) {
+                    if ((op & (0x10 << bit)) != 0) {
+                        copySize |= (delta[p++] & 0xff) << (8 * bit);
+                    }
+                }
+                if (copySize == 0) {
+                    copySize = 0x10000;
+                }
+                System.arraycopy(base, copyOffset, result, written, copySize);
+                written += copySize;
+            } else if (op != 0) {
+                System.arraycopy(delta, p, result, written, op);
+                p += op;
+                written += op;
+            } else {
+                throw new IOException("Invalid git delta opcode");
+            }
+        }
+        if (written != resultSize) {
+            throw new IOException("Git delta produced " + written + " bytes, expected " + resultSize);
+        }
+        return result;
+    }
+
+    private static long readVarint(byte[] data, int[] position) {
+        long value = 0;
+        int shift = 0;
+        int c;
+        do {
+            c = data[position[0]++] & 0xff;
+            value |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        } while ((c & 0x80) != 0);
+        return value;
+    }
+
+    // === Helpers ===
+
+    private static byte[] inflate(ByteBuffer compressed, int expectedSize) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(expectedSize, 32));
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated git object");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt git object", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int indexOf(byte[] data, byte value, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static byte[] toBytes(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 15, 16)).append(Character.forDigit(b & 15, 16));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public synchronized void close() {
+        cache.clear();
+        cachedBytes = 0;
+        packs.clear();
+    }
+}
@@ -0,0 +1,191 @@
+package com.tekcode.parser.source;
+
+import com.tekcode.parser.util.PathUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The tree of one commit of a local git repository, read from the object database
+ * without a checkout.
+ *
+ * Every file carries its blob ID as content ID, so per-file results extracted from an
+ * unchanged blob can be reused across branches and commits.
+ */
+public class GitRevisionSource implements ProjectSource {
+    private static final Logger logger = LoggerFactory.getLogger(GitRevisionSource.class);
+
+    private final Path repository;
+    private final String revision;
+
+    private GitObjectDatabase objects;
+    private String commitId;
+    private List<SourceFile> files;
+    private Map<String, SourceFile> filesByPath;
+
+    public GitRevisionSource(Path repository, String revision) {
+        this.repository = repository.toAbsolutePath().normalize();
+        this.revision = revision;
+    }
+
+    /**
+     * Parses the {@code <repository>@<revision>} input syntax, or returns null if the
+     * part before the last '@' is not a git repository
+     */
+    static GitRevisionSource fromSpec(String spec) {
+        int at = spec.lastIndexOf('@');
+        if (at <= 0 || at == spec.length() - 1) {
+            return null;
+        }
+        Path repository = Paths.get(spec.substring(0, at));
+        try {
+            return GitObjectDatabase.findGitDir(repository) != null
+                ? new GitRevisionSource(repository, spec.substring(at + 1)) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Full ID of the commit being read
+     */
+    public synchronized String getCommitId() throws IOException {
+        open();
+        return commitId;
+    }
+
+    @Override
+    public String getRoot() {
+        return PathUtils.normalizePath(repository.toString()) + "@" + revision;
+    }
+
+    @Override
+    public boolean isVirtual() {
+        return true;
+    }
+
+    @Override
+    public synchronized List<SourceFile> listFiles() throws IOException {
+        if (files == null) {
+            open();
+            GitObjectDatabase.GitObject commit = objects.read(commitId, GitObjectDatabase.COMMIT);
+            long commitTime = commitTime(commit);
+
+            List<SourceFile> found = new ArrayList<>();
+            walkTree(GitObjectDatabase.header(commit, "tree"), "", commitTime, found);
+            Map<String, SourceFile> byPath = new HashMap<>();
+            for (SourceFile file : found) {
+                byPath.put(file.getPath(), file);
+            }
+            files = Collections.unmodifiableList(found);
+            filesByPath = byPath;
+            logger.info("Read {} parser inputs from {} at commit {}", files.size(), repository, commitId);
+        }
+        return files;
+    }
+
+    @Override
+    public SourceFile find(String relativePath) throws IOException {
+        listFiles();
+        return filesByPath.get(PathUtils.normalizePath(relativePath));
+    }
+
+    private void open() throws IOException {
+        if (objects == null) {
+            Path gitDir = GitObjectDatabase.findGitDir(repository);
+            if (gitDir == null) {
+                throw new IOException("Not a git repository: " + repository);
+            }
+            objects = new GitObjectDatabase(gitDir);
+            commitId = peelToCommit(objects.resolve(revision));
+        }
+    }
+
+    /**
+     * Follows annotated tags down to the commit they point at
+     */
+    private String peelToCommit(String id) throws IOException {
+        GitObjectDatabase.GitObject object = objects.read(id);
+        while (object.type == GitObjectDatabase.TAG) {
+            id = GitObjectDatabase.header(object, "object");
+            object = objects.read(id);
+        }
+        if (object.type != GitObjectDatabase.COMMIT) {
+            throw new IOException("Revision " + revision + " does not name a commit");
+        }
+        return id;
+    }
+
+    /**
+     * Collects the blobs of a tree that the parser reads. Only blob sizes are read during
+     * the walk; content is inflated when a file is read, so files whose extraction is
+     * cached by blob ID are never inflated.
+     */
+    private void walkTree(String treeId, String prefix, long commitTime, List<SourceFile> found) throws IOException {
+        byte[] tree = objects.read(treeId, GitObjectDatabase.TREE).data;
+        int position = 0;
+        while (position < tree.length) {
+            int space = position;
+            while (tree[space] != ' ') {
+                space++;
+            }
+            int nul = space + 1;
+            while (tree[nul] != 0) {
+                nul++;
+            }
+            String mode = new String(tree, position, space - position, StandardCharsets.US_ASCII);
+            String name = new String(tree, space + 1, nul - space - 1, StandardCharsets.UTF_8);
+            byte[] rawId = new byte[20];
+            System.arraycopy(tree, nul + 1, rawId, 0, 20);
+            position = nul + 21;
+
+            String path = prefix + name;
+            String id = GitObjectDatabase.toHex(rawId);
+            if (mode.equals("40000")) {
+                walkTree(id, path + "/", commitTime, found);
+            } else if (mode.startsWith("100") && ArchiveSource.isParserInput(path)) {
+                // Symlinks (120000) and submodules (160000) are skipped
+                GitObjectDatabase database = objects;
+                found.add(new SourceFile(path, database.size(id), commitTime,
+                    () -> ByteBuffer.wrap(database.read(id, GitObjectDatabase.BLOB).data), id));
+            }
+        }
+    }
+
+    private static long commitTime(GitObjectDatabase.GitObject commit) {
+        String committer = GitObjectDatabase.header(commit, "committer");
+        if (committer != null) {
+            String[] parts = committer.split(" ");
+            if (parts.length >= 2) {
+                try {
+                    return Long.parseLong(parts[parts.length - 2]) * 1000L;
+                } catch (NumberFormatException e) {
+                    logger.debug("Unparseable committer line: {}", committer);
+                }
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (objects != null) {
+            objects.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getRoot();
+    }
+}
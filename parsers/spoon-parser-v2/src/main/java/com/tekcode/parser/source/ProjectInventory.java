@@ -0,0 +1,103 @@
+package com.tekcode.parser.source;
+
+import com.tekcode.parser.util.PathUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The parser inputs of a project, listed once and grouped by kind.
+ *
+ * Validation, the Spoon model, build file and framework detection and document processing
+ * all read from the same inventory, so the project tree is scanned a single time per parse.
+ * Java files the configuration skips are left out here, so no phase sees them.
+ */
+public final class ProjectInventory {
+
+    private final List<SourceFile> javaFiles = new ArrayList<>();
+    private final List<SourceFile> skippedJavaFiles = new ArrayList<>();
+    private final List<SourceFile> documentFiles = new ArrayList<>();
+    private final List<SourceFile> buildFiles = new ArrayList<>();
+    private final Map<String, SourceFile> filesByPath = new HashMap<>();
+
+    private ProjectInventory(List<SourceFile> files, Predicate<String> includeJavaFile) {
+        for (SourceFile file : files) {
+            String path = file.getPath();
+            if (PathUtils.isJavaFile(path) && !includeJavaFile.test(path)) {
+                skippedJavaFiles.add(file);
+                continue;
+            }
+            filesByPath.put(path, file);
+            if (PathUtils.isJavaFile(path)) {
+                javaFiles.add(file);
+            } else if (PathUtils.isBuildFile(path)) {
+                buildFiles.add(file);
+            } else if (PathUtils.isDocumentFile(path) && !isInSkippedDirectory(path)) {
+                documentFiles.add(file);
+            }
+        }
+    }
+
+    /**
+     * Lists the files of a source and groups them
+     */
+    public static ProjectInventory of(ProjectSource source) throws IOException {
+        return of(source, path -> true);
+    }
+
+    /**
+     * Lists the files of a source and groups them, keeping only the Java files whose path
+     * relative to the root passes the filter
+     */
+    public static ProjectInventory of(ProjectSource source, Predicate<String> includeJavaFile) throws IOException {
+        return new ProjectInventory(source.listFiles(), includeJavaFile);
+    }
+
+    public List<SourceFile> getJavaFiles() {
+        return Collections.unmodifiableList(javaFiles);
+    }
+
+    /**
+     * Java files left out by the filter; they are neither parsed nor found by {@link #find}
+     */
+    public List<SourceFile> getSkippedJavaFiles() {
+        return Collections.unmodifiableList(skippedJavaFiles);
+    }
+
+    /**
+     * Documentation files, leaving out copies under hidden and build output directories
+     */
+    public List<SourceFile> getDocumentFiles() {
+        return Collections.unmodifiableList(documentFiles);
+    }
+
+    public List<SourceFile> getBuildFiles() {
+        return Collections.unmodifiableList(buildFiles);
+    }
+
+    /**
+     * Looks up a file by its path relative to the root, or returns null if it is not a parser input
+     */
+    public SourceFile find(String relativePath) {
+        return filesByPath.get(PathUtils.normalizePath(relativePath));
+    }
+
+    public int size() {
+        return filesByPath.size();
+    }
+
+    private static boolean isInSkippedDirectory(String relativePath) {
+        String[] segments = relativePath.split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (PathUtils.isIgnoredDirectory(segments[i]) || PathUtils.isBuildOutputDirectory(segments[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
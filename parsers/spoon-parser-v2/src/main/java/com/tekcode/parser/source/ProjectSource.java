@@ -0,0 +1,73 @@
+package com.tekcode.parser.source;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The files of the project being parsed.
+ *
+ * Processors read build files, documents and sources through this view instead of
+ * the file system, so a project can be parsed from a directory or straight from an
+ * archive without extracting it.
+ */
+public interface ProjectSource extends Closeable {
+
+    /**
+     * Absolute root of the project, with forward slashes. For virtual sources this is a
+     * pseudo directory under which Spoon sees the files, e.g. the archive path.
+     */
+    String getRoot();
+
+    /**
+     * Whether the files exist only in this view and must be handed to Spoon as virtual files
+     */
+    boolean isVirtual();
+
+    /**
+     * All parser inputs of the project: Java sources, build files and documents
+     */
+    List<SourceFile> listFiles() throws IOException;
+
+    /**
+     * Looks up a file by its path relative to the root, or returns null if it does not exist
+     */
+    SourceFile find(String relativePath) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * Opens a directory, a supported archive, or a git revision given as {@code <repository>@<revision>}
+     */
+    static ProjectSource forPath(String path) {
+        if (!Files.exists(Paths.get(path))) {
+            GitRevisionSource revision = GitRevisionSource.fromSpec(path);
+            if (revision != null) {
+                return revision;
+            }
+        }
+        if (isArchive(path) && !Files.isDirectory(Paths.get(path))) {
+            return new ArchiveSource(Paths.get(path));
+        }
+        return new DirectorySource(Paths.get(path));
+    }
+
+    /**
+     * Whether the path names a git revision in the {@code <repository>@<revision>} syntax
+     */
+    static boolean isGitRevision(String path) {
+        return !Files.exists(Paths.get(path)) && GitRevisionSource.fromSpec(path) != null;
+    }
+
+    /**
+     * Whether the path names a supported archive (.zip, .jar, .tar, .tar.gz, .tgz)
+     */
+    static boolean isArchive(String path) {
+        return ArchiveSource.Format.of(path.toLowerCase(Locale.ROOT)) != null;
+    }
+}
@@ -0,0 +1,355 @@
+package com.tekcode.parser.source;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Merkle tree over the parser inputs of a project: every file is hashed from its path,
+ * size, modification time and content hash, and every directory from its children.
+ *
+ * Capturing a snapshot against the previous one only reads files whose size or
+ * modification time changed; comparing two snapshots skips every subtree whose hash
+ * is unchanged. A snapshot also records a fingerprint of the configuration and output
+ * it was taken for, since the same inputs give a different output under another one.
+ */
+public class RepositorySnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(RepositorySnapshot.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Node root;
+    private final Map<String, FileState> files;
+    private String configFingerprint;
+
+    private RepositorySnapshot(Map<String, FileState> files, Map<String, String> directoryHashes) {
+        this.files = files;
+        this.root = buildTree(files, directoryHashes);
+    }
+
+    /**
+     * Stat data and content hash of one file
+     */
+    public static final class FileState {
+        @JsonProperty("path")
+        public String path;
+
+        @JsonProperty("size")
+        public long size;
+
+        @JsonProperty("lastModified")
+        public long lastModified;
+
+        /**
+         * MD5 of the content, the same value the parser reports as file checksum
+         */
+        @JsonProperty("contentHash")
+        public String contentHash;
+    }
+
+    /**
+     * Files added, modified or removed between two snapshots
+     */
+    public static final class Changes {
+        private final List<String> added = new ArrayList<>();
+        private final List<String> modified = new ArrayList<>();
+        private final List<String> removed = new ArrayList<>();
+
+        public List<String> getAdded() {
+            return added;
+        }
+
+        public List<String> getModified() {
+            return modified;
+        }
+
+        public List<String> getRemoved() {
+            return removed;
+        }
+
+        /**
+         * All changed paths, sorted
+         */
+        public List<String> getChangedPaths() {
+            TreeSet<String> paths = new TreeSet<>(added);
+            paths.addAll(modified);
+            paths.addAll(removed);
+            return new ArrayList<>(paths);
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && modified.isEmpty() && removed.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return added.size() + " added, " + modified.size() + " modified, " + removed.size() + " removed";
+        }
+    }
+
+    /**
+     * On-disk form: the file states plus the hash of every directory ("" is the root)
+     */
+    private static final class Stored {
+        @JsonProperty("version")
+        public int version;
+
+        @JsonProperty("configFingerprint")
+        public String configFingerprint;
+
+        @JsonProperty("directories")
+        public Map<String, String> directories;
+
+        @JsonProperty("files")
+        public List<FileState> files;
+    }
+
+    private static final class Node {
+        final String path;
+        final FileState file;
+        final Map<String, Node> children;
+        String hash;
+
+        Node(String path, FileState file) {
+            this.path = path;
+            this.file = file;
+            this.children = file == null ? new TreeMap<>() : null;
+        }
+    }
+
+    /**
+     * Captures the parser inputs of a source. Content hashes are taken over from the previous
+     * snapshot for files whose size and modification time are unchanged.
+     */
+    public static RepositorySnapshot capture(ProjectSource source, RepositorySnapshot previous) throws IOException {
+        Map<String, FileState> files = new TreeMap<>();
+        int hashed = 0;
+        for (SourceFile file : source.listFiles()) {
+            if (!ArchiveSource.isParserInput(file.getPath())) {
+                continue;
+            }
+            FileState state = new FileState();
+            state.path = file.getPath();
+            state.size = file.getSize();
+            state.lastModified = file.getLastModified();
+
+            FileState old = previous != null ? previous.files.get(state.path) : null;
+            if (old != null && old.size == state.size && old.lastModified == state.lastModified && state.lastModified != 0) {
+                state.contentHash = old.contentHash;
+            } else {
+                state.contentHash = md5(file.content());
+                hashed++;
+            }
+            files.put(state.path, state);
+        }
+        logger.debug("Snapshot of {} files, {} re-hashed", files.size(), hashed);
+        return new RepositorySnapshot(files, null);
+    }
+
+    /**
+     * Reads a snapshot, or returns null if the file does not exist or has another format version
+     */
+    public static RepositorySnapshot read(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        Stored stored = objectMapper.readValue(path.toFile(), Stored.class);
+        if (stored.version != FORMAT_VERSION || stored.files == null) {
+            logger.info("Ignoring snapshot with unsupported format: {}", path);
+            return null;
+        }
+        Map<String, FileState> files = new TreeMap<>();
+        for (FileState state : stored.files) {
+            files.put(state.path, state);
+        }
+        RepositorySnapshot snapshot = new RepositorySnapshot(files, stored.directories);
+        snapshot.configFingerprint = stored.configFingerprint;
+        return snapshot;
+    }
+
+    public void write(Path path) throws IOException {
+        Stored stored = new Stored();
+        stored.version = FORMAT_VERSION;
+        stored.configFingerprint = configFingerprint;
+        stored.directories = new TreeMap<>();
+        collectDirectoryHashes(root, stored.directories);
+        stored.files = new ArrayList<>(files.values());
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        objectMapper.writeValue(temp.toFile(), stored);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Fingerprint of the configuration and output the snapshot was taken for, or null if unknown
+     */
+    public String getConfigFingerprint() {
+        return configFingerprint;
+    }
+
+    public void setConfigFingerprint(String configFingerprint) {
+        this.configFingerprint = configFingerprint;
+    }
+
+    /**
+     * Fingerprint of the parts that, besides the inputs, determine an output
+     */
+    public static String fingerprint(String... parts) {
+        return md5(String.join("\0", parts));
+    }
+
+    public String getRootHash() {
+        return root.hash;
+    }
+
+    /**
+     * Hash of a directory ("" for the root), or null if it holds no parser inputs
+     */
+    public String getDirectoryHash(String directory) {
+        Node node = root;
+        if (!directory.isEmpty()) {
+            for (String name : directory.split("/")) {
+                node = node.children != null ? node.children.get(name) : null;
+                if (node == null) {
+                    return null;
+                }
+            }
+        }
+        return node.children != null ? node.hash : null;
+    }
+
+    /**
+     * MD5 content hash of a file, or null if it is not part of the snapshot
+     */
+    public String getContentHash(String path) {
+        FileState state = files.get(path);
+        return state != null ? state.contentHash : null;
+    }
+
+    public Map<String, FileState> getFiles() {
+        return Collections.unmodifiableMap(files);
+    }
+
+    /**
+     * Files whose content differs from the previous snapshot; all files are added if there is none
+     */
+    public Changes changesSince(RepositorySnapshot previous) {
+        Changes changes = new Changes();
+        compare(previous != null ? previous.root : null, root, changes);
+        return changes;
+    }
+
+    private static void compare(Node before, Node after, Changes changes) {
+        if (before != null && after != null && before.hash.equals(after.hash)) {
+            return;
+        }
+        if (before != null && after != null && before.file != null && after.file != null) {
+            // Same stat-derived hash is not required: a touched file with equal content is unchanged
+            if (!before.file.contentHash.equals(after.file.contentHash)) {
+                changes.modified.add(after.path);
+            }
+            return;
+        }
+        if (before != null && after != null && before.children != null && after.children != null) {
+            TreeSet<String> names = new TreeSet<>(before.children.keySet());
+            names.addAll(after.children.keySet());
+            for (String name : names) {
+                compare(before.children.get(name), after.children.get(name), changes);
+            }
+            return;
+        }
+        // Added, removed, or replaced by a node of the other kind
+        collectFiles(before, changes.removed);
+        collectFiles(after, changes.added);
+    }
+
+    private static void collectFiles(Node node, List<String> paths) {
+        if (node == null) {
+            return;
+        }
+        if (node.file != null) {
+            paths.add(node.path);
+        } else {
+            node.children.values().forEach(child -> collectFiles(child, paths));
+        }
+    }
+
+    private static void collectDirectoryHashes(Node node, Map<String, String> hashes) {
+        if (node.children != null) {
+            hashes.put(node.path, node.hash);
+            node.children.values().forEach(child -> collectDirectoryHashes(child, hashes));
+        }
+    }
+
+    private static Node buildTree(Map<String, FileState> files, Map<String, String> directoryHashes) {
+        Node root = new Node("", null);
+        for (FileState state : files.values()) {
+            Node directory = root;
+            String[] names = state.path.split("/");
+            for (int i = 0; i < names.length - 1; i++) {
+                String path = directory.path.isEmpty() ? names[i] : directory.path + "/" + names[i];
+                directory = directory.children.computeIfAbsent(names[i], name -> new Node(path, null));
+            }
+            directory.children.put(names[names.length - 1], new Node(state.path, state));
+        }
+        computeHashes(root, directoryHashes);
+        return root;
+    }
+
+    /**
+     * Hashes files from their state and directories from their children; stored directory
+     * hashes are trusted as-is
+     */
+    private static void computeHashes(Node node, Map<String, String> directoryHashes) {
+        if (node.file != null) {
+            FileState state = node.file;
+            node.hash = md5(state.path + "\0" + state.size + "\0" + state.lastModified + "\0" + state.contentHash);
+            return;
+        }
+        StringBuilder listing = new StringBuilder();
+        for (Map.Entry<String, Node> child : node.children.entrySet()) {
+            computeHashes(child.getValue(), directoryHashes);
+            listing.append(child.getKey()).append('\0').append(child.getValue().hash).append('\n');
+        }
+        String stored = directoryHashes != null ? directoryHashes.get(node.path) : null;
+        node.hash = stored != null ? stored : md5(listing.toString());
+    }
+
+    private static String md5(String text) {
+        return md5(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String md5(ByteBuffer content) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            md.update(content);
+            StringBuilder hex = new StringBuilder(32);
+            for (byte b : md.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
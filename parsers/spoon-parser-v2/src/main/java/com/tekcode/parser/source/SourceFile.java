@@ -0,0 +1,149 @@
+package com.tekcode.parser.source;
+
+import com.tekcode.parser.util.PathUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A file of a {@link ProjectSource}, addressed by its path relative to the project root.
+ * Content is loaded on demand, from disk, an archive entry or a memory-mapped region.
+ */
+public final class SourceFile {
+
+    /**
+     * Loads the content of a file
+     */
+    @FunctionalInterface
+    public interface ContentLoader {
+        ByteBuffer load() throws IOException;
+    }
+
+    /**
+     * Opens a stream over the content, for sources that can read it incrementally
+     */
+    @FunctionalInterface
+    public interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+
+    private final String path;
+    private final long size;
+    private final long lastModified;
+    private final ContentLoader loader;
+    private final String contentId;
+    private final StreamOpener opener;
+
+    public SourceFile(String path, long size, long lastModified, ContentLoader loader) {
+        this(path, size, lastModified, loader, null);
+    }
+
+    public SourceFile(String path, long size, long lastModified, ContentLoader loader, String contentId) {
+        this(path, size, lastModified, loader, contentId, null);
+    }
+
+    public SourceFile(String path, long size, long lastModified, ContentLoader loader, String contentId,
+                      StreamOpener opener) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.loader = loader;
+        this.contentId = contentId;
+        this.opener = opener;
+    }
+
+    /**
+     * Path relative to the project root, with forward slashes
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public String getFileName() {
+        return PathUtils.getFilename(path);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Last modification time in epoch milliseconds, or 0 if unknown
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Stable identifier of the content (a git blob ID), or null if the source does not provide one
+     */
+    public String getContentId() {
+        return contentId;
+    }
+
+    /**
+     * Read-only view of the content
+     */
+    public ByteBuffer content() throws IOException {
+        return loader.load().asReadOnlyBuffer();
+    }
+
+    public byte[] readBytes() throws IOException {
+        ByteBuffer content = content();
+        byte[] bytes = new byte[content.remaining()];
+        content.get(bytes);
+        return bytes;
+    }
+
+    public String readString() throws IOException {
+        return StandardCharsets.UTF_8.decode(content()).toString();
+    }
+
+    /**
+     * Streams the content; files on disk are read incrementally, other content without a copy
+     */
+    public InputStream openStream() throws IOException {
+        if (opener != null) {
+            return opener.open();
+        }
+        return new ByteBufferInputStream(content());
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -5,199 +5,538 @@ import com.tekcode.parser.model.DocumentChunk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 
 /**
  * Utility class for chunking document content based on various strategies
+ *
+ * Content is consumed from a {@link Reader} and chunks are handed to a consumer as soon as
+ * they are complete. Only the current window is kept: a ring buffer of {@code chunkSize}
+ * characters, or the last {@code chunkSize} words, sentences or paragraphs, from which the
+ * overlap of the next chunk is taken. Units come from one linear {@link TextTokenizer} pass
+ * and carry their exact source offsets.
  */
 public class DocumentChunker {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(DocumentChunker.class);
-    
-    // Patterns for different chunking strategies
-    private static final Pattern SENTENCE_PATTERN = Pattern.compile("(?<=[.!?])\\s+");
-    private static final Pattern PARAGRAPH_PATTERN = Pattern.compile("\\n\\s*\\n");
-    private static final Pattern WORD_PATTERN = Pattern.compile("\\s+");
-    private static final Pattern MARKDOWN_HEADER_PATTERN = Pattern.compile("^#{1,6}\\s+.*$", Pattern.MULTILINE);
-    
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * Totals of a chunked document, counted while streaming
+     */
+    public static final class Stats {
+        private long characterCount;
+        private int lineCount;
+        private int chunkCount;
+
+        public long getCharacterCount() { return characterCount; }
+        public int getLineCount() { return lineCount; }
+        public int getChunkCount() { return chunkCount; }
+    }
+
     /**
      * Chunks document content based on the configuration
-     * 
+     *
      * @param documentId The ID of the document being chunked
      * @param content The content to chunk
      * @param config The parser configuration
      * @return List of DocumentChunk objects
      */
     public static List<DocumentChunk> chunkDocument(String documentId, String content, ParserConfig config) {
-        if (content == null || content.trim().isEmpty()) {
-            logger.debug("Empty content for document: {}", documentId);
-            return new ArrayList<>();
+        List<DocumentChunk> chunks = new ArrayList<>();
+        if (content == null) {
+            return chunks;
         }
-        
+        try {
+            chunkDocument(documentId, new StringReader(content), config, chunks::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunks;
+    }
+
+    /**
+     * Chunks document content read from a reader, passing each chunk to the sink as soon as
+     * it is complete
+     *
+     * @param documentId The ID of the document being chunked
+     * @param reader The content to chunk; not closed
+     * @param config The parser configuration
+     * @param sink Receives the chunks in order
+     * @return character, line and chunk totals of the content
+     */
+    public static Stats chunkDocument(String documentId, Reader reader, ParserConfig config,
+                                      Consumer<DocumentChunk> sink) throws IOException {
+        return chunkDocument(documentId, reader, config, null, sink);
+    }
+
+    /**
+     * Chunks document content read from a reader, sizing chunks of the "token" strategy with
+     * the given vocabulary
+     *
+     * @param vocabulary Tokens of the embedding model; without one the "token" strategy
+     *                   chunks by words
+     */
+    public static Stats chunkDocument(String documentId, Reader reader, ParserConfig config,
+                                      TokenVocabulary vocabulary, Consumer<DocumentChunk> sink) throws IOException {
+        Stats stats = new Stats();
+        Consumer<DocumentChunk> counting = chunk -> {
+            stats.chunkCount++;
+            sink.accept(chunk);
+        };
+
+        Chunker chunker;
         if (!config.isEnableDocumentChunking()) {
-            // If chunking is disabled, return the entire content as a single chunk
-            DocumentChunk singleChunk = new DocumentChunk(
-                documentId + ":chunk:0", 
-                documentId, 
-                0, 
-                content
-            );
-            singleChunk.setStartPosition(0);
-            singleChunk.setEndPosition(content.length());
-            singleChunk.setChunkType("full_document");
-            return List.of(singleChunk);
-        }
-        
-        String strategy = config.getDocumentChunkStrategy().toLowerCase();
-        int chunkSize = config.getDocumentChunkSize();
-        int overlap = config.getDocumentChunkOverlap();
-        
-        logger.debug("Chunking document {} with strategy: {}, size: {}, overlap: {}", 
-                    documentId, strategy, chunkSize, overlap);
-        
+            // If chunking is disabled, the entire content is a single chunk
+            chunker = new WholeDocumentChunker(documentId, counting);
+        } else {
+            String strategy = config.getDocumentChunkStrategy().toLowerCase();
+            int chunkSize = Math.max(1, config.getDocumentChunkSize());
+            int overlap = Math.max(0, config.getDocumentChunkOverlap());
+            logger.debug("Chunking document {} with strategy: {}, size: {}, overlap: {}",
+                        documentId, strategy, chunkSize, overlap);
+            chunker = createChunker(documentId, strategy, chunkSize, overlap, config, vocabulary, counting);
+        }
+
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        boolean previousWasCarriageReturn = false;
+        int lineBreaks = 0;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                // \r\n, \r and \n each end one line
+                if (c == '\n') {
+                    if (!previousWasCarriageReturn) {
+                        lineBreaks++;
+                    }
+                } else if (c == '\r') {
+                    lineBreaks++;
+                }
+                previousWasCarriageReturn = c == '\r';
+                chunker.accept(c);
+            }
+            stats.characterCount += read;
+        }
+        chunker.finish();
+        stats.lineCount = stats.characterCount == 0 ? 0 : lineBreaks + 1;
+
+        if (stats.chunkCount == 0) {
+            logger.debug("Empty content for document: {}", documentId);
+        }
+        return stats;
+    }
+
+    private static Chunker createChunker(String documentId, String strategy, int chunkSize, int overlap,
+                                         ParserConfig config, TokenVocabulary vocabulary,
+                                         Consumer<DocumentChunk> sink) {
         switch (strategy) {
             case "character":
-                return chunkByCharacter(documentId, content, chunkSize, overlap);
+                return new CharacterChunker(documentId, "character", chunkSize, overlap, sink);
             case "word":
-                return chunkByWord(documentId, content, chunkSize, overlap);
+                return new UnitChunker(documentId, "word", TextTokenizer.Unit.WORD, chunkSize, overlap, sink);
             case "sentence":
-                return chunkBySentence(documentId, content, chunkSize, overlap);
+                return new UnitChunker(documentId, "sentence", TextTokenizer.Unit.SENTENCE, chunkSize, overlap, sink);
             case "paragraph":
-                return chunkByParagraph(documentId, content, chunkSize, overlap);
+                return new UnitChunker(documentId, "paragraph", TextTokenizer.Unit.PARAGRAPH, chunkSize, overlap, sink);
+            case "token":
+                if (vocabulary == null) {
+                    logger.debug("No tokenizer vocabulary for document {}, chunking by words", documentId);
+                    return new UnitChunker(documentId, "word", TextTokenizer.Unit.WORD, chunkSize, overlap, sink);
+                }
+                return new TokenChunker(documentId, vocabulary, chunkSize, overlap, sink);
+            case "content-defined":
+                return new ContentDefinedChunker(documentId, chunkSize, sink);
             case "markdown":
-                return chunkByMarkdownStructure(documentId, content, chunkSize, overlap, config.isPreserveMarkdownStructure());
+                // Markdown keeps its paragraphs together when its structure is preserved
+                return config.isPreserveMarkdownStructure()
+                        ? new UnitChunker(documentId, "markdown", TextTokenizer.Unit.PARAGRAPH, chunkSize, overlap, sink)
+                        : new CharacterChunker(documentId, "character", chunkSize, overlap, sink);
             default:
                 logger.warn("Unknown chunking strategy: {}. Falling back to character-based chunking.", strategy);
-                return chunkByCharacter(documentId, content, chunkSize, overlap);
+                return new CharacterChunker(documentId, "character", chunkSize, overlap, sink);
         }
     }
-    
+
     /**
-     * Chunks content by character count
+     * Same test as {@link String#trim()}, so documents of only blank characters give no chunks
      */
-    private static List<DocumentChunk> chunkByCharacter(String documentId, String content, int chunkSize, int overlap) {
-        List<DocumentChunk> chunks = new ArrayList<>();
-        int contentLength = content.length();
-        int chunkIndex = 0;
-        int start = 0;
-        
-        while (start < contentLength) {
-            int end = Math.min(start + chunkSize, contentLength);
-            String chunkContent = content.substring(start, end);
-            
-            DocumentChunk chunk = createChunk(documentId, chunkIndex, chunkContent, start, end);
-            chunk.setChunkType("character");
-            chunk.setOverlap(chunkIndex > 0 ? Math.min(overlap, start) : 0);
-            
-            chunks.add(chunk);
-            
-            // Move start position considering overlap
-            start = Math.max(start + chunkSize - overlap, start + 1);
+    private static boolean isBlank(char c) {
+        return c <= ' ';
+    }
+
+    private abstract static class Chunker {
+        final String documentId;
+        final String chunkType;
+        final Consumer<DocumentChunk> sink;
+        int chunkIndex;
+
+        Chunker(String documentId, String chunkType, Consumer<DocumentChunk> sink) {
+            this.documentId = documentId;
+            this.chunkType = chunkType;
+            this.sink = sink;
+        }
+
+        abstract void accept(char c);
+
+        abstract void finish();
+
+        void emit(String content, int startPos, int endPos, int overlap) {
+            sink.accept(nextChunk(content, startPos, endPos, overlap));
+        }
+
+        DocumentChunk nextChunk(String content, int startPos, int endPos, int overlap) {
+            DocumentChunk chunk = createChunk(documentId, chunkIndex, content, startPos, endPos);
+            chunk.setChunkType(chunkType);
+            chunk.setOverlap(chunkIndex > 0 ? overlap : 0);
             chunkIndex++;
+            return chunk;
         }
-        
-        return chunks;
     }
-    
+
     /**
-     * Chunks content by word count
+     * Chunker over raw characters. Chunks of leading blank characters wait until the document
+     * turns out not to be blank, so blank documents give no chunks.
      */
-    private static List<DocumentChunk> chunkByWord(String documentId, String content, int chunkSize, int overlap) {
-        String[] words = WORD_PATTERN.split(content);
-        List<DocumentChunk> chunks = new ArrayList<>();
-        int chunkIndex = 0;
-        int start = 0;
-        
-        while (start < words.length) {
-            int end = Math.min(start + chunkSize, words.length);
-            String chunkContent = String.join(" ", java.util.Arrays.copyOfRange(words, start, end));
-            
-            int startPos = getWordPosition(content, words, start);
-            int endPos = getWordPosition(content, words, end);
-            
-            DocumentChunk chunk = createChunk(documentId, chunkIndex, chunkContent, startPos, endPos);
-            chunk.setChunkType("word");
-            chunk.setOverlap(chunkIndex > 0 ? Math.min(overlap, start) : 0);
-            
-            chunks.add(chunk);
-            
-            start = Math.max(start + chunkSize - overlap, start + 1);
-            chunkIndex++;
+    private abstract static class CharacterStreamChunker extends Chunker {
+        private boolean sawContent;
+        private List<DocumentChunk> held = new ArrayList<>();
+
+        CharacterStreamChunker(String documentId, String chunkType, Consumer<DocumentChunk> sink) {
+            super(documentId, chunkType, sink);
+        }
+
+        void noteCharacter(char c) {
+            if (!sawContent && !isBlank(c)) {
+                sawContent = true;
+                held.forEach(sink);
+                held = null;
+            }
+        }
+
+        @Override
+        void emit(String content, int startPos, int endPos, int chunkOverlap) {
+            if (sawContent) {
+                super.emit(content, startPos, endPos, chunkOverlap);
+                return;
+            }
+            // Emitted later, or dropped if nothing but blanks follows
+            held.add(nextChunk(content, startPos, endPos, chunkOverlap));
         }
-        
-        return chunks;
     }
-    
+
     /**
-     * Chunks content by sentences
+     * Windows of {@code chunkSize} characters, advancing by {@code chunkSize - overlap}
      */
-    private static List<DocumentChunk> chunkBySentence(String documentId, String content, int chunkSize, int overlap) {
-        String[] sentences = SENTENCE_PATTERN.split(content);
-        List<DocumentChunk> chunks = new ArrayList<>();
-        int chunkIndex = 0;
-        int start = 0;
-        
-        while (start < sentences.length) {
-            int end = Math.min(start + chunkSize, sentences.length);
-            String chunkContent = String.join(" ", java.util.Arrays.copyOfRange(sentences, start, end));
-            
-            DocumentChunk chunk = createChunk(documentId, chunkIndex, chunkContent, 0, chunkContent.length());
-            chunk.setChunkType("sentence");
-            chunk.setOverlap(chunkIndex > 0 ? Math.min(overlap, start) : 0);
-            
-            chunks.add(chunk);
-            
-            start = Math.max(start + chunkSize - overlap, start + 1);
-            chunkIndex++;
+    private static final class CharacterChunker extends CharacterStreamChunker {
+        private final char[] ring;
+        private final int overlap;
+        private final int step;
+        private int head;
+        private int count;
+        private int windowStart;
+
+        CharacterChunker(String documentId, String chunkType, int chunkSize, int overlap, Consumer<DocumentChunk> sink) {
+            super(documentId, chunkType, sink);
+            this.ring = new char[chunkSize];
+            this.overlap = overlap;
+            this.step = Math.max(chunkSize - overlap, 1);
+        }
+
+        @Override
+        void accept(char c) {
+            noteCharacter(c);
+            ring[(head + count) % ring.length] = c;
+            count++;
+            if (count == ring.length) {
+                emitWindow();
+            }
+        }
+
+        @Override
+        void finish() {
+            while (count > 0) {
+                emitWindow();
+            }
+        }
+
+        private void emitWindow() {
+            StringBuilder content = new StringBuilder(count);
+            int firstPart = Math.min(count, ring.length - head);
+            content.append(ring, head, firstPart);
+            content.append(ring, 0, count - firstPart);
+            emit(content.toString(), windowStart, windowStart + count, Math.min(overlap, windowStart));
+
+            int dropped = Math.min(step, count);
+            head = (head + dropped) % ring.length;
+            count -= dropped;
+            windowStart += dropped;
         }
-        
-        return chunks;
     }
-    
+
     /**
-     * Chunks content by paragraphs
+     * Chunks cut where a Gear rolling hash over the last 64 characters has its top bits clear,
+     * as in FastCDC. Boundaries depend only on nearby content, so an edit moves the boundaries
+     * around it and later chunks keep their content. Chunks are between a quarter of and twice
+     * {@code chunkSize} characters long; cutting is harder before {@code chunkSize} and easier
+     * after it, which keeps most chunks close to that size.
      */
-    private static List<DocumentChunk> chunkByParagraph(String documentId, String content, int chunkSize, int overlap) {
-        String[] paragraphs = PARAGRAPH_PATTERN.split(content);
-        List<DocumentChunk> chunks = new ArrayList<>();
-        int chunkIndex = 0;
-        int start = 0;
-        
-        while (start < paragraphs.length) {
-            int end = Math.min(start + chunkSize, paragraphs.length);
-            String chunkContent = String.join("\n\n", java.util.Arrays.copyOfRange(paragraphs, start, end));
-            
-            DocumentChunk chunk = createChunk(documentId, chunkIndex, chunkContent, 0, chunkContent.length());
-            chunk.setChunkType("paragraph");
-            chunk.setOverlap(chunkIndex > 0 ? Math.min(overlap, start) : 0);
-            
-            chunks.add(chunk);
-            
-            start = Math.max(start + chunkSize - overlap, start + 1);
-            chunkIndex++;
+    private static final class ContentDefinedChunker extends CharacterStreamChunker {
+        private static final long[] GEAR = gearTable();
+
+        private final int minSize;
+        private final int normalSize;
+        private final int maxSize;
+        private final int strictBits;
+        private final int looseBits;
+        private final StringBuilder buffer = new StringBuilder();
+        private int bufferStart;
+        private long hash;
+
+        ContentDefinedChunker(String documentId, int chunkSize, Consumer<DocumentChunk> sink) {
+            super(documentId, "content-defined", sink);
+            this.minSize = Math.max(1, chunkSize / 4);
+            this.normalSize = chunkSize;
+            this.maxSize = chunkSize * 2;
+            int bits = 31 - Integer.numberOfLeadingZeros(Math.max(chunkSize - minSize, 4));
+            this.strictBits = bits + 1;
+            this.looseBits = bits - 1;
+        }
+
+        @Override
+        void accept(char c) {
+            noteCharacter(c);
+            buffer.append(c);
+            hash = (hash << 1) + GEAR[(c ^ (c >>> 8)) & 0xFF];
+            int length = buffer.length();
+            if (length >= minSize && (length >= maxSize
+                    || hash >>> (64 - (length < normalSize ? strictBits : looseBits)) == 0)) {
+                emitBuffer();
+            }
+        }
+
+        @Override
+        void finish() {
+            if (buffer.length() > 0) {
+                emitBuffer();
+            }
+        }
+
+        private void emitBuffer() {
+            emit(buffer.toString(), bufferStart, bufferStart + buffer.length(), 0);
+            bufferStart += buffer.length();
+            buffer.setLength(0);
+        }
+
+        /**
+         * Fixed pseudo-random values per character byte (SplitMix64), identical in every run
+         */
+        private static long[] gearTable() {
+            long[] table = new long[256];
+            long state = 0x2545f4914f6cdd1dL;
+            for (int i = 0; i < table.length; i++) {
+                long z = state += 0x9e3779b97f4a7c15L;
+                z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+                z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+                table[i] = z ^ (z >>> 31);
+            }
+            return table;
         }
-        
-        return chunks;
     }
-    
+
     /**
-     * Chunks content by markdown structure (headers, sections)
+     * A word, sentence or paragraph, its character range and its model tokens
      */
-    private static List<DocumentChunk> chunkByMarkdownStructure(String documentId, String content, int chunkSize, int overlap, boolean preserveStructure) {
-        if (!preserveStructure) {
-            return chunkByCharacter(documentId, content, chunkSize, overlap);
-        }
-        
-        // For now, fall back to paragraph chunking for markdown
-        // This could be enhanced to respect markdown headers and structure
-        List<DocumentChunk> chunks = chunkByParagraph(documentId, content, chunkSize, overlap);
-        chunks.forEach(chunk -> chunk.setChunkType("markdown"));
-        
-        return chunks;
+    private static final class Unit {
+        final String text;
+        final int start;
+        final int end;
+
+        final int tokens;
+
+        Unit(String text, int start, int end) {
+            this(text, start, end, 1);
+        }
+
+        Unit(String text, int start, int end, int tokens) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            this.tokens = tokens;
+        }
+    }
+
+    /**
+     * Windows of {@code chunkSize} words, sentences or paragraphs from a {@link TextTokenizer},
+     * advancing by {@code chunkSize - overlap} units. Chunk positions are the source offsets
+     * of the first and last unit.
+     */
+    private static final class UnitChunker extends Chunker {
+        private final TextTokenizer tokenizer;
+        private final int chunkSize;
+        private final int overlap;
+        private final int step;
+        private final String joiner;
+
+        private final ArrayDeque<Unit> window = new ArrayDeque<>();
+        private int windowFirstUnit;
+
+        UnitChunker(String documentId, String chunkType, TextTokenizer.Unit unit, int chunkSize, int overlap,
+                    Consumer<DocumentChunk> sink) {
+            super(documentId, chunkType, sink);
+            this.chunkSize = chunkSize;
+            this.overlap = overlap;
+            this.step = Math.max(chunkSize - overlap, 1);
+            this.joiner = unit == TextTokenizer.Unit.PARAGRAPH ? "\n\n" : " ";
+            this.tokenizer = new TextTokenizer(unit, this::addUnit);
+        }
+
+        @Override
+        void accept(char c) {
+            tokenizer.accept(c);
+        }
+
+        private void addUnit(String text, int start, int end) {
+            window.addLast(new Unit(text, start, end));
+            if (window.size() == chunkSize) {
+                emitWindow();
+            }
+        }
+
+        @Override
+        void finish() {
+            tokenizer.finish();
+            while (!window.isEmpty()) {
+                emitWindow();
+            }
+        }
+
+        private void emitWindow() {
+            StringBuilder content = new StringBuilder();
+            Iterator<Unit> units = window.iterator();
+            Unit first = window.peekFirst();
+            Unit last = window.peekLast();
+            while (units.hasNext()) {
+                content.append(units.next().text);
+                if (units.hasNext()) {
+                    content.append(joiner);
+                }
+            }
+            emit(content.toString(), first.start, last.end, Math.min(overlap, windowFirstUnit));
+
+            for (int i = 0; i < step && !window.isEmpty(); i++) {
+                window.removeFirst();
+                windowFirstUnit++;
+            }
+        }
     }
-    
+
+    /**
+     * Windows of whole words holding at most {@code chunkSize} model tokens; each window
+     * starts with the trailing words of the previous one, up to {@code overlap} tokens.
+     * A single word longer than the budget becomes a chunk of its own.
+     */
+    private static final class TokenChunker extends Chunker {
+        private final TextTokenizer tokenizer;
+        private final TokenVocabulary vocabulary;
+        private final int chunkSize;
+        private final int overlap;
+
+        private final ArrayDeque<Unit> window = new ArrayDeque<>();
+        private int windowTokens;
+        private int overlapTokens;
+        private boolean pending;
+
+        TokenChunker(String documentId, TokenVocabulary vocabulary, int chunkSize, int overlap,
+                     Consumer<DocumentChunk> sink) {
+            super(documentId, "token", sink);
+            this.vocabulary = vocabulary;
+            this.chunkSize = chunkSize;
+            this.overlap = overlap;
+            this.tokenizer = new TextTokenizer(TextTokenizer.Unit.WORD, this::addWord);
+        }
+
+        @Override
+        void accept(char c) {
+            tokenizer.accept(c);
+        }
+
+        private void addWord(String text, int start, int end) {
+            Unit word = new Unit(text, start, end, vocabulary.countTokens(text));
+            if (pending && windowTokens + word.tokens > chunkSize) {
+                emitWindow();
+                // Keep the overlap, but never so much that the next word does not fit
+                while (!window.isEmpty()
+                        && (windowTokens > overlap || windowTokens + word.tokens > chunkSize)) {
+                    windowTokens -= window.removeFirst().tokens;
+                }
+                overlapTokens = windowTokens;
+            }
+            window.addLast(word);
+            windowTokens += word.tokens;
+            pending = true;
+        }
+
+        @Override
+        void finish() {
+            tokenizer.finish();
+            if (pending) {
+                emitWindow();
+            }
+        }
+
+        private void emitWindow() {
+            StringBuilder content = new StringBuilder();
+            for (Unit word : window) {
+                if (content.length() > 0) {
+                    content.append(' ');
+                }
+                content.append(word.text);
+            }
+            DocumentChunk chunk = nextChunk(content.toString(), window.peekFirst().start, window.peekLast().end,
+                overlapTokens);
+            chunk.setTokenCount(windowTokens);
+            sink.accept(chunk);
+            pending = false;
+        }
+    }
+
+    /**
+     * The whole document as one chunk; used only when chunking is disabled
+     */
+    private static final class WholeDocumentChunker extends Chunker {
+        private final StringBuilder content = new StringBuilder();
+        private boolean sawContent;
+
+        WholeDocumentChunker(String documentId, Consumer<DocumentChunk> sink) {
+            super(documentId, "full_document", sink);
+        }
+
+        @Override
+        void accept(char c) {
+            content.append(c);
+            sawContent |= !isBlank(c);
+        }
+
+        @Override
+        void finish() {
+            if (sawContent) {
+                DocumentChunk chunk = createChunk(documentId, 0, content.toString(), 0, content.length());
+                chunk.setChunkType(chunkType);
+                sink.accept(chunk);
+            }
+        }
+    }
+
     /**
      * Creates a DocumentChunk with common properties
      */
@@ -206,25 +545,7 @@ public class DocumentChunker {
         DocumentChunk chunk = new DocumentChunk(chunkId, documentId, chunkIndex, content);
         chunk.setStartPosition(startPos);
         chunk.setEndPosition(endPos);
+        chunk.setContentHash(FastHash.hex64(content));
         return chunk;
     }
-    
-    /**
-     * Gets the character position of a word in the original content
-     */
-    private static int getWordPosition(String content, String[] words, int wordIndex) {
-        if (wordIndex >= words.length) {
-            return content.length();
-        }
-        
-        int position = 0;
-        for (int i = 0; i < wordIndex && i < words.length; i++) {
-            int wordStart = content.indexOf(words[i], position);
-            if (wordStart >= 0) {
-                position = wordStart + words[i].length();
-            }
-        }
-        
-        return Math.min(position, content.length());
-    }
 }
@@ -0,0 +1,58 @@
+package com.tekcode.parser.util;
+
+/**
+ * Non-cryptographic 64-bit hash of text, for telling content apart quickly.
+ *
+ * Four UTF-16 characters are mixed per step in the manner of MurmurHash3 and the result is
+ * finalized with its 64-bit avalanche. Stable across runs and JVMs.
+ */
+public final class FastHash {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private FastHash() {
+    }
+
+    public static long hash64(CharSequence text) {
+        int length = text.length();
+        long h = 0x9e3779b97f4a7c15L;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long k = text.charAt(i)
+                    | (long) text.charAt(i + 1) << 16
+                    | (long) text.charAt(i + 2) << 32
+                    | (long) text.charAt(i + 3) << 48;
+            h ^= mixKey(k);
+            h = Long.rotateLeft(h, 27) * 5 + 0x52dce729;
+        }
+        long k = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            k |= (long) text.charAt(i) << shift;
+        }
+        h ^= mixKey(k);
+        return finalizeHash(h ^ length);
+    }
+
+    /**
+     * The hash as 16 lower-case hex digits
+     */
+    public static String hex64(CharSequence text) {
+        String hex = Long.toHexString(hash64(text));
+        return "0000000000000000".substring(hex.length()) + hex;
+    }
+
+    private static long mixKey(long k) {
+        k *= C1;
+        k = Long.rotateLeft(k, 31);
+        return k * C2;
+    }
+
+    private static long finalizeHash(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ h >>> 33;
+    }
+}
@@ -1,5 +1,7 @@
 package com.tekcode.parser.util;
 
+import spoon.reflect.code.CtExecutableReferenceExpression;
+import spoon.reflect.code.CtLambda;
 import spoon.reflect.declaration.CtExecutable;
 import spoon.reflect.declaration.CtClass;
 import org.apache.commons.lang3.StringUtils;
@@ -71,6 +73,10 @@ public class IdGenerator {
      * @return unique method ID
      */
     public static String generateMethodId(String codebaseName, CtExecutable<?> executable) {
+        if (executable instanceof CtLambda) {
+            // Code inside a lambda belongs to the lambda node
+            return generateLambdaId(codebaseName, (CtLambda<?>) executable);
+        }
         String className = getContainingClassName(executable);
         String signature = executable.getSignature();
         
@@ -78,6 +84,45 @@ public class IdGenerator {
                sanitize(className) + "." + sanitize(signature);
     }
     
+    /**
+     * Generates a method ID from a declaring type name and signature, for methods
+     * known only through a reference (e.g. the target of a call)
+     *
+     * @param codebaseName the codebase name
+     * @param className the declaring type name
+     * @param signature the method signature, e.g. {@code find(java.lang.Long)}
+     * @return unique method ID, equal to the one generated for the declaration
+     */
+    public static String generateMethodId(String codebaseName, String className, String signature) {
+        return sanitize(codebaseName) + SEPARATOR + "method" + SEPARATOR +
+               sanitize(className) + "." + sanitize(signature);
+    }
+
+    /**
+     * Generates an ID for a lambda from its enclosing member and content, stable across
+     * edits elsewhere in the file
+     *
+     * @param codebaseName the codebase name
+     * @param lambda the lambda expression
+     * @return unique lambda ID
+     */
+    public static String generateLambdaId(String codebaseName, CtLambda<?> lambda) {
+        return sanitize(codebaseName) + SEPARATOR + "lambda" + SEPARATOR + sanitize(StableNames.lambdaName(lambda));
+    }
+
+    /**
+     * Generates an ID for a method reference from its enclosing member and content
+     *
+     * @param codebaseName the codebase name
+     * @param methodReference the method reference expression
+     * @return unique method reference ID
+     */
+    public static String generateMethodReferenceId(String codebaseName,
+                                                   CtExecutableReferenceExpression<?, ?> methodReference) {
+        return sanitize(codebaseName) + SEPARATOR + "methodref" + SEPARATOR +
+               sanitize(StableNames.methodReferenceName(methodReference));
+    }
+
     /**
      * Generates a unique ID for a field
      * 
@@ -232,14 +277,14 @@ public class IdGenerator {
     private static String getContainingClassName(CtExecutable<?> executable) {
         CtClass<?> parentClass = executable.getParent(CtClass.class);
         if (parentClass != null) {
-            return parentClass.getQualifiedName();
+            return StableNames.typeName(parentClass);
         }
         
         // Try to get from parent type
         if (executable.getParent() instanceof spoon.reflect.declaration.CtType) {
             spoon.reflect.declaration.CtType<?> parentType = 
                 (spoon.reflect.declaration.CtType<?>) executable.getParent();
-            return parentType.getQualifiedName();
+            return StableNames.typeName(parentType);
         }
         
         return UNKNOWN;
@@ -0,0 +1,140 @@
+package com.tekcode.parser.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Code, comment and blank line counts of a Java source file.
+ *
+ * Counted in one pass over the encoded bytes: all Java syntax that matters here is ASCII,
+ * and UTF-8 continuation bytes never look like ASCII. Block comments, string and character
+ * literals and text blocks are tracked across the scan, so {@code "//"} inside a string is
+ * code and lines inside a block comment are comments. A line holding any code is a code
+ * line, otherwise a comment line if it holds any comment, otherwise blank.
+ */
+public final class LineMetrics {
+
+    private static final int CODE = 0;
+    private static final int LINE_COMMENT = 1;
+    private static final int BLOCK_COMMENT = 2;
+    private static final int STRING = 3;
+    private static final int CHARACTER = 4;
+    private static final int TEXT_BLOCK = 5;
+
+    private int totalLines;
+    private int codeLines;
+    private int commentLines;
+    private int blankLines;
+
+    private LineMetrics() {
+    }
+
+    /**
+     * Scans the remaining bytes of the buffer without changing its position
+     */
+    public static LineMetrics scan(ByteBuffer content) {
+        LineMetrics metrics = new LineMetrics();
+        int state = CODE;
+        boolean code = false;
+        boolean comment = false;
+        boolean empty = true;
+
+        int end = content.limit();
+        int i = content.position();
+        // Byte order mark
+        if (end - i >= 3 && content.get(i) == (byte) 0xEF && content.get(i + 1) == (byte) 0xBB
+                && content.get(i + 2) == (byte) 0xBF) {
+            i += 3;
+        }
+        while (i < end) {
+            byte b = content.get(i);
+            if (b == '\n' || b == '\r') {
+                metrics.endLine(code, comment || state == BLOCK_COMMENT);
+                if (b == '\r' && i + 1 < end && content.get(i + 1) == '\n') {
+                    i++;
+                }
+                if (state == LINE_COMMENT || state == STRING || state == CHARACTER) {
+                    state = CODE;
+                }
+                code = state == TEXT_BLOCK;
+                comment = false;
+                empty = true;
+                i++;
+                continue;
+            }
+            empty = false;
+            boolean whitespace = b == ' ' || b == '\t' || b == '\f';
+            byte next = i + 1 < end ? content.get(i + 1) : 0;
+            switch (state) {
+                case LINE_COMMENT:
+                    break;
+                case BLOCK_COMMENT:
+                    comment = true;
+                    if (b == '*' && next == '/') {
+                        state = CODE;
+                        i++;
+                    }
+                    break;
+                case STRING:
+                case CHARACTER:
+                    if (b == '\\') {
+                        i++;
+                    } else if (b == (state == STRING ? '"' : '\'')) {
+                        state = CODE;
+                    }
+                    break;
+                case TEXT_BLOCK:
+                    code = true;
+                    if (b == '\\') {
+                        i++;
+                    } else if (b == '"' && next == '"' && i + 2 < end && content.get(i + 2) == '"') {
+                        state = CODE;
+                        i += 2;
+                    }
+                    break;
+                default:
+                    if (b == '/' && next == '/') {
+                        comment = true;
+                        state = LINE_COMMENT;
+                        i++;
+                    } else if (b == '/' && next == '*') {
+                        comment = true;
+                        state = BLOCK_COMMENT;
+                        i++;
+                    } else if (!whitespace) {
+                        code = true;
+                        if (b == '"' && next == '"' && i + 2 < end && content.get(i + 2) == '"') {
+                            state = TEXT_BLOCK;
+                            i += 2;
+                        } else if (b == '"') {
+                            state = STRING;
+                        } else if (b == '\'') {
+                            state = CHARACTER;
+                        }
+                    }
+                    break;
+            }
+            i++;
+        }
+        // A final line without a line break
+        if (!empty) {
+            metrics.endLine(code, comment || state == BLOCK_COMMENT);
+        }
+        return metrics;
+    }
+
+    private void endLine(boolean code, boolean comment) {
+        totalLines++;
+        if (code) {
+            codeLines++;
+        } else if (comment) {
+            commentLines++;
+        } else {
+            blankLines++;
+        }
+    }
+
+    public int getTotalLines() { return totalLines; }
+    public int getCodeLines() { return codeLines; }
+    public int getCommentLines() { return commentLines; }
+    public int getBlankLines() { return blankLines; }
+}
@@ -5,12 +5,19 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Utility class for path operations
  */
 public class PathUtils {
     
+    // Supported document extensions
+    private static final List<String> DOCUMENT_EXTENSIONS = Arrays.asList(
+        ".md", ".markdown", ".txt", ".rst", ".adoc", ".asciidoc", ".readme"
+    );
+    
     private PathUtils() {
         // Utility class - prevent instantiation
     }
@@ -182,6 +189,55 @@ public class PathUtils {
         return "java".equalsIgnoreCase(getFileExtension(path));
     }
     
+    /**
+     * Checks if a path names a documentation file (README, markdown, text, etc.)
+     * 
+     * @param path the file path
+     * @return true if it's a documentation file, false otherwise
+     */
+    public static boolean isDocumentFile(String path) {
+        String fileName = getFilename(path).toLowerCase();
+        
+        // README files with or without extension
+        if (fileName.equals("readme") || fileName.startsWith("readme.")) {
+            return true;
+        }
+        
+        return DOCUMENT_EXTENSIONS.stream().anyMatch(fileName::endsWith);
+    }
+    
+    /**
+     * Checks if a path names a Maven or Gradle build file
+     * 
+     * @param path the file path
+     * @return true if it's a build file, false otherwise
+     */
+    public static boolean isBuildFile(String path) {
+        String fileName = getFilename(path);
+        return fileName.equals("pom.xml") || fileName.equals("build.gradle") || fileName.equals("build.gradle.kts");
+    }
+    
+    /**
+     * Checks if a directory never holds project sources or documentation (VCS and IDE
+     * metadata, installed packages), so scans do not descend into it
+     * 
+     * @param name the directory name
+     * @return true if the directory is ignored, false otherwise
+     */
+    public static boolean isIgnoredDirectory(String name) {
+        return name.startsWith(".") || name.equals("node_modules");
+    }
+    
+    /**
+     * Checks if a directory holds build output; generated sources may live there, documentation does not
+     * 
+     * @param name the directory name
+     * @return true if it's a build output directory, false otherwise
+     */
+    public static boolean isBuildOutputDirectory(String name) {
+        return name.equals("target") || name.equals("build") || name.equals("dist");
+    }
+    
     /**
      * Checks if a path represents a test file based on common patterns
      * 
@@ -0,0 +1,83 @@
+package com.tekcode.parser.util;
+
+import java.util.Arrays;
+
+/**
+ * Source text of one compilation unit with an index of its line starts, so slices and line
+ * numbers of model elements come from the text the parser already holds.
+ */
+public final class SourceBuffer {
+
+    private final String text;
+    private final int[] lineStarts;
+
+    public SourceBuffer(String text) {
+        this.text = text;
+        int lines = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (isLineBreak(i)) {
+                lines++;
+            }
+        }
+        lineStarts = new int[lines];
+        int line = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (isLineBreak(i)) {
+                lineStarts[line++] = i + 1;
+            }
+        }
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * The exact text in {@code [start, end)}
+     */
+    public String slice(int start, int end) {
+        return text.substring(start, end);
+    }
+
+    /**
+     * Line number, from 1, of the character at an offset
+     */
+    public int lineOf(int offset) {
+        int index = Arrays.binarySearch(lineStarts, offset);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Offset of the first character of the line holding {@code offset}
+     */
+    public int lineStartOf(int offset) {
+        return lineStarts[lineOf(offset) - 1];
+    }
+
+    /**
+     * Start of the line holding {@code offset} if only indentation precedes it there, else the offset itself
+     */
+    public int indentedStartOf(int offset) {
+        int lineStart = lineStartOf(offset);
+        for (int i = lineStart; i < offset; i++) {
+            if (text.charAt(i) != ' ' && text.charAt(i) != '\t') {
+                return offset;
+            }
+        }
+        return lineStart;
+    }
+
+    /**
+     * Offset after the line break ending the line of {@code offset}, or the end of the text
+     */
+    public int lineEndAfter(int offset) {
+        int line = lineOf(offset);
+        return line < lineStarts.length ? lineStarts[line] : text.length();
+    }
+
+    // \r\n, \r and \n each end one line; the break belongs to the line it ends
+    private boolean isLineBreak(int i) {
+        char c = text.charAt(i);
+        return c == '\n' || (c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'));
+    }
+}
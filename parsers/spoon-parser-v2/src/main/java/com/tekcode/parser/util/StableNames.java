@@ -0,0 +1,231 @@
+package com.tekcode.parser.util;
+
+import spoon.reflect.code.CtExecutableReferenceExpression;
+import spoon.reflect.code.CtLambda;
+import spoon.reflect.declaration.CtAnonymousExecutable;
+import spoon.reflect.declaration.CtCompilationUnit;
+import spoon.reflect.declaration.CtConstructor;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtField;
+import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.declaration.CtPackage;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.declaration.CtTypeParameter;
+import spoon.reflect.declaration.ModifierKind;
+import spoon.reflect.visitor.CtScanner;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Names for unnamed code elements (lambdas, method references, anonymous and local classes)
+ * that survive unrelated edits.
+ *
+ * A name is the name of the enclosing scope, the kind of element and a short hash of its
+ * printed source, e.g. {@code com.acme.Orders.sort(java.util.List)/lambda-3f2a1c9b}.
+ * Scopes nest, so a lambda inside a lambda extends the outer lambda's name. Identical
+ * elements in the same scope get an ordinal suffix ({@code -2}, {@code -3}, ...). Compiler
+ * style positional names ({@code Orders$1}, counters) change whenever an earlier element is
+ * added; these names only change when the element itself or its enclosing member does.
+ *
+ * The names of a whole compilation unit are computed in one scan the first time one of them
+ * is asked for, and kept in the unit's metadata for the lifetime of the model.
+ */
+public final class StableNames {
+
+    private static final int HASH_LENGTH = 8;
+
+    private static final String NAMES_KEY = StableNames.class.getName();
+
+    private StableNames() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Stable name of a type; equal to the qualified name unless the type is, or is nested
+     * in, an anonymous or local class
+     */
+    public static String typeName(CtType<?> type) {
+        if (type.isAnonymous() || type.isLocalType()) {
+            return lookup(type);
+        }
+        CtType<?> declaringType = type.getDeclaringType();
+        if (declaringType != null) {
+            return typeName(declaringType) + "$" + type.getSimpleName();
+        }
+        return type.getQualifiedName();
+    }
+
+    /**
+     * Stable name of a lambda expression
+     */
+    public static String lambdaName(CtLambda<?> lambda) {
+        return lookup(lambda);
+    }
+
+    /**
+     * Stable name of a method reference expression
+     */
+    public static String methodReferenceName(CtExecutableReferenceExpression<?, ?> methodReference) {
+        return lookup(methodReference);
+    }
+
+    private static String lookup(CtElement element) {
+        String name = namesIn(element).get(element);
+        return name != null ? name : "unknown/" + shortHash(element.toString());
+    }
+
+    /**
+     * Names of all unnamed elements in the compilation unit of an element, scanned on first use
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<CtElement, String> namesIn(CtElement element) {
+        CtElement root = element;
+        while (root.isParentInitialized() && root.getParent() != null && !(root.getParent() instanceof CtPackage)) {
+            root = root.getParent();
+        }
+        // Elements without a source file are scanned from their outermost parent
+        CtElement holder = root;
+        List<? extends CtElement> roots = Collections.singletonList(root);
+        CtCompilationUnit unit = root.getPosition().getCompilationUnit();
+        if (unit != null) {
+            CtElement top = root;
+            if (unit.getDeclaredTypes().stream().anyMatch(type -> type == top)) {
+                holder = unit;
+                roots = unit.getDeclaredTypes();
+            }
+        }
+
+        synchronized (holder) {
+            Map<CtElement, String> names = (Map<CtElement, String>) holder.getMetadata(NAMES_KEY);
+            if (names == null) {
+                NameScanner scanner = new NameScanner();
+                roots.forEach(scanner::scan);
+                names = scanner.names;
+                holder.putMetadata(NAMES_KEY, names);
+            }
+            return names;
+        }
+    }
+
+    /**
+     * Names unnamed elements in one pass, tracking enclosing scopes on a stack. Ordinals of
+     * identical elements follow scan order within their scope.
+     */
+    private static final class NameScanner extends CtScanner {
+        private final Map<CtElement, String> names = new IdentityHashMap<>();
+        private final Deque<Scope> scopes = new ArrayDeque<>();
+        private final Deque<String> types = new ArrayDeque<>();
+
+        @Override
+        protected void enter(CtElement element) {
+            if (element instanceof CtLambda) {
+                String name = unnamed(element, "lambda");
+                scopes.push(new Scope(name));
+            } else if (element instanceof CtExecutableReferenceExpression) {
+                unnamed(element, "ref");
+            } else if (element instanceof CtType && !(element instanceof CtTypeParameter)) {
+                CtType<?> type = (CtType<?>) element;
+                String name;
+                if (type.isAnonymous()) {
+                    name = unnamed(type, "anon");
+                } else if (type.isLocalType()) {
+                    name = scopeName() + "/" + type.getSimpleName();
+                    names.put(type, name);
+                } else if (type.getDeclaringType() != null && !types.isEmpty()) {
+                    name = types.peek() + "$" + type.getSimpleName();
+                } else {
+                    name = type.getQualifiedName();
+                }
+                types.push(name);
+                scopes.push(new Scope(name));
+            } else if (isMember(element)) {
+                scopes.push(new Scope(memberName(element)));
+            }
+        }
+
+        @Override
+        protected void exit(CtElement element) {
+            if (element instanceof CtLambda || isMember(element)) {
+                scopes.pop();
+            } else if (element instanceof CtType && !(element instanceof CtTypeParameter)) {
+                scopes.pop();
+                types.pop();
+            }
+        }
+
+        /**
+         * Names an element by its scope, kind and printed source; identical elements
+         * in one scope are told apart by source order
+         */
+        private String unnamed(CtElement element, String kind) {
+            String printed = element.toString();
+            String name = scopeName() + "/" + kind + "-" + shortHash(printed);
+            Scope scope = scopes.peek();
+            if (scope != null) {
+                int ordinal = scope.seen.merge(element.getClass().getName() + "\0" + printed, 1, Integer::sum);
+                if (ordinal > 1) {
+                    name += "-" + ordinal;
+                }
+            }
+            names.put(element, name);
+            return name;
+        }
+
+        private String scopeName() {
+            return scopes.isEmpty() ? "unknown" : scopes.peek().name;
+        }
+
+        private String memberName(CtElement member) {
+            String owner = types.isEmpty() ? "unknown" : types.peek();
+            if (member instanceof CtMethod) {
+                return owner + "." + ((CtMethod<?>) member).getSignature();
+            }
+            if (member instanceof CtConstructor) {
+                return owner + "." + ((CtConstructor<?>) member).getSignature();
+            }
+            if (member instanceof CtField) {
+                return owner + "." + ((CtField<?>) member).getSimpleName();
+            }
+            return owner + (((CtAnonymousExecutable) member).hasModifier(ModifierKind.STATIC) ? ".<clinit>" : ".<init>");
+        }
+
+        private static boolean isMember(CtElement element) {
+            return element instanceof CtMethod || element instanceof CtConstructor
+                || element instanceof CtField || element instanceof CtAnonymousExecutable;
+        }
+    }
+
+    /**
+     * An enclosing scope and the unnamed elements seen in it so far
+     */
+    private static final class Scope {
+        private final String name;
+        private final Map<String, Integer> seen = new HashMap<>();
+
+        Scope(String name) {
+            this.name = name;
+        }
+    }
+
+    private static String shortHash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(HASH_LENGTH);
+            for (int i = 0; i < HASH_LENGTH / 2; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+}
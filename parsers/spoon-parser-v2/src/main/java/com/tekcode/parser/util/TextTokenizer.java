@@ -0,0 +1,127 @@
+package com.tekcode.parser.util;
+
+/**
+ * Single-pass tokenizer that splits streamed text into words, sentences or paragraphs and
+ * reports each with its exact character range.
+ *
+ * Units are separated by whitespace runs: every run for words, runs following {@code .},
+ * {@code !} or {@code ?} for sentences, and runs holding a blank line for paragraphs.
+ * Whitespace inside a sentence or paragraph is kept. Each character is looked at once, so
+ * tokenizing is linear in the length of the text.
+ */
+public final class TextTokenizer {
+
+    /**
+     * What a token is
+     */
+    public enum Unit { WORD, SENTENCE, PARAGRAPH }
+
+    /**
+     * Receives tokens in text order
+     */
+    @FunctionalInterface
+    public interface SpanConsumer {
+        /**
+         * @param text the token, without surrounding separators
+         * @param start offset of its first character
+         * @param end offset after its last character
+         */
+        void accept(String text, int start, int end);
+    }
+
+    private final Unit unit;
+    private final SpanConsumer consumer;
+
+    private final StringBuilder token = new StringBuilder();
+    private int tokenStart;
+    private int tokenEnd;
+    private final StringBuilder whitespace = new StringBuilder();
+    private int newlinesInWhitespace;
+    private char lastContentChar;
+    private int position;
+
+    public TextTokenizer(Unit unit, SpanConsumer consumer) {
+        this.unit = unit;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Feeds the next character of the text
+     */
+    public void accept(char c) {
+        if (isWhitespace(c)) {
+            if (token.length() > 0) {
+                // A word ends at any whitespace; other units only know at the next content character
+                if (unit == Unit.WORD) {
+                    finishToken();
+                } else {
+                    whitespace.append(c);
+                    if (c == '\n') {
+                        newlinesInWhitespace++;
+                    }
+                }
+            }
+        } else {
+            if (whitespace.length() > 0) {
+                if (isSeparator()) {
+                    finishToken();
+                } else {
+                    token.append(whitespace);
+                }
+                whitespace.setLength(0);
+                newlinesInWhitespace = 0;
+            }
+            if (token.length() == 0) {
+                tokenStart = position;
+            }
+            token.append(c);
+            tokenEnd = position + 1;
+            lastContentChar = c;
+        }
+        position++;
+    }
+
+    /**
+     * Feeds a range of characters
+     */
+    public void accept(char[] chars, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            accept(chars[i]);
+        }
+    }
+
+    /**
+     * Ends the text, reporting the last token; trailing whitespace belongs to no token
+     */
+    public void finish() {
+        if (token.length() > 0) {
+            finishToken();
+        }
+        whitespace.setLength(0);
+        newlinesInWhitespace = 0;
+    }
+
+    /**
+     * Same set as {@code \s} in regular expressions
+     */
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private boolean isSeparator() {
+        switch (unit) {
+            case SENTENCE:
+                return lastContentChar == '.' || lastContentChar == '!' || lastContentChar == '?';
+            case PARAGRAPH:
+                return newlinesInWhitespace >= 2;
+            default:
+                return true;
+        }
+    }
+
+    private void finishToken() {
+        String text = token.toString();
+        token.setLength(0);
+        consumer.accept(text, tokenStart, tokenEnd);
+    }
+}
@@ -0,0 +1,286 @@
+package com.tekcode.parser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Subword vocabulary of an embedding model, compiled into a trie for counting tokens.
+ *
+ * Reads a WordPiece {@code vocab.txt} (one token per line, continuations prefixed {@code ##}),
+ * a BPE {@code vocab.json} ({@code {"token": id}}) or a {@code tokenizer.json} holding either.
+ * Text is split at whitespace and punctuation, then each word is matched greedily, longest
+ * piece first. That is exactly how WordPiece tokenizes; for BPE it approximates the merges.
+ */
+public final class TokenVocabulary {
+
+    /** BERT replaces words longer than this with a single unknown token */
+    private static final int MAX_WORD_LENGTH = 100;
+
+    /** Marks a word-initial piece in byte-level BPE vocabularies */
+    private static final String BPE_WORD_PREFIX = "Ġ";
+
+    // Trie nodes; the children of node n are childLabel/childNode[childStart[n], childStart[n + 1])
+    private final int[] childStart;
+    private final char[] childLabel;
+    private final int[] childNode;
+    private final boolean[] terminal;
+
+    private final boolean wordPiece;
+    private final boolean lowercase;
+    private final int wordStartNode;
+    private final int continuationNode;
+    private final int size;
+
+    private TokenVocabulary(List<String> tokens, String continuationPrefix, Boolean lowercase) {
+        boolean bpeWordPrefix = false;
+        boolean upperCase = false;
+        for (String token : tokens) {
+            bpeWordPrefix |= token.startsWith(BPE_WORD_PREFIX);
+            if (isSpecialToken(token)) {
+                // [PAD], [UNK], <s>... are upper case even in uncased vocabularies
+                continue;
+            }
+            for (int i = 0; i < token.length() && !upperCase; i++) {
+                upperCase = Character.isUpperCase(token.charAt(i));
+            }
+        }
+        this.wordPiece = continuationPrefix != null;
+        // Uncased vocabularies expect lower-cased input
+        this.lowercase = lowercase != null ? lowercase : !upperCase;
+        this.size = tokens.size();
+
+        Builder root = new Builder();
+        int nodeCount = 1;
+        for (String token : tokens) {
+            Builder node = root;
+            for (int i = 0; i < token.length(); i++) {
+                Builder child = node.children.get(token.charAt(i));
+                if (child == null) {
+                    child = new Builder();
+                    node.children.put(token.charAt(i), child);
+                    nodeCount++;
+                }
+                node = child;
+            }
+            node.terminal = true;
+        }
+
+        // Flatten breadth-first; each node's children get consecutive numbers in label order
+        childStart = new int[nodeCount + 1];
+        childLabel = new char[nodeCount];
+        childNode = new int[nodeCount];
+        terminal = new boolean[nodeCount];
+        ArrayDeque<Builder> queue = new ArrayDeque<>();
+        queue.add(root);
+        int next = 1;
+        int index = 0;
+        while (!queue.isEmpty()) {
+            Builder node = queue.poll();
+            terminal[index] = node.terminal;
+            childStart[index] = next - 1;
+            for (Map.Entry<Character, Builder> child : node.children.entrySet()) {
+                childLabel[next - 1] = child.getKey();
+                childNode[next - 1] = next;
+                next++;
+                queue.add(child.getValue());
+            }
+            index++;
+        }
+        childStart[nodeCount] = next - 1;
+
+        this.wordStartNode = bpeWordPrefix ? walk(0, BPE_WORD_PREFIX) : 0;
+        this.continuationNode = wordPiece ? walk(0, continuationPrefix) : 0;
+    }
+
+    /**
+     * Loads a vocabulary file; {@code .json} files are read as BPE {@code vocab.json} or
+     * {@code tokenizer.json}, anything else as a WordPiece {@code vocab.txt}
+     */
+    public static TokenVocabulary load(Path file) throws IOException {
+        if (!file.getFileName().toString().toLowerCase().endsWith(".json")) {
+            List<String> tokens = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        tokens.add(line);
+                    }
+                }
+            }
+            return new TokenVocabulary(tokens, "##", null);
+        }
+
+        JsonNode json = new ObjectMapper().readTree(file.toFile());
+        JsonNode model = json.path("model");
+        JsonNode vocab = model.isObject() ? model.path("vocab") : json;
+        if (!vocab.isObject()) {
+            throw new IOException("No token vocabulary in " + file);
+        }
+        String continuationPrefix = null;
+        if ("WordPiece".equals(model.path("type").asText())) {
+            continuationPrefix = model.path("continuing_subword_prefix").asText("##");
+        }
+        List<String> tokens = new ArrayList<>(vocab.size());
+        vocab.fieldNames().forEachRemaining(tokens::add);
+        return new TokenVocabulary(tokens, continuationPrefix, lowercases(json.path("normalizer")));
+    }
+
+    /**
+     * Whether a {@code tokenizer.json} normalizer lower-cases its input, or null if it
+     * does not say
+     */
+    private static Boolean lowercases(JsonNode normalizer) {
+        switch (normalizer.path("type").asText()) {
+            case "BertNormalizer":
+                return normalizer.path("lowercase").asBoolean(true);
+            case "Lowercase":
+                return true;
+            case "Sequence":
+                Boolean result = null;
+                for (JsonNode step : normalizer.path("normalizers")) {
+                    Boolean lowercase = lowercases(step);
+                    if (lowercase != null) {
+                        result = result == Boolean.TRUE || lowercase;
+                    }
+                }
+                return result;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Control tokens such as {@code [CLS]} or {@code <s>}, which never match text
+     */
+    private static boolean isSpecialToken(String token) {
+        int last = token.length() - 1;
+        return last > 0 && ((token.charAt(0) == '[' && token.charAt(last) == ']')
+            || (token.charAt(0) == '<' && token.charAt(last) == '>'));
+    }
+
+    /**
+     * Number of tokens in the vocabulary
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Counts the tokens the model would see for the text
+     */
+    public int countTokens(CharSequence text) {
+        int tokens = 0;
+        int wordStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (TextTokenizer.isWhitespace(c) || isPunctuation(c)) {
+                if (wordStart >= 0) {
+                    tokens += countWord(text, wordStart, i);
+                    wordStart = -1;
+                }
+                if (isPunctuation(c)) {
+                    tokens += countWord(text, i, i + 1);
+                }
+            } else if (wordStart < 0) {
+                wordStart = i;
+            }
+        }
+        return tokens;
+    }
+
+    private int countWord(CharSequence text, int start, int end) {
+        if (end - start > MAX_WORD_LENGTH) {
+            return 1;
+        }
+        int tokens = 0;
+        int position = start;
+        while (position < end) {
+            int node = position == start ? wordStartNode : continuationNode;
+            int matchEnd = -1;
+            for (int i = position; i < end && node >= 0; i++) {
+                node = child(node, lowercase ? Character.toLowerCase(text.charAt(i)) : text.charAt(i));
+                if (node >= 0 && terminal[node]) {
+                    matchEnd = i + 1;
+                }
+            }
+            if (matchEnd < 0) {
+                if (wordPiece) {
+                    // WordPiece gives up on the whole word
+                    return 1;
+                }
+                // Byte-level BPE always falls back to single bytes
+                tokens += utf8Length(text.charAt(position));
+                position++;
+            } else {
+                tokens++;
+                position = matchEnd;
+            }
+        }
+        return tokens;
+    }
+
+    private int child(int node, char label) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (childLabel[mid] < label) {
+                low = mid + 1;
+            } else if (childLabel[mid] > label) {
+                high = mid - 1;
+            } else {
+                return childNode[mid];
+            }
+        }
+        return -1;
+    }
+
+    private int walk(int node, String prefix) {
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            node = child(node, prefix.charAt(i));
+        }
+        // A prefix the vocabulary does not use matches nothing after the first piece
+        return node >= 0 ? node : 0;
+    }
+
+    private static int utf8Length(char c) {
+        return c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isSurrogate(c) ? 2 : 3;
+    }
+
+    /**
+     * Same punctuation as the BERT basic tokenizer
+     */
+    private static boolean isPunctuation(char c) {
+        if ((c >= 33 && c <= 47) || (c >= 58 && c <= 64) || (c >= 91 && c <= 96) || (c >= 123 && c <= 126)) {
+            return true;
+        }
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static final class Builder {
+        final TreeMap<Character, Builder> children = new TreeMap<>();
+        boolean terminal;
+    }
+}
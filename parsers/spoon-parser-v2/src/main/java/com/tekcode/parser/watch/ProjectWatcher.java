@@ -0,0 +1,246 @@
+package com.tekcode.parser.watch;
+
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.core.ParsingEngine;
+import com.tekcode.parser.delta.ParseDelta;
+import com.tekcode.parser.delta.ResultEntities;
+import com.tekcode.parser.index.FileDependencyIndex;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.source.DirectorySource;
+import com.tekcode.parser.util.PathUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a parse of a local checkout current while it is edited.
+ *
+ * File events are debounced into batches. Each batch re-extracts only the compilation units
+ * impacted by the changed files (per the dependency index of the previous parse) and emits
+ * the added, modified and removed entities and relationships as a {@link ParseDelta}.
+ * Build file changes, or lost events, trigger a full re-extraction.
+ */
+public class ProjectWatcher implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectWatcher.class);
+
+    private final String codebaseName;
+    private final Path root;
+    private final ParserConfig config;
+    private final Consumer<ParseDelta> sink;
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    // Current entities by owning file, as of the last emitted delta
+    private final Map<String, Map<String, ResultEntities.Entry>> entitiesByOwner = new HashMap<>();
+    private FileDependencyIndex dependencyIndex;
+    private long sequence;
+
+    public ProjectWatcher(String codebaseName, Path root, ParserConfig config, Consumer<ParseDelta> sink) throws IOException {
+        this.codebaseName = codebaseName;
+        this.root = root.toAbsolutePath().normalize();
+        this.config = config;
+        this.sink = sink;
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Parses the whole project, emits it as delta 0 and processes file events until the
+     * thread is interrupted or the watcher is closed
+     */
+    public void run() throws IOException {
+        registerTree(root);
+        parseAll();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<String> changedPaths = new TreeSet<>();
+                boolean overflow = awaitBatch(changedPaths);
+                if (overflow) {
+                    parseAll();
+                } else if (!changedPaths.isEmpty()) {
+                    processChanges(changedPaths);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Watch service closed");
+        }
+    }
+
+    /**
+     * Re-extracts the whole project and emits everything that changed
+     */
+    public ParseDelta parseAll() throws IOException {
+        return emit(null, null);
+    }
+
+    /**
+     * Re-extracts the files impacted by the given changed paths (relative to the root) and
+     * emits the resulting delta
+     */
+    public ParseDelta processChanges(Set<String> changedPaths) throws IOException {
+        boolean buildFileChanged = changedPaths.stream().anyMatch(PathUtils::isBuildFile);
+        if (dependencyIndex == null || buildFileChanged) {
+            // Dependencies and frameworks shape every entity
+            return emit(new ArrayList<>(changedPaths), null);
+        }
+        Set<String> changedSources = new TreeSet<>();
+        changedPaths.stream().filter(PathUtils::isJavaFile).forEach(changedSources::add);
+        return emit(new ArrayList<>(changedPaths), dependencyIndex.impactedBy(changedSources));
+    }
+
+    private ParseDelta emit(List<String> changedPaths, Set<String> impactedFiles) throws IOException {
+        long start = System.nanoTime();
+        ParsingEngine engine = new ParsingEngine(codebaseName, new DirectorySource(root), config);
+        engine.setImpactedFiles(impactedFiles);
+        ParseResult result = engine.parse();
+        engine.saveSnapshot();
+        dependencyIndex = engine.getDependencyIndex();
+
+        // Owners whose entities this result replaces; project-level entities are always re-extracted
+        Set<String> replacedOwners = new HashSet<>();
+        if (impactedFiles == null) {
+            replacedOwners.addAll(entitiesByOwner.keySet());
+        } else {
+            replacedOwners.addAll(impactedFiles);
+        }
+        replacedOwners.add(ResultEntities.PROJECT_OWNER);
+
+        Map<String, ResultEntities.Entry> before = new HashMap<>();
+        for (String owner : replacedOwners) {
+            Map<String, ResultEntities.Entry> entities = entitiesByOwner.remove(owner);
+            if (entities != null) {
+                before.putAll(entities);
+            }
+        }
+        Map<String, ResultEntities.Entry> after = new HashMap<>();
+        for (ResultEntities.Entry entry : ResultEntities.collect(result)) {
+            if (after.putIfAbsent(entry.id, entry) == null) {
+                entitiesByOwner.computeIfAbsent(entry.owner, owner -> new HashMap<>()).put(entry.id, entry);
+            }
+        }
+
+        ParseDelta delta = new ParseDelta();
+        delta.setCodebaseName(codebaseName);
+        delta.setSequence(sequence++);
+        delta.setChangedFiles(changedPaths);
+        delta.setImpactedFiles(impactedFiles != null ? new ArrayList<>(impactedFiles) : null);
+        for (ResultEntities.Entry entry : after.values()) {
+            ResultEntities.Entry previous = before.get(entry.id);
+            if (previous == null) {
+                delta.getAdded().add(entry.toChange(true));
+            } else if (!previous.contentHash.equals(entry.contentHash)) {
+                delta.getModified().add(entry.toChange(true));
+            }
+        }
+        for (ResultEntities.Entry entry : before.values()) {
+            if (!after.containsKey(entry.id)) {
+                delta.getRemoved().add(entry.toChange(false));
+            }
+        }
+
+        logger.info("Delta {}: {} added, {} modified, {} removed from {} files in {} ms", delta.getSequence(),
+                   delta.getAdded().size(), delta.getModified().size(), delta.getRemoved().size(),
+                   impactedFiles != null ? impactedFiles.size() : "all", (System.nanoTime() - start) / 1_000_000);
+        sink.accept(delta);
+        return delta;
+    }
+
+    /**
+     * Waits for the first event, then collects further events until none arrives for the
+     * debounce period. Returns true if events were lost.
+     */
+    private boolean awaitBatch(Set<String> changedPaths) throws InterruptedException, IOException {
+        WatchKey key = watchService.take();
+        boolean overflow = false;
+        while (key != null) {
+            overflow |= drain(key, changedPaths);
+            key = watchService.poll(config.getWatchDebounceMs(), TimeUnit.MILLISECONDS);
+        }
+        return overflow;
+    }
+
+    private boolean drain(WatchKey key, Set<String> changedPaths) throws IOException {
+        Path directory = watchedDirectories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                // Files created together with the directory raise no events of their own
+                registerTree(path);
+                try (var files = Files.walk(path)) {
+                    files.filter(Files::isRegularFile).forEach(file -> changedPaths.add(relativize(file)));
+                }
+            } else if (!isSkipped(path.getFileName().toString())) {
+                changedPaths.add(relativize(path));
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+        changedPaths.removeIf(path -> !PathUtils.isJavaFile(path) && !PathUtils.isBuildFile(path)
+                && !PathUtils.isDocumentFile(path));
+        return overflow;
+    }
+
+    private void registerTree(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(root) && isSkipped(dir.getFileName().toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Hidden entries and build output directories are not watched
+     */
+    private static boolean isSkipped(String name) {
+        return PathUtils.isIgnoredDirectory(name) || PathUtils.isBuildOutputDirectory(name);
+    }
+
+    private String relativize(Path path) {
+        return PathUtils.normalizePath(root.relativize(path).toString());
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
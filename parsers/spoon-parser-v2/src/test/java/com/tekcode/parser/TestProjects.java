@@ -0,0 +1,48 @@
+package com.tekcode.parser;
+
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.ParseResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Small sample projects shared by tests that need a parsed codebase
+ */
+public final class TestProjects {
+
+    private TestProjects() {
+    }
+
+    /**
+     * Writes a project of {@code count} services in package {@code p}, each calling the next
+     * one round a ring, and a README. The sources hold quotes, commas, non-ASCII text,
+     * varargs, annotations, lambdas and method references.
+     */
+    public static Path writeServiceRing(Path project, int count) throws IOException {
+        Path src = project.resolve("src/main/java/p");
+        Files.createDirectories(src);
+        for (int i = 0; i < count; i++) {
+            Files.writeString(src.resolve("Service" + i + ".java"), "package p;\nimport java.util.List;\n"
+                + "/** Service \"" + i + "\", calls the next one */\n"
+                + "public class Service" + i + " implements Runnable {\n"
+                + "  private Service" + ((i + 1) % count) + " next;\n  private List<String> names;\n"
+                + "  public void run() { next.run(); names.forEach(System.out::println); }\n"
+                + "  public int run(final int n, String... names) {\n    return next.run(n - 1) + " + i + ";\n  }\n"
+                + "  @Deprecated public String name() {\n    return \"service-" + i + "\";\n  }\n"
+                + "  public String label() { return \"service-\\u00e9\"; }\n"
+                + "  public int size() { return names.size() + " + i + "; }\n}\n");
+        }
+        Files.writeString(project.resolve("README.md"), "# Services\n\n" + count + " services that call each other.\n");
+        return project;
+    }
+
+    /**
+     * Writes the service ring and parses it as codebase {@code shop}
+     */
+    public static ParseResult parseServiceRing(Path project, int count, ParserConfig config) throws IOException {
+        writeServiceRing(project, count);
+        return SpoonParserV2.parseJavaProject("shop", project.toString(), config);
+    }
+}
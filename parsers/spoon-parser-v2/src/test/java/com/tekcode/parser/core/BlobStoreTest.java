@@ -0,0 +1,138 @@
+package com.tekcode.parser.core;
+
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.BlobRef;
+import com.tekcode.parser.model.FileNode;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that bodies and sources are stored once by content and resolve through the reader
+ */
+class BlobStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testContentIsStoredOnceAcrossRuns() throws IOException {
+        Path file = tempDir.resolve("blobs/result.blobs");
+        BlobRef first;
+        BlobRef second;
+        try (BlobStore store = BlobStore.open(file)) {
+            first = store.put("{ return 1; }");
+            assertSame(first, store.put("{ return 1; }"));
+            second = store.put("{ return \"Grüße\"; }");
+            assertEquals(2, store.getBlobCount());
+        }
+        long size = Files.size(file);
+
+        try (BlobStore store = BlobStore.open(file)) {
+            BlobRef again = store.put("{ return 1; }");
+            assertEquals(first.getOffset(), again.getOffset());
+            assertEquals(first.getHash(), again.getHash());
+        }
+        assertEquals(size, Files.size(file));
+
+        try (BlobReader reader = BlobReader.open(file)) {
+            assertEquals("{ return 1; }", reader.read(first));
+            assertEquals("{ return \"Grüße\"; }", reader.read(second));
+            assertTrue(reader.verify(second));
+            assertFalse(reader.verify(new BlobRef(first.getHash(), second.getOffset(), second.getLength())));
+        }
+    }
+
+    @Test
+    void testFileIdSurvivesReopenButNotRecreation() throws IOException {
+        Path file = tempDir.resolve("result.blobs");
+        String id;
+        try (BlobStore store = BlobStore.open(file)) {
+            id = store.getFileId();
+            assertEquals(32, id.length());
+            // A second writer would append over the first one's records
+            assertThrows(IOException.class, () -> BlobStore.open(file));
+        }
+        try (BlobStore store = BlobStore.open(file)) {
+            assertEquals(id, store.getFileId());
+        }
+
+        Files.delete(file);
+        try (BlobStore store = BlobStore.open(file)) {
+            assertNotEquals(id, store.getFileId());
+        }
+    }
+
+    @Test
+    void testIncompleteRecordIsDropped() throws IOException {
+        Path file = tempDir.resolve("result.blobs");
+        BlobRef kept;
+        try (BlobStore store = BlobStore.open(file)) {
+            kept = store.put("kept");
+            store.put("cut short by a crash");
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 5);
+        }
+
+        try (BlobStore store = BlobStore.open(file)) {
+            assertEquals(1, store.getBlobCount());
+            BlobRef rewritten = store.put("cut short by a crash");
+            assertEquals(kept.getOffset() + kept.getLength() + BlobStore.RECORD_HEADER_SIZE, rewritten.getOffset());
+        }
+        try (BlobReader reader = BlobReader.open(file)) {
+            assertEquals("kept", reader.read(kept));
+        }
+    }
+
+    @Test
+    void testParsedBodiesAndSourcesAreReferenced() throws IOException {
+        Path src = tempDir.resolve("project/src/main/java/p");
+        Files.createDirectories(src);
+        // Generated-style code: the same accessor bodies repeated in every class
+        for (int i = 0; i < 6; i++) {
+            Files.writeString(src.resolve("Dto" + i + ".java"), "package p;\npublic class Dto" + i + " {\n"
+                + "  private String value;\n  public String getValue() { return value; }\n"
+                + "  public void setValue(String value) { this.value = value; }\n"
+                + "  public int id() { return " + i + "; }\n}\n");
+        }
+        Path blobFile = tempDir.resolve("result.blobs");
+        ParserConfig config = ParserConfig.defaultConfig();
+        config.setIncludeMethodBodies(true);
+        config.setIncludeSourceCode(true);
+        config.setBlobFile(blobFile.toString());
+
+        ParseResult result = SpoonParserV2.parseJavaProject("shop", tempDir.resolve("project").toString(), config);
+
+        Set<String> hashes = new HashSet<>();
+        try (BlobReader reader = BlobReader.open(blobFile)) {
+            for (MethodNode method : result.getMethods()) {
+                assertNull(method.getBody());
+                assertNotNull(method.getBodyRef(), method.getId());
+                if (method.getName().equals("id")) {
+                    assertTrue(reader.read(method.getBodyRef()).contains("return"));
+                }
+                hashes.add(method.getBodyRef().getHash());
+            }
+            for (FileNode file : result.getFiles()) {
+                assertNull(file.getSourceCode());
+                assertTrue(reader.read(file.getSourceCodeRef()).contains("public class " + file.getFileName().replace(".java", "")));
+                assertTrue(reader.verify(file.getSourceCodeRef()));
+            }
+        }
+        assertEquals(24, result.getMethods().size());
+        // Six distinct id() bodies, and one each for the shared getter, setter and default constructor
+        assertEquals(9, hashes.size());
+    }
+}
@@ -0,0 +1,89 @@
+package com.tekcode.parser.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.TestProjects;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.Relationship;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that canonical output is byte-identical across runs and thread counts
+ */
+class CanonicalOrderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testOutputIsIdenticalAcrossThreadCounts() throws IOException {
+        Path project = writeProject();
+        byte[] sequential = parseToBytes(project, "sequential", false, 1);
+        byte[] parallel = parseToBytes(project, "parallel", true, 8);
+        byte[] again = parseToBytes(project, "again", true, 3);
+
+        assertTrue(sequential.length > 0);
+        assertArrayEquals(sequential, parallel);
+        assertArrayEquals(sequential, again);
+    }
+
+    @Test
+    void testShuffledResultSortsBackToSameOrder() throws IOException {
+        Path project = writeProject();
+        ParserConfig config = ParserConfig.defaultConfig();
+        config.setCanonicalOutput(true);
+        ParseResult result = SpoonParserV2.parseJavaProject("shop", project.toString(), config);
+        ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        String expected = mapper.writeValueAsString(result);
+
+        assertNull(result.getMetadata().getParseTime());
+        assertSorted(result.getRelationships().stream().map(Relationship::getId).toArray(String[]::new));
+        assertSorted(result.getMethods().stream().map(MethodNode::getId).toArray(String[]::new));
+
+        Random random = new Random(42);
+        Collections.shuffle(result.getMethods(), random);
+        Collections.shuffle(result.getRelationships(), random);
+        Collections.shuffle(result.getFiles(), random);
+        CanonicalOrder.apply(result);
+
+        assertEquals(expected, mapper.writeValueAsString(result));
+    }
+
+    private static void assertSorted(String[] ids) {
+        // Entries without an ID come first
+        Comparator<String> order = Comparator.nullsFirst(Comparator.naturalOrder());
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(order.compare(ids[i - 1], ids[i]) <= 0, ids[i - 1] + " > " + ids[i]);
+        }
+    }
+
+    private byte[] parseToBytes(Path project, String name, boolean parallel, int threads) throws IOException {
+        Path configFile = tempDir.resolve(name + "-config.json");
+        Files.writeString(configFile, "{\"canonicalOutput\": true, \"enableParallelProcessing\": " + parallel
+            + ", \"maxThreads\": " + threads + ", \"includeMethodBodies\": true}");
+        Path output = tempDir.resolve(name + ".json");
+        SpoonParserV2.main(new String[]{"shop", project.toString(), output.toString(), configFile.toString()});
+        return Files.readAllBytes(output);
+    }
+
+    private Path writeProject() throws IOException {
+        return TestProjects.writeServiceRing(tempDir.resolve("project"), 20);
+    }
+}
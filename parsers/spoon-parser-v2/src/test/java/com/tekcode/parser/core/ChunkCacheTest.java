@@ -0,0 +1,93 @@
+package com.tekcode.parser.core;
+
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.DocumentChunk;
+import com.tekcode.parser.model.DocumentNode;
+import com.tekcode.parser.processor.DocumentProcessor;
+import com.tekcode.parser.source.DirectorySource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests flagging and omitting document chunks that did not change since the previous run
+ */
+class ChunkCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path projectDir;
+    private String guide;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectDir = tempDir.resolve("docs");
+        StringBuilder text = new StringBuilder("# Guide\n\n");
+        for (int i = 0; i < 400; i++) {
+            text.append("Step ").append(i).append(" moves order ").append(i * 31 % 97).append(" along.\n");
+        }
+        guide = text.toString();
+        write("guide.md", guide);
+        write("notes.txt", "Release notes. ".repeat(300));
+    }
+
+    @Test
+    void testUnchangedChunksAreFlagged() throws IOException {
+        DocumentProcessor.DocumentProcessingResult first = process(false);
+        assertTrue(first.chunks.stream().noneMatch(DocumentChunk::getUnchanged));
+        assertTrue(Files.isRegularFile(tempDir.resolve("chunks.json")));
+
+        // An edit near the top only changes the chunks around it
+        write("guide.md", guide.replace("Step 3 moves", "Step 3 carefully moves"));
+        DocumentProcessor.DocumentProcessingResult second = process(false);
+
+        List<DocumentChunk> changed = second.chunks.stream()
+            .filter(chunk -> !chunk.getUnchanged()).collect(Collectors.toList());
+        assertFalse(changed.isEmpty());
+        assertTrue(changed.size() <= 2);
+        assertTrue(changed.stream().allMatch(chunk -> chunk.getDocumentId().endsWith("guide.md")));
+        assertTrue(changed.get(0).getContent().contains("carefully"));
+    }
+
+    @Test
+    void testUnchangedChunksCanBeOmitted() throws IOException {
+        process(false);
+        write("notes.txt", "Release notes. ".repeat(300) + "Known issue: none.");
+
+        DocumentProcessor.DocumentProcessingResult second = process(true);
+
+        assertEquals(1, second.chunks.size());
+        assertEquals(1, second.relationships.size());
+        assertTrue(second.chunks.get(0).getContent().endsWith("none."));
+        DocumentNode notes = second.documents.stream()
+            .filter(document -> document.getPath().equals("notes.txt")).findFirst().orElseThrow();
+        assertTrue(notes.getTotalChunks() > 1);
+    }
+
+    private DocumentProcessor.DocumentProcessingResult process(boolean omitUnchanged) {
+        ParserConfig config = new ParserConfig();
+        config.setDocumentChunkStrategy("content-defined");
+        config.setDocumentChunkSize(512);
+        config.setChunkCacheFile(tempDir.resolve("chunks.json").toString());
+        config.setOmitUnchangedChunks(omitUnchanged);
+        ParsingContext context = new ParsingContext("docs", config, new DirectorySource(projectDir));
+        DocumentProcessor.DocumentProcessingResult result = new DocumentProcessor(context).processDocuments();
+        assertEquals(0, context.getErrorCount());
+        return result;
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,168 @@
+package com.tekcode.parser.delta;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the streaming delta between two parse output files
+ */
+class ResultDiffTest {
+
+    private static final String ORDER = "src/main/java/com/acme/Order.java";
+    private static final String CLOCK = "src/main/java/com/acme/util/Clock.java";
+
+    @TempDir
+    Path tempDir;
+
+    private Path projectDir;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectDir = tempDir.resolve("shop");
+        write(ORDER, "package com.acme;\npublic class Order {\n    public long id;\n}\n");
+        write(CLOCK, "package com.acme.util;\npublic class Clock {\n    public long now() { return 0; }\n}\n");
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Test
+    void testDeltaBetweenOutputs() throws IOException {
+        Path previous = parseTo("previous.json");
+        write(ORDER, "package com.acme;\npublic class Order {\n    public long id;\n    public String number;\n}\n");
+        Files.delete(projectDir.resolve(CLOCK));
+        Path current = parseTo("current.json");
+
+        Path deltaFile = ResultDiff.deltaPathFor(current);
+        ResultDiff.write(previous, current, deltaFile);
+        ParseDelta delta = ResultDiff.read(deltaFile);
+
+        assertEquals("shop", delta.getCodebaseName());
+        assertTrue(ids(delta.getAdded()).contains("shop:field:com.acme.Order.number"));
+        assertTrue(ids(delta.getModified()).containsAll(List.of("shop:class:com.acme.Order", "shop:file:" + ORDER)));
+        assertTrue(ids(delta.getRemoved()).containsAll(List.of("shop:class:com.acme.util.Clock",
+            "shop:method:com.acme.util.Clock.now__", "shop:file:" + CLOCK)));
+        assertFalse(ids(delta.getModified()).contains("shop:field:com.acme.Order.id"));
+
+        EntityChange added = delta.getAdded().stream()
+            .filter(change -> change.getId().equals("shop:field:com.acme.Order.number")).findFirst().orElseThrow();
+        assertEquals("fields", added.getKind());
+        assertEquals("number", added.getEntity().get("name").asText());
+        assertEquals(ResultEntities.contentHash(added.getEntity()), added.getContentHash());
+        assertNull(delta.getRemoved().get(0).getEntity());
+
+        List<String> addedIds = ids(delta.getAdded());
+        assertEquals(addedIds.stream().sorted().collect(Collectors.toList()), addedIds);
+    }
+
+    @Test
+    void testIdenticalOutputsGiveEmptyDelta() throws IOException {
+        Path previous = parseTo("previous.json");
+        Path current = tempDir.resolve("compact.json");
+        // Formatting does not affect content hashes
+        objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(current.toFile(), objectMapper.readTree(previous.toFile()));
+
+        Path deltaFile = tempDir.resolve("delta.json");
+        ResultDiff.write(previous, current, deltaFile);
+        assertTrue(ResultDiff.read(deltaFile).isEmpty());
+    }
+
+    @Test
+    void testRelationshipsWithoutIdAreDiffed() throws IOException {
+        write("README.md", "# Shop\n\nOrders and clocks.\n");
+        Path previous = parseTo("previous.json");
+        write("docs/guide.md", "# Guide\n\nPlace an order.\n");
+        Path current = parseTo("current.json");
+
+        Path deltaFile = tempDir.resolve("delta.json");
+        ResultDiff.write(previous, current, deltaFile);
+        ParseDelta delta = ResultDiff.read(deltaFile);
+        assertTrue(delta.getAdded().stream()
+            .anyMatch(change -> change.getKind().equals("relationships") && change.getId().startsWith("rel:HAS_CHUNK:")));
+
+        // Outputs whose edges carry no ID are keyed by type and endpoints
+        JsonNode tree = objectMapper.readTree(previous.toFile());
+        tree.get("relationships").forEach(relationship -> ((ObjectNode) relationship).remove("id"));
+        Path withoutIds = tempDir.resolve("without-ids.json");
+        objectMapper.writeValue(withoutIds.toFile(), tree);
+        ((ArrayNode) tree.get("relationships")).remove(0);
+        Path oneRemoved = tempDir.resolve("one-removed.json");
+        objectMapper.writeValue(oneRemoved.toFile(), tree);
+
+        ResultDiff.write(withoutIds, oneRemoved, deltaFile);
+        delta = ResultDiff.read(deltaFile);
+        assertEquals(1, delta.getRemoved().size());
+        assertTrue(delta.getRemoved().get(0).getId().startsWith("rel:"));
+        assertTrue(delta.getAdded().isEmpty() && delta.getModified().isEmpty());
+    }
+
+    @Test
+    void testIncrementalOutputOnlyRemovesEntitiesOfImpactedFiles() throws IOException {
+        Path output = tempDir.resolve("out/shop.json");
+        Path configFile = tempDir.resolve("config.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(configFile, "{\"snapshotFile\": \"" + tempDir.resolve("out/shop.snapshot").toString().replace('\\', '/')
+            + "\", \"dependencyIndexFile\": \"" + tempDir.resolve("out/shop.deps").toString().replace('\\', '/')
+            + "\", \"deltaBaselineFile\": \"" + output.toString().replace('\\', '/') + "\"}");
+        String[] args = {"shop", projectDir.toString(), output.toString(), configFile.toString()};
+        SpoonParserV2.main(args);
+
+        write(CLOCK, "package com.acme.util;\npublic class Clock {\n    public long later() { return 1; }\n}\n");
+        SpoonParserV2.main(args);
+
+        // Only Clock.java was re-extracted, so Order is absent from the output but not removed
+        JsonNode impacted = objectMapper.readTree(output.toFile()).path("metadata").path("impactedFiles");
+        assertEquals(1, impacted.size());
+        assertEquals(CLOCK, impacted.get(0).asText());
+        ParseDelta delta = ResultDiff.read(ResultDiff.deltaPathFor(output));
+        assertEquals(List.of("shop:method:com.acme.util.Clock.now__"), ids(delta.getRemoved()).stream()
+            .filter(id -> !id.startsWith("rel:")).collect(Collectors.toList()));
+        assertTrue(ids(delta.getAdded()).contains("shop:method:com.acme.util.Clock.later__"));
+        assertTrue(ids(delta.getRemoved()).stream().noneMatch(id -> id.contains("Order")));
+
+        // Nothing changed: the output is kept and the previous delta must not be applied again
+        SpoonParserV2.main(args);
+        delta = ResultDiff.read(ResultDiff.deltaPathFor(output));
+        assertEquals("shop", delta.getCodebaseName());
+        assertTrue(delta.isEmpty());
+    }
+
+    private Path parseTo(String name) throws IOException {
+        ParserConfig config = new ParserConfig();
+        ParseResult result = SpoonParserV2.parseJavaProject("shop", projectDir.toString(), config);
+        Path output = tempDir.resolve(name);
+        objectMapper.writeValue(output.toFile(), result);
+        return output;
+    }
+
+    private static List<String> ids(List<EntityChange> changes) {
+        return changes.stream().map(EntityChange::getId).collect(Collectors.toList());
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
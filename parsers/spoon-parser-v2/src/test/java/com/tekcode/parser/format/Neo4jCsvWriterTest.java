@@ -0,0 +1,129 @@
+package com.tekcode.parser.format;
+
+import com.tekcode.parser.TestProjects;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the Neo4j import files are well-formed and reference only written nodes
+ */
+class Neo4jCsvWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testNodeAndRelationshipFilesMatchTheirHeaders() throws IOException {
+        ParseResult result = parseProject(ParserConfig.defaultConfig());
+        Path directory = Neo4jCsvWriter.directoryFor(tempDir.resolve("result.json"));
+
+        Neo4jCsvWriter.write(result, directory);
+
+        List<String> args = Files.readAllLines(directory.resolve(Neo4jCsvWriter.ARGS_FILE));
+        assertTrue(args.contains("--id-type=INTEGER"));
+        assertTrue(args.contains("--nodes=Class=Class_header.csv,Class.csv"));
+        assertTrue(args.contains("--relationships=CALLS=CALLS_header.csv,CALLS.csv"));
+
+        Set<String> nodeIds = new HashSet<>();
+        Set<String> entityIds = new HashSet<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--nodes=")) {
+                continue;
+            }
+            String label = arg.substring("--nodes=".length(), arg.indexOf(',')).split("=")[0];
+            List<String> header = readRows(directory.resolve(label + "_header.csv")).get(0);
+            assertEquals(":ID", header.get(0));
+            assertEquals("id", header.get(1));
+            for (List<String> row : readRows(directory.resolve(label + ".csv"))) {
+                assertEquals(header.size(), row.size(), label + " row " + row.get(1));
+                assertTrue(nodeIds.add(row.get(0)), "node IDs are unique across labels");
+                entityIds.add(row.get(1));
+            }
+        }
+        assertTrue(entityIds.contains("shop:class:p.Service0"));
+        assertEquals(nodeIds.size(), entityIds.size());
+
+        List<String> header = readRows(directory.resolve("CALLS_header.csv")).get(0);
+        assertEquals(List.of(":START_ID", ":END_ID", "id"), header.subList(0, 3));
+        List<List<String>> calls = readRows(directory.resolve("CALLS.csv"));
+        assertFalse(calls.isEmpty());
+        for (List<String> row : calls) {
+            assertEquals(header.size(), row.size());
+            assertTrue(nodeIds.contains(row.get(0)) && nodeIds.contains(row.get(1)));
+        }
+    }
+
+    @Test
+    void testValuesAreQuotedAndTyped() throws IOException {
+        ParserConfig config = ParserConfig.defaultConfig();
+        config.setIncludeMethodBodies(true);
+        ParseResult result = parseProject(config);
+        Path directory = tempDir.resolve("import");
+
+        Neo4jCsvWriter.write(result, directory);
+
+        List<String> header = readRows(directory.resolve("Method_header.csv")).get(0);
+        assertTrue(header.contains("startLine:long"));
+        assertTrue(header.contains("isStatic:boolean") || header.contains("static:boolean"));
+        String data = Files.readString(directory.resolve("Method.csv"));
+        assertTrue(data.contains("\"" + result.getMethods().get(0).getId() + "\""));
+        // Bodies span lines and keep their string literals, with quotes doubled
+        assertTrue(data.contains("\"\"service-0\"\""));
+        assertTrue(readRows(directory.resolve("Method.csv")).stream()
+            .allMatch(row -> row.size() == header.size()));
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may hold commas, doubled quotes and line breaks
+     */
+    private static List<List<String>> readRows(Path file) throws IOException {
+        String text = Files.readString(file, StandardCharsets.UTF_8);
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        return rows;
+    }
+
+    private ParseResult parseProject(ParserConfig config) throws IOException {
+        return TestProjects.parseServiceRing(tempDir.resolve("project"), 5, config);
+    }
+}
@@ -0,0 +1,90 @@
+package com.tekcode.parser.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that block-parallel gzip output decompresses to exactly what was written
+ */
+class ParallelGzipOutputStreamTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBlocksDecompressInOrder() throws IOException {
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(42);
+        while (text.length() < 3_000_000) {
+            text.append("{\"id\":\"shop:method:com.acme.Service").append(random.nextInt(500)).append(".run\"}\n");
+        }
+        byte[] content = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(compressed, 4, 64 * 1024,
+                Deflater.DEFAULT_COMPRESSION)) {
+            // Mixed single bytes and slices that straddle block boundaries
+            int i = 0;
+            while (i < content.length) {
+                if (i % 7 == 0) {
+                    gzip.write(content[i++]);
+                } else {
+                    int length = Math.min(content.length - i, 1 + random.nextInt(100_000));
+                    gzip.write(content, i, length);
+                    i += length;
+                }
+            }
+        }
+
+        assertArrayEquals(content, gunzip(compressed.toByteArray()));
+        assertTrue(compressed.size() * 5 < content.length);
+    }
+
+    @Test
+    void testEmptyStreamIsValidGzip() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        new ParallelGzipOutputStream(compressed, 2).close();
+
+        assertEquals(0, gunzip(compressed.toByteArray()).length);
+    }
+
+    @Test
+    void testCompressedResultFileReadsBack() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode root = mapper.createObjectNode().put("codebaseName", "shop");
+        ArrayNode classes = root.putArray("classes");
+        for (int i = 0; i < 20_000; i++) {
+            classes.addObject().put("id", "shop:class:com.acme.Service" + i).put("name", "Service" + i);
+        }
+
+        for (String name : new String[]{"result.json.gz", "result.smile.gz"}) {
+            Path file = tempDir.resolve(name);
+            ResultFormat.forPath(file).write(mapper, root, file);
+
+            assertEquals(0x1f, Files.readAllBytes(file)[0] & 0xFF);
+            assertEquals(root, ResultFormat.forPath(file).read(mapper, file, ObjectNode.class));
+        }
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tekcode.parser.format;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tekcode.parser.TestProjects;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.BlobRef;
+import com.tekcode.parser.model.DecoratorInfo;
+import com.tekcode.parser.model.DocumentChunk;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.ParameterInfo;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that parallel serialization writes exactly what a plain mapper writes
+ */
+class ParallelJsonWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testOutputMatchesSequentialSerialization() throws IOException {
+        ParseResult result = parseProject();
+        assertTrue(result.getRelationships().size() > 10);
+
+        for (boolean indent : new boolean[]{true, false}) {
+            ObjectMapper reflective = mapper(indent);
+            ObjectMapper handWritten = mapper(indent).registerModule(new ResultSerializers());
+            String expected = reflective.writeValueAsString(result);
+
+            assertEquals(expected, handWritten.writeValueAsString(result));
+            for (int sliceSize : new int[]{1, 3, ParallelJsonWriter.DEFAULT_SLICE_SIZE}) {
+                assertEquals(expected, writeParallel(handWritten, result, sliceSize), "slice size " + sliceSize);
+            }
+        }
+    }
+
+    @Test
+    void testPrettyPrintingFollowsConfiguration() throws IOException {
+        ParseResult result = parseProject();
+        Path pretty = tempDir.resolve("pretty.json");
+        Path compact = tempDir.resolve("compact.json");
+
+        ResultFormat.JSON.write(mapper(true), result, pretty, false, 4);
+        ResultFormat.JSON.write(mapper(false), result, compact, false, 4);
+
+        assertTrue(Files.readAllLines(compact).size() == 1);
+        assertTrue(Files.size(compact) < Files.size(pretty));
+        assertEquals(mapper(false).readTree(pretty.toFile()), mapper(false).readTree(compact.toFile()));
+    }
+
+    private static String writeParallel(ObjectMapper mapper, Object value, int sliceSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            ParallelJsonWriter.write(mapper, value, generator, 4, sliceSize);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ObjectMapper mapper(boolean indent) {
+        return new ObjectMapper()
+            .configure(SerializationFeature.INDENT_OUTPUT, indent)
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private ParseResult parseProject() throws IOException {
+        ParserConfig config = ParserConfig.defaultConfig();
+        config.setIncludeMethodBodies(true);
+        ParseResult result = TestProjects.parseServiceRing(tempDir.resolve("project"), 12, config);
+
+        // Optional and nested fields the parse above leaves empty
+        DocumentChunk chunk = new DocumentChunk("shop:chunk:extra", "shop:document:extra", 0, "overlapping text");
+        chunk.setOverlap(4);
+        chunk.setTokenCount(3);
+        chunk.setUnchanged(true);
+        chunk.addProperty("section", "Intro");
+        result.getDocumentChunks().add(chunk);
+        DecoratorInfo decorator = new DecoratorInfo();
+        decorator.setName("NotNull");
+        ParameterInfo parameter = new ParameterInfo();
+        parameter.setName("value");
+        parameter.setDecorators(List.of(decorator));
+        MethodNode method = new MethodNode();
+        method.setId("shop:method:p.Extra.set");
+        method.setParameters(List.of(parameter));
+        method.setProperties(null);
+        method.setBodyRef(new BlobRef("9f86d081884c7d65", 44, 12));
+        result.getMethods().add(method);
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package com.tekcode.parser.format;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tekcode.parser.TestProjects;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.query.GraphIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that Smile output reads back as the same document as JSON output
+ */
+class ResultFormatTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testParseResultRoundTripsThroughSmile() throws IOException {
+        ParseResult result = parseProject();
+        Path json = tempDir.resolve("result.json");
+        Path smile = tempDir.resolve("result.smile");
+
+        ResultFormat.forPath(json).write(mapper, result, json);
+        ResultFormat.forPath(smile).write(mapper, result, smile);
+
+        assertEquals(mapper.readTree(json.toFile()), readTree(smile));
+        assertTrue(Files.size(smile) * 2 < Files.size(json), "shared IDs and names are written once");
+        assertEquals(GraphIndex.load(json).getNodeCount(), GraphIndex.load(smile).getNodeCount());
+    }
+
+    @Test
+    void testValuesOfEveryEncoding() throws IOException {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("", "");
+        root.put("small", -16).put("int", 123_456).put("negative", -99_999_999)
+            .put("long", Long.MIN_VALUE).put("double", -0.1).put("float", 3.5f)
+            .put("bigInteger", new BigInteger("123456789012345678901234567890"))
+            .put("bigDecimal", new BigDecimal("-1234567890.0987654321"))
+            .put("unicode", "Grüße, 世界").put("long ascii", "x".repeat(200))
+            .put("long unicode", "ü".repeat(100)).put("naïve key", true).putNull("nothing");
+        root.put("k".repeat(80), false);
+        ArrayNode values = root.putArray("values");
+        // Enough distinct short strings to wrap the back-reference table
+        for (int i = 0; i < 3000; i++) {
+            values.add("value-" + (i % 1500));
+            values.addObject().put("key-" + (i % 100), i);
+        }
+        Path smile = tempDir.resolve("values.smile");
+
+        ResultFormat.SMILE.write(mapper, root, smile);
+
+        assertEquals(root, readTree(smile));
+    }
+
+    @Test
+    void testFormatFromConfigurationOrExtension() {
+        assertEquals(ResultFormat.SMILE, ResultFormat.of(null, Paths.get("out.smile")));
+        assertEquals(ResultFormat.JSON, ResultFormat.of("auto", Paths.get("out.json")));
+        assertEquals(ResultFormat.SMILE, ResultFormat.of("smile", Paths.get("out.json")));
+        assertThrows(IllegalArgumentException.class, () -> ResultFormat.of("xml", Paths.get("out.json")));
+    }
+
+    private JsonNode readTree(Path smile) throws IOException {
+        return ResultFormat.SMILE.read(mapper, smile, JsonNode.class);
+    }
+
+    private ParseResult parseProject() throws IOException {
+        return TestProjects.parseServiceRing(tempDir.resolve("project"), 20, ParserConfig.defaultConfig());
+    }
+}
@@ -0,0 +1,58 @@
+package com.tekcode.parser.index;
+
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.Relationship;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip tests for the binary companion index
+ */
+class BinaryIndexTest {
+
+    @Test
+    void testWriteAndRead(@TempDir Path tempDir) throws IOException {
+        ParseResult result = new ParseResult("shop");
+        result.addClass(ClassNode.builder().id("shop:class:p.Service").name("Service").build());
+        result.addMethod(MethodNode.builder().id("shop:method:p.Service.run__").name("run").body("{ helper(); }").build());
+        result.addMethod(MethodNode.builder().id("shop:method:p.Service.helper__").name("helper").build());
+        result.addRelationship(new Relationship("CALLS", "method", "shop:method:p.Service.run__",
+            "method", "shop:method:p.Service.helper__"));
+        result.addRelationship(new Relationship("CALLS", "method", "shop:method:p.Service.run__",
+            "method", "shop:method:java.io.PrintStream.println_java.lang.String_"));
+        result.addRelationship(new Relationship("HAS_METHOD", "class", "shop:class:p.Service",
+            "method", "shop:method:p.Service.run__"));
+
+        Path indexFile = BinaryIndexWriter.indexPathFor(tempDir.resolve("out.json"));
+        BinaryIndexWriter.write(result, indexFile);
+
+        try (BinaryIndexReader reader = BinaryIndexReader.open(indexFile)) {
+            assertEquals(4, reader.getNodeCount());
+            assertEquals(2, reader.getEdgeCount("CALLS"));
+
+            MethodNode run = reader.readEntity("shop:method:p.Service.run__", MethodNode.class);
+            assertEquals("{ helper(); }", run.getBody());
+            assertEquals("Service", reader.readRecord("shop:class:p.Service").get("name").asText());
+
+            int external = reader.indexOf("shop:method:java.io.PrintStream.println_java.lang.String_");
+            assertTrue(external >= 0);
+            assertNull(reader.kindOf(external));
+            assertNull(reader.record(external));
+            assertEquals("methods", reader.kindOf(reader.indexOf("shop:method:p.Service.helper__")));
+
+            assertEquals(List.of("shop:method:p.Service.helper__", "shop:method:java.io.PrintStream.println_java.lang.String_"),
+                reader.outgoing("CALLS", "shop:method:p.Service.run__"));
+            assertEquals(List.of("shop:method:p.Service.run__"), reader.incoming("CALLS", "shop:method:p.Service.helper__"));
+            assertTrue(reader.incoming("EXTENDS", "shop:class:p.Service").isEmpty());
+            assertEquals(-1, reader.indexOf("shop:class:p.Missing"));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.tekcode.parser.index;
+
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.FileNode;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.Relationship;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the file-level reverse-dependency index and change-list parsing
+ */
+class FileDependencyIndexTest {
+
+    private static final String BASE = "src/main/java/com/acme/BaseEntity.java";
+    private static final String ORDER = "src/main/java/com/acme/Order.java";
+    private static final String SERVICE = "src/main/java/com/acme/web/OrderService.java";
+    private static final String CONTROLLER = "src/main/java/com/acme/web/OrderController.java";
+    private static final String CLOCK = "src/main/java/com/acme/util/Clock.java";
+
+    @TempDir
+    Path tempDir;
+
+    private Path projectDir;
+    private ParserConfig config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectDir = tempDir.resolve("shop");
+        write(BASE, "package com.acme;\npublic abstract class BaseEntity { public long id; }\n");
+        write(ORDER, "package com.acme;\npublic class Order extends BaseEntity { }\n");
+        write(SERVICE, "package com.acme.web;\nimport com.acme.Order;\n"
+            + "public class OrderService {\n    public Order find() { return null; }\n}\n");
+        write(CONTROLLER, "package com.acme.web;\n"
+            + "public class OrderController {\n    private final OrderService service = new OrderService();\n"
+            + "    public Object get() { return service.find(); }\n}\n");
+        write(CLOCK, "package com.acme.util;\npublic class Clock {\n    public long now() { return 0; }\n}\n");
+
+        config = new ParserConfig();
+        config.setDependencyIndexFile(tempDir.resolve("shop.deps").toString());
+    }
+
+    @Test
+    void testImpactClosure() throws IOException {
+        SpoonParserV2.parseJavaProject("shop", projectDir.toString(), config);
+        FileDependencyIndex index = FileDependencyIndex.read(tempDir.resolve("shop.deps"));
+
+        assertEquals(5, index.getFileCount());
+        assertEquals(Set.of(BASE, ORDER, SERVICE, CONTROLLER), index.impactedBy(List.of(BASE)));
+        assertEquals(Set.of(SERVICE, CONTROLLER), index.impactedBy(List.of(SERVICE)));
+        assertEquals(Set.of(CLOCK), index.impactedBy(List.of(CLOCK)));
+        assertEquals(Set.of(CLOCK, "src/main/java/com/acme/New.java"),
+            index.impactedBy(List.of(CLOCK, "src/main/java/com/acme/New.java")));
+    }
+
+    @Test
+    void testChangeListReExtractsImpactedFilesOnly() throws IOException {
+        ParseResult full = SpoonParserV2.parseJavaProject("shop", projectDir.toString(), config);
+        assertNull(full.getMetadata().getImpactedFiles());
+
+        write(ORDER, "package com.acme;\npublic class Order extends BaseEntity { public String number; }\n");
+        Path changeList = tempDir.resolve("changes.txt");
+        Files.writeString(changeList, "# pushed\n" + ORDER + "\n");
+        config.setChangeListFile(changeList.toString());
+        ParseResult incremental = SpoonParserV2.parseJavaProject("shop", projectDir.toString(), config);
+
+        assertEquals(List.of(ORDER, CONTROLLER, SERVICE).stream().sorted().collect(Collectors.toList()),
+            incremental.getMetadata().getImpactedFiles());
+        assertEquals(incremental.getMetadata().getImpactedFiles(),
+            incremental.getFiles().stream().map(FileNode::getPath).sorted().collect(Collectors.toList()));
+        assertEquals(Set.of("shop:class:com.acme.Order", "shop:class:com.acme.web.OrderService",
+                "shop:class:com.acme.web.OrderController"),
+            incremental.getClasses().stream().map(ClassNode::getId).collect(Collectors.toSet()));
+
+        Set<String> fullRelationships = ids(full.getRelationships());
+        Set<String> incrementalRelationships = ids(incremental.getRelationships());
+        assertFalse(incrementalRelationships.isEmpty());
+        assertTrue(fullRelationships.containsAll(incrementalRelationships));
+        assertTrue(incremental.getRelationships().stream().noneMatch(r -> r.getSourceId().contains("Clock")));
+    }
+
+    /**
+     * Relationship IDs, leaving out those of the field added by the change
+     */
+    private static Set<String> ids(List<Relationship> relationships) {
+        return relationships.stream()
+            .map(Relationship::getId)
+            .filter(id -> !id.contains("number"))
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
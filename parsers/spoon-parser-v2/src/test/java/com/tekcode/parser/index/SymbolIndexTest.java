@@ -0,0 +1,114 @@
+package com.tekcode.parser.index;
+
+import com.tekcode.parser.model.APIEndpointNode;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.FieldNode;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SymbolIndex matching and ranking
+ */
+class SymbolIndexTest {
+
+    private SymbolIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ParseResult result = new ParseResult("shop");
+        addClass(result, "com.acme.UserService");
+        addClass(result, "com.acme.UserServiceImpl");
+        addClass(result, "com.acme.HTTPServer");
+        addClass(result, "com.acme.OrderService");
+        addMethod(result, "com.acme.UserService", "findById", "findById(java.lang.Long)");
+        addMethod(result, "com.acme.UserService", "findAll", "findAll()");
+        addMethod(result, "com.acme.OrderService", "findById", "findById(java.lang.Long)");
+        result.addField(FieldNode.builder().id("shop:field:com.acme.UserService.userRepository")
+            .name("userRepository").build());
+        APIEndpointNode endpoint = new APIEndpointNode();
+        endpoint.setId("shop:endpoint:com.acme.UserController:get:GET");
+        endpoint.setPath("/api/users/{id}");
+        endpoint.setHttpMethod("GET");
+        result.addApiEndpoint(endpoint);
+
+        index = SymbolIndex.build(result);
+    }
+
+    private static void addClass(ParseResult result, String fullyQualifiedName) {
+        result.addClass(ClassNode.builder()
+            .id("shop:class:" + fullyQualifiedName)
+            .name(fullyQualifiedName.substring(fullyQualifiedName.lastIndexOf('.') + 1))
+            .fullyQualifiedName(fullyQualifiedName)
+            .build());
+    }
+
+    private static void addMethod(ParseResult result, String owner, String name, String signature) {
+        String id = "shop:method:" + owner + "." + signature.replaceAll("[^a-zA-Z0-9._$/-]", "_");
+        result.addMethod(MethodNode.builder().id(id).name(name).signature(signature).build());
+    }
+
+    private static List<String> ids(List<SymbolIndex.Match> matches) {
+        return matches.stream().map(SymbolIndex.Match::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void testExactBeforePrefix() {
+        List<String> ids = ids(index.search("UserService", 10));
+
+        assertEquals("shop:class:com.acme.UserService", ids.get(0));
+        assertEquals("shop:class:com.acme.UserServiceImpl", ids.get(1));
+    }
+
+    @Test
+    void testCamelCaseAbbreviationWithQualifier() {
+        List<String> ids = ids(index.search("UsrSvc.find", 10));
+
+        assertEquals(2, ids.size());
+        assertTrue(ids.contains("shop:method:com.acme.UserService.findById_java.lang.Long_"));
+        assertFalse(ids.contains("shop:method:com.acme.OrderService.findById_java.lang.Long_"));
+    }
+
+    @Test
+    void testCamelTokenPrefixAndAcronyms() {
+        assertEquals("shop:class:com.acme.HTTPServer", index.search("server", 1).get(0).getId());
+        assertEquals(List.of("http", "server", "impl", "2"), SymbolIndex.camelTokens("HTTPServerImpl2"));
+        assertTrue(ids(index.search("repository", 5)).contains("shop:field:com.acme.UserService.userRepository"));
+    }
+
+    @Test
+    void testTrigramToleratesTypos() {
+        List<String> ids = ids(index.search("OrderServce", 5));
+
+        assertEquals("shop:class:com.acme.OrderService", ids.get(0));
+    }
+
+    @Test
+    void testEndpointPaths() {
+        List<SymbolIndex.Match> matches = index.search("/api/users", 5);
+
+        assertEquals(1, matches.size());
+        assertEquals("endpoint", matches.get(0).getKind());
+        assertEquals("GET /api/users/{id}", matches.get(0).getDisplayName());
+    }
+
+    @Test
+    void testWriteAndRead(@TempDir Path tempDir) throws IOException {
+        Path file = SymbolIndex.indexPathFor(tempDir.resolve("out.json"));
+        index.write(file);
+
+        SymbolIndex loaded = SymbolIndex.read(file);
+
+        assertEquals(index.size(), loaded.size());
+        assertEquals(ids(index.search("UsrSvc.find", 10)), ids(loaded.search("UsrSvc.find", 10)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.tekcode.parser.processor;
+
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.Relationship;
+import com.tekcode.parser.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests clone groups found by fingerprinting method bodies
+ */
+class CloneProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path projectDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectDir = tempDir.resolve("shop");
+        write("Invoice.java",
+            "package com.acme;\n\n"
+            + "public class Invoice {\n"
+            + "    public double total(double[] prices, int count) {\n"
+            + "        double sum = 0;\n"
+            + "        for (int i = 0; i < count; i++) {\n"
+            + "            if (prices[i] > 100) {\n"
+            + "                sum += prices[i] * 0.9; // bulk discount\n"
+            + "            } else {\n"
+            + "                sum += prices[i];\n"
+            + "            }\n"
+            + "        }\n"
+            + "        if (sum < 0) {\n"
+            + "            throw new IllegalStateException(\"negative total\");\n"
+            + "        }\n"
+            + "        return Math.round(sum * 100) / 100.0;\n"
+            + "    }\n\n"
+            + "    public String describe(String customer) {\n"
+            + "        StringBuilder text = new StringBuilder(\"Invoice for \");\n"
+            + "        text.append(customer).append(':');\n"
+            + "        return text.toString();\n"
+            + "    }\n"
+            + "}\n");
+        write("Quote.java",
+            "package com.acme;\n\n"
+            + "public class Quote {\n"
+            + "    public double estimate(double[] costs, int n) {\n"
+            + "        double acc = 0;\n"
+            + "        for (int j = 0; j < n; j++) {\n"
+            + "            /* large items are cheaper */\n"
+            + "            if (costs[j] > 250) {\n"
+            + "                acc += costs[j] * 0.8;\n"
+            + "            } else {\n"
+            + "                acc += costs[j];\n"
+            + "            }\n"
+            + "        }\n"
+            + "        if (acc < 0) {\n"
+            + "            throw new IllegalArgumentException(\"bad estimate\");\n"
+            + "        }\n"
+            + "        return Math.round(acc * 100) / 100.0;\n"
+            + "    }\n"
+            + "}\n");
+    }
+
+    @Test
+    void testRenamedCopyIsReportedAsClone() throws IOException {
+        ParseResult result = parse(true);
+
+        List<Relationship> clones = clones(result);
+        assertEquals(1, clones.size());
+        Relationship clone = clones.get(0);
+        assertEquals("shop:method:com.acme.Quote.estimate_double___int_", clone.getSourceId());
+        assertEquals("shop:method:com.acme.Invoice.total_double___int_", clone.getTargetId());
+        assertEquals("method", clone.getSourceType());
+        assertEquals("method", clone.getTargetType());
+        // Deltas and watch output track relationships by ID
+        assertEquals(IdGenerator.generateRelationshipId("CLONE_OF", clone.getSourceId(), clone.getTargetId()), clone.getId());
+        assertEquals(2, clone.getProperties().get("groupSize"));
+        assertTrue((int) clone.getProperties().get("duplicateTokens") >= 50);
+
+        // Both bodies, from the opening to the closing brace
+        assertEquals(28, result.getMetadata().getStatistics().getDuplicateLines());
+    }
+
+    @Test
+    void testDetectionIsOptIn() throws IOException {
+        ParseResult result = parse(false);
+
+        assertTrue(clones(result).isEmpty());
+        assertEquals(0, result.getMetadata().getStatistics().getDuplicateLines());
+        assertFalse(new ParserConfig().isDetectClones());
+        assertTrue(ParserConfig.comprehensiveConfig().isDetectClones());
+    }
+
+    private ParseResult parse(boolean detectClones) throws IOException {
+        ParserConfig config = new ParserConfig();
+        config.setDetectClones(detectClones);
+        return SpoonParserV2.parseJavaProject("shop", projectDir.toString(), config);
+    }
+
+    private static List<Relationship> clones(ParseResult result) {
+        return result.getRelationships().stream()
+            .filter(relationship -> "CLONE_OF".equals(relationship.getType()))
+            .collect(Collectors.toList());
+    }
+
+    private void write(String name, String text) throws IOException {
+        Path file = projectDir.resolve("src/main/java/com/acme").resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, text);
+    }
+}
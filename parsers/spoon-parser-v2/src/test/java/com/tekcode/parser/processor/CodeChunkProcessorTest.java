@@ -0,0 +1,118 @@
+package com.tekcode.parser.processor;
+
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.CodeChunk;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests code chunks sliced from the source of types and methods
+ */
+class CodeChunkProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path projectDir;
+    private String source;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectDir = tempDir.resolve("shop");
+        StringBuilder text = new StringBuilder();
+        text.append("package com.acme;\n\n")
+            .append("/**\n * An order.\n */\n")
+            .append("public class Order {\n")
+            .append("    private int total;\n\n")
+            .append("    /** Adds to the total. */\n")
+            .append("    public void add(int amount) {\n")
+            .append("        total += amount;\n")
+            .append("    }\n\n")
+            .append("    public int settle() {\n");
+        for (int i = 0; i < 30; i++) {
+            text.append("        // step ").append(i).append("\n")
+                .append("        total = total * ").append(i + 2).append(" % 1000003;\n");
+        }
+        text.append("        return total;\n    }\n}\n");
+        source = text.toString();
+        Path file = projectDir.resolve("src/main/java/com/acme/Order.java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+    }
+
+    @Test
+    void testChunksAreExactSourceSlices() throws IOException {
+        List<CodeChunk> chunks = parse().getCodeChunks();
+
+        assertFalse(chunks.isEmpty());
+        for (CodeChunk chunk : chunks) {
+            assertEquals(source.substring(chunk.getStartPosition(), chunk.getEndPosition()), chunk.getContent());
+            assertEquals(lineOf(chunk.getStartPosition()), chunk.getStartLine());
+            assertEquals(lineOf(chunk.getEndPosition() - 1), chunk.getEndLine());
+            assertEquals("src/main/java/com/acme/Order.java", chunk.getFilePath());
+            assertEquals((chunk.getContent().length() + 3) / 4, chunk.getTokenCount());
+        }
+
+        CodeChunk type = single(chunks, "shop:class:com.acme.Order");
+        assertEquals("Class", type.getOwnerType());
+        assertTrue(type.getContent().startsWith("/**\n * An order."));
+        assertTrue(type.getContent().contains("private int total;"));
+        assertFalse(type.getContent().contains("add("));
+
+        CodeChunk add = chunks.stream().filter(chunk -> chunk.getContent().contains("void add")).findFirst().orElseThrow();
+        assertEquals(1, add.getPartCount());
+        assertTrue(add.getContent().startsWith("    /** Adds to the total. */"));
+        assertTrue(add.getContent().endsWith("}"));
+    }
+
+    @Test
+    void testOversizedMethodIsSplitBetweenStatements() throws IOException {
+        List<CodeChunk> parts = parse().getCodeChunks().stream()
+            .filter(chunk -> chunk.getOwnerId().contains("settle"))
+            .collect(Collectors.toList());
+
+        assertTrue(parts.size() > 2);
+        String method = source.substring(source.indexOf("    public int settle"), source.lastIndexOf("    }\n}") + 5);
+        assertEquals(method, parts.stream().map(CodeChunk::getContent).collect(Collectors.joining()));
+        for (int i = 0; i < parts.size(); i++) {
+            CodeChunk part = parts.get(i);
+            assertEquals(i, part.getPart());
+            assertEquals(parts.size(), part.getPartCount());
+            assertTrue(part.getTokenCount() <= 60);
+            assertEquals(part.getOwnerId() + ":chunk:" + i, part.getId());
+            // Parts start at a statement's comment line, never inside a statement
+            if (i > 0) {
+                assertTrue(part.getContent().startsWith("        // step"));
+            }
+        }
+    }
+
+    private ParseResult parse() throws IOException {
+        ParserConfig config = new ParserConfig();
+        config.setEmitCodeChunks(true);
+        config.setCodeChunkMaxTokens(60);
+        return SpoonParserV2.parseJavaProject("shop", projectDir.toString(), config);
+    }
+
+    private static CodeChunk single(List<CodeChunk> chunks, String ownerId) {
+        List<CodeChunk> owned = chunks.stream().filter(chunk -> chunk.getOwnerId().equals(ownerId))
+            .collect(Collectors.toList());
+        assertEquals(1, owned.size());
+        return owned.get(0);
+    }
+
+    private int lineOf(int offset) {
+        return (int) source.substring(0, offset).chars().filter(c -> c == '\n').count() + 1;
+    }
+}
@@ -0,0 +1,98 @@
+package com.tekcode.parser.processor;
+
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.core.ParsingContext;
+import com.tekcode.parser.model.DocumentChunk;
+import com.tekcode.parser.model.DocumentNode;
+import com.tekcode.parser.model.Relationship;
+import com.tekcode.parser.source.DirectorySource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests document ingestion on the worker pool
+ */
+class DocumentProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path projectDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectDir = tempDir.resolve("docs");
+        for (int i = 0; i < 40; i++) {
+            StringBuilder text = new StringBuilder("# Guide " + i + "\n\n");
+            for (int line = 0; line < 20 + i * 5; line++) {
+                text.append("Paragraph ").append(line).append(" of guide ").append(i).append(" explains a step.\n");
+            }
+            write("docs/section" + (i % 4) + "/guide" + i + ".md", text.toString());
+        }
+        write("README.md", "# Docs\n");
+    }
+
+    @Test
+    void testParallelIngestionMatchesSequentialOrder() throws IOException {
+        DocumentProcessor.DocumentProcessingResult sequential = process(false, 1);
+        DocumentProcessor.DocumentProcessingResult parallel = process(true, 4);
+
+        assertEquals(41, sequential.documents.size());
+        assertEquals("README.md", sequential.documents.get(0).getPath());
+        assertEquals(paths(sequential.documents), paths(parallel.documents));
+        assertEquals(paths(sequential.documents).stream().sorted().collect(Collectors.toList()),
+            paths(sequential.documents));
+        assertEquals(chunkIds(sequential.chunks), chunkIds(parallel.chunks));
+        assertTrue(sequential.chunks.size() > sequential.documents.size());
+        assertEquals(sequential.relationships.stream().map(Relationship::getId).collect(Collectors.toList()),
+            parallel.relationships.stream().map(Relationship::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testMaxDocumentSizeTruncatesContent() throws IOException {
+        write("docs/huge.txt", "All work and no play. ".repeat(10_000));
+        ParserConfig config = new ParserConfig();
+        config.setMaxDocumentSize(4096);
+        ParsingContext context = new ParsingContext("docs", config, new DirectorySource(projectDir));
+
+        DocumentNode huge = new DocumentProcessor(context).processDocuments().documents.stream()
+            .filter(document -> document.getPath().equals("docs/huge.txt")).findFirst().orElseThrow();
+        assertEquals(4096L, ((Number) huge.getProperties().get("originalContentLength")).longValue());
+        assertEquals(220_000L, huge.getTotalSize());
+    }
+
+    private DocumentProcessor.DocumentProcessingResult process(boolean parallel, int threads) {
+        ParserConfig config = new ParserConfig();
+        config.setEnableParallelProcessing(parallel);
+        config.setMaxThreads(threads);
+        config.setDocumentChunkSize(300);
+        config.setDocumentChunkOverlap(30);
+        ParsingContext context = new ParsingContext("docs", config, new DirectorySource(projectDir));
+        DocumentProcessor.DocumentProcessingResult result = new DocumentProcessor(context).processDocuments();
+        assertEquals(0, context.getErrorCount());
+        return result;
+    }
+
+    private static List<String> paths(List<DocumentNode> documents) {
+        return documents.stream().map(DocumentNode::getPath).collect(Collectors.toList());
+    }
+
+    private static List<String> chunkIds(List<DocumentChunk> chunks) {
+        return chunks.stream().map(DocumentChunk::getId).collect(Collectors.toList());
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
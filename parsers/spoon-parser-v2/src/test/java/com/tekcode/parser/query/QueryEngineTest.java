@@ -0,0 +1,93 @@
+package com.tekcode.parser.query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for QueryEngine over a small controller/service/repository project
+ */
+class QueryEngineTest {
+
+    private static final String FIND = "shop:method:p.UserRepository.find_long_";
+    private static final String JPA_FIND = "shop:method:p.JpaUserRepository.find_long_";
+    private static final String SERVICE_GET = "shop:method:p.UserService.get_long_";
+    private static final String CONTROLLER_GET = "shop:method:p.UserController.get_long_";
+
+    @TempDir
+    static Path tempDir;
+
+    private static ParseResult result;
+
+    @BeforeAll
+    static void parseProject() throws IOException {
+        Path src = tempDir.resolve("project/src/main/java/p");
+        Files.createDirectories(src);
+        write(src, "UserRepository", "package p; public interface UserRepository { String find(long id); }");
+        write(src, "JpaUserRepository", "package p; public class JpaUserRepository implements UserRepository {"
+            + " @Override public String find(long id) { return \"u\" + id; } }");
+        write(src, "CachedUserRepository", "package p; public class CachedUserRepository extends JpaUserRepository { }");
+        write(src, "UserService", "package p; public class UserService { private UserRepository repo;"
+            + " public String get(long id) { return repo.find(id); } }");
+        write(src, "UserController", "package p; @RestController public class UserController { private UserService service;"
+            + " @GetMapping(\"/users\") public String get(long id) { return service.get(id); } }");
+
+        result = SpoonParserV2.parseJavaProject("shop", tempDir.resolve("project").toString(), ParserConfig.defaultConfig());
+    }
+
+    private static void write(Path dir, String name, String source) throws IOException {
+        Files.writeString(dir.resolve(name + ".java"), source);
+    }
+
+    @Test
+    void testCallersOf() {
+        QueryEngine engine = QueryEngine.of(result);
+
+        assertEquals(List.of(SERVICE_GET), engine.callersOf(FIND, false));
+        assertEquals(List.of(SERVICE_GET, CONTROLLER_GET), engine.callersOf(FIND, true));
+        assertTrue(engine.callersOf("shop:method:p.Missing.run__", true).isEmpty());
+    }
+
+    @Test
+    void testImplementationsAndSubclasses() {
+        QueryEngine engine = QueryEngine.of(result);
+
+        List<String> implementations = engine.implementationsOf("shop:interface:p.UserRepository");
+        assertTrue(implementations.contains("shop:class:p.JpaUserRepository"));
+        assertTrue(implementations.contains("shop:class:p.CachedUserRepository"));
+        assertEquals(List.of("shop:class:p.CachedUserRepository"), engine.subclassesOf("shop:class:p.JpaUserRepository", true));
+    }
+
+    @Test
+    void testEndpointsReachingThroughInterface() {
+        QueryEngine engine = QueryEngine.of(result);
+
+        List<String> endpoints = engine.endpointsReaching(JPA_FIND);
+        assertEquals(1, endpoints.size());
+        assertTrue(endpoints.get(0).startsWith("shop:endpoint:p.UserController:get"));
+    }
+
+    @Test
+    void testLoadFromJsonMatchesInMemoryIndex() throws IOException {
+        Path json = tempDir.resolve("result.json");
+        new ObjectMapper().findAndRegisterModules().writeValue(json.toFile(), result);
+
+        QueryEngine engine = QueryEngine.load(json);
+
+        assertEquals(QueryEngine.of(result).getIndex().getNodeCount(), engine.getIndex().getNodeCount());
+        assertEquals(List.of(SERVICE_GET, CONTROLLER_GET), engine.callersOf(FIND, true));
+        assertEquals(List.of(JPA_FIND), engine.resolve("p.JpaUserRepository.find"));
+        assertEquals(1, engine.endpointsReaching(SERVICE_GET).size());
+    }
+}
@@ -0,0 +1,138 @@
+package com.tekcode.parser.source;
+
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.DocumentNode;
+import com.tekcode.parser.model.FileNode;
+import com.tekcode.parser.model.ParseResult;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests parsing projects straight from archives
+ */
+class ArchiveSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<String, String> projectFiles = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        projectFiles.put("pom.xml", "<project><dependencies><dependency><groupId>org.springframework.boot</groupId>"
+            + "<artifactId>spring-boot-starter-web</artifactId><version>3.1.0</version></dependency>"
+            + "</dependencies></project>");
+        projectFiles.put("README.md", "# Shop\n\nOrder service.\n");
+        projectFiles.put("target/notes.md", "build output\n");
+        projectFiles.put("src/main/java/com/acme/Order.java",
+            "package com.acme;\npublic class Order {\n    private long id;\n    public long getId() { return id; }\n}\n");
+        projectFiles.put("src/main/java/com/acme/OrderService.java",
+            "package com.acme;\npublic class OrderService {\n    public Order find() { return new Order(); }\n}\n");
+        projectFiles.put("assets/logo.png", "not parsed");
+    }
+
+    @Test
+    void testZipMatchesDirectory() throws IOException {
+        ParseResult fromDirectory = SpoonParserV2.parseJavaProject("shop", writeDirectory().toString());
+
+        Path zip = tempDir.resolve("shop.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            for (Map.Entry<String, String> file : projectFiles.entrySet()) {
+                out.putNextEntry(new ZipEntry("shop-1a2b3c/" + file.getKey()));
+                out.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        ParseResult fromZip = SpoonParserV2.parseJavaProject("shop", zip.toString());
+
+        assertSameProject(fromDirectory, fromZip);
+    }
+
+    @Test
+    void testTarGzMatchesDirectory() throws IOException {
+        ParseResult fromDirectory = SpoonParserV2.parseJavaProject("shop", writeDirectory().toString());
+
+        Path tarGz = tempDir.resolve("shop.tar.gz");
+        try (TarArchiveOutputStream out = new TarArchiveOutputStream(
+                new GzipCompressorOutputStream(Files.newOutputStream(tarGz)))) {
+            writeTarEntries(out);
+        }
+        ParseResult fromTarGz = SpoonParserV2.parseJavaProject("shop", tarGz.toString());
+
+        assertSameProject(fromDirectory, fromTarGz);
+    }
+
+    @Test
+    void testTarEntriesAreMapped() throws IOException {
+        Path tar = tempDir.resolve("shop.tar");
+        try (TarArchiveOutputStream out = new TarArchiveOutputStream(Files.newOutputStream(tar))) {
+            writeTarEntries(out);
+        }
+
+        try (ProjectSource source = ProjectSource.forPath(tar.toString())) {
+            assertTrue(source.isVirtual());
+            assertEquals(List.of("pom.xml", "README.md", "target/notes.md", "src/main/java/com/acme/Order.java",
+                    "src/main/java/com/acme/OrderService.java"),
+                source.listFiles().stream().map(SourceFile::getPath).collect(Collectors.toList()));
+            assertEquals(projectFiles.get("README.md"), source.find("README.md").readString());
+            assertNull(source.find("assets/logo.png"));
+        }
+    }
+
+    private Path writeDirectory() throws IOException {
+        Path projectDir = tempDir.resolve("shop");
+        for (Map.Entry<String, String> file : projectFiles.entrySet()) {
+            Path path = projectDir.resolve(file.getKey());
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file.getValue());
+        }
+        return projectDir;
+    }
+
+    private void writeTarEntries(TarArchiveOutputStream out) throws IOException {
+        for (Map.Entry<String, String> file : projectFiles.entrySet()) {
+            byte[] content = file.getValue().getBytes(StandardCharsets.UTF_8);
+            TarArchiveEntry entry = new TarArchiveEntry(file.getKey());
+            entry.setSize(content.length);
+            out.putArchiveEntry(entry);
+            out.write(content);
+            out.closeArchiveEntry();
+        }
+    }
+
+    private static void assertSameProject(ParseResult expected, ParseResult actual) {
+        assertEquals(List.of("src/main/java/com/acme/Order.java", "src/main/java/com/acme/OrderService.java"),
+            paths(actual.getFiles()));
+        assertEquals(paths(expected.getFiles()), paths(actual.getFiles()));
+        assertEquals(expected.getClasses().stream().map(ClassNode::getId).sorted().collect(Collectors.toList()),
+            actual.getClasses().stream().map(ClassNode::getId).sorted().collect(Collectors.toList()));
+        assertEquals(expected.getMethods().size(), actual.getMethods().size());
+        assertEquals(expected.getRelationships().size(), actual.getRelationships().size());
+        assertEquals(1, actual.getDependencies().size());
+        assertEquals(List.of("shop:document:README.md"),
+            actual.getDocuments().stream().map(DocumentNode::getId).collect(Collectors.toList()));
+        assertEquals(expected.getMetadata().getFramework(), actual.getMetadata().getFramework());
+    }
+
+    private static List<String> paths(List<FileNode> files) {
+        return files.stream().map(FileNode::getPath).sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,216 @@
+package com.tekcode.parser.source;
+
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.core.BlobReader;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.FileNode;
+import com.tekcode.parser.model.MethodNode;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests parsing commits of a local git repository without a checkout
+ */
+class GitRevisionSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path repository;
+    private final Map<String, String> projectFiles = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(gitAvailable(), "git is not installed");
+
+        projectFiles.put("pom.xml", "<project><dependencies><dependency><groupId>junit</groupId>"
+            + "<artifactId>junit</artifactId><version>4.13.2</version></dependency></dependencies></project>");
+        projectFiles.put("README.md", "# Shop\n\nOrder service.\n");
+        projectFiles.put("src/main/java/com/acme/Order.java",
+            "package com.acme;\npublic class Order {\n    private long id;\n    public long getId() { return id; }\n}\n");
+        projectFiles.put("src/main/java/com/acme/OrderService.java",
+            "package com.acme;\npublic class OrderService {\n    public Order find() { return new Order(); }\n}\n");
+
+        repository = tempDir.resolve("repo");
+        writeFiles(repository);
+        git("init", "-q");
+        git("add", "-A");
+        git("commit", "-q", "-m", "First");
+        git("tag", "-a", "v1", "-m", "Release 1");
+
+        Files.writeString(repository.resolve("src/main/java/com/acme/OrderService.java"),
+            "package com.acme;\npublic class OrderService {\n    public Order find() { return new Order(); }\n"
+                + "    public void cancel(Order order) { }\n}\n");
+        git("commit", "-q", "-am", "Add cancel");
+        // Move objects into a pack so delta-compressed entries are read too
+        git("gc", "-q", "--aggressive");
+        Files.writeString(repository.resolve("src/main/java/com/acme/Order.java"), "uncommitted change\n");
+    }
+
+    @Test
+    void testRevisionMatchesDirectory() throws Exception {
+        ParseResult fromDirectory = SpoonParserV2.parseJavaProject("shop", writeFiles(tempDir.resolve("shop")).toString());
+        ParseResult fromGit = SpoonParserV2.parseJavaProject("shop", repository + "@v1");
+
+        assertEquals(paths(fromDirectory.getFiles()), paths(fromGit.getFiles()));
+        assertEquals(ids(fromDirectory.getClasses()), ids(fromGit.getClasses()));
+        assertEquals(methodIds(fromDirectory.getMethods()), methodIds(fromGit.getMethods()));
+        assertEquals(fromDirectory.getRelationships().size(), fromGit.getRelationships().size());
+        assertEquals(1, fromGit.getDependencies().size());
+        assertEquals(1, fromGit.getDocuments().size());
+    }
+
+    @Test
+    void testRevisionSyntax() throws Exception {
+        String head = git("rev-parse", "HEAD");
+        String first = git("rev-parse", "v1^{commit}");
+        String branch = git("rev-parse", "--abbrev-ref", "HEAD");
+
+        assertEquals(head, commitOf("HEAD"));
+        assertEquals(head, commitOf(branch));
+        assertEquals(head, commitOf(head.substring(0, 8)));
+        assertEquals(first, commitOf("v1"));
+        assertEquals(first, commitOf(first));
+        assertThrows(IOException.class, () -> commitOf("no-such-branch"));
+
+        try (ProjectSource source = ProjectSource.forPath(repository + "@HEAD")) {
+            assertTrue(source instanceof GitRevisionSource);
+            SourceFile order = source.find("src/main/java/com/acme/Order.java");
+            assertEquals(projectFiles.get("src/main/java/com/acme/Order.java"), order.readString());
+            assertEquals(git("rev-parse", "HEAD:src/main/java/com/acme/Order.java"), order.getContentId());
+        }
+    }
+
+    @Test
+    void testUnchangedBlobsReuseExtractions() throws Exception {
+        ParseResult uncached = SpoonParserV2.parseJavaProject("shop", repository + "@HEAD");
+
+        Path cacheDir = tempDir.resolve("cache");
+        ParserConfig config = new ParserConfig();
+        config.setExtractionCacheDirectory(cacheDir.toString());
+        SpoonParserV2.parseJavaProject("shop", repository + "@v1", config);
+        assertEquals(2, cacheEntries(cacheDir));
+
+        // Only the changed OrderService.java is extracted again
+        ParseResult cached = SpoonParserV2.parseJavaProject("shop", repository + "@HEAD", config);
+        assertEquals(3, cacheEntries(cacheDir));
+
+        assertEquals(paths(uncached.getFiles()), paths(cached.getFiles()));
+        assertEquals(ids(uncached.getClasses()), ids(cached.getClasses()));
+        assertEquals(methodIds(uncached.getMethods()), methodIds(cached.getMethods()));
+        assertTrue(methodIds(cached.getMethods()).contains("shop:method:com.acme.OrderService.cancel_com.acme.Order_"));
+        assertEquals(uncached.getFields().size(), cached.getFields().size());
+        assertEquals(uncached.getRelationships().size(), cached.getRelationships().size());
+    }
+
+    @Test
+    void testRecreatedBlobFileMissesExtractionCache() throws Exception {
+        Path cacheDir = tempDir.resolve("cache");
+        Path blobFile = tempDir.resolve("shop.blobs");
+        ParserConfig config = new ParserConfig();
+        config.setExtractionCacheDirectory(cacheDir.toString());
+        config.setIncludeMethodBodies(true);
+        config.setBlobFile(blobFile.toString());
+        SpoonParserV2.parseJavaProject("shop", repository + "@HEAD", config);
+        assertEquals(2, cacheEntries(cacheDir));
+
+        // Cached references point into the deleted file, so nothing is reused
+        Files.delete(blobFile);
+        ParseResult result = SpoonParserV2.parseJavaProject("shop", repository + "@HEAD", config);
+        assertEquals(4, cacheEntries(cacheDir));
+
+        try (BlobReader reader = BlobReader.open(blobFile)) {
+            for (MethodNode method : result.getMethods()) {
+                assertTrue(reader.verify(method.getBodyRef()), method.getId());
+            }
+        }
+    }
+
+    @Test
+    void testPackReadAcrossWindows() throws Exception {
+        Path gitDir = repository.resolve(".git");
+        // 64-byte windows, so entries and their compressed data span window boundaries
+        try (GitObjectDatabase windowed = new GitObjectDatabase(gitDir, 6);
+             GitObjectDatabase mapped = new GitObjectDatabase(gitDir)) {
+            String[] objects = git("rev-list", "--objects", "--all").split("\n");
+            assertTrue(objects.length > 10);
+            for (String line : objects) {
+                String id = line.substring(0, 40);
+                GitObjectDatabase.GitObject object = windowed.read(id);
+                assertArrayEquals(mapped.read(id).data, object.data, id);
+                assertEquals(Long.parseLong(git("cat-file", "-s", id)), windowed.size(id), id);
+                assertEquals(object.data.length, windowed.size(id), id);
+                if (object.type == GitObjectDatabase.BLOB) {
+                    assertEquals(git("cat-file", "blob", id), new String(object.data, StandardCharsets.UTF_8).trim());
+                }
+            }
+        }
+    }
+
+    private String commitOf(String revision) throws IOException {
+        try (GitRevisionSource source = new GitRevisionSource(repository, revision)) {
+            return source.getCommitId();
+        }
+    }
+
+    private Path writeFiles(Path root) throws IOException {
+        for (Map.Entry<String, String> file : projectFiles.entrySet()) {
+            Path path = root.resolve(file.getKey());
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file.getValue());
+        }
+        return root;
+    }
+
+    private String git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("git", "-c", "user.name=Test", "-c", "user.email=test@example.com"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).directory(repository.toFile()).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertEquals(0, process.waitFor(), output);
+        return output;
+    }
+
+    private static boolean gitAvailable() {
+        try {
+            return new ProcessBuilder("git", "--version").start().waitFor() == 0;
+        } catch (IOException | InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static long cacheEntries(Path cacheDir) throws IOException {
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            return files.filter(file -> file.toString().endsWith(".json")).count();
+        }
+    }
+
+    private static List<String> paths(List<FileNode> files) {
+        return files.stream().map(FileNode::getPath).sorted().collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<ClassNode> classes) {
+        return classes.stream().map(ClassNode::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static List<String> methodIds(List<MethodNode> methods) {
+        return methods.stream().map(MethodNode::getId).sorted().collect(Collectors.toList());
+    }
+}
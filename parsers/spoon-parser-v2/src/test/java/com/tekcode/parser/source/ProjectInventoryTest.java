@@ -0,0 +1,105 @@
+package com.tekcode.parser.source;
+
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.ClassNode;
+import com.tekcode.parser.model.DocumentNode;
+import com.tekcode.parser.model.FileNode;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the shared inventory of parser inputs and its skip rules
+ */
+class ProjectInventoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path projectDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectDir = tempDir.resolve("shop");
+        write("pom.xml", "<project><dependencies/></project>");
+        write("README.md", "# Shop\n");
+        write("src/main/java/com/acme/Order.java", "package com.acme;\npublic class Order { }\n");
+        write("target/generated-sources/com/acme/OrderMapper.java",
+            "package com.acme;\npublic class OrderMapper { }\n");
+        write("target/classes/README.md", "# Copied\n");
+        write(".git/hooks/README.txt", "hooks\n");
+        write(".idea/Scratch.java", "public class Scratch { }\n");
+        write("node_modules/pkg/Vendored.java", "public class Vendored { }\n");
+        write("assets/logo.png", "not a parser input");
+    }
+
+    @Test
+    void testInventoryGroupsParserInputs() throws IOException {
+        ProjectInventory inventory = ProjectInventory.of(new DirectorySource(projectDir));
+
+        assertEquals(5, inventory.size());
+        assertEquals(List.of("src/main/java/com/acme/Order.java", "target/generated-sources/com/acme/OrderMapper.java"),
+            paths(inventory.getJavaFiles()));
+        assertEquals(List.of("README.md"), paths(inventory.getDocumentFiles()));
+        assertEquals(List.of("pom.xml"), paths(inventory.getBuildFiles()));
+        assertNotNull(inventory.find("pom.xml"));
+        assertNull(inventory.find("assets/logo.png"));
+        assertNull(inventory.find(".idea/Scratch.java"));
+    }
+
+    @Test
+    void testAllPhasesReadTheInventory() throws IOException {
+        ParseResult result = SpoonParserV2.parseJavaProject("shop", projectDir.toString(), new ParserConfig());
+
+        Set<String> classes = result.getClasses().stream().map(ClassNode::getName).collect(Collectors.toSet());
+        assertTrue(classes.contains("Order"));
+        assertFalse(classes.contains("Scratch"));
+        assertFalse(classes.contains("Vendored"));
+        assertEquals(List.of("README.md"),
+            result.getDocuments().stream().map(DocumentNode::getPath).collect(Collectors.toList()));
+        // Generated sources are skipped by default, so no phase extracts them
+        assertFalse(classes.contains("OrderMapper"));
+    }
+
+    @Test
+    void testSkipRulesApplyToEveryPhase() throws IOException {
+        write("src/test/java/com/acme/OrderTest.java", "package com.acme;\npublic class OrderTest {\n"
+            + "    Order order = new Order();\n}\n");
+        write("src/main/java/com/acme/legacy/OldOrder.java", "package com.acme.legacy;\npublic class OldOrder {\n"
+            + "    public void run() { Runnable r = () -> { }; }\n}\n");
+        ParserConfig config = new ParserConfig();
+        config.setIncludeTestFiles(false);
+        config.getExcludePatterns().add(".*/legacy/.*");
+
+        ParseResult result = SpoonParserV2.parseJavaProject("shop", projectDir.toString(), config);
+
+        assertEquals(List.of("src/main/java/com/acme/Order.java"),
+            result.getFiles().stream().map(FileNode::getPath).collect(Collectors.toList()));
+        assertEquals(Set.of("Order"), result.getClasses().stream().map(ClassNode::getName).collect(Collectors.toSet()));
+        assertTrue(result.getLambdaExpressions().isEmpty());
+        assertTrue(result.getRelationships().stream()
+            .noneMatch(relationship -> relationship.getSourceId().contains("OrderTest")
+                || relationship.getSourceId().contains("legacy")));
+    }
+
+    private static List<String> paths(List<SourceFile> files) {
+        return files.stream().map(SourceFile::getPath).collect(Collectors.toList());
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,176 @@
+package com.tekcode.parser.source;
+
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.core.ParsingEngine;
+import com.tekcode.parser.model.FileNode;
+import com.tekcode.parser.model.ParseResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests Merkle snapshots and stat-first change detection
+ */
+class RepositorySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path projectDir;
+    private final AtomicInteger contentReads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectDir = tempDir.resolve("shop");
+        write("pom.xml", "<project/>");
+        write("docs/guide.md", "# Guide\n");
+        write("src/main/java/com/acme/Order.java", "package com.acme;\npublic class Order { }\n");
+        write("src/main/java/com/acme/OrderService.java", "package com.acme;\npublic class OrderService { }\n");
+        write("assets/logo.png", "not a parser input");
+    }
+
+    @Test
+    void testUnchangedProjectIsNotReRead() throws IOException {
+        RepositorySnapshot first = capture(null);
+        assertEquals(List.of("docs/guide.md", "pom.xml", "src/main/java/com/acme/Order.java",
+                "src/main/java/com/acme/OrderService.java"),
+            first.getFiles().keySet().stream().collect(Collectors.toList()));
+        assertEquals(4, contentReads.get());
+
+        Path snapshotFile = tempDir.resolve("shop.snapshot");
+        first.write(snapshotFile);
+        RepositorySnapshot previous = RepositorySnapshot.read(snapshotFile);
+
+        contentReads.set(0);
+        RepositorySnapshot second = capture(previous);
+        assertEquals(0, contentReads.get());
+        assertEquals(first.getRootHash(), second.getRootHash());
+        assertTrue(second.changesSince(previous).isEmpty());
+    }
+
+    @Test
+    void testTouchedFileIsReHashedButUnchanged() throws IOException {
+        RepositorySnapshot previous = capture(null);
+        Path guide = projectDir.resolve("docs/guide.md");
+        Files.setLastModifiedTime(guide, FileTime.fromMillis(Files.getLastModifiedTime(guide).toMillis() + 5000));
+
+        contentReads.set(0);
+        RepositorySnapshot current = capture(previous);
+        assertEquals(1, contentReads.get());
+        assertNotEquals(previous.getRootHash(), current.getRootHash());
+        assertEquals(previous.getDirectoryHash("src"), current.getDirectoryHash("src"));
+        assertTrue(current.changesSince(previous).isEmpty());
+    }
+
+    @Test
+    void testChangedPathsAreReported() throws IOException {
+        RepositorySnapshot previous = capture(null);
+        write("src/main/java/com/acme/Order.java", "package com.acme;\npublic class Order { long id; }\n");
+        write("src/main/java/com/acme/Invoice.java", "package com.acme;\npublic class Invoice { }\n");
+        Files.delete(projectDir.resolve("docs/guide.md"));
+
+        RepositorySnapshot.Changes changes = capture(previous).changesSince(previous);
+        assertEquals(List.of("src/main/java/com/acme/Invoice.java"), changes.getAdded());
+        assertEquals(List.of("src/main/java/com/acme/Order.java"), changes.getModified());
+        assertEquals(List.of("docs/guide.md"), changes.getRemoved());
+        assertNull(capture(previous).getDirectoryHash("docs"));
+    }
+
+    @Test
+    void testEngineShortCircuitsUnchangedProject() throws IOException {
+        ParserConfig config = new ParserConfig();
+        config.setSnapshotFile(tempDir.resolve("shop.snapshot").toString());
+
+        ParsingEngine first = new ParsingEngine("shop", projectDir.toString(), config);
+        assertFalse(first.isUnchangedSinceSnapshot());
+        ParseResult result = first.parse();
+        // Written only once the caller has written its outputs
+        assertFalse(Files.exists(tempDir.resolve("shop.snapshot")));
+        first.saveSnapshot();
+        FileNode order = result.getFiles().stream()
+            .filter(file -> file.getPath().equals("src/main/java/com/acme/Order.java")).findFirst().orElseThrow();
+        assertEquals(RepositorySnapshot.read(tempDir.resolve("shop.snapshot"))
+            .getContentHash("src/main/java/com/acme/Order.java"), order.getChecksum());
+
+        assertTrue(new ParsingEngine("shop", projectDir.toString(), config).isUnchangedSinceSnapshot());
+
+        write("src/main/java/com/acme/Order.java", "package com.acme;\npublic class Order { long id; }\n");
+        assertFalse(new ParsingEngine("shop", projectDir.toString(), config).isUnchangedSinceSnapshot());
+    }
+
+    @Test
+    void testConfigurationChangeInvalidatesSnapshot() throws IOException {
+        ParserConfig config = new ParserConfig();
+        config.setSnapshotFile(tempDir.resolve("shop.snapshot").toString());
+        ParsingEngine first = new ParsingEngine("shop", projectDir.toString(), config);
+        first.setOutputFile("out/shop.json");
+        first.parse();
+        first.saveSnapshot();
+
+        assertTrue(engine(config, "out/shop.json").isUnchangedSinceSnapshot());
+        // Another output file, which may select another format
+        assertFalse(engine(config, "out/shop.smile").isUnchangedSinceSnapshot());
+
+        config.setCanonicalOutput(true);
+        ParsingEngine changed = engine(config, "out/shop.json");
+        assertFalse(changed.isUnchangedSinceSnapshot());
+        // Every file is extracted again, not just the ones changed since the snapshot
+        changed.parse();
+        changed.saveSnapshot();
+        assertTrue(engine(config, "out/shop.json").isUnchangedSinceSnapshot());
+    }
+
+    private ParsingEngine engine(ParserConfig config, String outputFile) {
+        ParsingEngine engine = new ParsingEngine("shop", projectDir.toString(), config);
+        engine.setOutputFile(outputFile);
+        return engine;
+    }
+
+    private RepositorySnapshot capture(RepositorySnapshot previous) throws IOException {
+        DirectorySource directory = new DirectorySource(projectDir);
+        List<SourceFile> counted = directory.listFiles().stream()
+            .map(file -> new SourceFile(file.getPath(), file.getSize(), file.getLastModified(), () -> {
+                contentReads.incrementAndGet();
+                return file.content();
+            }))
+            .collect(Collectors.toList());
+        ProjectSource source = new ProjectSource() {
+            @Override
+            public String getRoot() {
+                return directory.getRoot();
+            }
+
+            @Override
+            public boolean isVirtual() {
+                return false;
+            }
+
+            @Override
+            public List<SourceFile> listFiles() {
+                return counted;
+            }
+
+            @Override
+            public SourceFile find(String relativePath) throws IOException {
+                return directory.find(relativePath);
+            }
+        };
+        return RepositorySnapshot.capture(source, previous);
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
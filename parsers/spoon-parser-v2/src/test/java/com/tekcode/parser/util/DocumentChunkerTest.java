@@ -0,0 +1,192 @@
+package com.tekcode.parser.util;
+
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.DocumentChunk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the streaming chunk strategies
+ */
+class DocumentChunkerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCharacterWindowsWithOverlap() {
+        String content = "abcdefghijklmnopqrstuvwxyz".repeat(40);
+        List<DocumentChunk> chunks = DocumentChunker.chunkDocument("doc", content, config("character", 100, 20));
+
+        // Windows start every chunkSize - overlap characters, up to the end of the content
+        List<Integer> starts = new ArrayList<>();
+        for (int start = 0; start < content.length(); start += 80) {
+            starts.add(start);
+        }
+        assertEquals(starts, chunks.stream().map(DocumentChunk::getStartPosition).collect(Collectors.toList()));
+        for (DocumentChunk chunk : chunks) {
+            assertEquals(content.substring(chunk.getStartPosition(), chunk.getEndPosition()), chunk.getContent());
+            assertEquals("doc:chunk:" + chunk.getChunkIndex(), chunk.getId());
+        }
+        assertEquals(0, chunks.get(0).getOverlap());
+        assertEquals(20, chunks.get(1).getOverlap());
+    }
+
+    @Test
+    void testWordSentenceAndParagraphUnits() {
+        String content = "  One two. Three four!  Five six?\n\nSeven eight.\n \nNine ten.";
+
+        List<DocumentChunk> words = DocumentChunker.chunkDocument("doc", content, config("word", 4, 1));
+        assertEquals(List.of("One two. Three four!", "four! Five six? Seven", "Seven eight. Nine ten.", "ten."),
+            contents(words));
+        assertEquals(2, words.get(0).getStartPosition());
+        assertEquals(content.indexOf("four!") + 5, words.get(0).getEndPosition());
+
+        List<DocumentChunk> sentences = DocumentChunker.chunkDocument("doc", content, config("sentence", 2, 0));
+        assertEquals(List.of("One two. Three four!", "Five six? Seven eight.", "Nine ten."), contents(sentences));
+
+        List<DocumentChunk> paragraphs = DocumentChunker.chunkDocument("doc", content, config("paragraph", 1, 0));
+        assertEquals(List.of("One two. Three four!  Five six?", "Seven eight.", "Nine ten."), contents(paragraphs));
+        assertEquals(content.length(), paragraphs.get(2).getEndPosition());
+    }
+
+    @Test
+    void testTokenBudgetWindows() throws IOException {
+        TokenVocabulary vocabulary = TokenVocabulary.load(Files.writeString(tempDir.resolve("vocab.txt"),
+            "[UNK]\norder\n##s\nship\n##ped\n.\n"));
+        String content = "Orders shipped. Order ships. ".repeat(50);
+        List<DocumentChunk> chunks = new ArrayList<>();
+        DocumentChunker.chunkDocument("doc", new StringReader(content), config("token", 16, 4), vocabulary,
+            chunks::add);
+
+        assertTrue(chunks.size() > 1);
+        int previousEnd = 0;
+        for (DocumentChunk chunk : chunks) {
+            assertEquals("token", chunk.getChunkType());
+            assertTrue(chunk.getTokenCount() <= 16);
+            assertEquals(vocabulary.countTokens(chunk.getContent()), chunk.getTokenCount());
+            assertEquals(content.substring(chunk.getStartPosition(), chunk.getEndPosition()), chunk.getContent());
+            assertTrue(chunk.getOverlap() <= 4);
+            // Consecutive windows share at most the overlap and leave no gap
+            assertTrue(chunk.getStartPosition() <= previousEnd);
+            previousEnd = chunk.getEndPosition();
+        }
+        assertEquals(content.trim().length(), previousEnd);
+        assertTrue(chunks.get(1).getOverlap() > 0);
+    }
+
+    @Test
+    void testContentDefinedBoundariesSurviveAnEdit() {
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(7);
+        while (text.length() < 200_000) {
+            text.append("word").append(random.nextInt(5000)).append(random.nextInt(12) == 0 ? ".\n" : " ");
+        }
+        String original = text.toString();
+        String edited = original.substring(0, 500) + "An inserted sentence. " + original.substring(500);
+
+        List<DocumentChunk> before = DocumentChunker.chunkDocument("doc", original, config("content-defined", 1000, 0));
+        List<DocumentChunk> after = DocumentChunker.chunkDocument("doc", edited, config("content-defined", 1000, 0));
+
+        int previousEnd = 0;
+        for (DocumentChunk chunk : before) {
+            assertEquals(previousEnd, chunk.getStartPosition());
+            assertTrue(chunk.getCharacterCount() <= 2000);
+            assertEquals(FastHash.hex64(chunk.getContent()), chunk.getContentHash());
+            previousEnd = chunk.getEndPosition();
+        }
+        assertEquals(original.length(), previousEnd);
+        assertTrue(before.size() > 100 && before.size() < 400, "average size near the chunk size");
+
+        // Only the chunks around the edit change; the ones after it are found again
+        List<String> afterHashes = after.stream().map(DocumentChunk::getContentHash).collect(Collectors.toList());
+        long moved = before.stream()
+            .filter(chunk -> chunk.getStartPosition() > 5000)
+            .filter(chunk -> !afterHashes.contains(chunk.getContentHash()))
+            .count();
+        assertEquals(0, moved);
+    }
+
+    @Test
+    void testBlankContentGivesNoChunks() {
+        assertTrue(DocumentChunker.chunkDocument("doc", " \n\t ".repeat(100), config("character", 50, 10)).isEmpty());
+        assertTrue(DocumentChunker.chunkDocument("doc", "\n\n", config("paragraph", 5, 1)).isEmpty());
+
+        List<DocumentChunk> leadingBlanks = DocumentChunker.chunkDocument("doc", " ".repeat(120) + "text",
+            config("character", 50, 0));
+        assertEquals(3, leadingBlanks.size());
+        assertEquals("doc:chunk:0", leadingBlanks.get(0).getId());
+    }
+
+    @Test
+    void testLargeDocumentIsStreamed() throws IOException {
+        long length = 64L * 1024 * 1024;
+        AtomicInteger chunkCount = new AtomicInteger();
+        AtomicLong characters = new AtomicLong();
+
+        DocumentChunker.Stats stats = DocumentChunker.chunkDocument("doc", new GeneratedReader(length),
+            config("character", 1000, 200), chunk -> {
+                chunkCount.incrementAndGet();
+                characters.addAndGet(chunk.getCharacterCount());
+            });
+
+        assertEquals(length, stats.getCharacterCount());
+        assertEquals(length / 64 + 1, stats.getLineCount());
+        assertEquals(chunkCount.get(), stats.getChunkCount());
+        assertEquals((length + 799) / 800, chunkCount.get());
+    }
+
+    private static ParserConfig config(String strategy, int size, int overlap) {
+        ParserConfig config = new ParserConfig();
+        config.setDocumentChunkStrategy(strategy);
+        config.setDocumentChunkSize(size);
+        config.setDocumentChunkOverlap(overlap);
+        return config;
+    }
+
+    private static List<String> contents(List<DocumentChunk> chunks) {
+        return chunks.stream().map(DocumentChunk::getContent).collect(Collectors.toList());
+    }
+
+    /**
+     * Lines of 63 letters, produced on demand so the document never exists in memory
+     */
+    private static final class GeneratedReader extends Reader {
+        private final long length;
+        private long position;
+
+        GeneratedReader(long length) {
+            this.length = length;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            if (position >= length) {
+                return -1;
+            }
+            int n = (int) Math.min(count, length - position);
+            for (int i = 0; i < n; i++, position++) {
+                buffer[offset + i] = position % 64 == 63 ? '\n' : (char) ('a' + position % 26);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.tekcode.parser.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests line classification of the byte-level line scanner
+ */
+class LineMetricsTest {
+
+    @Test
+    void testClassifiesCodeCommentAndBlankLines() {
+        String source = "package com.acme;\n"
+            + "\n"
+            + "/**\n"
+            + " * Orders.\n"
+            + "\n"
+            + " */\n"
+            + "public class Order { // trailing comment\n"
+            + "    /* inline */ int total;\n"
+            + "    // only a comment\n"
+            + "    \t\n"
+            + "}";
+
+        LineMetrics metrics = scan(source);
+
+        assertEquals(11, metrics.getTotalLines());
+        assertEquals(4, metrics.getCodeLines());
+        assertEquals(5, metrics.getCommentLines());
+        assertEquals(2, metrics.getBlankLines());
+    }
+
+    @Test
+    void testCommentMarkersInsideLiteralsAreCode() {
+        String source = "String url = \"http://acme.com/*\";\n"
+            + "char slash = '/';\n"
+            + "String block = \"\"\"\n"
+            + "    /* not a comment\n"
+            + "\n"
+            + "    \"\"\";\n"
+            + "int after = 1;\n";
+
+        LineMetrics metrics = scan(source);
+
+        assertEquals(7, metrics.getTotalLines());
+        assertEquals(7, metrics.getCodeLines());
+        assertEquals(0, metrics.getCommentLines());
+    }
+
+    @Test
+    void testLineBreaksAndByteOrderMark() {
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        byte[] text = "int a;\r\n\r// Grüße\rint b;\n".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer content = ByteBuffer.allocate(bom.length + text.length).put(bom).put(text).flip();
+
+        LineMetrics metrics = LineMetrics.scan(content);
+
+        assertEquals(4, metrics.getTotalLines());
+        assertEquals(2, metrics.getCodeLines());
+        assertEquals(1, metrics.getCommentLines());
+        assertEquals(1, metrics.getBlankLines());
+        assertEquals(0, content.position());
+        assertEquals(0, scan("").getTotalLines());
+    }
+
+    private static LineMetrics scan(String source) {
+        return LineMetrics.scan(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)));
+    }
+}
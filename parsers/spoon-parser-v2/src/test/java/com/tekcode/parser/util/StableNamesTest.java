@@ -0,0 +1,111 @@
+package com.tekcode.parser.util;
+
+import com.tekcode.parser.SpoonParserV2;
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.model.LambdaExpressionNode;
+import com.tekcode.parser.model.ParseResult;
+import com.tekcode.parser.model.Relationship;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that lambda and anonymous class IDs do not depend on the position of other code
+ */
+class StableNamesTest {
+
+    private static final String ORDERS = "src/main/java/com/acme/Orders.java";
+
+    private static final String SORT = "    public void sort(java.util.List<String> names) {\n"
+        + "        names.sort((a, b) -> a.compareTo(b));\n"
+        + "        names.forEach(n -> System.out.println(n));\n"
+        + "        names.forEach(n -> System.out.println(n));\n"
+        + "    }\n";
+
+    private static final String TASK = "    public Runnable task() {\n"
+        + "        return new Runnable() {\n"
+        + "            public void run() { System.out.println(\"run\"); }\n"
+        + "        };\n"
+        + "    }\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testIdsSurviveInsertedLambdasAndClasses() throws IOException {
+        ParseResult before = parse(SORT + TASK);
+        ParseResult after = parse("    public Runnable first() {\n"
+            + "        Runnable r = () -> System.out.println(\"first\");\n"
+            + "        return new Runnable() { public void run() { r.run(); } };\n"
+            + "    }\n" + SORT + TASK);
+
+        Set<String> beforeIds = lambdaIds(before);
+        assertEquals(3, beforeIds.size());
+        assertTrue(lambdaIds(after).containsAll(beforeIds));
+        assertEquals(4, lambdaIds(after).size());
+        assertTrue(beforeIds.stream().allMatch(id -> id.startsWith("shop:lambda:com.acme.Orders.sort_java.util.List_/lambda-")));
+        // The identical forEach lambdas are told apart by an ordinal
+        assertEquals(1, beforeIds.stream().filter(id -> id.matches(".*/lambda-[0-9a-f]{8}-2")).count());
+
+        Set<String> runCallers = callerIds(before);
+        assertEquals(1, runCallers.size());
+        assertTrue(runCallers.iterator().next().startsWith("shop:method:com.acme.Orders.task__/anon-"));
+        assertTrue(callerIds(after).containsAll(runCallers));
+    }
+
+    @Test
+    void testEnclosingContextOfNestedLambda() throws IOException {
+        ParseResult result = parse("    public void nested(java.util.List<java.util.List<String>> rows) {\n"
+            + "        rows.forEach(row -> row.forEach(cell -> System.out.println(cell)));\n"
+            + "    }\n");
+
+        List<LambdaExpressionNode> lambdas = result.getLambdaExpressions();
+        assertEquals(2, lambdas.size());
+        LambdaExpressionNode inner = lambdas.stream()
+            .filter(lambda -> lambda.getExpression().startsWith("(cell)") || lambda.getExpression().startsWith("cell"))
+            .findFirst().orElseThrow();
+        LambdaExpressionNode outer = lambdas.stream().filter(lambda -> lambda != inner).findFirst().orElseThrow();
+        assertTrue(inner.getId().startsWith(outer.getId() + "/lambda-"));
+        assertEquals(outer.getId(), inner.getEnclosingMethodId());
+        assertEquals("shop:class:com.acme.Orders", inner.getEnclosingClassId());
+
+        // println is called from the inner lambda, and the edge says so
+        Relationship call = result.getRelationships().stream()
+            .filter(relationship -> relationship.getType().equals("CALLS"))
+            .filter(relationship -> relationship.getTargetId().contains("println"))
+            .findFirst().orElseThrow();
+        assertEquals(inner.getId(), call.getSourceId());
+        assertEquals("lambda", call.getSourceType());
+    }
+
+    private ParseResult parse(String members) throws IOException {
+        Path projectDir = Files.createTempDirectory(tempDir, "shop");
+        Path file = projectDir.resolve(ORDERS);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package com.acme;\npublic class Orders {\n" + members + "}\n");
+        return SpoonParserV2.parseJavaProject("shop", projectDir.toString(), new ParserConfig());
+    }
+
+    private static Set<String> lambdaIds(ParseResult result) {
+        return result.getLambdaExpressions().stream().map(LambdaExpressionNode::getId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Methods calling println from inside anonymous classes
+     */
+    private static Set<String> callerIds(ParseResult result) {
+        return result.getRelationships().stream()
+            .filter(relationship -> relationship.getType().equals("CALLS"))
+            .map(Relationship::getSourceId)
+            .filter(id -> id.contains("/anon-") && id.endsWith(".run__"))
+            .collect(Collectors.toSet());
+    }
+}
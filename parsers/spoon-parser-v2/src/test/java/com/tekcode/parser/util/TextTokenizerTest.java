@@ -0,0 +1,61 @@
+package com.tekcode.parser.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests token boundaries and source offsets of the single-pass tokenizer
+ */
+class TextTokenizerTest {
+
+    @Test
+    void testWordsMatchWhitespaceSplitWithExactOffsets() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            text.append(i % 7 == 0 ? "\n\t" : " ").append("word").append(i % 13).append(i % 5 == 0 ? "." : "");
+        }
+        String content = text.toString();
+
+        List<String> words = new ArrayList<>();
+        tokenize(TextTokenizer.Unit.WORD, content, (word, start, end) -> {
+            assertEquals(content.substring(start, end), word);
+            words.add(word);
+        });
+        assertEquals(Arrays.asList(Pattern.compile("\\s+").split(content.trim())), words);
+    }
+
+    @Test
+    void testSentencesAndParagraphsKeepInnerWhitespace() {
+        String content = "\n First one.  Still\tfirst? No,\nsecond!\n\n\n Third\n \n";
+
+        List<String> sentences = new ArrayList<>();
+        tokenize(TextTokenizer.Unit.SENTENCE, content, (sentence, start, end) -> {
+            assertEquals(content.substring(start, end), sentence);
+            sentences.add(sentence);
+        });
+        assertEquals(List.of("First one.", "Still\tfirst?", "No,\nsecond!", "Third"), sentences);
+
+        List<String> paragraphs = new ArrayList<>();
+        tokenize(TextTokenizer.Unit.PARAGRAPH, content, (paragraph, start, end) -> {
+            assertEquals(content.substring(start, end), paragraph);
+            paragraphs.add(paragraph);
+        });
+        assertEquals(List.of("First one.  Still\tfirst? No,\nsecond!", "Third"), paragraphs);
+    }
+
+    private static void tokenize(TextTokenizer.Unit unit, String content, TextTokenizer.SpanConsumer consumer) {
+        TextTokenizer tokenizer = new TextTokenizer(unit, consumer);
+        char[] chars = content.toCharArray();
+        // Uneven slices, as a reader would hand them over
+        for (int offset = 0; offset < chars.length; offset += 4093) {
+            tokenizer.accept(chars, offset, Math.min(4093, chars.length - offset));
+        }
+        tokenizer.finish();
+    }
+}
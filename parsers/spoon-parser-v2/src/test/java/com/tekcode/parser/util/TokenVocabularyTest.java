@@ -0,0 +1,75 @@
+package com.tekcode.parser.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests token counts against WordPiece and BPE vocabularies
+ */
+class TokenVocabularyTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWordPieceSplitsLongestPieceFirst() throws IOException {
+        TokenVocabulary vocabulary = TokenVocabulary.load(wordPieceVocabulary());
+
+        assertEquals(11, vocabulary.size());
+        // un ##aff ##able
+        assertEquals(3, vocabulary.countTokens("unaffable"));
+        // Uncased vocabulary: the, run ##ning, ",", the, run ##s, "!"
+        assertEquals(8, vocabulary.countTokens("The running,\tthe runs!"));
+        // A word without a full segmentation is one unknown token
+        assertEquals(1, vocabulary.countTokens("unxyz"));
+        assertEquals(0, vocabulary.countTokens(" \n "));
+        // [PAD] and [UNK] do not make the vocabulary cased: run ##ning, not one unknown token
+        assertEquals(2, vocabulary.countTokens("Running"));
+        assertEquals(3, vocabulary.countTokens("RUNS!"));
+    }
+
+    @Test
+    void testTokenizerJsonNormalizerDecidesCasing() throws IOException {
+        Path cased = tempDir.resolve("cased.json");
+        Files.writeString(cased, "{\"normalizer\": {\"type\": \"BertNormalizer\", \"lowercase\": false},"
+            + " \"model\": {\"type\": \"WordPiece\", \"vocab\": {\"[UNK]\": 0, \"run\": 1, \"##ning\": 2}}}");
+        // The vocabulary has no upper-case pieces, but the normalizer keeps case
+        assertEquals(1, TokenVocabulary.load(cased).countTokens("Running"));
+        assertEquals(2, TokenVocabulary.load(cased).countTokens("running"));
+
+        Path lowered = tempDir.resolve("lowered.json");
+        Files.writeString(lowered, "{\"normalizer\": {\"type\": \"Sequence\", \"normalizers\": [{\"type\": \"NFD\"},"
+            + " {\"type\": \"Lowercase\"}]}, \"model\": {\"type\": \"WordPiece\","
+            + " \"vocab\": {\"Zz\": 0, \"run\": 1, \"##ning\": 2}}}");
+        // An upper-case piece would suggest a cased vocabulary; the normalizer overrides it
+        assertEquals(2, TokenVocabulary.load(lowered).countTokens("Running"));
+    }
+
+    @Test
+    void testTokenizerJsonAndBpeVocabularies() throws IOException {
+        Path tokenizerJson = tempDir.resolve("tokenizer.json");
+        Files.writeString(tokenizerJson, "{\"model\": {\"type\": \"WordPiece\", \"continuing_subword_prefix\": \"##\","
+            + " \"vocab\": {\"[UNK]\": 0, \"play\": 1, \"##ing\": 2}}}");
+        assertEquals(2, TokenVocabulary.load(tokenizerJson).countTokens("playing"));
+
+        Path vocabJson = tempDir.resolve("vocab.json");
+        Files.writeString(vocabJson, "{\"Hello\": 0, \"Ġworld\": 1, \"Ġwor\": 2, \"ld\": 3, \"wide\": 4}");
+        TokenVocabulary bpe = TokenVocabulary.load(vocabJson);
+        // Ġworld wide; unknown characters fall back to their UTF-8 bytes
+        assertEquals(2, bpe.countTokens("worldwide"));
+        assertEquals(3, bpe.countTokens("worldé"));
+    }
+
+    private Path wordPieceVocabulary() throws IOException {
+        Path file = tempDir.resolve("vocab.txt");
+        Files.writeString(file, String.join("\n", "[PAD]", "[UNK]", "the", "run", "##ning", "##s", "un",
+            "##aff", "##able", ",", "!") + "\n");
+        return file;
+    }
+}
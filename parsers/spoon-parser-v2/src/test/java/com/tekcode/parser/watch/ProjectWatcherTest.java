@@ -0,0 +1,112 @@
+package com.tekcode.parser.watch;
+
+import com.tekcode.parser.config.ParserConfig;
+import com.tekcode.parser.delta.EntityChange;
+import com.tekcode.parser.delta.ParseDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests incremental re-extraction and delta emission of the watch mode
+ */
+class ProjectWatcherTest {
+
+    private static final String ORDER = "src/main/java/com/acme/Order.java";
+    private static final String SERVICE = "src/main/java/com/acme/OrderService.java";
+    private static final String CLOCK = "src/main/java/com/acme/util/Clock.java";
+
+    @TempDir
+    Path tempDir;
+
+    private Path projectDir;
+    private final BlockingQueue<ParseDelta> deltas = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projectDir = tempDir.resolve("shop");
+        write(ORDER, "package com.acme;\npublic class Order {\n    public long id;\n}\n");
+        write(SERVICE, "package com.acme;\npublic class OrderService {\n"
+            + "    public Order find() { return new Order(); }\n}\n");
+        write(CLOCK, "package com.acme.util;\npublic class Clock {\n    public long now() { return 0; }\n}\n");
+    }
+
+    @Test
+    void testChangedFileEmitsDelta() throws IOException {
+        try (ProjectWatcher watcher = new ProjectWatcher("shop", projectDir, new ParserConfig(), deltas::add)) {
+            ParseDelta initial = watcher.parseAll();
+            assertEquals(0L, initial.getSequence());
+            assertTrue(ids(initial.getAdded()).contains("shop:class:com.acme.util.Clock"));
+            assertTrue(initial.getRemoved().isEmpty());
+
+            write(ORDER, "package com.acme;\npublic class Order {\n    public long id;\n    public String number;\n}\n");
+            ParseDelta delta = watcher.processChanges(Set.of(ORDER));
+
+            assertEquals(List.of(ORDER, SERVICE), delta.getImpactedFiles());
+            assertTrue(ids(delta.getAdded()).contains("shop:field:com.acme.Order.number"));
+            assertTrue(ids(delta.getModified()).contains("shop:class:com.acme.Order"));
+            assertTrue(delta.getRemoved().isEmpty());
+            assertTrue(ids(delta.getModified()).stream().noneMatch(id -> id.contains("Clock")));
+
+            Files.delete(projectDir.resolve(CLOCK));
+            ParseDelta removal = watcher.processChanges(Set.of(CLOCK));
+            assertEquals(List.of(CLOCK), removal.getImpactedFiles());
+            assertTrue(ids(removal.getRemoved()).containsAll(List.of("shop:class:com.acme.util.Clock",
+                "shop:method:com.acme.util.Clock.now__")));
+            assertTrue(removal.getAdded().isEmpty());
+            assertNull(removal.getRemoved().get(0).getEntity());
+
+            assertEquals(3, deltas.size());
+        }
+    }
+
+    @Test
+    void testFileEventsAreDebouncedIntoOneDelta() throws Exception {
+        ParserConfig config = new ParserConfig();
+        config.setWatchDebounceMs(500);
+        try (ProjectWatcher watcher = new ProjectWatcher("shop", projectDir, config, deltas::add)) {
+            Thread thread = new Thread(() -> {
+                try {
+                    watcher.run();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            assertNotNull(deltas.poll(60, TimeUnit.SECONDS));
+
+            write("src/main/java/com/acme/web/Invoice.java", "package com.acme.web;\npublic class Invoice { }\n");
+            write(CLOCK, "package com.acme.util;\npublic class Clock {\n    public long today() { return 0; }\n}\n");
+
+            ParseDelta delta = deltas.poll(60, TimeUnit.SECONDS);
+            assertNotNull(delta);
+            assertTrue(ids(delta.getAdded()).containsAll(List.of("shop:class:com.acme.web.Invoice",
+                "shop:method:com.acme.util.Clock.today__")));
+            assertTrue(ids(delta.getRemoved()).contains("shop:method:com.acme.util.Clock.now__"));
+            thread.interrupt();
+        }
+    }
+
+    private static List<String> ids(List<EntityChange> changes) {
+        return changes.stream().map(EntityChange::getId).collect(Collectors.toList());
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}